@@ -0,0 +1,99 @@
+package br.com.vortex.application.analytics;
+
+import br.com.vortex.application.dto.JanelaAnalyticsDTO;
+import br.com.vortex.application.dto.MetricasJanelaDTO;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Agrega as movimentações de uma chave (produto, tipo de produto ou total geral) nas
+ * janelas de 1 minuto, 5 minutos e 1 hora.
+ *
+ * Toda a memória é alocada na criação; o registro de um evento apenas atualiza arrays
+ * primitivos sob o monitor do próprio agregador.
+ */
+public class AgregadorJanelas {
+
+    private final String chave;
+    private final JanelaMetricas[] janelas;
+
+    public AgregadorJanelas(String chave) {
+        this.chave = chave;
+        JanelaTempo[] tempos = JanelaTempo.values();
+        this.janelas = new JanelaMetricas[tempos.length];
+        for (int i = 0; i < tempos.length; i++) {
+            janelas[i] = new JanelaMetricas(tempos[i]);
+        }
+    }
+
+    /**
+     * Registra uma movimentação em todas as janelas.
+     *
+     * @param instanteMillis Instante do processamento do evento
+     * @param unidadesEntrada Unidades recebidas (entradas)
+     * @param unidadesSaida Unidades vendidas (saídas)
+     * @param receitaCentavos Receita da venda em centavos
+     * @param lucroCentavos Lucro da venda em centavos
+     */
+    public synchronized void registrar(long instanteMillis, long unidadesEntrada, long unidadesSaida,
+                                       long receitaCentavos, long lucroCentavos) {
+        for (JanelaMetricas janela : janelas) {
+            janela.registrar(instanteMillis, unidadesEntrada, unidadesSaida, receitaCentavos, lucroCentavos);
+        }
+    }
+
+    /**
+     * Valor atual de uma métrica na janela deslizante, sem alocação.
+     */
+    public synchronized long deslizante(JanelaTempo tempo, long instanteMillis, int metrica) {
+        JanelaMetricas janela = janelas[tempo.ordinal()];
+        janela.avancar(instanteMillis);
+        return janela.deslizante(metrica);
+    }
+
+    /**
+     * Monta a visão da janela no instante informado: deslizante, tumbling atual e anterior.
+     */
+    public synchronized JanelaAnalyticsDTO consultar(JanelaTempo tempo, long instanteMillis, ZoneId zona) {
+        JanelaMetricas janela = janelas[tempo.ordinal()];
+        janela.avancar(instanteMillis);
+
+        long duracao = tempo.getDuracaoMillis();
+        long inicioAtual = janela.getInicioTumblingAtual();
+
+        MetricasJanelaDTO deslizante = metricas(instanteMillis - duracao, instanteMillis, zona,
+                janela.deslizante(JanelaMetricas.UNIDADES_ENTRADA), janela.deslizante(JanelaMetricas.UNIDADES_SAIDA),
+                janela.deslizante(JanelaMetricas.RECEITA_CENTAVOS), janela.deslizante(JanelaMetricas.LUCRO_CENTAVOS),
+                janela.deslizante(JanelaMetricas.EVENTOS));
+        MetricasJanelaDTO atual = metricas(inicioAtual, inicioAtual + duracao, zona,
+                janela.tumblingAtual(JanelaMetricas.UNIDADES_ENTRADA), janela.tumblingAtual(JanelaMetricas.UNIDADES_SAIDA),
+                janela.tumblingAtual(JanelaMetricas.RECEITA_CENTAVOS), janela.tumblingAtual(JanelaMetricas.LUCRO_CENTAVOS),
+                janela.tumblingAtual(JanelaMetricas.EVENTOS));
+        MetricasJanelaDTO anterior = metricas(inicioAtual - duracao, inicioAtual, zona,
+                janela.tumblingAnterior(JanelaMetricas.UNIDADES_ENTRADA), janela.tumblingAnterior(JanelaMetricas.UNIDADES_SAIDA),
+                janela.tumblingAnterior(JanelaMetricas.RECEITA_CENTAVOS), janela.tumblingAnterior(JanelaMetricas.LUCRO_CENTAVOS),
+                janela.tumblingAnterior(JanelaMetricas.EVENTOS));
+
+        return new JanelaAnalyticsDTO(chave, tempo.getCodigo(), deslizante, atual, anterior);
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    private static MetricasJanelaDTO metricas(long inicio, long fim, ZoneId zona, long unidadesEntrada, long unidadesSaida,
+                                              long receitaCentavos, long lucroCentavos, long eventos) {
+        MetricasJanelaDTO dto = new MetricasJanelaDTO();
+        dto.setInicio(LocalDateTime.ofInstant(Instant.ofEpochMilli(inicio), zona));
+        dto.setFim(LocalDateTime.ofInstant(Instant.ofEpochMilli(fim), zona));
+        dto.setUnidadesEntrada(unidadesEntrada);
+        dto.setUnidadesSaida(unidadesSaida);
+        dto.setReceita(BigDecimal.valueOf(receitaCentavos, 2));
+        dto.setLucro(BigDecimal.valueOf(lucroCentavos, 2));
+        dto.setEventos(eventos);
+        return dto;
+    }
+}
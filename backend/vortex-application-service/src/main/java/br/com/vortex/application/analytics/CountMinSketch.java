@@ -0,0 +1,115 @@
+package br.com.vortex.application.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch para contagem aproximada de frequências com memória fixa.
+ *
+ * A estimativa nunca é menor que o valor real e excede-o em no máximo
+ * {@code e/largura * total} com probabilidade {@code 1 - e^-profundidade}.
+ * Sketches com as mesmas dimensões podem ser somados célula a célula.
+ */
+public class CountMinSketch {
+
+    /**
+     * Limite de células ({@code largura * profundidade}), para que dimensões vindas de
+     * snapshots externos não provoquem alocações enormes.
+     */
+    public static final int MAXIMO_CELULAS = 1 << 22;
+
+    private final int largura;
+    private final int profundidade;
+    private final int mascara;
+    private final long[] contagens;
+    private long total;
+
+    /**
+     * @param largura Colunas por linha (potência de 2)
+     * @param profundidade Número de linhas (funções de hash)
+     */
+    public CountMinSketch(int largura, int profundidade) {
+        if (largura <= 0 || Integer.bitCount(largura) != 1 || profundidade <= 0) {
+            throw new IllegalArgumentException("A largura deve ser potência de 2 e a profundidade positiva");
+        }
+        if ((long) largura * profundidade > MAXIMO_CELULAS) {
+            throw new IllegalArgumentException("Dimensões do sketch excedem " + MAXIMO_CELULAS + " células");
+        }
+        this.largura = largura;
+        this.profundidade = profundidade;
+        this.mascara = largura - 1;
+        this.contagens = new long[largura * profundidade];
+    }
+
+    /**
+     * Recria um sketch a partir das contagens de um snapshot.
+     */
+    public static CountMinSketch deContagens(int largura, int profundidade, long[] contagens) {
+        if (contagens.length != (long) largura * profundidade) {
+            throw new IllegalArgumentException("Contagens incompatíveis com as dimensões do sketch");
+        }
+        CountMinSketch sketch = new CountMinSketch(largura, profundidade);
+        System.arraycopy(contagens, 0, sketch.contagens, 0, contagens.length);
+        for (int coluna = 0; coluna < largura; coluna++) {
+            sketch.total += contagens[coluna];
+        }
+        return sketch;
+    }
+
+    public void adicionar(long chave, long quantidade) {
+        long hash = Hashing.misturar(chave);
+        for (int linha = 0; linha < profundidade; linha++) {
+            contagens[linha * largura + coluna(hash, linha)] += quantidade;
+        }
+        total += quantidade;
+    }
+
+    public long estimar(long chave) {
+        long hash = Hashing.misturar(chave);
+        long minimo = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            minimo = Math.min(minimo, contagens[linha * largura + coluna(hash, linha)]);
+        }
+        return minimo;
+    }
+
+    /**
+     * Soma as contagens de outro sketch com as mesmas dimensões.
+     */
+    public void combinar(CountMinSketch outro) {
+        if (outro.largura != largura || outro.profundidade != profundidade) {
+            throw new IllegalArgumentException("Sketches com dimensões diferentes não podem ser combinados");
+        }
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        total += outro.total;
+    }
+
+    public void limpar() {
+        Arrays.fill(contagens, 0L);
+        total = 0;
+    }
+
+    public long[] copiarContagens() {
+        return contagens.clone();
+    }
+
+    public int getLargura() {
+        return largura;
+    }
+
+    public int getProfundidade() {
+        return profundidade;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    private int coluna(long hash, int linha) {
+        // Hash duplo (Kirsch-Mitzenmacher): h1 + i*h2 gera as funções de cada linha
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + linha * h2) & mascara;
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.vortex.application.analytics;
+
+import br.com.vortex.application.util.LruSegmentado;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Detector de operações suspeitas baseado em estatísticas contínuas por usuário e por produto.
+ *
+ * Sinais avaliados a cada operação:
+ * - Tamanho do movimento: média e variância exponenciais (EWMA) da quantidade por produto
+ *   e por usuário; o movimento é suspeito quando o z-score ultrapassa o limite configurado
+ * - Taxa de ações sensíveis (exclusões/atualizações) e de falhas por usuário: contadores
+ *   com decaimento exponencial, equivalentes a uma janela móvel sem guardar eventos
+ *
+ * O estado fica em mapas LRU de capacidade fixa ({@link LruSegmentado}): usuários e produtos
+ * inativos são descartados, de modo que a memória não cresce com o número de usuários.
+ * Cada decisão faz no máximo três consultas a mapa e algumas operações de ponto flutuante.
+ */
+@Component
+public class DetectorAnomalias {
+
+    private final LruSegmentado<String, EstadoUsuario> usuarios;
+    private final LruSegmentado<Long, EstatisticaEwma> produtos;
+
+    private final double alpha;
+    private final double limiteZ;
+    private final int amostrasMinimas;
+    private final double desvioMinimo;
+    private final double janelaTaxaNanos;
+    private final double limiteAcoesSensiveis;
+    private final double limiteFalhas;
+    private final String[] acoesSensiveis;
+    private final LongSupplier relogioNanos;
+
+    private final AtomicLong avaliadas = new AtomicLong();
+    private final AtomicLong suspeitas = new AtomicLong();
+
+    @Autowired
+    public DetectorAnomalias(@Value("${analytics.anomalias.capacidade-usuarios:100000}") int capacidadeUsuarios,
+                             @Value("${analytics.anomalias.capacidade-produtos:100000}") int capacidadeProdutos,
+                             @Value("${analytics.anomalias.alpha:0.05}") double alpha,
+                             @Value("${analytics.anomalias.limite-z:4.0}") double limiteZ,
+                             @Value("${analytics.anomalias.amostras-minimas:20}") int amostrasMinimas,
+                             @Value("${analytics.anomalias.taxa.janela-segundos:60}") long janelaTaxaSegundos,
+                             @Value("${analytics.anomalias.taxa.limite-acoes-sensiveis:30}") double limiteAcoesSensiveis,
+                             @Value("${analytics.anomalias.taxa.limite-falhas:10}") double limiteFalhas,
+                             @Value("${analytics.anomalias.acoes-sensiveis:DELETE,EXCLU,REMOV,UPDATE,ATUALIZ}") List<String> acoesSensiveis) {
+        this(capacidadeUsuarios, capacidadeProdutos, alpha, limiteZ, amostrasMinimas,
+                TimeUnit.SECONDS.toNanos(janelaTaxaSegundos), limiteAcoesSensiveis, limiteFalhas,
+                acoesSensiveis, System::nanoTime);
+    }
+
+    DetectorAnomalias(int capacidadeUsuarios, int capacidadeProdutos, double alpha, double limiteZ, int amostrasMinimas,
+                      long janelaTaxaNanos, double limiteAcoesSensiveis, double limiteFalhas,
+                      List<String> acoesSensiveis, LongSupplier relogioNanos) {
+        int segmentos = Runtime.getRuntime().availableProcessors() * 4;
+        this.usuarios = new LruSegmentado<>(capacidadeUsuarios, segmentos);
+        this.produtos = new LruSegmentado<>(capacidadeProdutos, segmentos);
+        this.alpha = alpha;
+        this.limiteZ = limiteZ;
+        this.amostrasMinimas = amostrasMinimas;
+        this.desvioMinimo = 1.0;
+        this.janelaTaxaNanos = janelaTaxaNanos;
+        this.limiteAcoesSensiveis = limiteAcoesSensiveis;
+        this.limiteFalhas = limiteFalhas;
+        this.acoesSensiveis = acoesSensiveis.stream().map(String::toUpperCase).toArray(String[]::new);
+        this.relogioNanos = relogioNanos;
+    }
+
+    /**
+     * Avalia uma operação e atualiza as estatísticas do usuário e do produto.
+     *
+     * @param userId Usuário que executou a operação (nulo é tratado como anônimo)
+     * @param acao Ação auditada (ex.: MOVIMENTO_CRIADO, PRODUTO_EXCLUIDO)
+     * @param sucesso Se a operação foi concluída com sucesso
+     * @param produtoId Produto movimentado, ou nulo se não for um movimento
+     * @param quantidade Quantidade movimentada, ou negativa se não for um movimento
+     * @return Motivo da suspeita, ou {@code null} se a operação parece normal
+     */
+    public MotivoSuspeita avaliar(String userId, String acao, boolean sucesso, Long produtoId, long quantidade) {
+        avaliadas.incrementAndGet();
+        long agora = relogioNanos.getAsLong();
+        MotivoSuspeita motivo = null;
+
+        EstadoUsuario usuario = usuarios.obterOuCriar(userId != null ? userId : "anonimo", chave -> new EstadoUsuario());
+        synchronized (usuario) {
+            if (!sucesso && usuario.falhas.registrar(agora, janelaTaxaNanos) > limiteFalhas) {
+                motivo = MotivoSuspeita.TAXA_FALHAS;
+            }
+            if (isAcaoSensivel(acao) && usuario.acoesSensiveis.registrar(agora, janelaTaxaNanos) > limiteAcoesSensiveis) {
+                motivo = MotivoSuspeita.TAXA_ACOES_SENSIVEIS;
+            }
+            if (quantidade >= 0 && usuario.quantidade.avaliarEAtualizar(quantidade, alpha, limiteZ, amostrasMinimas, desvioMinimo)) {
+                motivo = MotivoSuspeita.QUANTIDADE_ATIPICA_USUARIO;
+            }
+        }
+
+        if (produtoId != null && quantidade >= 0) {
+            EstatisticaEwma produto = produtos.obterOuCriar(produtoId, chave -> new EstatisticaEwma());
+            synchronized (produto) {
+                if (produto.avaliarEAtualizar(quantidade, alpha, limiteZ, amostrasMinimas, desvioMinimo)) {
+                    motivo = MotivoSuspeita.QUANTIDADE_ATIPICA_PRODUTO;
+                }
+            }
+        }
+
+        if (motivo != null) {
+            suspeitas.incrementAndGet();
+        }
+        return motivo;
+    }
+
+    public long getAvaliadas() {
+        return avaliadas.get();
+    }
+
+    public long getSuspeitas() {
+        return suspeitas.get();
+    }
+
+    public int getUsuariosMonitorados() {
+        return usuarios.tamanho();
+    }
+
+    public int getProdutosMonitorados() {
+        return produtos.tamanho();
+    }
+
+    public long getEstadosDescartados() {
+        return usuarios.getRemocoes() + produtos.getRemocoes();
+    }
+
+    private boolean isAcaoSensivel(String acao) {
+        if (acao == null) {
+            return false;
+        }
+        // Busca sem distinguir maiúsculas e sem alocar (evita toUpperCase por evento)
+        for (String sensivel : acoesSensiveis) {
+            for (int i = 0; i + sensivel.length() <= acao.length(); i++) {
+                if (acao.regionMatches(true, i, sensivel, 0, sensivel.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Média e variância exponenciais de uma série.
+     */
+    static class EstatisticaEwma {
+
+        private double media;
+        private double variancia;
+        private long amostras;
+
+        /**
+         * Calcula o z-score do valor contra o histórico e incorpora o valor às estatísticas.
+         * Valores anômalos entram limitados ao teto do limite, para não deslocar a média
+         * de referência de uma só vez.
+         *
+         * @return {@code true} se o valor é anômalo
+         */
+        boolean avaliarEAtualizar(double valor, double alpha, double limiteZ, int amostrasMinimas, double desvioMinimo) {
+            if (amostras == 0) {
+                media = valor;
+                amostras = 1;
+                return false;
+            }
+
+            double desvio = Math.max(Math.sqrt(variancia), desvioMinimo);
+            double z = (valor - media) / desvio;
+            boolean anomalo = amostras >= amostrasMinimas && z > limiteZ;
+
+            double incorporado = anomalo ? media + limiteZ * desvio : valor;
+            double diferenca = incorporado - media;
+            double incremento = alpha * diferenca;
+            media += incremento;
+            variancia = (1 - alpha) * (variancia + diferenca * incremento);
+            amostras++;
+            return anomalo;
+        }
+
+        double getMedia() {
+            return media;
+        }
+    }
+
+    /**
+     * Contador com decaimento exponencial: aproxima o número de eventos na janela.
+     */
+    static class TaxaDecaimento {
+
+        private double valor;
+        private long ultimoNanos;
+
+        double registrar(long agoraNanos, double janelaNanos) {
+            if (valor > 0) {
+                valor *= Math.exp(-(agoraNanos - ultimoNanos) / janelaNanos);
+            }
+            valor += 1.0;
+            ultimoNanos = agoraNanos;
+            return valor;
+        }
+    }
+
+    private static class EstadoUsuario {
+
+        private final EstatisticaEwma quantidade = new EstatisticaEwma();
+        private final TaxaDecaimento acoesSensiveis = new TaxaDecaimento();
+        private final TaxaDecaimento falhas = new TaxaDecaimento();
+    }
+}
@@ -0,0 +1,300 @@
+package br.com.vortex.application.analytics;
+
+import br.com.vortex.application.dto.EstatisticasAproximadasDTO;
+import br.com.vortex.application.dto.ProdutoTopVendasDTO;
+import br.com.vortex.application.dto.SketchesSnapshotDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Estatísticas aproximadas com memória fixa, independente do tamanho do catálogo:
+ * - Produtos mais vendidos na última hora: Count-Min Sketch por fatia de 5 minutos,
+ *   com um conjunto limitado de candidatos (heavy hitters) por fatia
+ * - Usuários distintos ativos no dia: HyperLogLog reiniciado na virada do dia
+ *
+ * O estado pode ser exportado em snapshots; snapshots de várias instâncias são
+ * combinados somando os sketches de vendas e unindo os HyperLogLogs.
+ */
+@Component
+public class EstatisticasAproximadas {
+
+    static final int FATIAS = 12;
+    static final Duration DURACAO_FATIA = Duration.ofMinutes(5);
+
+    private final int largura;
+    private final int profundidade;
+    private final int precisaoHll;
+    private final Clock clock;
+
+    private final Object lockVendas = new Object();
+    private final CountMinSketch[] fatias = new CountMinSketch[FATIAS];
+    private final CandidatosTop[] candidatos = new CandidatosTop[FATIAS];
+    private final long[] idFatia = new long[FATIAS];
+
+    private final Object lockUsuarios = new Object();
+    private final HyperLogLog usuariosDia;
+    private LocalDate diaUsuarios;
+
+    @Autowired
+    public EstatisticasAproximadas(@Value("${analytics.sketches.cms.largura:2048}") int largura,
+                                   @Value("${analytics.sketches.cms.profundidade:4}") int profundidade,
+                                   @Value("${analytics.sketches.candidatos:256}") int capacidadeCandidatos,
+                                   @Value("${analytics.sketches.hll.precisao:14}") int precisaoHll) {
+        this(largura, profundidade, capacidadeCandidatos, precisaoHll, Clock.systemDefaultZone());
+    }
+
+    EstatisticasAproximadas(int largura, int profundidade, int capacidadeCandidatos, int precisaoHll, Clock clock) {
+        this.largura = largura;
+        this.profundidade = profundidade;
+        this.precisaoHll = precisaoHll;
+        this.clock = clock;
+        for (int i = 0; i < FATIAS; i++) {
+            fatias[i] = new CountMinSketch(largura, profundidade);
+            candidatos[i] = new CandidatosTop(capacidadeCandidatos);
+            idFatia[i] = Long.MIN_VALUE;
+        }
+        this.usuariosDia = new HyperLogLog(precisaoHll);
+        this.diaUsuarios = LocalDate.now(clock);
+    }
+
+    /**
+     * Registra unidades vendidas de um produto na fatia de tempo atual.
+     */
+    public void registrarVenda(long produtoId, long unidades) {
+        long fatiaAtual = fatiaAtual();
+        synchronized (lockVendas) {
+            int indice = (int) Math.floorMod(fatiaAtual, (long) FATIAS);
+            if (idFatia[indice] != fatiaAtual) {
+                fatias[indice].limpar();
+                candidatos[indice].limpar();
+                idFatia[indice] = fatiaAtual;
+            }
+            fatias[indice].adicionar(produtoId, unidades);
+            candidatos[indice].atualizar(produtoId, fatias[indice].estimar(produtoId));
+        }
+    }
+
+    /**
+     * Registra um usuário ativo no dia.
+     */
+    public void registrarUsuarioAtivo(String userId) {
+        if (userId == null) {
+            return;
+        }
+        LocalDate hoje = LocalDate.now(clock);
+        synchronized (lockUsuarios) {
+            if (!hoje.equals(diaUsuarios)) {
+                usuariosDia.limpar();
+                diaUsuarios = hoje;
+            }
+            usuariosDia.adicionar(userId);
+        }
+    }
+
+    /**
+     * Estatísticas desta instância.
+     */
+    public EstatisticasAproximadasDTO consultar(int limite) {
+        return combinar(List.of(snapshot()), limite);
+    }
+
+    /**
+     * Exporta o estado atual: as fatias da última hora somadas em um único sketch,
+     * os candidatos ao ranking e o HyperLogLog do dia.
+     */
+    public SketchesSnapshotDTO snapshot() {
+        long fatiaAtual = fatiaAtual();
+        CountMinSketch janela = new CountMinSketch(largura, profundidade);
+        Set<Long> ids = new LinkedHashSet<>();
+
+        synchronized (lockVendas) {
+            for (int i = 0; i < FATIAS; i++) {
+                if (idFatia[i] != Long.MIN_VALUE && idFatia[i] > fatiaAtual - FATIAS) {
+                    janela.combinar(fatias[i]);
+                    candidatos[i].copiarPara(ids);
+                }
+            }
+        }
+
+        byte[] registradores;
+        LocalDate dia;
+        synchronized (lockUsuarios) {
+            dia = diaUsuarios;
+            registradores = usuariosDia.copiarRegistradores();
+        }
+
+        SketchesSnapshotDTO snapshot = new SketchesSnapshotDTO();
+        snapshot.setGeradoEm(LocalDateTime.now(clock));
+        snapshot.setInicioJanelaVendas(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli((fatiaAtual - FATIAS + 1) * DURACAO_FATIA.toMillis()), clock.getZone()));
+        snapshot.setLarguraCms(largura);
+        snapshot.setProfundidadeCms(profundidade);
+        snapshot.setContagensCms(codificar(janela.copiarContagens()));
+        snapshot.setCandidatosTopVendas(new ArrayList<>(ids));
+        snapshot.setDiaUsuarios(dia);
+        snapshot.setPrecisaoHll(precisaoHll);
+        snapshot.setRegistradoresHll(Base64.getEncoder().encodeToString(registradores));
+        return snapshot;
+    }
+
+    /**
+     * Combina snapshots de uma ou mais instâncias. Para usuários ativos, apenas os
+     * snapshots do dia mais recente entram na união.
+     *
+     * @throws IllegalArgumentException se os snapshots tiverem dimensões incompatíveis
+     */
+    public static EstatisticasAproximadasDTO combinar(List<SketchesSnapshotDTO> snapshots, int limite) {
+        if (snapshots == null || snapshots.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um snapshot");
+        }
+
+        SketchesSnapshotDTO primeiro = snapshots.get(0);
+        if (primeiro.getLarguraCms() == null || primeiro.getProfundidadeCms() == null || primeiro.getPrecisaoHll() == null) {
+            throw new IllegalArgumentException("Snapshot sem as dimensões dos sketches");
+        }
+        for (SketchesSnapshotDTO snapshot : snapshots) {
+            if (!primeiro.getLarguraCms().equals(snapshot.getLarguraCms())
+                    || !primeiro.getProfundidadeCms().equals(snapshot.getProfundidadeCms())
+                    || !primeiro.getPrecisaoHll().equals(snapshot.getPrecisaoHll())) {
+                throw new IllegalArgumentException("Snapshots com dimensões diferentes não podem ser combinados");
+            }
+        }
+        CountMinSketch vendas = new CountMinSketch(primeiro.getLarguraCms(), primeiro.getProfundidadeCms());
+        HyperLogLog usuarios = new HyperLogLog(primeiro.getPrecisaoHll());
+        Set<Long> ids = new LinkedHashSet<>();
+        LocalDate diaMaisRecente = snapshots.stream().map(SketchesSnapshotDTO::getDiaUsuarios)
+                .max(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime inicioJanela = primeiro.getInicioJanelaVendas();
+
+        for (SketchesSnapshotDTO snapshot : snapshots) {
+            vendas.combinar(CountMinSketch.deContagens(snapshot.getLarguraCms(), snapshot.getProfundidadeCms(),
+                    decodificar(snapshot.getContagensCms())));
+            if (snapshot.getCandidatosTopVendas() != null) {
+                ids.addAll(snapshot.getCandidatosTopVendas());
+            }
+            if (diaMaisRecente != null && diaMaisRecente.equals(snapshot.getDiaUsuarios())) {
+                usuarios.combinar(HyperLogLog.deRegistradores(snapshot.getPrecisaoHll(),
+                        Base64.getDecoder().decode(snapshot.getRegistradoresHll())));
+            }
+            if (snapshot.getInicioJanelaVendas() != null && snapshot.getInicioJanelaVendas().isBefore(inicioJanela)) {
+                inicioJanela = snapshot.getInicioJanelaVendas();
+            }
+        }
+
+        List<ProdutoTopVendasDTO> top = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            top.add(new ProdutoTopVendasDTO(id, vendas.estimar(id)));
+        }
+        top.sort(Comparator.comparing(ProdutoTopVendasDTO::getUnidadesEstimadas).reversed()
+                .thenComparing(ProdutoTopVendasDTO::getProdutoId));
+
+        EstatisticasAproximadasDTO dto = new EstatisticasAproximadasDTO();
+        dto.setInicioJanelaVendas(inicioJanela);
+        int quantidade = Math.max(0, limite);
+        dto.setTopProdutos(top.size() > quantidade ? new ArrayList<>(top.subList(0, quantidade)) : top);
+        dto.setTotalUnidadesVendidas(vendas.getTotal());
+        dto.setErroMaximoUnidades((long) Math.ceil(Math.E / vendas.getLargura() * vendas.getTotal()));
+        dto.setDiaUsuarios(diaMaisRecente);
+        dto.setUsuariosAtivos(usuarios.estimar());
+        dto.setErroPadraoUsuarios(usuarios.getErroPadrao());
+        dto.setInstancias(snapshots.size());
+        return dto;
+    }
+
+    private long fatiaAtual() {
+        return Math.floorDiv(clock.millis(), DURACAO_FATIA.toMillis());
+    }
+
+    private static String codificar(long[] valores) {
+        ByteBuffer buffer = ByteBuffer.allocate(valores.length * Long.BYTES);
+        buffer.asLongBuffer().put(valores);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    private static long[] decodificar(String base64) {
+        if (base64 == null) {
+            throw new IllegalArgumentException("Snapshot sem contagens do Count-Min Sketch");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(base64));
+        long[] valores = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(valores);
+        return valores;
+    }
+
+    /**
+     * Conjunto limitado dos produtos com maior estimativa em uma fatia.
+     *
+     * Quando cheio, um novo produto só entra se sua estimativa superar a menor do
+     * conjunto, que é então substituída. Usa arrays primitivos e busca linear,
+     * adequada às poucas centenas de candidatos.
+     */
+    static class CandidatosTop {
+
+        private final long[] ids;
+        private final long[] estimativas;
+        private int tamanho;
+        private int indiceMinimo = -1;
+
+        CandidatosTop(int capacidade) {
+            this.ids = new long[capacidade];
+            this.estimativas = new long[capacidade];
+        }
+
+        void atualizar(long id, long estimativa) {
+            for (int i = 0; i < tamanho; i++) {
+                if (ids[i] == id) {
+                    estimativas[i] = estimativa;
+                    if (i == indiceMinimo) {
+                        recalcularMinimo();
+                    }
+                    return;
+                }
+            }
+
+            if (tamanho < ids.length) {
+                ids[tamanho] = id;
+                estimativas[tamanho] = estimativa;
+                tamanho++;
+                recalcularMinimo();
+            } else if (estimativa > estimativas[indiceMinimo]) {
+                ids[indiceMinimo] = id;
+                estimativas[indiceMinimo] = estimativa;
+                recalcularMinimo();
+            }
+        }
+
+        void copiarPara(Set<Long> destino) {
+            for (int i = 0; i < tamanho; i++) {
+                destino.add(ids[i]);
+            }
+        }
+
+        void limpar() {
+            tamanho = 0;
+            indiceMinimo = -1;
+        }
+
+        private void recalcularMinimo() {
+            indiceMinimo = 0;
+            for (int i = 1; i < tamanho; i++) {
+                if (estimativas[i] < estimativas[indiceMinimo]) {
+                    indiceMinimo = i;
+                }
+            }
+        }
+    }
+}
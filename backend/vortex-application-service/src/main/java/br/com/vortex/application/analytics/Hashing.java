@@ -0,0 +1,35 @@
+package br.com.vortex.application.analytics;
+
+/**
+ * Funções de hash de 64 bits usadas pelos sketches.
+ *
+ * São determinísticas entre instâncias e execuções, requisito para que snapshots de
+ * instâncias diferentes possam ser combinados.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha bem valores sequenciais como IDs.
+     */
+    static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Hash de 64 bits de uma string (FNV-1a seguido do finalizador), sem alocação.
+     */
+    static long hash(CharSequence texto) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            h ^= texto.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return misturar(h);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.vortex.application.analytics;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog para contagem aproximada de elementos distintos com memória fixa.
+ *
+ * Com precisão {@code p} usa {@code 2^p} registradores de um byte; o erro padrão é
+ * {@code 1.04 / sqrt(2^p)} (0,81% com p = 14). Dois HLLs de mesma precisão são
+ * combinados pelo máximo de cada registrador, o que equivale à união dos conjuntos.
+ */
+public class HyperLogLog {
+
+    private final int precisao;
+    private final byte[] registradores;
+
+    public HyperLogLog(int precisao) {
+        if (precisao < 4 || precisao > 18) {
+            throw new IllegalArgumentException("A precisão do HyperLogLog deve estar entre 4 e 18");
+        }
+        this.precisao = precisao;
+        this.registradores = new byte[1 << precisao];
+    }
+
+    /**
+     * Recria um HLL a partir dos registradores de um snapshot.
+     */
+    public static HyperLogLog deRegistradores(int precisao, byte[] registradores) {
+        HyperLogLog hll = new HyperLogLog(precisao);
+        if (registradores.length != hll.registradores.length) {
+            throw new IllegalArgumentException("Registradores incompatíveis com a precisão do HyperLogLog");
+        }
+        System.arraycopy(registradores, 0, hll.registradores, 0, registradores.length);
+        return hll;
+    }
+
+    public void adicionar(CharSequence valor) {
+        adicionarHash(Hashing.hash(valor));
+    }
+
+    public void adicionarHash(long hash) {
+        int indice = (int) (hash >>> (64 - precisao));
+        long restante = (hash << precisao) | (1L << (precisao - 1));
+        byte posicao = (byte) (Long.numberOfLeadingZeros(restante) + 1);
+        if (posicao > registradores[indice]) {
+            registradores[indice] = posicao;
+        }
+    }
+
+    public long estimar() {
+        int m = registradores.length;
+        double soma = 0;
+        int zeros = 0;
+        for (byte registrador : registradores) {
+            soma += 1.0 / (1L << registrador);
+            if (registrador == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimativa = alpha * m * m / soma;
+
+        // Correção para cardinalidades pequenas (linear counting)
+        if (estimativa <= 2.5 * m && zeros > 0) {
+            estimativa = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimativa);
+    }
+
+    public void combinar(HyperLogLog outro) {
+        if (outro.precisao != precisao) {
+            throw new IllegalArgumentException("HyperLogLogs com precisões diferentes não podem ser combinados");
+        }
+        for (int i = 0; i < registradores.length; i++) {
+            if (outro.registradores[i] > registradores[i]) {
+                registradores[i] = outro.registradores[i];
+            }
+        }
+    }
+
+    public void limpar() {
+        Arrays.fill(registradores, (byte) 0);
+    }
+
+    public byte[] copiarRegistradores() {
+        return registradores.clone();
+    }
+
+    public int getPrecisao() {
+        return precisao;
+    }
+
+    /**
+     * Erro padrão relativo da estimativa.
+     */
+    public double getErroPadrao() {
+        return 1.04 / Math.sqrt(registradores.length);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.vortex.application.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Métricas de movimentação agregadas em uma janela de tempo.
+ *
+ * Os valores ficam em um único array de {@code long} com {@link #METRICAS} posições por
+ * balde, indexado pelo número do balde módulo {@link JanelaTempo#BALDES}. As somas da
+ * janela deslizante e da janela tumbling atual e anterior são mantidas de forma
+ * incremental: registrar um evento e consultar a janela não alocam objetos e custam
+ * O(1) amortizado (avançar o tempo limpa no máximo {@link JanelaTempo#BALDES} baldes).
+ *
+ * Não é thread-safe; a sincronização fica a cargo de {@link AgregadorJanelas}.
+ */
+class JanelaMetricas {
+
+    static final int UNIDADES_ENTRADA = 0;
+    static final int UNIDADES_SAIDA = 1;
+    static final int RECEITA_CENTAVOS = 2;
+    static final int LUCRO_CENTAVOS = 3;
+    static final int EVENTOS = 4;
+    static final int METRICAS = 5;
+
+    private final JanelaTempo janela;
+
+    private final long[] baldes = new long[JanelaTempo.BALDES * METRICAS];
+    private final long[] somaDeslizante = new long[METRICAS];
+    private final long[] tumblingAtual = new long[METRICAS];
+    private final long[] tumblingAnterior = new long[METRICAS];
+
+    private long ultimoBalde = Long.MIN_VALUE;
+    private long inicioTumblingAtual = Long.MIN_VALUE;
+
+    JanelaMetricas(JanelaTempo janela) {
+        this.janela = janela;
+    }
+
+    void registrar(long instanteMillis, long unidadesEntrada, long unidadesSaida, long receitaCentavos, long lucroCentavos) {
+        avancar(instanteMillis);
+
+        int base = indice(ultimoBalde) * METRICAS;
+        somar(baldes, base, unidadesEntrada, unidadesSaida, receitaCentavos, lucroCentavos);
+        somar(somaDeslizante, 0, unidadesEntrada, unidadesSaida, receitaCentavos, lucroCentavos);
+        somar(tumblingAtual, 0, unidadesEntrada, unidadesSaida, receitaCentavos, lucroCentavos);
+    }
+
+    /**
+     * Move a janela até o instante informado, descartando os baldes que saíram dela.
+     * Instantes anteriores ao último balde registrado são tratados como o último balde.
+     */
+    void avancar(long instanteMillis) {
+        long balde = Math.floorDiv(instanteMillis, janela.getDuracaoBaldeMillis());
+        if (ultimoBalde == Long.MIN_VALUE) {
+            ultimoBalde = balde;
+        } else if (balde > ultimoBalde) {
+            long baldesALimpar = Math.min(balde - ultimoBalde, JanelaTempo.BALDES);
+            for (long b = balde - baldesALimpar + 1; b <= balde; b++) {
+                limparBalde(indice(b));
+            }
+            ultimoBalde = balde;
+        }
+
+        long inicioTumbling = Math.floorDiv(instanteMillis, janela.getDuracaoMillis()) * janela.getDuracaoMillis();
+        if (inicioTumblingAtual == Long.MIN_VALUE) {
+            inicioTumblingAtual = inicioTumbling;
+        } else if (inicioTumbling > inicioTumblingAtual) {
+            if (inicioTumbling - inicioTumblingAtual == janela.getDuracaoMillis()) {
+                System.arraycopy(tumblingAtual, 0, tumblingAnterior, 0, METRICAS);
+            } else {
+                Arrays.fill(tumblingAnterior, 0L);
+            }
+            Arrays.fill(tumblingAtual, 0L);
+            inicioTumblingAtual = inicioTumbling;
+        }
+    }
+
+    long deslizante(int metrica) {
+        return somaDeslizante[metrica];
+    }
+
+    long tumblingAtual(int metrica) {
+        return tumblingAtual[metrica];
+    }
+
+    long tumblingAnterior(int metrica) {
+        return tumblingAnterior[metrica];
+    }
+
+    long getInicioTumblingAtual() {
+        return inicioTumblingAtual;
+    }
+
+    JanelaTempo getJanela() {
+        return janela;
+    }
+
+    private void limparBalde(int indice) {
+        int base = indice * METRICAS;
+        for (int m = 0; m < METRICAS; m++) {
+            somaDeslizante[m] -= baldes[base + m];
+            baldes[base + m] = 0L;
+        }
+    }
+
+    private static int indice(long balde) {
+        return (int) Math.floorMod(balde, (long) JanelaTempo.BALDES);
+    }
+
+    private static void somar(long[] destino, int base, long unidadesEntrada, long unidadesSaida,
+                              long receitaCentavos, long lucroCentavos) {
+        destino[base + UNIDADES_ENTRADA] += unidadesEntrada;
+        destino[base + UNIDADES_SAIDA] += unidadesSaida;
+        destino[base + RECEITA_CENTAVOS] += receitaCentavos;
+        destino[base + LUCRO_CENTAVOS] += lucroCentavos;
+        destino[base + EVENTOS]++;
+    }
+}
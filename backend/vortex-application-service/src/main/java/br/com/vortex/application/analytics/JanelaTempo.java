@@ -0,0 +1,53 @@
+package br.com.vortex.application.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Janelas de tempo mantidas pelo motor de analytics.
+ *
+ * Cada janela é dividida em {@link #BALDES} baldes de mesma duração. A janela deslizante
+ * soma os baldes mais recentes; a janela tumbling é alinhada a múltiplos da duração
+ * (ex.: 12:00-12:05, 12:05-12:10).
+ */
+public enum JanelaTempo {
+
+    UM_MINUTO("1m", 60),
+    CINCO_MINUTOS("5m", 300),
+    UMA_HORA("1h", 3600);
+
+    public static final int BALDES = 60;
+
+    private final String codigo;
+    private final long duracaoMillis;
+    private final long duracaoBaldeMillis;
+
+    JanelaTempo(String codigo, long duracaoSegundos) {
+        this.codigo = codigo;
+        this.duracaoMillis = duracaoSegundos * 1000;
+        this.duracaoBaldeMillis = duracaoMillis / BALDES;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public long getDuracaoMillis() {
+        return duracaoMillis;
+    }
+
+    public long getDuracaoBaldeMillis() {
+        return duracaoBaldeMillis;
+    }
+
+    /**
+     * Obtém a janela pelo código (1m, 5m, 1h).
+     *
+     * @throws IllegalArgumentException se o código não corresponder a nenhuma janela
+     */
+    public static JanelaTempo doCodigo(String codigo) {
+        return Arrays.stream(values())
+                .filter(janela -> janela.codigo.equalsIgnoreCase(codigo))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Janela inválida: " + codigo + ". Use 1m, 5m ou 1h"));
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.vortex.application.analytics;
+
+/**
+ * Motivos pelos quais o detector de anomalias considera uma operação suspeita.
+ */
+public enum MotivoSuspeita {
+
+    /** Quantidade muito acima do padrão de movimentação do produto */
+    QUANTIDADE_ATIPICA_PRODUTO,
+
+    /** Quantidade muito acima do padrão de movimentação do usuário */
+    QUANTIDADE_ATIPICA_USUARIO,
+
+    /** Muitas exclusões/atualizações do mesmo usuário em pouco tempo */
+    TAXA_ACOES_SENSIVEIS,
+
+    /** Muitas operações com falha do mesmo usuário em pouco tempo */
+    TAXA_FALHAS
+}
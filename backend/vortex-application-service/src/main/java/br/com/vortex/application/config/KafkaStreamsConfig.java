@@ -0,0 +1,71 @@
+package br.com.vortex.application.config;
+
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.streams.InventarioStreamsTopologia;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuração do Kafka Streams para os agregados contínuos de inventário.
+ *
+ * Habilitada apenas com {@code kafka.enabled=true} e {@code kafka.streams.enabled=true}.
+ * Os state stores ficam em RocksDB no diretório configurado e são restaurados a partir
+ * dos tópicos de changelog ao reiniciar.
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = {"kafka.enabled", "kafka.streams.enabled"}, havingValue = "true")
+public class KafkaStreamsConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${kafka.streams.application-id:vortex-inventario-streams}")
+    private String applicationId;
+
+    @Value("${kafka.streams.state-dir:data/kafka-streams}")
+    private String stateDir;
+
+    @Value("${kafka.streams.threads:1}")
+    private int threads;
+
+    @Value("${kafka.streams.processing-guarantee:at_least_once}")
+    private String processingGuarantee;
+
+    @Value("${kafka.topics.movimento-estoque:vortex.movimento.estoque}")
+    private String movimentoEstoqueTopic;
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, threads);
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, processingGuarantee);
+        
+        // Eventos malformados são registrados e ignorados em vez de parar a topologia
+        props.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+                LogAndContinueExceptionHandler.class);
+        
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    @Bean
+    public KStream<String, MovimentoEstoqueEventDTO> inventarioStream(StreamsBuilder streamsBuilder, ObjectMapper objectMapper) {
+        return InventarioStreamsTopologia.construir(streamsBuilder, movimentoEstoqueTopic, objectMapper);
+    }
+}
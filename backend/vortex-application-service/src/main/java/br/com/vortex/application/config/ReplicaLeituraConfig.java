@@ -0,0 +1,96 @@
+package br.com.vortex.application.config;
+
+import br.com.vortex.application.replica.DataSourceRoteado;
+import br.com.vortex.application.replica.DialetoJpaReplica;
+import br.com.vortex.application.replica.MonitorAtrasoReplica;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuração da réplica de leitura.
+ *
+ * Habilitada apenas com {@code datasource.replica.enabled=true}. Substitui o DataSource da aplicação por um
+ * roteamento entre dois pools Hikari: o primário ({@code spring.datasource.*}, dimensionado por
+ * {@code spring.datasource.hikari.*}) e a réplica ({@code datasource.replica.*}, dimensionada por
+ * {@code datasource.replica.hikari.*}). Transações {@code readOnly} vão para a réplica enquanto o atraso
+ * dela estiver abaixo de {@code datasource.replica.atraso-maximo-ms}, e não populam o cache de segundo
+ * nível (ver {@link DialetoJpaReplica}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaLeituraConfig {
+
+    @Value("${datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username:}")
+    private String replicaUsuario;
+
+    @Value("${datasource.replica.password:}")
+    private String replicaSenha;
+
+    @Value("${datasource.replica.atraso-maximo-ms:5000}")
+    private long atrasoMaximoMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setUsername(replicaUsuario);
+        dataSource.setPassword(replicaSenha);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public MonitorAtrasoReplica monitorAtrasoReplica(@Qualifier("dataSourcePrimario") DataSource primario,
+                                                     @Qualifier("dataSourceReplica") DataSource replica) {
+        return new MonitorAtrasoReplica(primario, replica, Duration.ofMillis(atrasoMaximoMs));
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager() {
+            @Override
+            public void setJpaDialect(JpaDialect jpaDialect) {
+                super.setJpaDialect(DialetoJpaReplica.envolver(jpaDialect));
+            }
+        };
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
+        transactionManager.afterPropertiesSet();
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 MonitorAtrasoReplica monitorAtrasoReplica) {
+        return DataSourceRoteado.criar(primario, replica, monitorAtrasoReplica);
+    }
+}
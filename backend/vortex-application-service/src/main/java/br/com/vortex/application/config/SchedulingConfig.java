@@ -0,0 +1,12 @@
+package br.com.vortex.application.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas da aplicação (amostragem de métricas das filas, etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
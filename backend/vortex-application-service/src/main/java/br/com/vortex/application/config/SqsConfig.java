@@ -2,6 +2,7 @@ package br.com.vortex.application.config;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.AmazonSQSAsyncClientBuilder;
@@ -29,8 +30,13 @@ public class SqsConfig {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    @Value("${cloud.aws.sqs.endpoint:}")
+    private String endpoint;
+
     /**
      * Configura o cliente Amazon SQS Async.
+     * Quando {@code cloud.aws.sqs.endpoint} é informado (ex.: ElasticMQ local),
+     * o cliente aponta para esse endpoint em vez da AWS.
      *
      * @return Cliente SQS Async configurado
      */
@@ -38,10 +44,16 @@ public class SqsConfig {
     public AmazonSQSAsync amazonSQS() {
         BasicAWSCredentials awsCredentials = new BasicAWSCredentials(accessKey, secretKey);
         
-        return AmazonSQSAsyncClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                .withRegion(Regions.fromName(region))
-                .build();
+        AmazonSQSAsyncClientBuilder builder = AmazonSQSAsyncClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials));
+
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region));
+        } else {
+            builder.withRegion(Regions.fromName(region));
+        }
+
+        return builder.build();
     }
 
     /**
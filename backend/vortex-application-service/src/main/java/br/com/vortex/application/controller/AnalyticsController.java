@@ -0,0 +1,193 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.analytics.JanelaTempo;
+import br.com.vortex.application.dto.EstatisticasAproximadasDTO;
+import br.com.vortex.application.dto.JanelaAnalyticsDTO;
+import br.com.vortex.application.dto.SketchesSnapshotDTO;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller para consulta das métricas de movimentação em tempo real.
+ *
+ * Os valores vêm das janelas mantidas em memória pelo {@link AnalyticsService}
+ * e não consultam o banco de dados.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "API de métricas de movimentação em tempo real")
+public class AnalyticsController {
+
+    static final int LIMITE_MAXIMO = 1000;
+
+    private final AnalyticsService analyticsService;
+
+    @Autowired
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Obtém as métricas de todas as movimentações.
+     *
+     * @param janela Janela de tempo (1m, 5m ou 1h)
+     * @return Métricas deslizantes e tumbling da janela
+     */
+    @GetMapping("/geral")
+    @Operation(summary = "Métricas gerais em tempo real",
+               description = "Unidades, receita e lucro de todas as movimentações na janela informada")
+    public ResponseEntity<JanelaAnalyticsDTO> consultarGeral(
+            @Parameter(description = "Janela de tempo (1m, 5m ou 1h)") @RequestParam(defaultValue = "5m") String janela) {
+        return ResponseEntity.ok(analyticsService.consultarGeral(janela(janela)));
+    }
+
+    /**
+     * Obtém o ranking aproximado de vendas da última hora e os usuários ativos no dia.
+     *
+     * @param limite Quantidade máxima de produtos no ranking (1 a 1000)
+     * @return Estatísticas aproximadas desta instância
+     */
+    @GetMapping("/aproximadas")
+    @Operation(summary = "Top produtos da última hora e usuários ativos no dia",
+               description = "Estimativas com memória fixa (Count-Min Sketch e HyperLogLog) desta instância")
+    public ResponseEntity<EstatisticasAproximadasDTO> consultarEstatisticasAproximadas(
+            @Parameter(description = "Quantidade máxima de produtos") @RequestParam(defaultValue = "100") int limite) {
+        return ResponseEntity.ok(analyticsService.consultarEstatisticasAproximadas(limite(limite)));
+    }
+
+    /**
+     * Exporta os sketches desta instância.
+     *
+     * @return Snapshot serializado dos sketches
+     */
+    @GetMapping("/aproximadas/snapshot")
+    @Operation(summary = "Snapshot dos sketches desta instância",
+               description = "Estado serializado para combinação com os snapshots de outras instâncias")
+    public ResponseEntity<SketchesSnapshotDTO> gerarSnapshotSketches() {
+        return ResponseEntity.ok(analyticsService.gerarSnapshotSketches());
+    }
+
+    /**
+     * Combina snapshots de várias instâncias.
+     *
+     * @param snapshots Snapshots obtidos em /aproximadas/snapshot de cada instância
+     * @param incluirLocal Se o estado desta instância também deve ser incluído
+     * @param limite Quantidade máxima de produtos no ranking (1 a 1000)
+     * @return Estatísticas aproximadas combinadas
+     */
+    @PostMapping("/aproximadas/combinar")
+    @Operation(summary = "Combina snapshots de várias instâncias",
+               description = "Soma os Count-Min Sketches e une os HyperLogLogs dos snapshots informados")
+    public ResponseEntity<EstatisticasAproximadasDTO> combinarSnapshotsSketches(
+            @RequestBody List<SketchesSnapshotDTO> snapshots,
+            @Parameter(description = "Incluir o estado desta instância") @RequestParam(defaultValue = "true") boolean incluirLocal,
+            @Parameter(description = "Quantidade máxima de produtos") @RequestParam(defaultValue = "100") int limite) {
+        return ResponseEntity.ok(analyticsService.combinarSnapshotsSketches(snapshots, incluirLocal, limite(limite)));
+    }
+
+    /**
+     * Obtém as estatísticas do detector de operações suspeitas.
+     *
+     * @return Operações avaliadas, suspeitas e estados monitorados
+     */
+    @GetMapping("/anomalias")
+    @Operation(summary = "Estatísticas do detector de operações suspeitas",
+               description = "Operações avaliadas e suspeitas, e quantidade de usuários e produtos monitorados")
+    public ResponseEntity<Map<String, Object>> obterEstatisticasAnomalias() {
+        return ResponseEntity.ok(analyticsService.obterEstatisticasAnomalias());
+    }
+
+    /**
+     * Obtém as métricas de um produto.
+     *
+     * @param produtoId ID do produto
+     * @param janela Janela de tempo (1m, 5m ou 1h)
+     * @return Métricas deslizantes e tumbling da janela
+     */
+    @GetMapping("/produtos/{produtoId}")
+    @Operation(summary = "Métricas de um produto em tempo real",
+               description = "Unidades, receita e lucro do produto na janela informada")
+    public ResponseEntity<JanelaAnalyticsDTO> consultarProduto(
+            @Parameter(description = "ID do produto") @PathVariable Long produtoId,
+            @Parameter(description = "Janela de tempo (1m, 5m ou 1h)") @RequestParam(defaultValue = "5m") String janela) {
+        return ResponseEntity.ok(analyticsService.consultarProduto(produtoId, janela(janela)));
+    }
+
+    /**
+     * Obtém os produtos com maior receita.
+     *
+     * @param janela Janela de tempo (1m, 5m ou 1h)
+     * @param limite Quantidade máxima de produtos (1 a 1000)
+     * @return Produtos ordenados pela receita na janela deslizante
+     */
+    @GetMapping("/produtos")
+    @Operation(summary = "Ranking de produtos por receita",
+               description = "Produtos com maior receita na janela deslizante informada")
+    public ResponseEntity<List<JanelaAnalyticsDTO>> rankingProdutos(
+            @Parameter(description = "Janela de tempo (1m, 5m ou 1h)") @RequestParam(defaultValue = "5m") String janela,
+            @Parameter(description = "Quantidade máxima de produtos") @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(analyticsService.rankingProdutosPorReceita(janela(janela), limite(limite)));
+    }
+
+    /**
+     * Obtém as métricas de um tipo de produto.
+     *
+     * @param tipoProduto Nome do tipo de produto
+     * @param janela Janela de tempo (1m, 5m ou 1h)
+     * @return Métricas deslizantes e tumbling da janela
+     */
+    @GetMapping("/tipos-produto/{tipoProduto}")
+    @Operation(summary = "Métricas de um tipo de produto em tempo real",
+               description = "Unidades, receita e lucro do tipo de produto na janela informada")
+    public ResponseEntity<JanelaAnalyticsDTO> consultarTipoProduto(
+            @Parameter(description = "Nome do tipo de produto") @PathVariable String tipoProduto,
+            @Parameter(description = "Janela de tempo (1m, 5m ou 1h)") @RequestParam(defaultValue = "5m") String janela) {
+        return ResponseEntity.ok(analyticsService.consultarTipoProduto(tipoProduto, janela(janela)));
+    }
+
+    /**
+     * Obtém os tipos de produto com maior receita.
+     *
+     * @param janela Janela de tempo (1m, 5m ou 1h)
+     * @param limite Quantidade máxima de tipos (1 a 1000)
+     * @return Tipos de produto ordenados pela receita na janela deslizante
+     */
+    @GetMapping("/tipos-produto")
+    @Operation(summary = "Ranking de tipos de produto por receita",
+               description = "Tipos de produto com maior receita na janela deslizante informada")
+    public ResponseEntity<List<JanelaAnalyticsDTO>> rankingTiposProduto(
+            @Parameter(description = "Janela de tempo (1m, 5m ou 1h)") @RequestParam(defaultValue = "5m") String janela,
+            @Parameter(description = "Quantidade máxima de tipos") @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(analyticsService.rankingTiposProdutoPorReceita(janela(janela), limite(limite)));
+    }
+
+    private static int limite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new RegraNegocioException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ": " + limite);
+        }
+        return limite;
+    }
+
+    private static JanelaTempo janela(String codigo) {
+        try {
+            return JanelaTempo.doCodigo(codigo);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.dto.CacheRegiaoStatusDTO;
+import br.com.vortex.application.service.CacheCatalogoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller para acompanhamento do cache de segundo nível do catálogo.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache", description = "Cache de produtos e tipos de produto")
+public class CacheController {
+
+    private final CacheCatalogoService cacheCatalogoService;
+
+    @Autowired
+    public CacheController(CacheCatalogoService cacheCatalogoService) {
+        this.cacheCatalogoService = cacheCatalogoService;
+    }
+
+    /**
+     * Obtém as métricas de cada região do cache do catálogo.
+     *
+     * @return Métricas por região
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Status do cache do catálogo",
+               description = "Acertos, falhas e taxa de acerto das regiões de produtos, tipos e consultas")
+    public ResponseEntity<List<CacheRegiaoStatusDTO>> obterStatus() {
+        return ResponseEntity.ok(cacheCatalogoService.obterEstatisticas());
+    }
+
+    /**
+     * Invalida todo o cache do catálogo desta instância.
+     *
+     * @return Resposta sem conteúdo
+     */
+    @DeleteMapping("/catalogo")
+    @Operation(summary = "Invalida o cache do catálogo",
+               description = "Descarta produtos, tipos de produto e consultas em cache nesta instância")
+    public ResponseEntity<Void> invalidarCatalogo() {
+        cacheCatalogoService.invalidarCatalogo();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.dto.DashboardPushStatusDTO;
+import br.com.vortex.application.service.DashboardPushService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller do canal de atualização em tempo real dos dashboards.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/dashboard")
+@Tag(name = "Dashboard", description = "Atualizações de estoque e alertas em tempo real")
+public class DashboardController {
+
+    private final DashboardPushService dashboardPushService;
+
+    @Autowired
+    public DashboardController(DashboardPushService dashboardPushService) {
+        this.dashboardPushService = dashboardPushService;
+    }
+
+    /**
+     * Conecta o dashboard ao stream de atualizações (Server-Sent Events).
+     *
+     * O primeiro evento ({@code snapshot}) traz o último estado conhecido de cada produto;
+     * os seguintes ({@code atualizacoes}) trazem as mudanças agrupadas por produto a cada frame.
+     *
+     * @return Stream de eventos
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de atualizações do dashboard",
+               description = "Server-Sent Events com mudanças de estoque e alertas agrupados por produto")
+    public ResponseEntity<SseEmitter> conectar() {
+        try {
+            return ResponseEntity.ok(dashboardPushService.conectar());
+        } catch (IllegalStateException e) {
+            log.warn("Stream do dashboard indisponível: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Obtém as métricas do canal de atualização.
+     *
+     * @return Métricas do canal
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Status do canal de atualização",
+               description = "Dashboards conectados, frames publicados e frames descartados por buffer cheio")
+    public ResponseEntity<DashboardPushStatusDTO> obterStatus() {
+        return ResponseEntity.ok(dashboardPushService.obterStatus());
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.dto.DestinoIntegracaoStatusDTO;
+import br.com.vortex.application.integracao.PipelineIntegracaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller para acompanhamento da sincronização com sistemas externos.
+ */
+@RestController
+@RequestMapping("/api/integracao")
+@Tag(name = "Integração", description = "Sincronização em lote com sistemas externos")
+public class IntegracaoController {
+
+    private final PipelineIntegracaoService pipelineIntegracao;
+
+    @Autowired
+    public IntegracaoController(PipelineIntegracaoService pipelineIntegracao) {
+        this.pipelineIntegracao = pipelineIntegracao;
+    }
+
+    /**
+     * Obtém as métricas de sincronização de cada sistema externo.
+     *
+     * @return Métricas por sistema
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Status da sincronização com sistemas externos",
+               description = "Itens pendentes, lotes enviados e estado do circuit breaker de cada sistema")
+    public ResponseEntity<List<DestinoIntegracaoStatusDTO>> obterStatus() {
+        return ResponseEntity.ok(pipelineIntegracao.obterStatus());
+    }
+}
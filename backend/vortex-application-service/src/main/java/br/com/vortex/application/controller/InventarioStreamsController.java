@@ -0,0 +1,86 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.dto.InventarioProdutoStreamDTO;
+import br.com.vortex.application.streams.InventarioStreamsQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller para consulta interativa dos agregados de inventário do Kafka Streams.
+ *
+ * Enquanto o Kafka Streams não está em execução ou os state stores estão em migração
+ * (rebalanceamento), as consultas respondem 503 com {@code Retry-After}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/streams/inventario")
+@Tag(name = "Inventário (Streams)", description = "Agregados de inventário mantidos pelo Kafka Streams")
+@ConditionalOnProperty(name = {"kafka.enabled", "kafka.streams.enabled"}, havingValue = "true")
+public class InventarioStreamsController {
+
+    private static final String SEGUNDOS_NOVA_TENTATIVA = "5";
+
+    private final InventarioStreamsQueryService inventarioStreamsQueryService;
+
+    @Autowired
+    public InventarioStreamsController(InventarioStreamsQueryService inventarioStreamsQueryService) {
+        this.inventarioStreamsQueryService = inventarioStreamsQueryService;
+    }
+
+    /**
+     * Lista os agregados de todos os produtos desta instância.
+     *
+     * @return Agregados por produto
+     */
+    @GetMapping
+    @Operation(summary = "Lista os agregados de inventário",
+               description = "Saldo, vendas, velocidade de vendas e lucro por produto, lidos dos state stores locais")
+    public ResponseEntity<List<InventarioProdutoStreamDTO>> listarProdutos() {
+        try {
+            return ResponseEntity.ok(inventarioStreamsQueryService.listarProdutos());
+        } catch (IllegalStateException | InvalidStateStoreException e) {
+            return indisponivel(e);
+        }
+    }
+
+    /**
+     * Obtém os agregados de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return Agregados do produto
+     */
+    @GetMapping("/{produtoId}")
+    @Operation(summary = "Obtém os agregados de inventário de um produto",
+               description = "Saldo, vendas, velocidade de vendas e lucro do produto, lidos dos state stores locais")
+    public ResponseEntity<InventarioProdutoStreamDTO> consultarProduto(
+            @Parameter(description = "ID do produto") @PathVariable Long produtoId) {
+        try {
+            return inventarioStreamsQueryService.consultarProduto(produtoId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException | InvalidStateStoreException e) {
+            return indisponivel(e);
+        }
+    }
+
+    private static <T> ResponseEntity<T> indisponivel(RuntimeException e) {
+        log.warn("Consulta ao Kafka Streams indisponível: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, SEGUNDOS_NOVA_TENTATIVA)
+                .build();
+    }
+}
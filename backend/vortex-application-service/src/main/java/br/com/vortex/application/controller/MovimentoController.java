@@ -1,7 +1,11 @@
 package br.com.vortex.application.controller;
 
 import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.dto.OperacaoMovimentoDTO;
+import br.com.vortex.application.service.ExportacaoService;
+import br.com.vortex.application.service.ExportacaoService.Compressao;
 import br.com.vortex.application.service.MovimentoEstoqueService;
+import br.com.vortex.application.service.OperacaoMovimentoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,12 +13,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -26,15 +41,24 @@ import java.util.List;
 public class MovimentoController {
 
     private final MovimentoEstoqueService movimentoEstoqueService;
+    private final OperacaoMovimentoService operacaoMovimentoService;
+    private final ExportacaoService exportacaoService;
 
     @Autowired
-    public MovimentoController(MovimentoEstoqueService movimentoEstoqueService) {
+    public MovimentoController(MovimentoEstoqueService movimentoEstoqueService,
+                               OperacaoMovimentoService operacaoMovimentoService,
+                               ExportacaoService exportacaoService) {
         this.movimentoEstoqueService = movimentoEstoqueService;
+        this.operacaoMovimentoService = operacaoMovimentoService;
+        this.exportacaoService = exportacaoService;
     }
 
     /**
      * Cria um novo movimento de estoque.
      *
+     * Com o processamento assíncrono habilitado, responde 202 com o operationId e o
+     * endereço para acompanhar a operação.
+     *
      * @param movimentoEstoqueDTO DTO com os dados do movimento de estoque
      * @return DTO do movimento de estoque criado
      */
@@ -43,9 +67,13 @@ public class MovimentoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Movimento de estoque criado com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovimentoEstoqueDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Movimento de estoque enviado para processamento assíncrono",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovimentoEstoqueDTO.class))),
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos ou estoque insuficiente",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistente com outra operação no mesmo produto",
                     content = @Content)
     })
     public ResponseEntity<MovimentoEstoqueDTO> criar(
@@ -53,9 +81,67 @@ public class MovimentoController {
             @Valid @RequestBody MovimentoEstoqueDTO movimentoEstoqueDTO) {
 
         MovimentoEstoqueDTO createdMovimento = movimentoEstoqueService.criar(movimentoEstoqueDTO);
+        if (createdMovimento.getOperationId() != null) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/movimentos/operacoes/" + createdMovimento.getOperationId()))
+                    .body(createdMovimento);
+        }
         return new ResponseEntity<>(createdMovimento, HttpStatus.CREATED);
     }
 
+    /**
+     * Consulta a situação de um movimento enviado para processamento assíncrono.
+     * Com {@code aguardarSegundos}, a resposta só é enviada quando a operação é concluída
+     * ou o tempo termina (long-poll), o que dispensa consultas repetidas.
+     *
+     * @param operationId ID da operação
+     * @param aguardarSegundos Tempo máximo de espera pela conclusão
+     * @return Situação da operação
+     */
+    @GetMapping("/operacoes/{operationId}")
+    @Operation(summary = "Consulta a situação de um movimento assíncrono",
+               description = "Retorna PENDENTE, APLICADO (com o ID do movimento) ou o motivo da falha; aguarda a conclusão por até aguardarSegundos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OperacaoMovimentoDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Operação não encontrada",
+                    content = @Content)
+    })
+    public DeferredResult<ResponseEntity<OperacaoMovimentoDTO>> consultarOperacao(
+            @Parameter(description = "ID da operação retornado na criação do movimento", required = true)
+            @PathVariable String operationId,
+            @Parameter(description = "Segundos a aguardar pela conclusão (0 responde imediatamente)")
+            @RequestParam(defaultValue = "0") long aguardarSegundos) {
+
+        DeferredResult<ResponseEntity<OperacaoMovimentoDTO>> resultado =
+                new DeferredResult<>((Math.max(aguardarSegundos, 0) + 5) * 1000);
+        operacaoMovimentoService.aguardarConclusao(operationId, Duration.ofSeconds(aguardarSegundos))
+                .whenComplete((operacao, erro) -> {
+                    if (erro != null) {
+                        resultado.setErrorResult(erro);
+                    } else {
+                        resultado.setResult(ResponseEntity.ok(operacao));
+                    }
+                });
+        return resultado;
+    }
+
+    /**
+     * Acompanha a situação de um movimento assíncrono via Server-Sent Events.
+     * Envia a situação atual e, se pendente, a situação final quando confirmada.
+     *
+     * @param operationId ID da operação
+     * @return Stream de eventos
+     */
+    @GetMapping(value = "/operacoes/{operationId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanha um movimento assíncrono",
+               description = "Server-Sent Events com a situação atual e a final da operação")
+    public SseEmitter acompanharOperacao(
+            @Parameter(description = "ID da operação retornado na criação do movimento", required = true)
+            @PathVariable String operationId) {
+        return operacaoMovimentoService.acompanhar(operationId);
+    }
+
     /**
      * Busca todos os movimentos de estoque.
      *
@@ -70,6 +156,70 @@ public class MovimentoController {
         return ResponseEntity.ok(movimentos);
     }
 
+    /**
+     * Exporta os movimentos de estoque em CSV, incluindo os arquivados.
+     * O arquivo é escrito na resposta à medida que os movimentos são lidos, sem montar a lista em memória.
+     *
+     * @param inicio Início do período (padrão: primeiro movimento)
+     * @param fim Fim do período (padrão: agora)
+     * @param compressao Compressão do arquivo
+     * @param response Resposta em que o arquivo é escrito
+     */
+    @GetMapping("/exportar")
+    @Operation(summary = "Exporta os movimentos de estoque em CSV",
+               description = "Arquivo CSV com os movimentos ativos e arquivados com data no intervalo [inicio, fim), opcionalmente comprimido com GZIP ou ZSTD")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo exportado",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Período inválido",
+                    content = @Content)
+    })
+    public void exportar(
+            @Parameter(description = "Início do período (ISO-8601, inclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do período (ISO-8601, exclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @Parameter(description = "Compressão do arquivo: NENHUMA, GZIP ou ZSTD")
+            @RequestParam(defaultValue = "NENHUMA") Compressao compressao,
+            HttpServletResponse response) throws IOException {
+
+        exportacaoService.validarPeriodo(inicio, fim);
+        response.setContentType(compressao.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(compressao.nomeArquivo("movimentos")).build().toString());
+        exportacaoService.exportarMovimentos(inicio, fim, compressao, response.getOutputStream());
+    }
+
+    /**
+     * Busca os movimentos de um produto em um período.
+     *
+     * @param produtoId ID do produto
+     * @param inicio Início do período (padrão: 30 dias antes do fim)
+     * @param fim Fim do período (padrão: agora)
+     * @return Lista de DTOs dos movimentos do produto no período
+     */
+    @GetMapping("/produto/{produtoId}")
+    @Operation(summary = "Busca os movimentos de um produto em um período",
+               description = "Retorna os movimentos ativos do produto com data no intervalo [inicio, fim); movimentos arquivados não são incluídos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovimentoEstoqueDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Período inválido",
+                    content = @Content)
+    })
+    public ResponseEntity<List<MovimentoEstoqueDTO>> buscarPorProdutoEPeriodo(
+            @Parameter(description = "ID do produto", required = true)
+            @PathVariable Long produtoId,
+            @Parameter(description = "Início do período (ISO-8601, inclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do período (ISO-8601, exclusivo)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+
+        LocalDateTime fimPeriodo = fim != null ? fim : LocalDateTime.now();
+        LocalDateTime inicioPeriodo = inicio != null ? inicio : fimPeriodo.minusDays(30);
+        return ResponseEntity.ok(movimentoEstoqueService.buscarPorProdutoEPeriodo(produtoId, inicioPeriodo, fimPeriodo));
+    }
+
     /**
      * Busca um movimento de estoque pelo ID.
      *
@@ -108,6 +258,8 @@ public class MovimentoController {
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos ou estoque insuficiente",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Movimento de estoque ou produto não encontrado",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistente com outra operação no mesmo produto",
                     content = @Content)
     })
     public ResponseEntity<MovimentoEstoqueDTO> atualizar(
@@ -133,6 +285,8 @@ public class MovimentoController {
             @ApiResponse(responseCode = "204", description = "Movimento de estoque excluído com sucesso",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Movimento de estoque não encontrado",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistente com outra operação no mesmo produto",
                     content = @Content)
     })
     public ResponseEntity<Void> excluir(
@@ -1,6 +1,9 @@
 package br.com.vortex.application.controller;
 
 import br.com.vortex.application.dto.ProdutoDTO;
+import br.com.vortex.application.dto.ResultadoImportacaoCatalogoDTO;
+import br.com.vortex.application.service.ImportacaoCatalogoService;
+import br.com.vortex.application.service.ImportacaoCatalogoService.Formato;
 import br.com.vortex.application.service.ProdutoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,10 +14,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -26,10 +33,12 @@ import java.util.List;
 public class ProdutoController {
 
     private final ProdutoService produtoService;
+    private final ImportacaoCatalogoService importacaoCatalogoService;
 
     @Autowired
-    public ProdutoController(ProdutoService produtoService) {
+    public ProdutoController(ProdutoService produtoService, ImportacaoCatalogoService importacaoCatalogoService) {
         this.produtoService = produtoService;
+        this.importacaoCatalogoService = importacaoCatalogoService;
     }
 
     /**
@@ -56,6 +65,33 @@ public class ProdutoController {
         return new ResponseEntity<>(createdProduto, HttpStatus.CREATED);
     }
 
+    /**
+     * Importa um catálogo de produtos em CSV ou NDJSON, criando ou atualizando os produtos pelo código (SKU).
+     * O corpo é lido à medida que chega; linhas inválidas são relatadas sem interromper a importação.
+     *
+     * @param contentType text/csv ou application/x-ndjson
+     * @param corpo Conteúdo do arquivo
+     * @return Totais da importação e erros por linha
+     */
+    @PostMapping(value = "/importar", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importa um catálogo de produtos",
+               description = "CSV com cabeçalho codigo,descricao,valor_fornecedor,quantidade_em_estoque,tipo_produto ou NDJSON "
+                       + "com os campos codigo, descricao, valorFornecedor, quantidadeEmEstoque e tipoProduto (nome do tipo). "
+                       + "Produtos existentes têm descrição, valor e tipo atualizados; a quantidade só é usada na criação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação concluída, com os erros por linha",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoImportacaoCatalogoDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cabeçalho do CSV inválido",
+                    content = @Content)
+    })
+    public ResponseEntity<ResultadoImportacaoCatalogoDTO> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream corpo) throws IOException {
+
+        Formato formato = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? Formato.NDJSON : Formato.CSV;
+        return ResponseEntity.ok(importacaoCatalogoService.importar(corpo, formato));
+    }
+
     /**
      * Busca todos os produtos.
      *
@@ -107,6 +143,8 @@ public class ProdutoController {
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Produto ou tipo de produto não encontrado",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Produto alterado por outra operação durante a atualização",
                     content = @Content)
     })
     public ResponseEntity<ProdutoDTO> atualizar(
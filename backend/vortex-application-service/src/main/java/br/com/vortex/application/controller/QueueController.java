@@ -1,5 +1,7 @@
 package br.com.vortex.application.controller;
 
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import br.com.vortex.application.dto.BrokerMetricasDTO;
 import br.com.vortex.application.dto.QueueInfoDTO;
 import br.com.vortex.application.service.QueueMonitoringService;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +48,21 @@ public class QueueController {
         }
     }
 
+    /**
+     * Obtém as métricas de publicação de cada message broker em uso.
+     *
+     * @return Métricas por broker
+     */
+    @GetMapping("/brokers")
+    public ResponseEntity<List<BrokerMetricasDTO>> obterMetricasBrokers() {
+        try {
+            return ResponseEntity.ok(queueMonitoringService.obterMetricasBrokers());
+        } catch (Exception e) {
+            log.error("Erro ao obter métricas dos message brokers", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Obtém informações detalhadas sobre uma fila específica.
      *
@@ -68,6 +85,22 @@ public class QueueController {
         }
     }
 
+    /**
+     * Obtém o histórico amostrado de uma fila (mensagens, consumidores, taxa e lag).
+     *
+     * @param nomeFila Nome da fila
+     * @return Amostras da mais antiga para a mais recente
+     */
+    @GetMapping("/{nomeFila}/historico")
+    public ResponseEntity<List<AmostraFilaDTO>> obterHistoricoFila(@PathVariable String nomeFila) {
+        try {
+            return ResponseEntity.ok(queueMonitoringService.obterHistoricoFila(nomeFila));
+        } catch (Exception e) {
+            log.error("Erro ao obter histórico da fila: {}", nomeFila, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Obtém o status geral do sistema de mensageria.
      *
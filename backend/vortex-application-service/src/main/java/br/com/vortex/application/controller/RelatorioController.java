@@ -2,6 +2,8 @@ package br.com.vortex.application.controller;
 
 import br.com.vortex.application.dto.LucroPorProdutoDTO;
 import br.com.vortex.application.dto.ProdutoPorTipoDTO;
+import br.com.vortex.application.service.ExportacaoService;
+import br.com.vortex.application.service.ExportacaoService.Compressao;
 import br.com.vortex.application.service.RelatorioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,13 +12,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -28,10 +34,12 @@ import java.util.List;
 public class RelatorioController {
 
     private final RelatorioService relatorioService;
+    private final ExportacaoService exportacaoService;
 
     @Autowired
-    public RelatorioController(RelatorioService relatorioService) {
+    public RelatorioController(RelatorioService relatorioService, ExportacaoService exportacaoService) {
         this.relatorioService = relatorioService;
+        this.exportacaoService = exportacaoService;
     }
 
     /**
@@ -71,4 +79,59 @@ public class RelatorioController {
         List<LucroPorProdutoDTO> relatorio = relatorioService.gerarRelatorioLucroPorProduto();
         return ResponseEntity.ok(relatorio);
     }
-}
\ No newline at end of file
+
+    /**
+     * Exporta o relatório de produtos por tipo em CSV.
+     *
+     * @param tipoProdutoId ID do tipo de produto
+     * @param compressao Compressão do arquivo
+     * @param response Resposta em que o arquivo é escrito
+     */
+    @GetMapping("/produtos-por-tipo/exportar")
+    @Operation(summary = "Exporta o relatório de produtos por tipo em CSV",
+               description = "Mesmo conteúdo de /produtos-por-tipo, opcionalmente comprimido com GZIP ou ZSTD")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo exportado",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "404", description = "Tipo de produto não encontrado",
+                    content = @Content)
+    })
+    public void exportarProdutosPorTipo(
+            @Parameter(description = "ID do tipo de produto", required = true)
+            @RequestParam Long tipoProdutoId,
+            @Parameter(description = "Compressão do arquivo: NENHUMA, GZIP ou ZSTD")
+            @RequestParam(defaultValue = "NENHUMA") Compressao compressao,
+            HttpServletResponse response) throws IOException {
+
+        List<ProdutoPorTipoDTO> relatorio = relatorioService.gerarRelatorioProdutosPorTipo(tipoProdutoId);
+        prepararDownload(response, compressao, "produtos-por-tipo-" + tipoProdutoId);
+        exportacaoService.exportarProdutosPorTipo(relatorio, compressao, response.getOutputStream());
+    }
+
+    /**
+     * Exporta o relatório de lucro por produto em CSV.
+     *
+     * @param compressao Compressão do arquivo
+     * @param response Resposta em que o arquivo é escrito
+     */
+    @GetMapping("/lucro-por-produto/exportar")
+    @Operation(summary = "Exporta o relatório de lucro por produto em CSV",
+               description = "Mesmo conteúdo de /lucro-por-produto, opcionalmente comprimido com GZIP ou ZSTD")
+    @ApiResponse(responseCode = "200", description = "Arquivo exportado",
+            content = @Content(mediaType = "text/csv"))
+    public void exportarLucroPorProduto(
+            @Parameter(description = "Compressão do arquivo: NENHUMA, GZIP ou ZSTD")
+            @RequestParam(defaultValue = "NENHUMA") Compressao compressao,
+            HttpServletResponse response) throws IOException {
+
+        List<LucroPorProdutoDTO> relatorio = relatorioService.gerarRelatorioLucroPorProduto();
+        prepararDownload(response, compressao, "lucro-por-produto");
+        exportacaoService.exportarLucroPorProduto(relatorio, compressao, response.getOutputStream());
+    }
+
+    private static void prepararDownload(HttpServletResponse response, Compressao compressao, String nome) {
+        response.setContentType(compressao.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(compressao.nomeArquivo(nome)).build().toString());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.dto.PedidoReposicaoDTO;
+import br.com.vortex.application.model.enums.StatusPedidoReposicao;
+import br.com.vortex.application.service.ReposicaoAutomaticaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller para os pedidos de reposição abertos automaticamente a partir de alertas de estoque.
+ */
+@RestController
+@RequestMapping("/api/reposicoes")
+@Tag(name = "Reposições", description = "Pedidos de reposição automáticos (no máximo um aberto por produto)")
+public class ReposicaoController {
+
+    private final ReposicaoAutomaticaService reposicaoAutomaticaService;
+
+    @Autowired
+    public ReposicaoController(ReposicaoAutomaticaService reposicaoAutomaticaService) {
+        this.reposicaoAutomaticaService = reposicaoAutomaticaService;
+    }
+
+    /**
+     * Lista os pedidos de reposição por situação.
+     *
+     * @param status Situação dos pedidos
+     * @return Lista de pedidos
+     */
+    @GetMapping
+    @Operation(summary = "Lista pedidos de reposição", description = "Lista os pedidos na situação informada, do mais recente para o mais antigo")
+    public ResponseEntity<List<PedidoReposicaoDTO>> listar(
+            @Parameter(description = "Situação dos pedidos") @RequestParam(defaultValue = "ABERTO") StatusPedidoReposicao status) {
+        return ResponseEntity.ok(reposicaoAutomaticaService.listar(status));
+    }
+
+    /**
+     * Marca o pedido como atendido.
+     *
+     * @param id ID do pedido
+     * @return Pedido atualizado
+     */
+    @PutMapping("/{id}/atender")
+    @Operation(summary = "Marca o pedido como atendido", description = "Fecha o pedido, liberando o produto para um novo pedido automático")
+    public ResponseEntity<PedidoReposicaoDTO> atender(@Parameter(description = "ID do pedido") @PathVariable Long id) {
+        return ResponseEntity.ok(reposicaoAutomaticaService.fechar(id, StatusPedidoReposicao.ATENDIDO));
+    }
+
+    /**
+     * Cancela o pedido.
+     *
+     * @param id ID do pedido
+     * @return Pedido atualizado
+     */
+    @PutMapping("/{id}/cancelar")
+    @Operation(summary = "Cancela o pedido", description = "Fecha o pedido, liberando o produto para um novo pedido automático")
+    public ResponseEntity<PedidoReposicaoDTO> cancelar(@Parameter(description = "ID do pedido") @PathVariable Long id) {
+        return ResponseEntity.ok(reposicaoAutomaticaService.fechar(id, StatusPedidoReposicao.CANCELADO));
+    }
+}
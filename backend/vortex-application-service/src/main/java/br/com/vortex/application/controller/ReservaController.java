@@ -0,0 +1,158 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.dto.DisponibilidadeEstoqueDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.dto.ReservaEstoqueDTO;
+import br.com.vortex.application.service.ReservaEstoqueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Controller para as reservas de estoque do checkout.
+ */
+@RestController
+@RequestMapping("/api/reservas")
+@Tag(name = "Reservas de Estoque", description = "API de reservas de estoque para o checkout em duas fases: reserva antes do pagamento, confirmação em saída de estoque depois dele. As reservas valem para todas as instâncias e são descontadas de toda saída de estoque")
+public class ReservaController {
+
+    private final ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    public ReservaController(ReservaEstoqueService reservaEstoqueService) {
+        this.reservaEstoqueService = reservaEstoqueService;
+    }
+
+    /**
+     * Reserva estoque de um produto.
+     *
+     * @param reservaDTO Produto, quantidade e validade opcional da reserva
+     * @return Reserva criada
+     */
+    @PostMapping
+    @Operation(summary = "Reserva estoque de um produto",
+               description = "Desconta a quantidade do estoque disponível até a confirmação, o cancelamento ou o vencimento da reserva")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva criada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoqueDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos ou estoque disponível insuficiente",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado",
+                    content = @Content)
+    })
+    public ResponseEntity<ReservaEstoqueDTO> reservar(
+            @Parameter(description = "Dados da reserva", required = true)
+            @Valid @RequestBody ReservaEstoqueDTO reservaDTO) {
+
+        ReservaEstoqueDTO reserva = reservaEstoqueService.reservar(reservaDTO);
+        return ResponseEntity.created(URI.create("/api/reservas/" + reserva.getId())).body(reserva);
+    }
+
+    /**
+     * Busca uma reserva pelo ID.
+     *
+     * @param id ID da reserva
+     * @return Reserva
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Busca uma reserva pelo ID", description = "Retorna a reserva, ativa ou já concluída")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservaEstoqueDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada",
+                    content = @Content)
+    })
+    public ResponseEntity<ReservaEstoqueDTO> buscarPorId(
+            @Parameter(description = "ID da reserva", required = true)
+            @PathVariable String id) {
+
+        return ResponseEntity.ok(reservaEstoqueService.buscar(id));
+    }
+
+    /**
+     * Confirma uma reserva, criando a saída de estoque.
+     *
+     * @param id ID da reserva
+     * @return Movimento de saída criado
+     */
+    @PostMapping("/{id}/confirmar")
+    @Operation(summary = "Confirma uma reserva", description = "Cria a saída de estoque da quantidade reservada e encerra a reserva")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva confirmada e saída criada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovimentoEstoqueDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Saída enviada para processamento assíncrono; a reserva fica em confirmação até a saída ser aplicada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovimentoEstoqueDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Estoque consumido fora das reservas; a reserva é cancelada",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Reserva ativa não encontrada (inexistente, expirada ou já concluída)",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistente; a reserva continua ativa",
+                    content = @Content)
+    })
+    public ResponseEntity<MovimentoEstoqueDTO> confirmar(
+            @Parameter(description = "ID da reserva", required = true)
+            @PathVariable String id) {
+
+        MovimentoEstoqueDTO saida = reservaEstoqueService.confirmar(id);
+        if (saida.getOperationId() != null) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/movimentos/operacoes/" + saida.getOperationId()))
+                    .body(saida);
+        }
+        return new ResponseEntity<>(saida, HttpStatus.CREATED);
+    }
+
+    /**
+     * Cancela uma reserva.
+     *
+     * @param id ID da reserva
+     * @return Resposta sem conteúdo
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancela uma reserva", description = "Devolve a quantidade reservada ao estoque disponível")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Reserva cancelada com sucesso",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Reserva ativa não encontrada (inexistente, expirada ou já concluída)",
+                    content = @Content)
+    })
+    public ResponseEntity<Void> cancelar(
+            @Parameter(description = "ID da reserva", required = true)
+            @PathVariable String id) {
+
+        reservaEstoqueService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Consulta o estoque disponível de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return Estoque, quantidade reservada e quantidade disponível
+     */
+    @GetMapping("/disponibilidade/{produtoId}")
+    @Operation(summary = "Consulta o estoque disponível de um produto", description = "Retorna o estoque do produto descontadas as reservas ativas e em confirmação desta instância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operação bem-sucedida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DisponibilidadeEstoqueDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado",
+                    content = @Content)
+    })
+    public ResponseEntity<DisponibilidadeEstoqueDTO> consultarDisponibilidade(
+            @Parameter(description = "ID do produto", required = true)
+            @PathVariable Long produtoId) {
+
+        return ResponseEntity.ok(reservaEstoqueService.consultarDisponibilidade(produtoId));
+    }
+}
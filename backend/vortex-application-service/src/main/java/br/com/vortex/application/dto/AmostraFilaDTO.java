@@ -0,0 +1,62 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO com uma amostra das métricas de uma fila ou tópico coletada do broker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmostraFilaDTO {
+
+    /**
+     * Nome da fila ou tópico
+     */
+    private String nome;
+
+    /**
+     * Tipo de broker (RabbitMQ, Kafka)
+     */
+    private String tipo;
+
+    /**
+     * Momento da coleta
+     */
+    private LocalDateTime timestamp;
+
+    /**
+     * Mensagens aguardando consumo (profundidade da fila ou lag total do tópico)
+     */
+    private Long mensagens;
+
+    /**
+     * Número de consumidores ativos
+     */
+    private Integer consumidores;
+
+    /**
+     * Lag do grupo de consumidores (Kafka)
+     */
+    private Long lag;
+
+    /**
+     * Soma dos offsets finais das partições (Kafka)
+     */
+    private Long offsetFinal;
+
+    /**
+     * Lag por partição (Kafka). Preenchido apenas na amostra mais recente.
+     */
+    private Map<Integer, Long> lagPorParticao;
+
+    /**
+     * Taxa de mensagens por segundo em relação à amostra anterior
+     */
+    private Double taxaMensagens;
+}
@@ -0,0 +1,103 @@
+package br.com.vortex.application.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com o estado de um produto enviado aos dashboards conectados.
+ *
+ * Cada atualização representa o estado mais recente do produto no intervalo do
+ * frame; eventos anteriores do mesmo produto no intervalo são agrupados nela.
+ */
+@Data
+@NoArgsConstructor
+public class AtualizacaoDashboardDTO {
+
+    public static final String TIPO_ESTOQUE = "ESTOQUE";
+    public static final String TIPO_ALERTA = "ALERTA";
+
+    /**
+     * Tipo da atualização (ESTOQUE, ALERTA)
+     */
+    private String tipo;
+
+    /**
+     * ID do produto
+     */
+    private Long produtoId;
+
+    /**
+     * Descrição do produto
+     */
+    private String produtoDescricao;
+
+    /**
+     * Tipo do produto
+     */
+    private String tipoProduto;
+
+    /**
+     * Quantidade atual em estoque
+     */
+    private Integer quantidadeAtual;
+
+    /**
+     * Tipo do alerta (apenas para ALERTA)
+     */
+    private String tipoAlerta;
+
+    /**
+     * Prioridade do alerta (apenas para ALERTA)
+     */
+    private String prioridade;
+
+    /**
+     * Mensagem do alerta (apenas para ALERTA)
+     */
+    private String mensagem;
+
+    /**
+     * Quantidade de eventos agrupados nesta atualização
+     */
+    private Integer eventosAgrupados;
+
+    /**
+     * Data do último evento agrupado
+     */
+    private LocalDateTime timestamp;
+
+    /**
+     * Cria a atualização de estoque a partir de um evento de movimentação.
+     */
+    public static AtualizacaoDashboardDTO deMovimento(MovimentoEstoqueEventDTO event) {
+        AtualizacaoDashboardDTO dto = new AtualizacaoDashboardDTO();
+        dto.setTipo(TIPO_ESTOQUE);
+        dto.setProdutoId(event.getProdutoId());
+        dto.setProdutoDescricao(event.getProdutoDescricao());
+        dto.setTipoProduto(event.getTipoProduto());
+        dto.setQuantidadeAtual(event.getEstoqueAtual());
+        dto.setEventosAgrupados(1);
+        dto.setTimestamp(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now());
+        return dto;
+    }
+
+    /**
+     * Cria a atualização de alerta a partir de um evento de alerta de estoque.
+     */
+    public static AtualizacaoDashboardDTO deAlerta(AlertaEstoqueEventDTO event) {
+        AtualizacaoDashboardDTO dto = new AtualizacaoDashboardDTO();
+        dto.setTipo(TIPO_ALERTA);
+        dto.setProdutoId(event.getProdutoId());
+        dto.setProdutoDescricao(event.getProdutoDescricao());
+        dto.setTipoProduto(event.getTipoProduto());
+        dto.setQuantidadeAtual(event.getQuantidadeAtual());
+        dto.setTipoAlerta(event.getTipoAlerta());
+        dto.setPrioridade(event.getPrioridade());
+        dto.setMensagem(event.getMensagem());
+        dto.setEventosAgrupados(1);
+        dto.setTimestamp(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now());
+        return dto;
+    }
+}
@@ -60,7 +60,44 @@ public class AuditoriaEventDTO extends KafkaEventDTO {
      */
     private Long duracao;
 
+    /**
+     * ID do produto movimentado (apenas em auditorias de movimento)
+     */
+    private Long produtoId;
+
+    /**
+     * Quantidade movimentada (apenas em auditorias de movimento)
+     */
+    private Integer quantidade;
+
     public AuditoriaEventDTO() {
         super("AUDITORIA");
     }
+
+    /**
+     * Cria o evento de auditoria de uma operação.
+     */
+    public static AuditoriaEventDTO de(String acao, String entidade, Long entidadeId, String detalhes,
+                                       String userId, String resultado, String mensagemErro) {
+        AuditoriaEventDTO event = new AuditoriaEventDTO();
+        event.setAcao(acao);
+        event.setEntidade(entidade);
+        event.setEntidadeId(entidadeId);
+        event.setDetalhes(detalhes);
+        event.setResultado(resultado);
+        event.setMensagemErro(mensagemErro);
+        event.setUserId(userId);
+        return event;
+    }
+
+    /**
+     * Cria o evento de auditoria bem-sucedida de um movimento de estoque, com produto e quantidade.
+     */
+    public static AuditoriaEventDTO deMovimento(String acao, Long movimentoId, Long produtoId, Integer quantidade,
+                                                String detalhes, String userId) {
+        AuditoriaEventDTO event = de(acao, "MovimentoEstoque", movimentoId, detalhes, userId, "SUCCESS", null);
+        event.setProdutoId(produtoId);
+        event.setQuantidade(quantidade);
+        return event;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,76 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com as métricas de publicação de um message broker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BrokerMetricasDTO {
+
+    /**
+     * Nome do destino (kafka, rabbitmq, embedded)
+     */
+    private String nome;
+
+    /**
+     * Tipo do message broker
+     */
+    private String tipo;
+
+    /**
+     * Eventos aceitos na fila de envio
+     */
+    private Long enfileirados;
+
+    /**
+     * Eventos publicados com sucesso
+     */
+    private Long publicados;
+
+    /**
+     * Eventos cuja publicação lançou exceção
+     */
+    private Long falhas;
+
+    /**
+     * Eventos descartados por fila de envio cheia
+     */
+    private Long descartados;
+
+    /**
+     * Eventos aguardando envio
+     */
+    private Integer pendentes;
+
+    /**
+     * Capacidade da fila de envio
+     */
+    private Integer capacidade;
+
+    /**
+     * Latência média de publicação (em microssegundos)
+     */
+    private Long latenciaMediaMicros;
+
+    /**
+     * Maior latência de publicação observada (em microssegundos)
+     */
+    private Long latenciaMaximaMicros;
+
+    /**
+     * Mensagem do último erro de publicação
+     */
+    private String ultimoErro;
+
+    /**
+     * Data do último erro de publicação
+     */
+    private LocalDateTime dataUltimoErro;
+}
@@ -0,0 +1,49 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com as métricas de uma região do cache de segundo nível.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegiaoStatusDTO {
+
+    /**
+     * Nome da região
+     */
+    private String regiao;
+
+    /**
+     * Tipo da região (ENTIDADE ou CONSULTA)
+     */
+    private String tipo;
+
+    /**
+     * Leituras atendidas pelo cache
+     */
+    private long acertos;
+
+    /**
+     * Leituras que precisaram ir ao banco
+     */
+    private long falhas;
+
+    /**
+     * Entradas gravadas no cache
+     */
+    private long insercoes;
+
+    /**
+     * Entradas atualmente em memória (-1 se não disponível)
+     */
+    private long elementosEmMemoria;
+
+    /**
+     * Proporção de acertos sobre o total de leituras (0 a 1)
+     */
+    private double taxaAcerto;
+}
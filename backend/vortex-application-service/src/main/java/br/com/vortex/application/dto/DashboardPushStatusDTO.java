@@ -0,0 +1,49 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com as métricas do canal de atualização em tempo real dos dashboards.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardPushStatusDTO {
+
+    /**
+     * Indica se o canal está habilitado
+     */
+    private Boolean habilitado;
+
+    /**
+     * Dashboards conectados no momento
+     */
+    private Integer clientesConectados;
+
+    /**
+     * Intervalo entre frames (em milissegundos)
+     */
+    private Long intervaloMillis;
+
+    /**
+     * Capacidade do buffer de frames de cada dashboard
+     */
+    private Integer capacidadeBufferCliente;
+
+    /**
+     * Eventos recebidos dos consumidores
+     */
+    private Long eventosRecebidos;
+
+    /**
+     * Frames publicados para os dashboards
+     */
+    private Long framesPublicados;
+
+    /**
+     * Frames descartados por buffer cheio (somando todos os dashboards)
+     */
+    private Long framesDescartados;
+}
@@ -0,0 +1,64 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com as métricas de sincronização de um sistema externo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinoIntegracaoStatusDTO {
+
+    /**
+     * Nome do sistema externo
+     */
+    private String sistema;
+
+    /**
+     * Endpoint que recebe os lotes
+     */
+    private String url;
+
+    /**
+     * Estado do circuit breaker (FECHADO, ABERTO, MEIO_ABERTO)
+     */
+    private String circuito;
+
+    /**
+     * Itens aguardando envio (já agrupados por produto)
+     */
+    private Integer itensPendentes;
+
+    /**
+     * Lotes em envio no momento
+     */
+    private Integer lotesEmEnvio;
+
+    /**
+     * Eventos recebidos dos consumidores
+     */
+    private Long eventosRecebidos;
+
+    /**
+     * Itens enviados com sucesso
+     */
+    private Long itensEnviados;
+
+    /**
+     * Lotes enviados com sucesso
+     */
+    private Long lotesEnviados;
+
+    /**
+     * Lotes cujo envio falhou (os itens voltam para a fila)
+     */
+    private Long lotesComFalha;
+
+    /**
+     * Mensagem do último erro de envio
+     */
+    private String ultimoErro;
+}
@@ -0,0 +1,77 @@
+package br.com.vortex.application.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resumo de alertas de estoque enviado a um grupo de destinatários.
+ */
+@Data
+@NoArgsConstructor
+public class DigestAlertasDTO {
+
+    /**
+     * Grupo de destinatários (tipo de produto ou "geral")
+     */
+    private String grupo;
+
+    /**
+     * Prioridade dos alertas do resumo
+     */
+    private String prioridade;
+
+    /**
+     * Endereços dos destinatários
+     */
+    private List<String> destinatarios = new ArrayList<>();
+
+    /**
+     * Alertas do resumo (o mais recente de cada produto)
+     */
+    private List<AlertaEstoqueEventDTO> alertas = new ArrayList<>();
+
+    /**
+     * Alertas recebidos no período, incluindo os substituídos por um mais recente do mesmo produto
+     */
+    private Integer alertasRecebidos;
+
+    /**
+     * Data do primeiro alerta do resumo
+     */
+    private LocalDateTime inicio;
+
+    /**
+     * Data de geração do resumo
+     */
+    private LocalDateTime geradoEm;
+
+    /**
+     * Assunto da mensagem.
+     */
+    public String getAssunto() {
+        if (alertas.size() == 1) {
+            AlertaEstoqueEventDTO alerta = alertas.get(0);
+            return String.format("[Vortex][%s] %s - %s", prioridade, alerta.getTipoAlerta(), alerta.getProdutoDescricao());
+        }
+        return String.format("[Vortex][%s] %d alertas de estoque - %s", prioridade, alertas.size(), grupo);
+    }
+
+    /**
+     * Corpo da mensagem em texto simples, uma linha por alerta.
+     */
+    public String getCorpo() {
+        StringBuilder corpo = new StringBuilder();
+        corpo.append(String.format("Resumo de alertas de estoque (%s, prioridade %s)%n", grupo, prioridade));
+        corpo.append(String.format("%d alerta(s) recebido(s), %d produto(s)%n%n", alertasRecebidos, alertas.size()));
+        for (AlertaEstoqueEventDTO alerta : alertas) {
+            corpo.append(String.format("- %s | Produto %d - %s | Quantidade atual: %s | %s%n",
+                    alerta.getTipoAlerta(), alerta.getProdutoId(), alerta.getProdutoDescricao(),
+                    alerta.getQuantidadeAtual(), alerta.getMensagem()));
+        }
+        return corpo.toString();
+    }
+}
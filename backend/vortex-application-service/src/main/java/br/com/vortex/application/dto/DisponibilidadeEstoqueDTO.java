@@ -0,0 +1,28 @@
+package br.com.vortex.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com o estoque de um produto descontadas as reservas ativas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estoque de um produto descontadas as reservas ativas")
+public class DisponibilidadeEstoqueDTO {
+
+    @Schema(description = "ID do produto", example = "1")
+    private Long produtoId;
+
+    @Schema(description = "Quantidade em estoque", example = "10")
+    private Integer quantidadeEmEstoque;
+
+    @Schema(description = "Quantidade em reservas ativas ou em confirmação nesta instância", example = "3")
+    private Integer quantidadeReservada;
+
+    @Schema(description = "Quantidade disponível para novas reservas", example = "7")
+    private Integer quantidadeDisponivel;
+}
@@ -0,0 +1,25 @@
+package br.com.vortex.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com o erro de uma linha rejeitada na importação do catálogo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Linha rejeitada na importação do catálogo")
+public class ErroImportacaoDTO {
+
+    @Schema(description = "Número da linha no arquivo (a primeira é 1)", example = "42")
+    private long linha;
+
+    @Schema(description = "Código (SKU) do produto, se lido", example = "SAM-S21-128")
+    private String codigo;
+
+    @Schema(description = "Motivo da rejeição", example = "Tipo de produto não encontrado: Eletronicos")
+    private String mensagem;
+}
@@ -0,0 +1,59 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO com o ranking aproximado de vendas da última hora e a contagem aproximada de
+ * usuários ativos no dia, de uma ou mais instâncias combinadas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasAproximadasDTO {
+
+    /**
+     * Início do período coberto pelo ranking de vendas
+     */
+    private LocalDateTime inicioJanelaVendas;
+
+    /**
+     * Produtos mais vendidos no período
+     */
+    private List<ProdutoTopVendasDTO> topProdutos;
+
+    /**
+     * Total de unidades vendidas no período
+     */
+    private Long totalUnidadesVendidas;
+
+    /**
+     * Erro máximo esperado em cada estimativa de unidades (com alta probabilidade)
+     */
+    private Long erroMaximoUnidades;
+
+    /**
+     * Dia da contagem de usuários ativos
+     */
+    private LocalDate diaUsuarios;
+
+    /**
+     * Usuários distintos ativos no dia (estimativa)
+     */
+    private Long usuariosAtivos;
+
+    /**
+     * Erro padrão relativo da contagem de usuários
+     */
+    private Double erroPadraoUsuarios;
+
+    /**
+     * Quantidade de instâncias combinadas
+     */
+    private Integer instancias;
+}
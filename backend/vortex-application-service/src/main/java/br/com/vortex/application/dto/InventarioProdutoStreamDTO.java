@@ -0,0 +1,87 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO com os agregados de inventário de um produto mantidos pelo Kafka Streams.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventarioProdutoStreamDTO {
+
+    /**
+     * ID do produto
+     */
+    private Long produtoId;
+
+    /**
+     * Descrição do produto
+     */
+    private String produtoDescricao;
+
+    /**
+     * Tipo de produto
+     */
+    private String tipoProduto;
+
+    /**
+     * Quantidade em estoque após o último movimento
+     */
+    private Integer estoqueAtual;
+
+    /**
+     * Total de unidades recebidas
+     */
+    private Long unidadesEntrada;
+
+    /**
+     * Total de unidades vendidas
+     */
+    private Long unidadesSaida;
+
+    /**
+     * Receita acumulada das vendas
+     */
+    private BigDecimal receita;
+
+    /**
+     * Lucro acumulado das vendas
+     */
+    private BigDecimal lucro;
+
+    /**
+     * Quantidade de movimentos processados
+     */
+    private Long movimentos;
+
+    /**
+     * Unidades vendidas na última hora
+     */
+    private Long vendasUltimaHora;
+
+    /**
+     * Unidades vendidas nas últimas 24 horas
+     */
+    private Long vendasUltimas24Horas;
+
+    /**
+     * Média de unidades vendidas por hora nas últimas 24 horas
+     */
+    private Double velocidadeVendasPorHora;
+
+    /**
+     * Dias de estoque restantes na velocidade atual (nulo sem vendas)
+     */
+    private Double diasDeEstoque;
+
+    /**
+     * Data do último movimento
+     */
+    private LocalDateTime ultimaMovimentacao;
+}
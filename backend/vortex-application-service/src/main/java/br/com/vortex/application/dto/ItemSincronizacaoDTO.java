@@ -0,0 +1,99 @@
+package br.com.vortex.application.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO com o último estado de um produto a sincronizar com um sistema externo.
+ */
+@Data
+@NoArgsConstructor
+public class ItemSincronizacaoDTO {
+
+    public static final String TIPO_ESTOQUE = "ESTOQUE";
+    public static final String TIPO_PRODUTO = "PRODUTO";
+
+    public static final String OPERACAO_ATUALIZAR = "UPSERT";
+    public static final String OPERACAO_REMOVER = "DELETE";
+
+    /**
+     * Tipo do item (ESTOQUE, PRODUTO)
+     */
+    private String tipo;
+
+    /**
+     * Operação a aplicar no sistema externo (UPSERT, DELETE)
+     */
+    private String operacao;
+
+    /**
+     * ID do produto
+     */
+    private Long produtoId;
+
+    /**
+     * Descrição do produto
+     */
+    private String descricao;
+
+    /**
+     * Tipo do produto
+     */
+    private String tipoProduto;
+
+    /**
+     * Valor do fornecedor
+     */
+    private BigDecimal valorFornecedor;
+
+    /**
+     * Quantidade em estoque
+     */
+    private Integer quantidadeEmEstoque;
+
+    /**
+     * Data do evento mais recente
+     */
+    private LocalDateTime atualizadoEm;
+
+    /**
+     * Quantidade de eventos agrupados neste item
+     */
+    private Integer eventosAgrupados = 1;
+
+    /**
+     * Chave de agrupamento: um item por tipo e produto.
+     */
+    public String chave() {
+        return tipo + ":" + produtoId;
+    }
+
+    public static ItemSincronizacaoDTO deMovimento(MovimentoEstoqueEventDTO event) {
+        ItemSincronizacaoDTO item = new ItemSincronizacaoDTO();
+        item.setTipo(TIPO_ESTOQUE);
+        item.setOperacao(OPERACAO_ATUALIZAR);
+        item.setProdutoId(event.getProdutoId());
+        item.setDescricao(event.getProdutoDescricao());
+        item.setTipoProduto(event.getTipoProduto());
+        item.setValorFornecedor(event.getValorFornecedor());
+        item.setQuantidadeEmEstoque(event.getEstoqueAtual());
+        item.setAtualizadoEm(event.getTimestamp());
+        return item;
+    }
+
+    public static ItemSincronizacaoDTO deProduto(ProdutoEventDTO event, String operacao) {
+        ItemSincronizacaoDTO item = new ItemSincronizacaoDTO();
+        item.setTipo(TIPO_PRODUTO);
+        item.setOperacao(operacao);
+        item.setProdutoId(event.getProdutoId());
+        item.setDescricao(event.getDescricao());
+        item.setTipoProduto(event.getTipoProdutoNome());
+        item.setValorFornecedor(event.getValorFornecedor());
+        item.setQuantidadeEmEstoque(event.getQuantidadeEmEstoque());
+        item.setAtualizadoEm(event.getTimestamp());
+        return item;
+    }
+}
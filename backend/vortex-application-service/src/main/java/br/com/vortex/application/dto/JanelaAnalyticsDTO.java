@@ -0,0 +1,40 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com a visão de uma janela de analytics em tempo real para uma chave
+ * (produto, tipo de produto ou total geral).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JanelaAnalyticsDTO {
+
+    /**
+     * Chave agregada (ID do produto, nome do tipo de produto ou "geral")
+     */
+    private String chave;
+
+    /**
+     * Janela consultada (1m, 5m, 1h)
+     */
+    private String janela;
+
+    /**
+     * Últimos 1m/5m/1h até o momento da consulta
+     */
+    private MetricasJanelaDTO deslizante;
+
+    /**
+     * Intervalo alinhado em andamento (ex.: 12:05-12:10)
+     */
+    private MetricasJanelaDTO tumblingAtual;
+
+    /**
+     * Último intervalo alinhado completo
+     */
+    private MetricasJanelaDTO tumblingAnterior;
+}
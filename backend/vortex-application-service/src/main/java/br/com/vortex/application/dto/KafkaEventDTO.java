@@ -26,10 +26,15 @@ import java.util.UUID;
 })
 public abstract class KafkaEventDTO {
     
+    /**
+     * ID fixado para os eventos criados na thread atual (ver {@link #comEventId(String, Runnable)}).
+     */
+    private static final ThreadLocal<String> EVENT_ID_FIXADO = new ThreadLocal<>();
+
     /**
      * ID único do evento
      */
-    private String eventId = UUID.randomUUID().toString();
+    private String eventId = novoEventId();
     
     /**
      * Timestamp do evento
@@ -64,4 +69,28 @@ public abstract class KafkaEventDTO {
     protected KafkaEventDTO(String eventType) {
         this.eventType = eventType;
     }
+
+    /**
+     * Executa a publicação fazendo com que os eventos criados nela recebam o ID informado.
+     * Usado quando o mesmo evento é publicado em mais de um broker, para que os
+     * consumidores reconheçam as cópias como um único evento.
+     */
+    public static void comEventId(String eventId, Runnable publicacao) {
+        String anterior = EVENT_ID_FIXADO.get();
+        EVENT_ID_FIXADO.set(eventId);
+        try {
+            publicacao.run();
+        } finally {
+            if (anterior != null) {
+                EVENT_ID_FIXADO.set(anterior);
+            } else {
+                EVENT_ID_FIXADO.remove();
+            }
+        }
+    }
+
+    private static String novoEventId() {
+        String fixado = EVENT_ID_FIXADO.get();
+        return fixado != null ? fixado : UUID.randomUUID().toString();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,37 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO com o lote de itens enviado a um sistema externo em uma única chamada.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteSincronizacaoDTO {
+
+    /**
+     * Identificador do lote (permite ao sistema externo descartar reenvios)
+     */
+    private String loteId;
+
+    /**
+     * Nome do sistema de destino
+     */
+    private String sistema;
+
+    /**
+     * Data de geração do lote
+     */
+    private LocalDateTime geradoEm;
+
+    /**
+     * Itens do lote
+     */
+    private List<ItemSincronizacaoDTO> itens;
+}
@@ -0,0 +1,52 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO com as métricas de movimentação acumuladas em um intervalo de tempo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricasJanelaDTO {
+
+    /**
+     * Início do intervalo
+     */
+    private LocalDateTime inicio;
+
+    /**
+     * Fim do intervalo (exclusivo)
+     */
+    private LocalDateTime fim;
+
+    /**
+     * Unidades recebidas em entradas
+     */
+    private Long unidadesEntrada;
+
+    /**
+     * Unidades vendidas em saídas
+     */
+    private Long unidadesSaida;
+
+    /**
+     * Receita das vendas
+     */
+    private BigDecimal receita;
+
+    /**
+     * Lucro das vendas
+     */
+    private BigDecimal lucro;
+
+    /**
+     * Quantidade de movimentações
+     */
+    private Long eventos;
+}
@@ -75,4 +75,19 @@ public class MovimentoEstoqueDTO {
         required = true
     )
     private Long produtoId;
+
+    @Schema(
+        description = "Identificador da operação quando o movimento é processado de forma assíncrona; a situação pode ser acompanhada em /api/movimentos/operacoes/{operationId}",
+        example = "3f1c2a9e-7b4d-4c1e-9a51-0d8e6f2b7c11",
+        accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private String operationId;
+
+    /**
+     * Construtor usado pela projeção da listagem de movimentos (sem operação assíncrona).
+     */
+    public MovimentoEstoqueDTO(Long id, LocalDateTime dataMovimento, TipoMovimentacao tipoMovimentacao,
+                               Integer quantidadeMovimentada, BigDecimal valorVenda, Long produtoId) {
+        this(id, dataMovimento, tipoMovimentacao, quantidadeMovimentada, valorVenda, produtoId, null);
+    }
 }
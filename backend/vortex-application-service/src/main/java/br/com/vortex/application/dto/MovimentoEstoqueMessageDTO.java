@@ -66,4 +66,9 @@ public class MovimentoEstoqueMessageDTO {
      * Motivo em caso de erro (para Dead Letter Queue).
      */
     private String motivoErro;
+
+    /**
+     * ID da reserva confirmada pela saída, se houver; a reserva é consumida junto com a saída.
+     */
+    private String reservaId;
 } 
\ No newline at end of file
@@ -0,0 +1,70 @@
+package br.com.vortex.application.dto;
+
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com a situação de um movimento de estoque processado de forma assíncrona.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperacaoMovimentoDTO {
+
+    /**
+     * ID da operação (operationId da mensagem)
+     */
+    private String operationId;
+
+    /**
+     * Situação da operação
+     */
+    private StatusOperacaoMovimento status;
+
+    /**
+     * ID do produto
+     */
+    private Long produtoId;
+
+    /**
+     * Tipo da movimentação
+     */
+    private TipoMovimentacao tipoMovimentacao;
+
+    /**
+     * Quantidade movimentada
+     */
+    private Integer quantidadeMovimentada;
+
+    /**
+     * ID do movimento criado (apenas quando APLICADO)
+     */
+    private Long movimentoId;
+
+    /**
+     * Motivo da falha (quando não aplicado)
+     */
+    private String motivo;
+
+    /**
+     * Data de envio para a fila
+     */
+    private LocalDateTime dataCriacao;
+
+    /**
+     * Data de conclusão do processamento
+     */
+    private LocalDateTime dataConclusao;
+
+    /**
+     * Indica se a operação já foi concluída
+     */
+    public boolean isFinalizado() {
+        return status != null && status.isFinalizado();
+    }
+}
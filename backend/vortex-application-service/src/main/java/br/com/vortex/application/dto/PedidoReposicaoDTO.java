@@ -0,0 +1,62 @@
+package br.com.vortex.application.dto;
+
+import br.com.vortex.application.model.enums.StatusPedidoReposicao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para transferência de dados de pedidos de reposição automáticos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoReposicaoDTO {
+
+    /**
+     * ID do pedido
+     */
+    private Long id;
+
+    /**
+     * ID do produto
+     */
+    private Long produtoId;
+
+    /**
+     * ID do alerta que originou o pedido
+     */
+    private String eventoOrigem;
+
+    /**
+     * Situação do pedido
+     */
+    private StatusPedidoReposicao status;
+
+    /**
+     * Quantidade solicitada ao fornecedor
+     */
+    private Integer quantidadeSolicitada;
+
+    /**
+     * Prioridade do alerta que originou o pedido
+     */
+    private String prioridade;
+
+    /**
+     * Indica se um ticket urgente foi aberto para o pedido
+     */
+    private Boolean ticketCriado;
+
+    /**
+     * Data de criação do pedido
+     */
+    private LocalDateTime dataCriacao;
+
+    /**
+     * Data em que o pedido foi atendido ou cancelado
+     */
+    private LocalDateTime dataFechamento;
+}
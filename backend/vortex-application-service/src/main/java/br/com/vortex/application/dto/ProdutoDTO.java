@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,7 +24,12 @@ public class ProdutoDTO {
     @Schema(description = "ID do produto", example = "1")
     private Long id;
 
+    @Size(max = 64, message = "O código do produto deve ter no máximo 64 caracteres")
+    @Schema(description = "Código (SKU) do produto, único quando informado", example = "SAM-S21-128")
+    private String codigo;
+
     @NotBlank(message = "A descrição do produto é obrigatória")
+    @Size(max = 255, message = "A descrição do produto deve ter no máximo 255 caracteres")
     @Schema(description = "Descrição do produto", example = "Smartphone Samsung Galaxy S21", required = true)
     private String descricao;
 
@@ -33,7 +39,8 @@ public class ProdutoDTO {
     private BigDecimal valorFornecedor;
 
     @PositiveOrZero(message = "A quantidade em estoque não pode ser negativa")
-    @Schema(description = "Quantidade em estoque", example = "10", defaultValue = "0")
+    @Schema(description = "Quantidade em estoque; informada só na criação, depois o saldo é mantido pelos movimentos",
+            example = "10", defaultValue = "0")
     private Integer quantidadeEmEstoque;
 
     @NotNull(message = "O tipo de produto é obrigatório")
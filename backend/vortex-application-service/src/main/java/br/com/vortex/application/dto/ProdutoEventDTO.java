@@ -11,9 +11,14 @@ import java.math.BigDecimal;
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class ProdutoEventDTO extends KafkaEventDTO {
+
+    /**
+     * Ação dos eventos que só invalidam o cache do catálogo nas demais instâncias.
+     */
+    public static final String ACAO_CACHE_INVALIDADO = "CACHE_INVALIDATED";
     
     /**
-     * Ação realizada (CREATED, UPDATED, DELETED)
+     * Ação realizada (CREATED, UPDATED, DELETED, CACHE_INVALIDATED)
      */
     private String action;
     
@@ -55,4 +60,14 @@ public class ProdutoEventDTO extends KafkaEventDTO {
     public ProdutoEventDTO() {
         super("PRODUTO_EVENT");
     }
+
+    /**
+     * Cria o evento de invalidação do cache de um produto; {@code null} invalida todos.
+     */
+    public static ProdutoEventDTO invalidacaoCache(Long produtoId) {
+        ProdutoEventDTO event = new ProdutoEventDTO();
+        event.setAction(ACAO_CACHE_INVALIDADO);
+        event.setProdutoId(produtoId);
+        return event;
+    }
 } 
\ No newline at end of file
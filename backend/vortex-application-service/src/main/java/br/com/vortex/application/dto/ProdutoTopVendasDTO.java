@@ -0,0 +1,24 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com a estimativa de unidades vendidas de um produto no ranking aproximado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoTopVendasDTO {
+
+    /**
+     * ID do produto
+     */
+    private Long produtoId;
+
+    /**
+     * Unidades vendidas estimadas (nunca abaixo do valor real)
+     */
+    private Long unidadesEstimadas;
+}
@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * DTO para informações sobre filas de mensageria.
@@ -73,4 +74,19 @@ public class QueueInfoDTO {
      * Routing key (para RabbitMQ)
      */
     private String routingKey;
-} 
\ No newline at end of file
+    
+    /**
+     * Lag do grupo de consumidores (para Kafka)
+     */
+    private Long lag;
+    
+    /**
+     * Lag por partição (para Kafka)
+     */
+    private Map<Integer, Long> lagPorParticao;
+    
+    /**
+     * Variação do lag por segundo no histórico amostrado
+     */
+    private Double tendenciaLag;
+}
@@ -0,0 +1,55 @@
+package br.com.vortex.application.dto;
+
+import br.com.vortex.application.model.enums.StatusReservaEstoque;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para transferência de dados de ReservaEstoque.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO para transferência de dados de ReservaEstoque")
+public class ReservaEstoqueDTO {
+
+    @Schema(description = "ID da reserva", example = "4f9d7c1e-2a8b-4d6e-9f1a-3b5c7d9e1f2a")
+    private String id;
+
+    @NotNull(message = "O produto é obrigatório")
+    @Schema(description = "ID do produto reservado", example = "1", required = true)
+    private Long produtoId;
+
+    @NotNull(message = "A quantidade reservada é obrigatória")
+    @Positive(message = "A quantidade reservada deve ser maior que zero")
+    @Schema(description = "Quantidade reservada", example = "2", required = true)
+    private Integer quantidade;
+
+    @Positive(message = "A validade da reserva deve ser positiva")
+    @Schema(description = "Validade da reserva em segundos; sem valor, usa a validade padrão", example = "600")
+    private Integer validadeSegundos;
+
+    @Schema(description = "Situação da reserva", example = "ATIVA")
+    private StatusReservaEstoque status;
+
+    @Schema(description = "ID do movimento de saída criado na confirmação")
+    private Long movimentoId;
+
+    @Schema(description = "ID da operação assíncrona da saída, enquanto a reserva está em confirmação")
+    private String operationId;
+
+    @Schema(description = "Data de criação da reserva")
+    private LocalDateTime dataCriacao;
+
+    @Schema(description = "Data em que a reserva expira se não for confirmada")
+    private LocalDateTime expiraEm;
+
+    @Schema(description = "Data de confirmação, expiração ou cancelamento")
+    private LocalDateTime dataConclusao;
+}
@@ -0,0 +1,34 @@
+package br.com.vortex.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resultado de uma importação do catálogo de produtos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da importação do catálogo de produtos")
+public class ResultadoImportacaoCatalogoDTO {
+
+    @Schema(description = "Linhas de produto lidas (sem cabeçalho e linhas em branco)", example = "200000")
+    private long linhasLidas;
+
+    @Schema(description = "Produtos criados", example = "150000")
+    private long inseridos;
+
+    @Schema(description = "Produtos existentes atualizados pelo código", example = "49990")
+    private long atualizados;
+
+    @Schema(description = "Linhas rejeitadas", example = "10")
+    private long rejeitados;
+
+    @Schema(description = "Erros por linha; limitado pela configuração, o total está em rejeitados")
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
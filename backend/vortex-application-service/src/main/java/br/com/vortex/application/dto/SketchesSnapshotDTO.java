@@ -0,0 +1,64 @@
+package br.com.vortex.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO com o estado serializado dos sketches de uma instância, usado para combinar
+ * resultados de várias instâncias da aplicação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SketchesSnapshotDTO {
+
+    /**
+     * Momento em que o snapshot foi gerado
+     */
+    private LocalDateTime geradoEm;
+
+    /**
+     * Início do período coberto pelo Count-Min Sketch de vendas
+     */
+    private LocalDateTime inicioJanelaVendas;
+
+    /**
+     * Colunas do Count-Min Sketch
+     */
+    private Integer larguraCms;
+
+    /**
+     * Linhas do Count-Min Sketch
+     */
+    private Integer profundidadeCms;
+
+    /**
+     * Contagens do Count-Min Sketch (longs big-endian em Base64)
+     */
+    private String contagensCms;
+
+    /**
+     * Produtos candidatos ao ranking
+     */
+    private List<Long> candidatosTopVendas;
+
+    /**
+     * Dia da contagem de usuários ativos
+     */
+    private LocalDate diaUsuarios;
+
+    /**
+     * Precisão do HyperLogLog
+     */
+    private Integer precisaoHll;
+
+    /**
+     * Registradores do HyperLogLog (Base64)
+     */
+    private String registradoresHll;
+}
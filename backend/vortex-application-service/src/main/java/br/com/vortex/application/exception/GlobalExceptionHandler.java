@@ -1,6 +1,7 @@
 package br.com.vortex.application.exception;
 
 import lombok.Getter;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -51,6 +52,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Manipula conflitos de concorrência: o recurso foi alterado por outra requisição.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetails> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException exception, WebRequest webRequest) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                "O recurso foi alterado por outra operação; recarregue e tente novamente",
+                webRequest.getDescription(false),
+                "CONFLITO_CONCORRENCIA");
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Manipula violações de regras de negócio e parâmetros de requisição inválidos.
+     */
+    @ExceptionHandler(RegraNegocioException.class)
+    public ResponseEntity<ErrorDetails> handleRegraNegocioException(
+            RegraNegocioException exception, WebRequest webRequest) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                exception.getMessage(),
+                webRequest.getDescription(false),
+                "INVALID_ARGUMENT");
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Manipula exceções de validação de argumentos.
      */
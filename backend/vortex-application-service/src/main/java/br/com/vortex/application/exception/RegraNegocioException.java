@@ -0,0 +1,19 @@
+package br.com.vortex.application.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a requisição viola uma regra de negócio ou traz parâmetros inválidos.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class RegraNegocioException extends RuntimeException {
+
+    public RegraNegocioException(String message) {
+        super(message);
+    }
+
+    public RegraNegocioException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.vortex.application.factory;
 
+import br.com.vortex.application.service.CompositeMessageBrokerService;
+import br.com.vortex.application.service.EmbeddedMessageBrokerService;
 import br.com.vortex.application.service.KafkaProducerService;
 import br.com.vortex.application.service.MessageBrokerService;
 import br.com.vortex.application.service.RabbitMQProducerService;
@@ -14,12 +16,18 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Factory responsável por escolher o serviço de message broker.
  * 
  * Implementa o padrão Factory para decidir entre:
  * - Kafka: Event sourcing e streaming em tempo real
  * - RabbitMQ: Mensageria tradicional com filas
+ * - Embutido: Fila em memória na própria JVM (padrão quando nenhum broker externo está disponível)
+ * - Composto: Publicação simultânea em vários brokers (ex.: migração Kafka → RabbitMQ)
  * - Nenhum: Processamento síncrono apenas
  */
 @Slf4j
@@ -35,12 +43,21 @@ public class MessageBrokerFactory {
     @Value("${rabbitmq.enabled:false}")
     private boolean rabbitmqEnabled;
 
+    @Value("${message.broker.targets:kafka,rabbitmq}")
+    private List<String> compositeTargets;
+
+    @Value("${message.broker.composite.capacidade-fila:10000}")
+    private int compositeCapacidadeFila;
+
     @Autowired(required = false)
     private KafkaProducerService kafkaProducerService;
 
     @Autowired(required = false)
     private RabbitMQProducerService rabbitMQProducerService;
 
+    @Autowired(required = false)
+    private EmbeddedMessageBrokerService embeddedMessageBrokerService;
+
     /**
      * Cria o bean principal do MessageBrokerService baseado na configuração.
      */
@@ -55,6 +72,10 @@ public class MessageBrokerFactory {
                 return createKafkaService();
             case "rabbitmq":
                 return createRabbitMQService();
+            case "embedded":
+                return createEmbeddedService();
+            case "composite":
+                return createCompositeService();
             case "none":
                 return createNoOpService();
             default:
@@ -71,8 +92,8 @@ public class MessageBrokerFactory {
             log.info("Usando Apache Kafka como message broker");
             return kafkaProducerService;
         } else {
-            log.warn("Kafka não está disponível. Usando serviço NoOp.");
-            return createNoOpService();
+            log.warn("Kafka não está disponível. Usando broker embutido.");
+            return createEmbeddedService();
         }
     }
 
@@ -84,11 +105,62 @@ public class MessageBrokerFactory {
             log.info("Usando RabbitMQ como message broker");
             return rabbitMQProducerService;
         } else {
-            log.warn("RabbitMQ não está disponível. Usando serviço NoOp.");
-            return createNoOpService();
+            log.warn("RabbitMQ não está disponível. Usando broker embutido.");
+            return createEmbeddedService();
         }
     }
 
+    /**
+     * Cria serviço composto que publica em todos os brokers de message.broker.targets disponíveis.
+     */
+    private MessageBrokerService createCompositeService() {
+        Map<String, MessageBrokerService> brokers = new LinkedHashMap<>();
+
+        for (String target : compositeTargets) {
+            String nome = target.trim().toLowerCase();
+            MessageBrokerService broker = resolveTarget(nome);
+            if (broker != null) {
+                brokers.put(nome, broker);
+            } else {
+                log.warn("Broker {} indisponível. Ignorado no message broker composto.", nome);
+            }
+        }
+
+        if (brokers.isEmpty()) {
+            log.warn("Nenhum broker de destino disponível para o message broker composto.");
+            return createEmbeddedService();
+        }
+
+        log.info("Usando message broker composto. Destinos: {}", brokers.keySet());
+        return new CompositeMessageBrokerService(brokers, compositeCapacidadeFila);
+    }
+
+    private MessageBrokerService resolveTarget(String nome) {
+        switch (nome) {
+            case "kafka":
+                return kafkaEnabled ? kafkaProducerService : null;
+            case "rabbitmq":
+                return rabbitmqEnabled ? rabbitMQProducerService : null;
+            case "embedded":
+                return embeddedMessageBrokerService;
+            default:
+                log.warn("Tipo de message broker desconhecido em message.broker.targets: {}", nome);
+                return null;
+        }
+    }
+
+    /**
+     * Cria serviço de broker embutido se habilitado.
+     */
+    private MessageBrokerService createEmbeddedService() {
+        if (embeddedMessageBrokerService != null) {
+            log.info("Usando broker embutido em memória como message broker");
+            return embeddedMessageBrokerService;
+        } else {
+            log.warn("Broker embutido desabilitado. Usando serviço NoOp.");
+            return createNoOpService();
+        }
+    }
 
 
     /**
@@ -124,6 +196,11 @@ public class MessageBrokerFactory {
             // No-op
         }
 
+        @Override
+        public void publicarInvalidacaoCacheProduto(Long produtoId) {
+            // No-op
+        }
+
         @Override
         public void publicarAlertaEstoqueBaixo(Produto produto, Integer quantidadeMinima, String userId) {
             // No-op
@@ -145,6 +222,12 @@ public class MessageBrokerFactory {
             // No-op
         }
 
+        @Override
+        public void publicarAuditoriaMovimento(String acao, Long movimentoId, Long produtoId, Integer quantidade,
+                                               String detalhes, String userId) {
+            // No-op
+        }
+
         @Override
         public boolean isAvailable() {
             return false;
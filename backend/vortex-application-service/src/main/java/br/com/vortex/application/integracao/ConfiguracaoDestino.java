@@ -0,0 +1,15 @@
+package br.com.vortex.application.integracao;
+
+/**
+ * Parâmetros de envio aplicados a cada sistema externo.
+ *
+ * @param tamanhoLote Máximo de itens por chamada
+ * @param taxaPorSegundo Chamadas por segundo permitidas ao sistema
+ * @param rajada Chamadas permitidas em rajada acima da taxa
+ * @param concorrencia Chamadas simultâneas ao sistema
+ * @param falhasParaAbrir Falhas consecutivas que abrem o circuit breaker
+ * @param aberturaMillis Tempo que o circuit breaker fica aberto
+ */
+record ConfiguracaoDestino(int tamanhoLote, double taxaPorSegundo, int rajada, int concorrencia,
+                           int falhasParaAbrir, long aberturaMillis) {
+}
@@ -0,0 +1,171 @@
+package br.com.vortex.application.integracao;
+
+import br.com.vortex.application.dto.DestinoIntegracaoStatusDTO;
+import br.com.vortex.application.dto.ItemSincronizacaoDTO;
+import br.com.vortex.application.dto.LoteSincronizacaoDTO;
+import br.com.vortex.application.util.DisjuntorCircuito;
+import br.com.vortex.application.util.LimitadorTaxa;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fila de sincronização de um sistema externo.
+ *
+ * Mantém apenas o último estado de cada produto (por tipo de item) enquanto ele não é
+ * enviado; eventos seguidos do mesmo produto substituem o item pendente. Os itens são
+ * enviados em lotes, respeitando o limite de chamadas simultâneas, a taxa e o circuit
+ * breaker do sistema. Um lote com falha volta para a fila sem sobrescrever estados mais
+ * recentes recebidos nesse meio tempo.
+ */
+@Slf4j
+class DestinoIntegracao {
+
+    private final String sistema;
+    private final String url;
+    private final RestClient restClient;
+    private final Executor executor;
+    private final Clock clock;
+    private final int tamanhoLote;
+    private final int concorrencia;
+    private final Semaphore vagas;
+    private final LimitadorTaxa limitador;
+    private final DisjuntorCircuito disjuntor;
+
+    private final Map<String, ItemSincronizacaoDTO> pendentes = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventosRecebidos = new AtomicLong();
+    private final AtomicLong itensEnviados = new AtomicLong();
+    private final AtomicLong lotesEnviados = new AtomicLong();
+    private final AtomicLong lotesComFalha = new AtomicLong();
+    private volatile String ultimoErro;
+
+    DestinoIntegracao(String sistema, String url, RestClient restClient, Executor executor,
+                      ConfiguracaoDestino configuracao, Clock clock) {
+        this.sistema = sistema;
+        this.url = url;
+        this.restClient = restClient;
+        this.executor = executor;
+        this.clock = clock;
+        this.tamanhoLote = configuracao.tamanhoLote();
+        this.concorrencia = configuracao.concorrencia();
+        this.vagas = new Semaphore(configuracao.concorrencia());
+        this.limitador = new LimitadorTaxa(configuracao.taxaPorSegundo(), configuracao.rajada());
+        this.disjuntor = new DisjuntorCircuito(configuracao.falhasParaAbrir(), configuracao.aberturaMillis());
+    }
+
+    /**
+     * Registra o estado do produto, substituindo o pendente, e despacha se já houver um lote completo.
+     */
+    void registrar(ItemSincronizacaoDTO item) {
+        eventosRecebidos.incrementAndGet();
+        pendentes.merge(item.chave(), item, (anterior, novo) -> {
+            novo.setEventosAgrupados(anterior.getEventosAgrupados() + novo.getEventosAgrupados());
+            return novo;
+        });
+
+        if (pendentes.size() >= tamanhoLote) {
+            despachar(true);
+        }
+    }
+
+    /**
+     * Despacha lotes enquanto houver itens e vagas de envio.
+     *
+     * @param apenasCompletos Se {@code true}, não despacha lotes menores que o tamanho configurado
+     */
+    void despachar(boolean apenasCompletos) {
+        while (!pendentes.isEmpty() && disjuntor.getEstado() != DisjuntorCircuito.Estado.ABERTO) {
+            if (apenasCompletos && pendentes.size() < tamanhoLote) {
+                return;
+            }
+            if (!vagas.tryAcquire()) {
+                return;
+            }
+
+            List<ItemSincronizacaoDTO> lote = drenar();
+            if (lote.isEmpty()) {
+                vagas.release();
+                return;
+            }
+            executor.execute(() -> enviar(lote));
+        }
+    }
+
+    DestinoIntegracaoStatusDTO status() {
+        return new DestinoIntegracaoStatusDTO(sistema, url, disjuntor.getEstado().name(), pendentes.size(),
+                concorrencia - vagas.availablePermits(), eventosRecebidos.get(), itensEnviados.get(),
+                lotesEnviados.get(), lotesComFalha.get(), ultimoErro);
+    }
+
+    String getSistema() {
+        return sistema;
+    }
+
+    private List<ItemSincronizacaoDTO> drenar() {
+        List<ItemSincronizacaoDTO> lote = new ArrayList<>(Math.min(tamanhoLote, pendentes.size()));
+        Iterator<String> chaves = pendentes.keySet().iterator();
+        while (lote.size() < tamanhoLote && chaves.hasNext()) {
+            ItemSincronizacaoDTO item = pendentes.remove(chaves.next());
+            if (item != null) {
+                lote.add(item);
+            }
+        }
+        return lote;
+    }
+
+    private void enviar(List<ItemSincronizacaoDTO> lote) {
+        try {
+            limitador.adquirir();
+            if (!disjuntor.permitirChamada()) {
+                devolver(lote);
+                return;
+            }
+
+            try {
+                restClient.post()
+                        .uri(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(new LoteSincronizacaoDTO(UUID.randomUUID().toString(), sistema, LocalDateTime.now(clock), lote))
+                        .retrieve()
+                        .toBodilessEntity();
+                disjuntor.registrarSucesso();
+                lotesEnviados.incrementAndGet();
+                itensEnviados.addAndGet(lote.size());
+            } catch (Exception e) {
+                disjuntor.registrarFalha();
+                lotesComFalha.incrementAndGet();
+                ultimoErro = e.getMessage();
+                log.warn("Falha ao enviar lote de {} itens para {}: {}", lote.size(), sistema, e.getMessage());
+                devolver(lote);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            devolver(lote);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    private void devolver(List<ItemSincronizacaoDTO> lote) {
+        for (ItemSincronizacaoDTO item : lote) {
+            // Um estado recebido depois da drenagem é mais recente e prevalece
+            pendentes.merge(item.chave(), item, (maisRecente, devolvido) -> {
+                maisRecente.setEventosAgrupados(maisRecente.getEventosAgrupados() + devolvido.getEventosAgrupados());
+                return maisRecente;
+            });
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.vortex.application.integracao;
+
+import br.com.vortex.application.dto.DestinoIntegracaoStatusDTO;
+import br.com.vortex.application.dto.ItemSincronizacaoDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline de sincronização em lote com os sistemas externos (ERP, WMS, etc.).
+ *
+ * Os consumidores apenas registram o estado do produto na fila de cada sistema; o envio
+ * acontece em lotes, quando a fila atinge o tamanho do lote ou a cada intervalo, em
+ * virtual threads. Assim a vazão dos consumidores não fica limitada à latência dos
+ * sistemas externos. Os sistemas são configurados em {@code integracao.destinos}
+ * (nomes separados por vírgula) e {@code integracao.destinos.<nome>.url}.
+ */
+@Slf4j
+@Service
+public class PipelineIntegracaoService implements DisposableBean {
+
+    private final List<DestinoIntegracao> destinos;
+    private final ExecutorService executor;
+
+    @Autowired
+    public PipelineIntegracaoService(RestClient.Builder restClientBuilder, Environment environment,
+                                     @Value("${integracao.destinos:}") String nomes,
+                                     @Value("${integracao.lote.tamanho:200}") int tamanhoLote,
+                                     @Value("${integracao.envio.taxa-por-segundo:5}") double taxaPorSegundo,
+                                     @Value("${integracao.envio.rajada:5}") int rajada,
+                                     @Value("${integracao.envio.concorrencia:2}") int concorrencia,
+                                     @Value("${integracao.envio.timeout-ms:5000}") int timeoutMillis,
+                                     @Value("${integracao.circuito.falhas-para-abrir:5}") int falhasParaAbrir,
+                                     @Value("${integracao.circuito.abertura-ms:30000}") long aberturaMillis) {
+        this(urls(environment, nomes), restClient(restClientBuilder, timeoutMillis),
+                new ConfiguracaoDestino(tamanhoLote, taxaPorSegundo, rajada, concorrencia, falhasParaAbrir, aberturaMillis),
+                Clock.systemDefaultZone());
+    }
+
+    PipelineIntegracaoService(Map<String, String> urls, RestClient restClient, ConfiguracaoDestino configuracao, Clock clock) {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.destinos = new ArrayList<>(urls.size());
+        urls.forEach((sistema, url) ->
+                destinos.add(new DestinoIntegracao(sistema, url, restClient, executor, configuracao, clock)));
+
+        if (destinos.isEmpty()) {
+            log.info("Nenhum sistema externo configurado; sincronização apenas registrada no log");
+        } else {
+            log.info("Sincronização em lote configurada para: {}", urls.keySet());
+        }
+    }
+
+    public boolean isHabilitado() {
+        return !destinos.isEmpty();
+    }
+
+    /**
+     * Registra o estado do produto para envio a todos os sistemas externos.
+     */
+    public void registrar(ItemSincronizacaoDTO item) {
+        for (DestinoIntegracao destino : destinos) {
+            // Cada destino agrupa e devolve itens de forma independente
+            destino.registrar(copiar(item));
+        }
+    }
+
+    /**
+     * Envia os itens pendentes, mesmo que não completem um lote.
+     */
+    @Scheduled(fixedDelayString = "${integracao.intervalo-ms:1000}")
+    public void enviarPendentes() {
+        for (DestinoIntegracao destino : destinos) {
+            destino.despachar(false);
+        }
+    }
+
+    public List<DestinoIntegracaoStatusDTO> obterStatus() {
+        return destinos.stream().map(DestinoIntegracao::status).toList();
+    }
+
+    @Override
+    public void destroy() {
+        enviarPendentes();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        for (DestinoIntegracaoStatusDTO status : obterStatus()) {
+            if (status.getItensPendentes() > 0) {
+                log.warn("Sincronização com {} encerrada com {} itens pendentes", status.getSistema(), status.getItensPendentes());
+            }
+        }
+    }
+
+    private static ItemSincronizacaoDTO copiar(ItemSincronizacaoDTO item) {
+        ItemSincronizacaoDTO copia = new ItemSincronizacaoDTO();
+        copia.setTipo(item.getTipo());
+        copia.setOperacao(item.getOperacao());
+        copia.setProdutoId(item.getProdutoId());
+        copia.setDescricao(item.getDescricao());
+        copia.setTipoProduto(item.getTipoProduto());
+        copia.setValorFornecedor(item.getValorFornecedor());
+        copia.setQuantidadeEmEstoque(item.getQuantidadeEmEstoque());
+        copia.setAtualizadoEm(item.getAtualizadoEm());
+        copia.setEventosAgrupados(item.getEventosAgrupados());
+        return copia;
+    }
+
+    private static Map<String, String> urls(Environment environment, String nomes) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        Arrays.stream(nomes.split(","))
+                .map(String::trim)
+                .filter(nome -> !nome.isEmpty())
+                .forEach(nome -> {
+                    String url = environment.getProperty("integracao.destinos." + nome + ".url");
+                    if (url == null || url.isBlank()) {
+                        throw new IllegalStateException("URL não configurada para o sistema externo " + nome);
+                    }
+                    urls.put(nome, url);
+                });
+        return urls;
+    }
+
+    private static RestClient restClient(RestClient.Builder builder, int timeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMillis);
+        requestFactory.setReadTimeout(timeoutMillis);
+        return builder.requestFactory(requestFactory).build();
+    }
+}
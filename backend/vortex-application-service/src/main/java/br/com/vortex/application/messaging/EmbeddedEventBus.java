@@ -0,0 +1,301 @@
+package br.com.vortex.application.messaging;
+
+import br.com.vortex.application.dto.KafkaEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Broker em memória para instalações sem Kafka/RabbitMQ.
+ *
+ * Produtores publicam em um {@link RingBufferMpsc} sem locks e uma única thread
+ * despacha os eventos, em ordem, para os consumidores registrados. Quando a fila está
+ * vazia a thread faz uma espera ativa curta e depois estaciona; o produtor a acorda
+ * ao publicar. Com {@code embedded.broker.journal.enabled=true} cada evento é gravado
+ * antes em um {@link JournalMapeado}, e os eventos não despachados são reprocessados
+ * na próxima inicialização (nesse modo a publicação é serializada para manter a ordem
+ * entre journal e fila).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "embedded.broker.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddedEventBus implements SmartLifecycle {
+
+    private static final int ESPERA_ATIVA = 200;
+    private static final long ESTACIONAMENTO_MAXIMO_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final ObjectMapper objectMapper;
+    private final RingBufferMpsc<EventoEmbutido> fila;
+    private final long timeoutPublicacaoNanos;
+    private final JournalMapeado journal;
+    private final Object travaJournal = new Object();
+
+    private final List<Consumer<KafkaEventDTO>> consumidores = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong entregues = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong naoPersistidos = new AtomicLong();
+
+    private volatile Thread despachante;
+    private volatile boolean despachanteEstacionado;
+    private volatile boolean ativo;
+
+    @Autowired
+    public EmbeddedEventBus(ObjectMapper objectMapper,
+                            @Value("${embedded.broker.capacidade:8192}") int capacidade,
+                            @Value("${embedded.broker.publish-timeout-ms:100}") long timeoutPublicacaoMs,
+                            @Value("${embedded.broker.journal.enabled:false}") boolean journalHabilitado,
+                            @Value("${embedded.broker.journal.path:data/embedded-broker.journal}") String caminhoJournal,
+                            @Value("${embedded.broker.journal.tamanho-mb:64}") int tamanhoJournalMb) throws IOException {
+        this.objectMapper = objectMapper;
+        this.fila = new RingBufferMpsc<>(capacidade);
+        this.timeoutPublicacaoNanos = TimeUnit.MILLISECONDS.toNanos(timeoutPublicacaoMs);
+        this.journal = journalHabilitado
+                ? new JournalMapeado(Path.of(caminhoJournal), tamanhoJournalBytes(tamanhoJournalMb))
+                : null;
+    }
+
+    /**
+     * Converte o tamanho configurado para bytes. O arquivo é mapeado em um único
+     * {@code MappedByteBuffer}, limitado a {@link Integer#MAX_VALUE} bytes.
+     */
+    static int tamanhoJournalBytes(long tamanhoMb) {
+        long bytes = tamanhoMb * 1024L * 1024L;
+        if (tamanhoMb <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "embedded.broker.journal.tamanho-mb deve estar entre 1 e 2047: " + tamanhoMb);
+        }
+        return (int) bytes;
+    }
+
+    /**
+     * Registra um consumidor. Todos os consumidores recebem todos os eventos.
+     */
+    public void registrarConsumidor(Consumer<KafkaEventDTO> consumidor) {
+        consumidores.add(consumidor);
+    }
+
+    /**
+     * Publica um evento. Se a fila estiver cheia, aguarda até o timeout configurado
+     * e então descarta o evento, removendo-o também do journal.
+     *
+     * @return {@code true} se o evento foi enfileirado
+     */
+    public boolean publicar(KafkaEventDTO evento) {
+        boolean enfileirado;
+
+        if (journal == null) {
+            enfileirado = enfileirar(new EventoEmbutido(evento, -1));
+        } else {
+            byte[] dados = serializar(evento);
+            synchronized (travaJournal) {
+                long posicao = dados != null ? journal.anexar(dados) : -1;
+                if (posicao < 0) {
+                    naoPersistidos.incrementAndGet();
+                    log.warn("Evento {} não gravado no journal do broker embutido (journal cheio ou erro de serialização)",
+                            evento.getEventId());
+                }
+                enfileirado = enfileirar(new EventoEmbutido(evento, posicao));
+                if (!enfileirado && posicao > 0) {
+                    // Descartado: não pode ser reprocessado na próxima inicialização
+                    journal.desfazer(posicao, dados.length);
+                }
+            }
+        }
+
+        if (enfileirado) {
+            publicados.incrementAndGet();
+        } else {
+            descartados.incrementAndGet();
+            log.warn("Fila do broker embutido cheia. Evento {} descartado.", evento.getEventId());
+        }
+        return enfileirado;
+    }
+
+    private boolean enfileirar(EventoEmbutido evento) {
+        if (fila.oferecer(evento)) {
+            acordarDespachante();
+            return true;
+        }
+
+        long limite = System.nanoTime() + timeoutPublicacaoNanos;
+        while (System.nanoTime() < limite) {
+            acordarDespachante();
+            LockSupport.parkNanos(50_000);
+            if (fila.oferecer(evento)) {
+                acordarDespachante();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void acordarDespachante() {
+        Thread thread = despachante;
+        if (despachanteEstacionado && thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (ativo) {
+            return;
+        }
+
+        ativo = true;
+        Thread thread = new Thread(this::despachar, "embedded-broker-dispatcher");
+        thread.setDaemon(true);
+        despachante = thread;
+        thread.start();
+
+        log.info("Broker embutido iniciado. Capacidade: {}, Journal: {}", fila.getCapacidade(), journal != null);
+    }
+
+    @Override
+    public void stop() {
+        ativo = false;
+        Thread thread = despachante;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Erro ao fechar journal do broker embutido: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    private void despachar() {
+        recuperarJournal();
+
+        int ociosidade = 0;
+        while (ativo || !fila.isVazia()) {
+            EventoEmbutido evento = fila.consumir();
+
+            if (evento != null) {
+                ociosidade = 0;
+                entregar(evento.evento());
+                if (evento.posicaoJournal() > 0) {
+                    journal.confirmar(evento.posicaoJournal());
+                }
+            } else if (ociosidade < ESPERA_ATIVA) {
+                ociosidade++;
+                Thread.onSpinWait();
+            } else {
+                despachanteEstacionado = true;
+                if (fila.isVazia() && ativo) {
+                    LockSupport.parkNanos(this, ESTACIONAMENTO_MAXIMO_NANOS);
+                }
+                despachanteEstacionado = false;
+            }
+        }
+    }
+
+    private void recuperarJournal() {
+        if (journal == null) {
+            return;
+        }
+
+        List<JournalMapeado.RegistroJournal> pendentes = journal.pendentes();
+        if (!pendentes.isEmpty()) {
+            log.info("Reprocessando {} eventos pendentes do journal do broker embutido", pendentes.size());
+        }
+
+        for (JournalMapeado.RegistroJournal registro : pendentes) {
+            try {
+                entregar(objectMapper.readValue(registro.dados(), KafkaEventDTO.class));
+            } catch (IOException e) {
+                log.error("Evento ilegível no journal do broker embutido ignorado: {}", e.getMessage());
+            }
+            journal.confirmar(registro.posicaoFinal());
+        }
+    }
+
+    private void entregar(KafkaEventDTO evento) {
+        for (Consumer<KafkaEventDTO> consumidor : consumidores) {
+            try {
+                consumidor.accept(evento);
+            } catch (Exception e) {
+                falhas.incrementAndGet();
+                log.error("Erro ao processar evento {} no broker embutido", evento.getEventId(), e);
+            }
+        }
+        entregues.incrementAndGet();
+    }
+
+    private byte[] serializar(KafkaEventDTO evento) {
+        try {
+            return objectMapper.writeValueAsBytes(evento);
+        } catch (IOException e) {
+            log.error("Erro ao serializar evento {} para o journal", evento.getEventId(), e);
+            return null;
+        }
+    }
+
+    public long getPublicados() {
+        return publicados.get();
+    }
+
+    public long getEntregues() {
+        return entregues.get();
+    }
+
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    public long getNaoPersistidos() {
+        return naoPersistidos.get();
+    }
+
+    public int getPendentes() {
+        return fila.tamanho();
+    }
+
+    public int getCapacidade() {
+        return fila.getCapacidade();
+    }
+
+    public boolean isJournalHabilitado() {
+        return journal != null;
+    }
+
+    /**
+     * Evento enfileirado e sua posição no journal (-1 quando não persistido).
+     */
+    private record EventoEmbutido(KafkaEventDTO evento, long posicaoJournal) {
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.vortex.application.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal de eventos em arquivo mapeado em memória.
+ *
+ * Formato: cabeçalho com número mágico, posição de escrita e posição já consumida,
+ * seguido de registros {@code [tamanho:int][bytes]}. A escrita vai direto para o page
+ * cache, então os eventos sobrevivem a uma queda do processo (não do sistema operacional,
+ * a menos que {@link #sincronizar()} seja chamado). Quando tudo o que foi escrito já foi
+ * consumido, a escrita volta para o início do arquivo.
+ */
+@Slf4j
+public class JournalMapeado implements Closeable {
+
+    private static final int MAGICO = 0x56545858;
+    private static final int POS_ESCRITA = 4;
+    private static final int POS_CONSUMIDA = 12;
+    static final int TAMANHO_CABECALHO = 20;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer buffer;
+    private long limiteRecuperacao;
+
+    private long escrita;
+    private long consumida;
+
+    public JournalMapeado(Path arquivo, int tamanhoBytes) throws IOException {
+        if (tamanhoBytes <= TAMANHO_CABECALHO) {
+            throw new IllegalArgumentException("Tamanho do journal inválido: " + tamanhoBytes + " bytes");
+        }
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoBytes);
+
+        if (buffer.getInt(0) == MAGICO && buffer.getLong(POS_ESCRITA) <= tamanhoBytes
+                && buffer.getLong(POS_CONSUMIDA) < buffer.getLong(POS_ESCRITA)) {
+            this.escrita = buffer.getLong(POS_ESCRITA);
+            this.consumida = buffer.getLong(POS_CONSUMIDA);
+        } else {
+            this.escrita = TAMANHO_CABECALHO;
+            this.consumida = TAMANHO_CABECALHO;
+            buffer.putInt(0, MAGICO);
+            gravarPosicoes();
+        }
+
+        this.limiteRecuperacao = escrita;
+    }
+
+    /**
+     * Anexa um registro ao journal.
+     *
+     * @return Posição final do registro (usada em {@link #confirmar(long)}) ou -1 se não houver espaço
+     */
+    public synchronized long anexar(byte[] dados) {
+        if (consumida == escrita && escrita > TAMANHO_CABECALHO) {
+            escrita = TAMANHO_CABECALHO;
+            consumida = TAMANHO_CABECALHO;
+            gravarPosicoes();
+        }
+
+        int necessario = Integer.BYTES + dados.length;
+        if (escrita + necessario > buffer.capacity()) {
+            return -1;
+        }
+
+        buffer.putInt((int) escrita, dados.length);
+        buffer.put((int) escrita + Integer.BYTES, dados);
+        escrita += necessario;
+        buffer.putLong(POS_ESCRITA, escrita);
+        return escrita;
+    }
+
+    /**
+     * Remove o último registro anexado, quando ele não chegou a ser enfileirado.
+     * Só tem efeito se nenhum outro registro foi anexado depois dele.
+     *
+     * @param posicao Posição final retornada por {@link #anexar(byte[])}
+     * @param tamanhoDados Tamanho dos dados anexados
+     */
+    public synchronized void desfazer(long posicao, int tamanhoDados) {
+        long inicio = posicao - Integer.BYTES - tamanhoDados;
+        if (posicao == escrita && inicio >= consumida) {
+            escrita = inicio;
+            buffer.putLong(POS_ESCRITA, escrita);
+        }
+    }
+
+    /**
+     * Marca como consumidos todos os registros até a posição informada.
+     */
+    public synchronized void confirmar(long posicao) {
+        if (posicao > consumida && posicao <= escrita) {
+            consumida = posicao;
+            buffer.putLong(POS_CONSUMIDA, consumida);
+        }
+    }
+
+    /**
+     * Registros gravados antes da abertura do arquivo e ainda não consumidos.
+     * Só retorna registros na primeira chamada.
+     */
+    public synchronized List<RegistroJournal> pendentes() {
+        List<RegistroJournal> registros = new ArrayList<>();
+        long posicao = consumida;
+
+        while (posicao + Integer.BYTES <= limiteRecuperacao) {
+            int tamanho = buffer.getInt((int) posicao);
+            if (tamanho <= 0 || posicao + Integer.BYTES + tamanho > limiteRecuperacao) {
+                log.warn("Registro inválido no journal na posição {}. Recuperação interrompida.", posicao);
+                break;
+            }
+
+            byte[] dados = new byte[tamanho];
+            buffer.get((int) posicao + Integer.BYTES, dados);
+            posicao += Integer.BYTES + tamanho;
+            registros.add(new RegistroJournal(dados, posicao));
+        }
+
+        limiteRecuperacao = TAMANHO_CABECALHO;
+        return registros;
+    }
+
+    public synchronized void sincronizar() {
+        buffer.force();
+    }
+
+    public synchronized long getBytesPendentes() {
+        return escrita - consumida;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        canal.close();
+    }
+
+    private void gravarPosicoes() {
+        buffer.putLong(POS_ESCRITA, escrita);
+        buffer.putLong(POS_CONSUMIDA, consumida);
+    }
+
+    /**
+     * Registro recuperado do journal e a posição a confirmar após processá-lo.
+     */
+    public record RegistroJournal(byte[] dados, long posicaoFinal) {
+    }
+}
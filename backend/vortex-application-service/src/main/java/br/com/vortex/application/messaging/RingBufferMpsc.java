@@ -0,0 +1,102 @@
+package br.com.vortex.application.messaging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fila circular limitada para vários produtores e um único consumidor.
+ *
+ * Cada posição guarda um número de sequência que indica se ela está livre para o
+ * produtor da volta atual ou pronta para o consumidor, de modo que produtores só
+ * disputam um CAS no contador de escrita e o consumidor não usa operações atômicas
+ * de leitura-modificação-escrita. A capacidade é arredondada para potência de dois.
+ *
+ * @param <E> Tipo dos elementos
+ */
+public final class RingBufferMpsc<E> {
+
+    private final Object[] elementos;
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+
+    private final AtomicLong escrita = new AtomicLong();
+    private final AtomicLong leitura = new AtomicLong();
+
+    public RingBufferMpsc(int capacidadeMinima) {
+        if (capacidadeMinima < 2) {
+            throw new IllegalArgumentException("A capacidade deve ser de pelo menos 2 elementos");
+        }
+
+        int capacidade = Integer.highestOneBit(capacidadeMinima - 1) << 1;
+        this.elementos = new Object[capacidade];
+        this.sequencias = new AtomicLongArray(capacidade);
+        this.mascara = capacidade - 1;
+
+        for (int i = 0; i < capacidade; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Insere um elemento sem bloquear. Pode ser chamado por qualquer thread.
+     *
+     * @return {@code false} se a fila estiver cheia
+     */
+    public boolean oferecer(E elemento) {
+        long posicao = escrita.get();
+
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+
+            if (diferenca == 0) {
+                if (escrita.compareAndSet(posicao, posicao + 1)) {
+                    elementos[indice] = elemento;
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = escrita.get();
+            } else if (diferenca < 0) {
+                return false;
+            } else {
+                posicao = escrita.get();
+            }
+        }
+    }
+
+    /**
+     * Remove o próximo elemento. Deve ser chamado sempre pela mesma thread.
+     *
+     * @return Elemento removido ou {@code null} se a fila estiver vazia
+     */
+    @SuppressWarnings("unchecked")
+    public E consumir() {
+        long posicao = leitura.get();
+        int indice = (int) (posicao & mascara);
+
+        if (sequencias.get(indice) != posicao + 1) {
+            return null;
+        }
+
+        E elemento = (E) elementos[indice];
+        elementos[indice] = null;
+        sequencias.lazySet(indice, posicao + elementos.length);
+        leitura.lazySet(posicao + 1);
+        return elemento;
+    }
+
+    public boolean isVazia() {
+        return tamanho() == 0;
+    }
+
+    /**
+     * Quantidade aproximada de elementos pendentes.
+     */
+    public int tamanho() {
+        return (int) Math.max(0, escrita.get() - leitura.get());
+    }
+
+    public int getCapacidade() {
+        return elementos.length;
+    }
+}
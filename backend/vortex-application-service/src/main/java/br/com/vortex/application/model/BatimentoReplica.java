@@ -0,0 +1,32 @@
+package br.com.vortex.application.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha de batimento gravada no banco primário e lida na réplica de leitura.
+ *
+ * A diferença entre o horário atual e o último batimento replicado é o atraso da réplica
+ * (ver {@code MonitorAtrasoReplica}). Mapeada aqui apenas para que o esquema inclua a tabela;
+ * o acesso é feito por JDBC, direto em cada pool.
+ */
+@Entity
+@Table(name = "replica_batimento")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatimentoReplica {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,47 @@
+package br.com.vortex.application.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que registra uma mensagem de broker já processada por um consumidor.
+ *
+ * A chave é {@code consumidor:id da mensagem}. O registro é sempre inserido (nunca
+ * mesclado), de modo que duas entregas concorrentes da mesma mensagem esbarram na
+ * chave primária e apenas uma transação é confirmada.
+ */
+@Entity
+@Table(name = "mensagem_processada", indexes = @Index(name = "idx_mensagem_processada_expira_em", columnList = "expiraEm"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MensagemProcessada implements Persistable<String> {
+
+    @Id
+    @Column(length = 150)
+    private String chave;
+
+    @Column(nullable = false, length = 50)
+    private String consumidor;
+
+    @Column(nullable = false)
+    private LocalDateTime dataProcessamento;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
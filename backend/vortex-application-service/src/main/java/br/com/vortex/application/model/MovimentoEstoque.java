@@ -6,16 +6,27 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * Entidade que representa um movimento de estoque.
+ * O produto é carregado sob demanda; use {@code MovimentoEstoqueRepository#findComProdutoById} quando ele for necessário.
+ * No Oracle a tabela é particionada por mês em {@code dataMovimento}; os meses frios são movidos para
+ * {@link MovimentoEstoqueArquivo}.
+ * Versionado, como o produto, para que edições concorrentes do mesmo movimento não reapliquem o efeito no estoque.
  */
 @Entity
-@Table(name = "movimento_estoque")
+@Table(name = "movimento_estoque", indexes = {
+        @Index(name = "idx_movimento_produto_tipo_data",
+                columnList = "produto_id, tipoMovimentacao, dataMovimento, quantidadeMovimentada, valorVenda"),
+        @Index(name = "idx_movimento_produto_data", columnList = "produto_id, dataMovimento"),
+        @Index(name = "idx_movimento_data", columnList = "dataMovimento")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +34,7 @@ public class MovimentoEstoque {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimento_estoque_seq")
-    @SequenceGenerator(name = "movimento_estoque_seq", sequenceName = "movimento_estoque_seq", allocationSize = 1)
+    @SequenceGenerator(name = "movimento_estoque_seq", sequenceName = "movimento_estoque_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -42,8 +53,14 @@ public class MovimentoEstoque {
     @Column
     private BigDecimal valorVenda;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "produto_id", nullable = false)
     @NotNull(message = "O produto é obrigatório")
     private Produto produto;
+
+    @Version
+    @Column(nullable = false)
+    private Long versao;
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package br.com.vortex.application.model;
+
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Movimento de estoque arquivado (meses frios).
+ *
+ * Preenchida apenas pelo {@code ArquivamentoMovimentosService}, que move meses inteiros de
+ * {@code movimento_estoque} para cá mantendo o mesmo ID. No Oracle a tabela é particionada por mês
+ * e comprimida (ver {@code db/migration/oracle/V3__particionamento_movimento_estoque.sql}).
+ */
+@Entity
+@Table(name = "movimento_estoque_arquivo",
+        indexes = @Index(name = "idx_mov_arquivo_produto_tipo_data",
+                columnList = "produto_id, tipoMovimentacao, dataMovimento, quantidadeMovimentada, valorVenda"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimentoEstoqueArquivo {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime dataMovimento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoMovimentacao tipoMovimentacao;
+
+    @Column(nullable = false)
+    private Integer quantidadeMovimentada;
+
+    @Column
+    private BigDecimal valorVenda;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private LocalDateTime dataArquivamento;
+}
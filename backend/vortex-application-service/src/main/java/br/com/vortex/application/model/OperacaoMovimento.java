@@ -0,0 +1,54 @@
+package br.com.vortex.application.model;
+
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que acompanha a situação de um movimento de estoque enviado para a fila.
+ *
+ * O ID é o {@code operationId} da mensagem. O registro é criado como PENDENTE antes do
+ * envio e atualizado pelo consumidor na mesma transação que aplica (ou rejeita) o movimento.
+ */
+@Entity
+@Table(name = "operacao_movimento", indexes = @Index(name = "idx_operacao_movimento_data_criacao", columnList = "dataCriacao"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperacaoMovimento {
+
+    @Id
+    @Column(length = 64)
+    private String operationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private StatusOperacaoMovimento status = StatusOperacaoMovimento.PENDENTE;
+
+    @Column(name = "produto_id")
+    private Long produtoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private TipoMovimentacao tipoMovimentacao;
+
+    @Column
+    private Integer quantidadeMovimentada;
+
+    @Column(name = "movimento_id")
+    private Long movimentoId;
+
+    @Column(length = 500)
+    private String motivo;
+
+    @Column(nullable = false)
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    @Column
+    private LocalDateTime dataConclusao;
+}
@@ -0,0 +1,57 @@
+package br.com.vortex.application.model;
+
+import br.com.vortex.application.model.enums.StatusPedidoReposicao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa um pedido de reposição aberto automaticamente a partir de um alerta de estoque.
+ *
+ * {@code chaveAberta} guarda o ID do produto enquanto o pedido está aberto e é nula
+ * depois; a restrição de unicidade sobre ela garante no banco no máximo um pedido
+ * aberto por produto, mesmo com várias instâncias consumindo alertas.
+ */
+@Entity
+@Table(name = "pedido_reposicao", indexes = @Index(name = "idx_pedido_reposicao_status_data", columnList = "status, dataCriacao"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoReposicao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_reposicao_seq")
+    @SequenceGenerator(name = "pedido_reposicao_seq", sequenceName = "pedido_reposicao_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Column(name = "chave_aberta", unique = true)
+    private Long chaveAberta;
+
+    @Column(name = "evento_origem", nullable = false, unique = true, length = 64)
+    private String eventoOrigem;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusPedidoReposicao status = StatusPedidoReposicao.ABERTO;
+
+    @Column(nullable = false)
+    private Integer quantidadeSolicitada;
+
+    @Column
+    private String prioridade;
+
+    @Column(nullable = false)
+    private boolean ticketCriado;
+
+    @Column(nullable = false)
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    @Column
+    private LocalDateTime dataFechamento;
+}
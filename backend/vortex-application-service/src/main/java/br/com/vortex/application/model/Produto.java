@@ -5,17 +5,31 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 /**
  * Entidade que representa um produto.
+ * Mantida no cache de segundo nível; instâncias remotas são invalidadas pelos eventos de produto.
+ * O tipo é carregado sob demanda; use {@code ProdutoRepository#findComTipoProdutoById} quando ele for necessário.
+ * Versionada: gravações concorrentes do mesmo produto (em especial do saldo) falham com conflito em vez de
+ * sobrescrever umas às outras.
  */
 @Entity
-@Table(name = "produto")
+@Table(name = "produto", indexes = {
+        @Index(name = "idx_produto_tipo_produto", columnList = "tipo_produto_id"),
+        @Index(name = "uk_produto_codigo", columnList = "codigo", unique = true)
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vortex-produto")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,9 +37,13 @@ public class Produto {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
-    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 1)
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
+    @Column(length = 64, unique = true)
+    @Size(max = 64, message = "O código do produto deve ter no máximo 64 caracteres")
+    private String codigo;
+
     @Column(nullable = false)
     @NotBlank(message = "A descrição do produto é obrigatória")
     private String descricao;
@@ -39,8 +57,14 @@ public class Produto {
     @PositiveOrZero(message = "A quantidade em estoque não pode ser negativa")
     private Integer quantidadeEmEstoque = 0;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "tipo_produto_id", nullable = false)
     @NotNull(message = "O tipo de produto é obrigatório")
     private TipoProduto tipoProduto;
+
+    @Version
+    @Column(nullable = false)
+    private Long versao;
 }
\ No newline at end of file
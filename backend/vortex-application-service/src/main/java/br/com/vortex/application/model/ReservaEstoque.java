@@ -0,0 +1,53 @@
+package br.com.vortex.application.model;
+
+import br.com.vortex.application.model.enums.StatusReservaEstoque;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que registra uma reserva de estoque do checkout.
+ *
+ * A tabela é o estado da reserva, compartilhado entre as instâncias: cada mudança de situação é
+ * condicionada à situação anterior e feita na mesma transação que ajusta a quantidade reservada do
+ * produto (ver {@code ReservaEstoqueService}).
+ */
+@Entity
+@Table(name = "reserva_estoque", indexes = @Index(name = "idx_reserva_estoque_status_expira_em", columnList = "status, expiraEm"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaEstoque {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusReservaEstoque status;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "movimento_id")
+    private Long movimentoId;
+
+    @Column(name = "operation_id", length = 36)
+    private String operationId;
+
+    @Column(nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column
+    private LocalDateTime dataConclusao;
+}
@@ -5,12 +5,17 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidade que representa um tipo de produto.
+ * Mantida no cache de segundo nível (catálogo raramente alterado).
  */
 @Entity
 @Table(name = "tipo_produto")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vortex-tipo-produto")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +23,7 @@ public class TipoProduto {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tipo_produto_seq")
-    @SequenceGenerator(name = "tipo_produto_seq", sequenceName = "tipo_produto_seq", allocationSize = 1)
+    @SequenceGenerator(name = "tipo_produto_seq", sequenceName = "tipo_produto_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,11 @@
+package br.com.vortex.application.model.enums;
+
+/**
+ * Enum que representa os níveis de alerta de estoque, do melhor para o pior.
+ */
+public enum NivelEstoque {
+    NORMAL,
+    BAIXO,
+    CRITICO,
+    ESGOTADO
+}
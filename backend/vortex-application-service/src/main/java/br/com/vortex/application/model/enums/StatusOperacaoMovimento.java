@@ -0,0 +1,19 @@
+package br.com.vortex.application.model.enums;
+
+/**
+ * Enum que representa a situação de um movimento de estoque enviado para processamento assíncrono.
+ */
+public enum StatusOperacaoMovimento {
+    PENDENTE,
+    APLICADO,
+    ESTOQUE_INSUFICIENTE,
+    PRODUTO_NAO_ENCONTRADO,
+    DLQ;
+
+    /**
+     * Indica se a operação já foi concluída (com sucesso ou falha) e não muda mais.
+     */
+    public boolean isFinalizado() {
+        return this != PENDENTE;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.vortex.application.model.enums;
+
+/**
+ * Enum que representa a situação de um pedido de reposição automático.
+ */
+public enum StatusPedidoReposicao {
+    ABERTO,
+    ATENDIDO,
+    CANCELADO
+}
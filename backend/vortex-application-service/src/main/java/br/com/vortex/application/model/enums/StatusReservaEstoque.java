@@ -0,0 +1,16 @@
+package br.com.vortex.application.model.enums;
+
+/**
+ * Enum que representa a situação de uma reserva de estoque.
+ */
+public enum StatusReservaEstoque {
+    ATIVA,
+    /**
+     * Confirmada com a saída enviada para processamento assíncrono: a quantidade continua
+     * reservada até a saída ser aplicada.
+     */
+    CONFIRMANDO,
+    CONFIRMADA,
+    EXPIRADA,
+    CANCELADA
+}
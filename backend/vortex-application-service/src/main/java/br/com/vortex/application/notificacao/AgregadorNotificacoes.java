@@ -0,0 +1,189 @@
+package br.com.vortex.application.notificacao;
+
+import br.com.vortex.application.dto.AlertaEstoqueEventDTO;
+import br.com.vortex.application.dto.DigestAlertasDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Agrupa alertas de estoque em resumos por grupo de destinatários e prioridade.
+ *
+ * O grupo é o tipo do produto; cada grupo tem seus destinatários configurados em
+ * {@code notificacoes.destinatarios.<grupo>} (com {@code notificacoes.destinatarios.padrao}
+ * como fallback). Alertas de um mesmo grupo e prioridade ficam no buffer até que o resumo
+ * atinja o tamanho máximo ou a janela expire. Alertas CRITICAL são enviados na hora.
+ * Dentro de um resumo, vale o alerta mais recente de cada produto.
+ */
+@Slf4j
+@Service
+public class AgregadorNotificacoes implements DisposableBean {
+
+    public static final String PRIORIDADE_CRITICA = "CRITICAL";
+    static final String GRUPO_GERAL = "geral";
+
+    private final EnviadorNotificacoes enviador;
+    private final Function<String, List<String>> destinatariosPorGrupo;
+    private final int tamanhoMaximo;
+    private final long janelaMillis;
+    private final Clock clock;
+
+    private final Map<ChaveResumo, BufferResumo> buffers = new HashMap<>();
+
+    @Autowired
+    public AgregadorNotificacoes(EnviadorNotificacoes enviador, Environment environment,
+                                 @Value("${notificacoes.digest.tamanho-maximo:50}") int tamanhoMaximo,
+                                 @Value("${notificacoes.digest.janela-segundos:300}") long janelaSegundos) {
+        this(enviador, grupo -> destinatarios(environment, grupo), tamanhoMaximo, janelaSegundos * 1000, Clock.systemDefaultZone());
+    }
+
+    AgregadorNotificacoes(EnviadorNotificacoes enviador, Function<String, List<String>> destinatariosPorGrupo,
+                          int tamanhoMaximo, long janelaMillis, Clock clock) {
+        this.enviador = enviador;
+        this.destinatariosPorGrupo = destinatariosPorGrupo;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.janelaMillis = janelaMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Adiciona o alerta ao resumo do seu grupo e prioridade, enviando-o se estiver completo.
+     */
+    public void registrar(AlertaEstoqueEventDTO alerta) {
+        String grupo = grupo(alerta);
+        String prioridade = alerta.getPrioridade() != null ? alerta.getPrioridade() : "NORMAL";
+
+        if (PRIORIDADE_CRITICA.equals(prioridade)) {
+            BufferResumo imediato = new BufferResumo(clock.millis());
+            imediato.adicionar(alerta);
+            enviador.enviar(imediato.paraDigest(grupo, prioridade, destinatariosPorGrupo.apply(grupo), clock));
+            return;
+        }
+
+        BufferResumo completo = null;
+        ChaveResumo chave = new ChaveResumo(grupo, prioridade);
+        synchronized (buffers) {
+            BufferResumo buffer = buffers.computeIfAbsent(chave, k -> new BufferResumo(clock.millis()));
+            buffer.adicionar(alerta);
+            if (buffer.alertas.size() >= tamanhoMaximo) {
+                completo = buffers.remove(chave);
+            }
+        }
+
+        if (completo != null) {
+            enviador.enviar(completo.paraDigest(grupo, prioridade, destinatariosPorGrupo.apply(grupo), clock));
+        }
+    }
+
+    /**
+     * Envia os resumos cuja janela expirou.
+     */
+    @Scheduled(fixedDelayString = "${notificacoes.digest.verificacao-ms:1000}")
+    public void liberarVencidos() {
+        liberar(clock.millis() - janelaMillis);
+    }
+
+    /**
+     * Quantidade de resumos aguardando a janela.
+     */
+    public int getResumosAbertos() {
+        synchronized (buffers) {
+            return buffers.size();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        liberar(Long.MAX_VALUE);
+    }
+
+    private void liberar(long abertosAte) {
+        Map<ChaveResumo, BufferResumo> vencidos = new LinkedHashMap<>();
+        synchronized (buffers) {
+            Iterator<Map.Entry<ChaveResumo, BufferResumo>> iterator = buffers.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<ChaveResumo, BufferResumo> entry = iterator.next();
+                if (entry.getValue().abertoEm <= abertosAte) {
+                    vencidos.put(entry.getKey(), entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+
+        vencidos.forEach((chave, buffer) -> enviador.enviar(
+                buffer.paraDigest(chave.grupo(), chave.prioridade(), destinatariosPorGrupo.apply(chave.grupo()), clock)));
+    }
+
+    private static String grupo(AlertaEstoqueEventDTO alerta) {
+        if (alerta.getTipoProduto() == null || alerta.getTipoProduto().isBlank()) {
+            return GRUPO_GERAL;
+        }
+        return alerta.getTipoProduto().trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", "-");
+    }
+
+    private static List<String> destinatarios(Environment environment, String grupo) {
+        String configurados = environment.getProperty("notificacoes.destinatarios." + grupo,
+                environment.getProperty("notificacoes.destinatarios.padrao", ""));
+        return Arrays.stream(configurados.split(","))
+                .map(String::trim)
+                .filter(endereco -> !endereco.isEmpty())
+                .toList();
+    }
+
+    private record ChaveResumo(String grupo, String prioridade) {
+    }
+
+    /**
+     * Alertas de um resumo em aberto. Acessado apenas sob o lock de {@code buffers}
+     * ou depois de removido do mapa.
+     */
+    private static class BufferResumo {
+
+        private final long abertoEm;
+        private final Map<Long, AlertaEstoqueEventDTO> alertas = new LinkedHashMap<>();
+        private int recebidos;
+        private LocalDateTime inicio;
+
+        BufferResumo(long abertoEm) {
+            this.abertoEm = abertoEm;
+        }
+
+        void adicionar(AlertaEstoqueEventDTO alerta) {
+            recebidos++;
+            if (inicio == null) {
+                inicio = alerta.getTimestamp();
+            }
+            // Reinsere para manter a ordem do alerta mais recente
+            alertas.remove(alerta.getProdutoId());
+            alertas.put(alerta.getProdutoId(), alerta);
+        }
+
+        DigestAlertasDTO paraDigest(String grupo, String prioridade, List<String> destinatarios, Clock clock) {
+            DigestAlertasDTO digest = new DigestAlertasDTO();
+            digest.setGrupo(grupo);
+            digest.setPrioridade(prioridade);
+            digest.setDestinatarios(new ArrayList<>(destinatarios));
+            digest.setAlertas(new ArrayList<>(alertas.values()));
+            digest.setAlertasRecebidos(recebidos);
+            digest.setInicio(inicio);
+            digest.setGeradoEm(LocalDateTime.now(clock));
+            return digest;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.vortex.application.notificacao;
+
+import br.com.vortex.application.dto.DigestAlertasDTO;
+
+/**
+ * Canal de entrega de notificações (email, SMS, etc.).
+ */
+public interface CanalNotificacao {
+
+    /**
+     * Nome do canal, usado em logs e métricas.
+     */
+    String getNome();
+
+    /**
+     * Entrega o resumo aos destinatários. Chamado pelas threads do {@link EnviadorNotificacoes}.
+     */
+    void enviar(DigestAlertasDTO digest) throws Exception;
+}
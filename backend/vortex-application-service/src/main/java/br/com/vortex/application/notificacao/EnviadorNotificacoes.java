@@ -0,0 +1,137 @@
+package br.com.vortex.application.notificacao;
+
+import br.com.vortex.application.dto.DigestAlertasDTO;
+import br.com.vortex.application.util.LimitadorTaxa;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia os resumos de alertas aos canais de notificação fora da thread do consumidor.
+ *
+ * Os resumos entram em uma fila limitada e são entregues por um pool pequeno de threads.
+ * Cada entrega consome um token do {@link LimitadorTaxa}, o que mantém as chamadas aos
+ * provedores (SMTP, SMS) abaixo da taxa configurada mesmo em rajadas de alertas. Quando
+ * a fila enche, o resumo é descartado e contabilizado. Sem canal configurado, os resumos
+ * são apenas registrados no log.
+ */
+@Slf4j
+@Component
+public class EnviadorNotificacoes implements DisposableBean {
+
+    private final List<CanalNotificacao> canais;
+    private final LimitadorTaxa limitador;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+
+    @Autowired
+    public EnviadorNotificacoes(ObjectProvider<CanalNotificacao> canais,
+                                @Value("${notificacoes.envio.taxa-por-segundo:5}") double taxaPorSegundo,
+                                @Value("${notificacoes.envio.rajada:10}") int rajada,
+                                @Value("${notificacoes.envio.threads:2}") int threads,
+                                @Value("${notificacoes.envio.capacidade-fila:1000}") int capacidadeFila) {
+        this(canais.orderedStream().toList(), new LimitadorTaxa(taxaPorSegundo, rajada), threads, capacidadeFila);
+    }
+
+    EnviadorNotificacoes(List<CanalNotificacao> canais, LimitadorTaxa limitador, int threads, int capacidadeFila) {
+        this.canais = canais;
+        this.limitador = limitador;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notificacoes-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        if (canais.isEmpty()) {
+            log.info("Nenhum canal de notificação configurado; resumos de alertas serão apenas registrados no log");
+        }
+    }
+
+    /**
+     * Agenda o envio do resumo.
+     *
+     * @return {@code false} se o resumo foi descartado por fila cheia
+     */
+    public boolean enviar(DigestAlertasDTO digest) {
+        try {
+            executor.execute(() -> entregar(digest));
+            return true;
+        } catch (RejectedExecutionException e) {
+            descartados.incrementAndGet();
+            log.error("Fila de notificações cheia; resumo de {} alertas do grupo {} descartado",
+                    digest.getAlertas().size(), digest.getGrupo());
+            return false;
+        }
+    }
+
+    public long getEnviados() {
+        return enviados.get();
+    }
+
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    public int getPendentes() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Envio de notificações encerrado com {} resumos pendentes", executor.getQueue().size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void entregar(DigestAlertasDTO digest) {
+        if (canais.isEmpty()) {
+            log.info("Resumo de alertas para {}: {}", digest.getDestinatarios(), digest.getAssunto());
+            enviados.incrementAndGet();
+            return;
+        }
+
+        for (CanalNotificacao canal : canais) {
+            try {
+                limitador.adquirir();
+                canal.enviar(digest);
+                enviados.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                falhas.incrementAndGet();
+                log.error("Erro ao enviar resumo de alertas pelo canal {}: {}", canal.getNome(), e.getMessage());
+            }
+        }
+    }
+}
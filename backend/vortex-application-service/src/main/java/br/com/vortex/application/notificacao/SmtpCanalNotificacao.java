@@ -0,0 +1,73 @@
+package br.com.vortex.application.notificacao;
+
+import br.com.vortex.application.dto.DigestAlertasDTO;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Canal de email que envia os resumos pelo {@link JavaMailSender} do Spring.
+ *
+ * Servidor, porta, autenticação e STARTTLS vêm de {@code spring.mail.*}. O Jakarta Mail
+ * gera os cabeçalhos Date e Message-ID, codifica o assunto em RFC 2047 e escolhe o
+ * Content-Transfer-Encoding do corpo.
+ *
+ * O assunto vem de dados cadastrados (descrição do produto), então quebras de
+ * linha são removidas antes de montar a mensagem; endereços inválidos são recusados
+ * pelo próprio Jakarta Mail.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notificacoes.smtp.enabled", havingValue = "true")
+public class SmtpCanalNotificacao implements CanalNotificacao {
+
+    private final JavaMailSender mailSender;
+    private final String remetente;
+
+    public SmtpCanalNotificacao(JavaMailSender mailSender,
+                                @Value("${notificacoes.smtp.remetente:vortex@localhost}") String remetente) {
+        this.mailSender = mailSender;
+        this.remetente = remetente;
+    }
+
+    @Override
+    public String getNome() {
+        return "smtp";
+    }
+
+    @Override
+    public void enviar(DigestAlertasDTO digest) throws IOException {
+        if (digest.getDestinatarios().isEmpty()) {
+            log.warn("Resumo de alertas do grupo {} sem destinatários", digest.getGrupo());
+            return;
+        }
+
+        try {
+            MimeMessage mensagem = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mensagem, StandardCharsets.UTF_8.name());
+            helper.setFrom(remetente);
+            helper.setTo(digest.getDestinatarios().toArray(String[]::new));
+            helper.setSubject(limparAssunto(digest.getAssunto()));
+            helper.setText(digest.getCorpo());
+            mailSender.send(mensagem);
+        } catch (MessagingException | MailException e) {
+            throw new IOException("Erro ao enviar resumo de alertas do grupo " + digest.getGrupo() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Remove quebras de linha do assunto, que não pode ocupar mais de um cabeçalho.
+     */
+    static String limparAssunto(String assunto) {
+        return assunto == null ? "" : assunto.replaceAll("[\\r\\n]+", " ");
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.vortex.application.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource que envia transações {@code readOnly} para a réplica de leitura e todo o resto para o primário.
+ *
+ * A réplica só é usada enquanto o {@link MonitorAtrasoReplica} a considerar disponível. Deve ficar atrás de
+ * um {@link LazyConnectionDataSourceProxy} (ver {@link #criar}): o gerenciador de transações pede a conexão
+ * antes de marcar a transação como somente leitura, e o proxy adia a escolha até o primeiro comando.
+ */
+public class DataSourceRoteado extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIO,
+        REPLICA
+    }
+
+    private final MonitorAtrasoReplica monitor;
+    private final AtomicLong conexoesReplica = new AtomicLong();
+    private final AtomicLong leiturasDesviadas = new AtomicLong();
+
+    DataSourceRoteado(DataSource primario, DataSource replica, MonitorAtrasoReplica monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Monta o roteamento já envolvido pelo proxy de conexão tardia.
+     *
+     * @param primario Pool do banco primário
+     * @param replica Pool da réplica de leitura
+     * @param monitor Monitor de atraso da réplica
+     * @return DataSource a ser usado pela aplicação
+     */
+    public static LazyConnectionDataSourceProxy criar(DataSource primario, DataSource replica, MonitorAtrasoReplica monitor) {
+        return new LazyConnectionDataSourceProxy(new DataSourceRoteado(primario, replica, monitor));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Destino.PRIMARIO;
+        }
+        if (monitor.isReplicaDisponivel()) {
+            conexoesReplica.incrementAndGet();
+            return Destino.REPLICA;
+        }
+        leiturasDesviadas.incrementAndGet();
+        return Destino.PRIMARIO;
+    }
+
+    public long getConexoesReplica() {
+        return conexoesReplica.get();
+    }
+
+    public long getLeiturasDesviadas() {
+        return leiturasDesviadas.get();
+    }
+}
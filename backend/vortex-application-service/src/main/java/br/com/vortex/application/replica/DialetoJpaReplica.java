@@ -0,0 +1,91 @@
+package br.com.vortex.application.replica;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.ConnectionHandle;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * {@link JpaDialect} que impede transações {@code readOnly} de alimentar o cache de segundo nível.
+ *
+ * Essas transações podem ler da réplica, que está atrasada em relação ao primário: uma entidade
+ * carregada dela e colocada no cache compartilhado voltaria a servir o estado antigo logo após uma
+ * invalidação. A sessão usa {@link CacheMode#GET} durante a transação (lê do cache, mas não o
+ * popula) e o modo anterior é restaurado ao final, pois a mesma sessão pode seguir em uso fora
+ * dela (ex.: open-in-view). O restante é delegado ao dialeto original.
+ */
+public class DialetoJpaReplica implements JpaDialect {
+
+    private final JpaDialect delegado;
+
+    private DialetoJpaReplica(JpaDialect delegado) {
+        this.delegado = delegado;
+    }
+
+    /**
+     * Envolve o dialeto informado, sem envolver duas vezes.
+     */
+    public static JpaDialect envolver(JpaDialect dialeto) {
+        return dialeto instanceof DialetoJpaReplica ? dialeto : new DialetoJpaReplica(dialeto);
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object dados = delegado.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return dados;
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode anterior = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new TransacaoLeitura(dados, session, anterior);
+    }
+
+    @Override
+    public Object prepareTransaction(EntityManager entityManager, boolean readOnly, String name) throws PersistenceException {
+        return delegado.prepareTransaction(entityManager, readOnly, name);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof TransacaoLeitura leitura) {
+            if (leitura.session().isOpen()) {
+                leitura.session().setCacheMode(leitura.modoAnterior());
+            }
+            delegado.cleanupTransaction(leitura.dadosDelegado());
+        } else {
+            delegado.cleanupTransaction(transactionData);
+        }
+    }
+
+    @Override
+    public ConnectionHandle getJdbcConnection(EntityManager entityManager, boolean readOnly)
+            throws PersistenceException, SQLException {
+        return delegado.getJdbcConnection(entityManager, readOnly);
+    }
+
+    @Override
+    public void releaseJdbcConnection(ConnectionHandle conHandle, EntityManager entityManager)
+            throws PersistenceException, SQLException {
+        delegado.releaseJdbcConnection(conHandle, entityManager);
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegado.translateExceptionIfPossible(ex);
+    }
+
+    /**
+     * Dados da transação do dialeto original e o modo de cache a restaurar.
+     */
+    private record TransacaoLeitura(Object dadosDelegado, Session session, CacheMode modoAnterior) {
+    }
+}
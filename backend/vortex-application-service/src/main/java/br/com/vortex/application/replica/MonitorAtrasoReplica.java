@@ -0,0 +1,98 @@
+package br.com.vortex.application.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Mede o atraso da réplica de leitura por batimentos.
+ *
+ * A cada verificação grava o horário atual na tabela {@code replica_batimento} do primário e lê
+ * o último valor que chegou à réplica; a diferença é o atraso de replicação. Acima do limite,
+ * ou se a réplica não responder, as leituras voltam para o primário até a próxima verificação
+ * bem-sucedida. Enquanto nenhuma verificação terminar, a réplica é considerada indisponível.
+ */
+@Slf4j
+public class MonitorAtrasoReplica {
+
+    static final int ID_BATIMENTO = 1;
+
+    private final JdbcTemplate primario;
+    private final JdbcTemplate replica;
+    private final Duration atrasoMaximo;
+    private final Clock clock;
+
+    private volatile boolean replicaDisponivel;
+    private volatile Duration atrasoAtual;
+
+    public MonitorAtrasoReplica(DataSource primario, DataSource replica, Duration atrasoMaximo) {
+        this(primario, replica, atrasoMaximo, Clock.systemDefaultZone());
+    }
+
+    MonitorAtrasoReplica(DataSource primario, DataSource replica, Duration atrasoMaximo, Clock clock) {
+        this.primario = new JdbcTemplate(primario);
+        this.replica = new JdbcTemplate(replica);
+        this.atrasoMaximo = atrasoMaximo;
+        this.clock = clock;
+    }
+
+    /**
+     * Grava um batimento no primário e recalcula o atraso da réplica.
+     * O intervalo deve ser bem menor que o atraso máximo, pois o atraso medido inclui o próprio intervalo.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.intervalo-verificacao-ms:1000}")
+    public void verificar() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        boolean disponivel;
+        try {
+            registrarBatimento(agora);
+            LocalDateTime replicado = replica.queryForObject(
+                    "SELECT atualizado_em FROM replica_batimento WHERE id = ?", LocalDateTime.class, ID_BATIMENTO);
+            Duration atraso = Duration.between(replicado, agora);
+            atrasoAtual = atraso.isNegative() ? Duration.ZERO : atraso;
+            disponivel = atrasoAtual.compareTo(atrasoMaximo) <= 0;
+        } catch (DataAccessException e) {
+            log.debug("Falha ao medir o atraso da réplica: {}", e.getMessage());
+            atrasoAtual = null;
+            disponivel = false;
+        }
+
+        if (disponivel != replicaDisponivel) {
+            if (disponivel) {
+                log.info("Réplica de leitura disponível (atraso {} ms); leituras voltam para a réplica", atrasoAtual.toMillis());
+            } else {
+                log.warn("Réplica de leitura {}; leituras desviadas para o primário",
+                        atrasoAtual == null ? "inacessível" : "atrasada em " + atrasoAtual.toMillis() + " ms");
+            }
+        }
+        replicaDisponivel = disponivel;
+    }
+
+    private void registrarBatimento(LocalDateTime agora) {
+        int atualizados = primario.update("UPDATE replica_batimento SET atualizado_em = ? WHERE id = ?", agora, ID_BATIMENTO);
+        if (atualizados == 0) {
+            primario.update("INSERT INTO replica_batimento (id, atualizado_em) VALUES (?, ?)", ID_BATIMENTO, agora);
+        }
+    }
+
+    public boolean isReplicaDisponivel() {
+        return replicaDisponivel;
+    }
+
+    /**
+     * @return Último atraso medido, ou {@code null} se a réplica não respondeu
+     */
+    public Duration getAtrasoAtual() {
+        return atrasoAtual;
+    }
+
+    public Duration getAtrasoMaximo() {
+        return atrasoMaximo;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.model.MensagemProcessada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository para a entidade MensagemProcessada.
+ */
+@Repository
+public interface MensagemProcessadaRepository extends JpaRepository<MensagemProcessada, String> {
+
+    /**
+     * Busca, entre as chaves informadas, as que já foram registradas.
+     *
+     * @param chaves Chaves das mensagens
+     * @return Chaves já registradas
+     */
+    @Query("SELECT m.chave FROM MensagemProcessada m WHERE m.chave IN :chaves")
+    List<String> findChavesRegistradas(@Param("chaves") Collection<String> chaves);
+
+    /**
+     * Remove os registros expirados.
+     *
+     * @param limite Data de referência
+     * @return Quantidade de registros removidos
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MensagemProcessada m WHERE m.expiraEm < :limite")
+    int excluirExpiradas(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,82 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.model.MovimentoEstoqueArquivo;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository para a entidade MovimentoEstoqueArquivo.
+ */
+@Repository
+public interface MovimentoEstoqueArquivoRepository extends JpaRepository<MovimentoEstoqueArquivo, Long> {
+
+    /**
+     * Totais das saídas arquivadas de um produto.
+     *
+     * @param produtoId ID do produto
+     * @param saidas Número de saídas
+     * @param unidades Unidades vendidas
+     * @param lucro Lucro das vendas, pelo valor de fornecedor atual do produto
+     */
+    record TotaisSaidas(Long produtoId, Long saidas, Long unidades, BigDecimal lucro) {
+    }
+
+    /**
+     * Verifica se existem movimentos arquivados de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return true se existirem movimentos arquivados, false caso contrário
+     */
+    boolean existsByProdutoId(Long produtoId);
+
+    /**
+     * Percorre como DTOs os movimentos arquivados de um período, para exportação.
+     * Mesma leitura por cursor de {@link MovimentoEstoqueRepository#percorrerDTOsPorPeriodo}.
+     *
+     * @param inicio Início do período (inclusivo)
+     * @param fim Fim do período (exclusivo)
+     * @return Stream dos movimentos arquivados do período, em ordem de data
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new br.com.vortex.application.dto.MovimentoEstoqueDTO(a.id, a.dataMovimento, a.tipoMovimentacao, "
+            + "a.quantidadeMovimentada, a.valorVenda, a.produtoId) FROM MovimentoEstoqueArquivo a "
+            + "WHERE a.dataMovimento >= :inicio AND a.dataMovimento < :fim ORDER BY a.dataMovimento, a.id")
+    Stream<MovimentoEstoqueDTO> percorrerDTOsPorPeriodo(@Param("inicio") LocalDateTime inicio,
+                                                        @Param("fim") LocalDateTime fim);
+
+    /**
+     * Soma as saídas arquivadas por produto, para compor os relatórios de todo o histórico.
+     * O lucro segue a mesma regra do relatório sobre os movimentos ativos.
+     *
+     * @return Totais por produto que tem saídas arquivadas
+     */
+    @Query("SELECT new br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository$TotaisSaidas("
+            + "a.produtoId, COUNT(a.id), SUM(a.quantidadeMovimentada), "
+            + "SUM(a.valorVenda * a.quantidadeMovimentada) - SUM(p.valorFornecedor * a.quantidadeMovimentada)) "
+            + "FROM MovimentoEstoqueArquivo a JOIN Produto p ON p.id = a.produtoId "
+            + "WHERE a.tipoMovimentacao = 'SAIDA' GROUP BY a.produtoId")
+    List<TotaisSaidas> somarSaidasPorProduto();
+
+    /**
+     * Soma as saídas arquivadas dos produtos de um tipo.
+     *
+     * @param tipoProdutoId ID do tipo de produto
+     * @return Totais por produto do tipo que tem saídas arquivadas
+     */
+    @Query("SELECT new br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository$TotaisSaidas("
+            + "a.produtoId, COUNT(a.id), SUM(a.quantidadeMovimentada), "
+            + "SUM(a.valorVenda * a.quantidadeMovimentada) - SUM(p.valorFornecedor * a.quantidadeMovimentada)) "
+            + "FROM MovimentoEstoqueArquivo a JOIN Produto p ON p.id = a.produtoId "
+            + "WHERE a.tipoMovimentacao = 'SAIDA' AND p.tipoProduto.id = :tipoProdutoId GROUP BY a.produtoId")
+    List<TotaisSaidas> somarSaidasPorProdutoDoTipo(@Param("tipoProdutoId") Long tipoProdutoId);
+}
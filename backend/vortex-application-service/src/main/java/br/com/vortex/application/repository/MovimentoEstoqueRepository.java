@@ -1,15 +1,22 @@
 package br.com.vortex.application.repository;
 
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
 import br.com.vortex.application.model.MovimentoEstoque;
 import br.com.vortex.application.model.Produto;
 import br.com.vortex.application.model.enums.TipoMovimentacao;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para a entidade MovimentoEstoque.
@@ -17,6 +24,67 @@ import java.util.List;
 @Repository
 public interface MovimentoEstoqueRepository extends JpaRepository<MovimentoEstoque, Long> {
     
+    /**
+     * Lista os movimentos de estoque já como DTOs, lendo apenas a chave do produto.
+     * Nenhuma entidade é carregada no contexto de persistência.
+     *
+     * @return Lista de DTOs dos movimentos de estoque
+     */
+    @Query("SELECT new br.com.vortex.application.dto.MovimentoEstoqueDTO(m.id, m.dataMovimento, m.tipoMovimentacao, "
+            + "m.quantidadeMovimentada, m.valorVenda, m.produto.id) FROM MovimentoEstoque m ORDER BY m.id")
+    List<MovimentoEstoqueDTO> listarDTOs();
+
+    /**
+     * Lista como DTOs os movimentos de um produto em um período.
+     * O filtro por data permite ao Oracle ler só as partições mensais do período.
+     *
+     * @param produtoId ID do produto
+     * @param inicio Início do período (inclusivo)
+     * @param fim Fim do período (exclusivo)
+     * @return Lista de DTOs dos movimentos do produto no período
+     */
+    @Query("SELECT new br.com.vortex.application.dto.MovimentoEstoqueDTO(m.id, m.dataMovimento, m.tipoMovimentacao, "
+            + "m.quantidadeMovimentada, m.valorVenda, m.produto.id) FROM MovimentoEstoque m "
+            + "WHERE m.produto.id = :produtoId AND m.dataMovimento >= :inicio AND m.dataMovimento < :fim "
+            + "ORDER BY m.dataMovimento")
+    List<MovimentoEstoqueDTO> listarDTOsPorProdutoEPeriodo(@Param("produtoId") Long produtoId,
+                                                           @Param("inicio") LocalDateTime inicio,
+                                                           @Param("fim") LocalDateTime fim);
+
+    /**
+     * Percorre como DTOs os movimentos de um período, para exportação.
+     * O resultado é lido por cursor em blocos de 1000 linhas e não é mantido no contexto de persistência;
+     * o stream deve ser consumido e fechado dentro de uma transação.
+     *
+     * @param inicio Início do período (inclusivo)
+     * @param fim Fim do período (exclusivo)
+     * @return Stream dos movimentos do período, em ordem de data
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new br.com.vortex.application.dto.MovimentoEstoqueDTO(m.id, m.dataMovimento, m.tipoMovimentacao, "
+            + "m.quantidadeMovimentada, m.valorVenda, m.produto.id) FROM MovimentoEstoque m "
+            + "WHERE m.dataMovimento >= :inicio AND m.dataMovimento < :fim ORDER BY m.dataMovimento, m.id")
+    Stream<MovimentoEstoqueDTO> percorrerDTOsPorPeriodo(@Param("inicio") LocalDateTime inicio,
+                                                        @Param("fim") LocalDateTime fim);
+
+    /**
+     * Data do movimento mais antigo anterior ao limite, ponto de partida do arquivamento.
+     *
+     * @param limite Data limite (exclusiva)
+     * @return Data do movimento mais antigo, ou {@code null} se não houver
+     */
+    @Query("SELECT MIN(m.dataMovimento) FROM MovimentoEstoque m WHERE m.dataMovimento < :limite")
+    LocalDateTime buscarDataMaisAntigaAntesDe(@Param("limite") LocalDateTime limite);
+
+    /**
+     * Busca um movimento de estoque com o produto já carregado.
+     *
+     * @param id ID do movimento de estoque
+     * @return Movimento de estoque com o produto, se existir
+     */
+    @EntityGraph(attributePaths = "produto")
+    Optional<MovimentoEstoque> findComProdutoById(Long id);
+
     /**
      * Busca movimentos de estoque por produto.
      * 
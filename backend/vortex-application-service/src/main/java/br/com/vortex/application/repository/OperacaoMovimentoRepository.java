@@ -0,0 +1,29 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.model.OperacaoMovimento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository para a entidade OperacaoMovimento.
+ */
+@Repository
+public interface OperacaoMovimentoRepository extends JpaRepository<OperacaoMovimento, String> {
+
+    /**
+     * Remove as operações criadas antes da data informada.
+     *
+     * @param limite Data de referência
+     * @return Quantidade de operações removidas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OperacaoMovimento o WHERE o.dataCriacao < :limite")
+    int excluirAnteriores(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,55 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.model.PedidoReposicao;
+import br.com.vortex.application.model.enums.StatusPedidoReposicao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para a entidade PedidoReposicao.
+ */
+@Repository
+public interface PedidoReposicaoRepository extends JpaRepository<PedidoReposicao, Long> {
+
+    /**
+     * Busca o pedido aberto de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return Pedido aberto do produto, se houver
+     */
+    Optional<PedidoReposicao> findByChaveAberta(Long produtoId);
+
+    /**
+     * Verifica se um alerta já originou um pedido.
+     *
+     * @param eventoOrigem ID do evento de alerta
+     * @return true se o alerta já originou um pedido
+     */
+    boolean existsByEventoOrigem(String eventoOrigem);
+
+    /**
+     * Busca pedidos por situação, do mais recente para o mais antigo.
+     *
+     * @param status Situação do pedido
+     * @return Lista de pedidos na situação informada
+     */
+    List<PedidoReposicao> findByStatusOrderByDataCriacaoDesc(StatusPedidoReposicao status);
+
+    /**
+     * Marca o ticket urgente do pedido como criado, se ainda não estiver.
+     *
+     * @param id ID do pedido
+     * @return 1 se esta chamada marcou o ticket, 0 se ele já estava marcado
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PedidoReposicao p SET p.ticketCriado = true WHERE p.id = :id AND p.ticketCriado = false")
+    int marcarTicketCriado(@Param("id") Long id);
+}
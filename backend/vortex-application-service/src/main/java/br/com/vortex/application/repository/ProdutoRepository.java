@@ -1,14 +1,24 @@
 package br.com.vortex.application.repository;
 
+import br.com.vortex.application.dto.LucroPorProdutoDTO;
+import br.com.vortex.application.dto.ProdutoDTO;
+import br.com.vortex.application.dto.ProdutoPorTipoDTO;
 import br.com.vortex.application.model.Produto;
 import br.com.vortex.application.model.TipoProduto;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository para a entidade Produto.
+ * As listas por tipo usam o cache de consultas; o Hibernate as invalida a cada alteração na tabela produto.
  */
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
@@ -19,6 +29,10 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @param tipoProduto Tipo de produto
      * @return Lista de produtos do tipo informado
      */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "vortex-produto-por-tipo")
+    })
     List<Produto> findByTipoProduto(TipoProduto tipoProduto);
     
     /**
@@ -27,6 +41,10 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @param tipoProdutoId ID do tipo de produto
      * @return Lista de produtos do tipo informado
      */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "vortex-produto-por-tipo")
+    })
     List<Produto> findByTipoProdutoId(Long tipoProdutoId);
     
     /**
@@ -36,4 +54,48 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @return true se existirem produtos associados, false caso contrário
      */
     boolean existsByTipoProduto(TipoProduto tipoProduto);
-}
\ No newline at end of file
+
+    /**
+     * Busca um produto com o tipo já carregado, para os fluxos que publicam eventos com o nome do tipo.
+     *
+     * @param id ID do produto
+     * @return Produto com o tipo, se existir
+     */
+    @EntityGraph(attributePaths = "tipoProduto")
+    Optional<Produto> findComTipoProdutoById(Long id);
+
+    /**
+     * Lista os produtos já como DTOs, lendo apenas a chave do tipo de produto.
+     *
+     * @return Lista de DTOs dos produtos
+     */
+    @Query("SELECT new br.com.vortex.application.dto.ProdutoDTO(p.id, p.codigo, p.descricao, p.valorFornecedor, "
+            + "p.quantidadeEmEstoque, p.tipoProduto.id) FROM Produto p ORDER BY p.id")
+    List<ProdutoDTO> listarDTOs();
+
+    /**
+     * Monta o relatório de produtos por tipo com o total de saídas em uma única consulta agregada.
+     *
+     * @param tipoProdutoId ID do tipo de produto
+     * @return Lista de DTOs do relatório
+     */
+    @Query("SELECT new br.com.vortex.application.dto.ProdutoPorTipoDTO(p.id, p.descricao, CAST(COUNT(m.id) AS Integer), "
+            + "p.quantidadeEmEstoque) FROM Produto p "
+            + "LEFT JOIN MovimentoEstoque m ON m.produto = p AND m.tipoMovimentacao = 'SAIDA' "
+            + "WHERE p.tipoProduto.id = :tipoProdutoId "
+            + "GROUP BY p.id, p.descricao, p.quantidadeEmEstoque ORDER BY p.id")
+    List<ProdutoPorTipoDTO> gerarRelatorioPorTipo(@Param("tipoProdutoId") Long tipoProdutoId);
+
+    /**
+     * Monta o relatório de lucro por produto em uma única consulta agregada.
+     *
+     * @return Lista de DTOs do relatório
+     */
+    @Query("SELECT new br.com.vortex.application.dto.LucroPorProdutoDTO(p.id, p.descricao, "
+            + "CAST(COALESCE(SUM(m.quantidadeMovimentada), 0) AS Integer), "
+            + "COALESCE(SUM(m.valorVenda * m.quantidadeMovimentada) - SUM(p.valorFornecedor * m.quantidadeMovimentada), 0)) "
+            + "FROM Produto p "
+            + "LEFT JOIN MovimentoEstoque m ON m.produto = p AND m.tipoMovimentacao = 'SAIDA' "
+            + "GROUP BY p.id, p.descricao ORDER BY p.id")
+    List<LucroPorProdutoDTO> gerarRelatorioLucro();
+}
@@ -0,0 +1,106 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.model.ReservaEstoque;
+import br.com.vortex.application.model.enums.StatusReservaEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para a entidade ReservaEstoque.
+ */
+@Repository
+public interface ReservaEstoqueRepository extends JpaRepository<ReservaEstoque, String> {
+
+    /**
+     * Busca as reservas em uma situação.
+     *
+     * @param status Situação das reservas
+     * @return Lista de reservas
+     */
+    List<ReservaEstoque> findByStatus(StatusReservaEstoque status);
+
+    /**
+     * Busca as reservas em uma situação que venceram até a data informada.
+     *
+     * @param status Situação das reservas
+     * @param limite Data de referência
+     * @return Lista de reservas vencidas
+     */
+    List<ReservaEstoque> findByStatusAndExpiraEmLessThanEqual(StatusReservaEstoque status, LocalDateTime limite);
+
+    /**
+     * Muda a situação da reserva, desde que ela ainda esteja na situação esperada.
+     * Só uma entre as instâncias que disputam a mesma reserva consegue a mudança.
+     *
+     * @param id ID da reserva
+     * @param de Situação esperada
+     * @param para Nova situação
+     * @param conclusao Data de conclusão, ou {@code null} se a reserva continua em aberto
+     * @return 1 se a situação mudou, 0 caso contrário
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReservaEstoque r SET r.status = :para, r.dataConclusao = :conclusao WHERE r.id = :id AND r.status = :de")
+    int mudarStatus(@Param("id") String id, @Param("de") StatusReservaEstoque de, @Param("para") StatusReservaEstoque para,
+                    @Param("conclusao") LocalDateTime conclusao);
+
+    /**
+     * Marca uma reserva ativa como em confirmação, aguardando a saída assíncrona.
+     *
+     * @param id ID da reserva
+     * @param operationId operationId da saída
+     * @return 1 se a reserva estava ativa, 0 caso contrário
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReservaEstoque r SET r.status = br.com.vortex.application.model.enums.StatusReservaEstoque.CONFIRMANDO, "
+            + "r.operationId = :operationId WHERE r.id = :id "
+            + "AND r.status = br.com.vortex.application.model.enums.StatusReservaEstoque.ATIVA")
+    int marcarConfirmando(@Param("id") String id, @Param("operationId") String operationId);
+
+    /**
+     * Confirma uma reserva ativa ou em confirmação, na transação que grava a saída.
+     *
+     * @param id ID da reserva
+     * @param conclusao Data de conclusão
+     * @return 1 se a reserva estava em aberto, 0 caso contrário
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReservaEstoque r SET r.status = br.com.vortex.application.model.enums.StatusReservaEstoque.CONFIRMADA, "
+            + "r.dataConclusao = :conclusao WHERE r.id = :id "
+            + "AND r.status IN (br.com.vortex.application.model.enums.StatusReservaEstoque.ATIVA, "
+            + "br.com.vortex.application.model.enums.StatusReservaEstoque.CONFIRMANDO)")
+    int confirmar(@Param("id") String id, @Param("conclusao") LocalDateTime conclusao);
+
+    /**
+     * Registra o movimento de saída que confirmou a reserva.
+     *
+     * @param id ID da reserva
+     * @param movimentoId ID do movimento de saída
+     * @return Quantidade de reservas alteradas
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReservaEstoque r SET r.movimentoId = :movimentoId WHERE r.id = :id")
+    int registrarMovimento(@Param("id") String id, @Param("movimentoId") Long movimentoId);
+
+    /**
+     * Remove as reservas já concluídas antes da data informada.
+     *
+     * @param limite Data de referência
+     * @return Quantidade de reservas removidas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReservaEstoque r WHERE r.status <> br.com.vortex.application.model.enums.StatusReservaEstoque.ATIVA "
+            + "AND r.dataConclusao < :limite")
+    int excluirConcluidasAnteriores(@Param("limite") LocalDateTime limite);
+}
@@ -1,7 +1,9 @@
 package br.com.vortex.application.repository;
 
 import br.com.vortex.application.model.TipoProduto;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -18,6 +20,10 @@ public interface TipoProdutoRepository extends JpaRepository<TipoProduto, Long>
      * @param nome Nome do tipo de produto
      * @return Optional contendo o tipo de produto, se encontrado
      */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "vortex-tipo-produto-por-nome")
+    })
     Optional<TipoProduto> findByNome(String nome);
     
     /**
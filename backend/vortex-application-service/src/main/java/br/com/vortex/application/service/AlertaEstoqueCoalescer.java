@@ -0,0 +1,261 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.model.enums.NivelEstoque;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controla a emissão de alertas de estoque por produto.
+ *
+ * Mantém o nível atual de cada produto (NORMAL, BAIXO, CRITICO, ESGOTADO) e só libera
+ * um alerta quando o produto piora de nível. Movimentos que mantêm ou melhoram o nível
+ * não geram alerta. Além disso, um mesmo nível não é alertado de novo para o produto
+ * dentro da janela de deduplicação, o que evita rajadas quando o estoque oscila em
+ * torno de um limite.
+ *
+ * Dentro de uma transação as transições ficam pendentes na própria transação e só passam a
+ * valer no commit; se ela for desfeita (ou a mensagem reentregue), o alerta volta a ser emitido.
+ */
+@Slf4j
+@Service
+public class AlertaEstoqueCoalescer {
+
+    private final int quantidadeMinima;
+    private final int quantidadeCritica;
+    private final long janelaDeduplicacaoMillis;
+    private final Clock clock;
+
+    private final Map<Long, EstadoAlerta> estados = new ConcurrentHashMap<>();
+
+    private final AtomicLong alertasEmitidos = new AtomicLong();
+    private final AtomicLong alertasSuprimidos = new AtomicLong();
+
+    @Autowired
+    public AlertaEstoqueCoalescer(@Value("${alertas.estoque.quantidade-minima:10}") int quantidadeMinima,
+                                  @Value("${alertas.estoque.quantidade-critica:5}") int quantidadeCritica,
+                                  @Value("${alertas.estoque.deduplicacao.janela-segundos:300}") long janelaSegundos) {
+        this(quantidadeMinima, quantidadeCritica, Duration.ofSeconds(janelaSegundos), Clock.systemUTC());
+    }
+
+    AlertaEstoqueCoalescer(int quantidadeMinima, int quantidadeCritica, Duration janelaDeduplicacao, Clock clock) {
+        if (quantidadeCritica > quantidadeMinima) {
+            throw new IllegalArgumentException("A quantidade crítica não pode ser maior que a quantidade mínima");
+        }
+
+        this.quantidadeMinima = quantidadeMinima;
+        this.quantidadeCritica = quantidadeCritica;
+        this.janelaDeduplicacaoMillis = janelaDeduplicacao.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Classifica a quantidade em estoque conforme os limites configurados.
+     */
+    public NivelEstoque classificar(int quantidade) {
+        if (quantidade <= 0) {
+            return NivelEstoque.ESGOTADO;
+        } else if (quantidade <= quantidadeCritica) {
+            return NivelEstoque.CRITICO;
+        } else if (quantidade <= quantidadeMinima) {
+            return NivelEstoque.BAIXO;
+        }
+        return NivelEstoque.NORMAL;
+    }
+
+    /**
+     * Registra a nova quantidade em estoque do produto e indica se um alerta deve ser emitido.
+     *
+     * @param produtoId ID do produto
+     * @param quantidade Quantidade atual em estoque
+     * @return Nível a alertar, ou {@code null} se nenhum alerta deve ser emitido
+     */
+    public NivelEstoque avaliar(Long produtoId, int quantidade) {
+        NivelEstoque novoNivel = classificar(quantidade);
+        long agora = clock.millis();
+        Transicao transicao;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransicoesPendentes pendentes = transicoesDaTransacao();
+            EstadoAlerta atual = pendentes.estados.containsKey(produtoId)
+                    ? pendentes.estados.get(produtoId)
+                    : copiar(estados.get(produtoId));
+            transicao = transicionar(produtoId, atual, novoNivel, agora);
+            pendentes.estados.put(produtoId, transicao.estado());
+            pendentes.registrar(transicao);
+        } else {
+            Transicao[] resultado = new Transicao[1];
+            estados.compute(produtoId, (id, estado) -> {
+                resultado[0] = transicionar(id, estado, novoNivel, agora);
+                return resultado[0].estado();
+            });
+            transicao = resultado[0];
+            contabilizar(transicao.alerta() != null ? 1 : 0, transicao.suprimido() ? 1 : 0);
+        }
+
+        return transicao.alerta();
+    }
+
+    /**
+     * Calcula o novo estado do produto e o alerta a emitir, sem alterar o estado recebido.
+     */
+    private Transicao transicionar(Long produtoId, EstadoAlerta atual, NivelEstoque novoNivel, long agora) {
+        if (atual == null && novoNivel == NivelEstoque.NORMAL) {
+            return new Transicao(null, null, false);
+        }
+
+        EstadoAlerta estado = atual != null ? copiar(atual) : new EstadoAlerta();
+        NivelEstoque nivelAnterior = estado.nivel;
+        estado.nivel = novoNivel;
+        NivelEstoque alerta = null;
+        boolean suprimido = false;
+
+        if (novoNivel.compareTo(nivelAnterior) > 0) {
+            if (estado.emitidoNaJanela(novoNivel, agora, janelaDeduplicacaoMillis)) {
+                suprimido = true;
+                log.debug("Alerta {} suprimido para o produto {} (já emitido na janela de deduplicação)", novoNivel, produtoId);
+            } else {
+                estado.ultimaEmissao[novoNivel.ordinal()] = agora;
+                alerta = novoNivel;
+            }
+        }
+
+        // Produto normalizado e sem emissões recentes: não precisa mais de estado
+        if (novoNivel == NivelEstoque.NORMAL && !estado.possuiEmissaoNaJanela(agora, janelaDeduplicacaoMillis)) {
+            estado = null;
+        }
+        return new Transicao(estado, alerta, suprimido);
+    }
+
+    /**
+     * Transições pendentes da transação atual; aplicadas ao estado compartilhado só no commit.
+     */
+    private TransicoesPendentes transicoesDaTransacao() {
+        TransicoesPendentes pendentes = (TransicoesPendentes) TransactionSynchronizationManager.getResource(this);
+        if (pendentes != null) {
+            return pendentes;
+        }
+
+        TransicoesPendentes novas = new TransicoesPendentes();
+        TransactionSynchronizationManager.bindResource(this, novas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                novas.estados.forEach((produtoId, estado) -> {
+                    if (estado != null) {
+                        estados.put(produtoId, estado);
+                    } else {
+                        estados.remove(produtoId);
+                    }
+                });
+                contabilizar(novas.emitidos, novas.suprimidos);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AlertaEstoqueCoalescer.this);
+            }
+        });
+        return novas;
+    }
+
+    private void contabilizar(long emitidos, long suprimidos) {
+        alertasEmitidos.addAndGet(emitidos);
+        alertasSuprimidos.addAndGet(suprimidos);
+    }
+
+    private static EstadoAlerta copiar(EstadoAlerta estado) {
+        if (estado == null) {
+            return null;
+        }
+        EstadoAlerta copia = new EstadoAlerta();
+        copia.nivel = estado.nivel;
+        System.arraycopy(estado.ultimaEmissao, 0, copia.ultimaEmissao, 0, copia.ultimaEmissao.length);
+        return copia;
+    }
+
+    /**
+     * Nível atual registrado para o produto.
+     */
+    public NivelEstoque getNivelAtual(Long produtoId) {
+        EstadoAlerta estado = estados.get(produtoId);
+        return estado != null ? estado.nivel : NivelEstoque.NORMAL;
+    }
+
+    public int getQuantidadeMinima() {
+        return quantidadeMinima;
+    }
+
+    public int getQuantidadeCritica() {
+        return quantidadeCritica;
+    }
+
+    public long getAlertasEmitidos() {
+        return alertasEmitidos.get();
+    }
+
+    public long getAlertasSuprimidos() {
+        return alertasSuprimidos.get();
+    }
+
+    private record Transicao(EstadoAlerta estado, NivelEstoque alerta, boolean suprimido) {
+    }
+
+    /**
+     * Transições feitas dentro de uma transação; o valor {@code null} indica estado removido.
+     */
+    private static class TransicoesPendentes {
+
+        private final Map<Long, EstadoAlerta> estados = new HashMap<>();
+        private long emitidos;
+        private long suprimidos;
+
+        void registrar(Transicao transicao) {
+            if (transicao.alerta() != null) {
+                emitidos++;
+            }
+            if (transicao.suprimido()) {
+                suprimidos++;
+            }
+        }
+    }
+
+    /**
+     * Estado de alerta de um produto. Nunca é alterado depois de publicado no mapa compartilhado;
+     * cada transição trabalha sobre uma cópia.
+     */
+    private static class EstadoAlerta {
+
+        private NivelEstoque nivel = NivelEstoque.NORMAL;
+        private final long[] ultimaEmissao = new long[NivelEstoque.values().length];
+
+        EstadoAlerta() {
+            Arrays.fill(ultimaEmissao, Long.MIN_VALUE);
+        }
+
+        boolean emitidoNaJanela(NivelEstoque nivel, long agora, long janelaMillis) {
+            long emissao = ultimaEmissao[nivel.ordinal()];
+            return emissao != Long.MIN_VALUE && agora - emissao < janelaMillis;
+        }
+
+        boolean possuiEmissaoNaJanela(long agora, long janelaMillis) {
+            for (NivelEstoque nivel : NivelEstoque.values()) {
+                if (emitidoNaJanela(nivel, agora, janelaMillis)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
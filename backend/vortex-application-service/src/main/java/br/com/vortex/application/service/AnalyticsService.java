@@ -1,35 +1,249 @@
 package br.com.vortex.application.service;
 
+import br.com.vortex.application.analytics.AgregadorJanelas;
+import br.com.vortex.application.analytics.DetectorAnomalias;
+import br.com.vortex.application.analytics.EstatisticasAproximadas;
+import br.com.vortex.application.analytics.JanelaTempo;
+import br.com.vortex.application.analytics.MotivoSuspeita;
 import br.com.vortex.application.dto.*;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Serviço de analytics para integração com Kafka.
- * Este é um stub básico que pode ser expandido conforme necessário.
+ * Serviço de analytics em tempo real alimentado pelos eventos de movimentação.
+ *
+ * Agrega unidades, receita e lucro por produto, por tipo de produto e no total geral
+ * em janelas de 1 minuto, 5 minutos e 1 hora (deslizantes e tumbling). As consultas
+ * leem somas mantidas incrementalmente em memória, sem acessar {@code movimento_estoque}.
+ *
+ * As janelas usam o instante de processamento do evento. Receita e lucro seguem o
+ * mesmo cálculo dos relatórios: {@code valorVenda} é o preço unitário da saída.
+ *
+ * Eventos de auditoria são avaliados pelo {@link DetectorAnomalias} para identificar
+ * operações suspeitas. Vendas e usuários ativos também alimentam as
+ * {@link EstatisticasAproximadas} (ranking da última hora e usuários distintos do dia).
  */
 @Slf4j
 @Service
 public class AnalyticsService {
 
+    static final String CHAVE_GERAL = "geral";
+
+    private static final String ACAO_MOVIMENTO_CRIADO = "MOVIMENTO_CRIADO";
+
+    private final DetectorAnomalias detectorAnomalias;
+    private final EstatisticasAproximadas estatisticasAproximadas;
+    private final Clock clock;
+
+    private final Map<Long, AgregadorJanelas> porProduto = new ConcurrentHashMap<>();
+    private final Map<String, AgregadorJanelas> porTipoProduto = new ConcurrentHashMap<>();
+    private final AgregadorJanelas geral = new AgregadorJanelas(CHAVE_GERAL);
+
+    @Autowired
+    public AnalyticsService(DetectorAnomalias detectorAnomalias, EstatisticasAproximadas estatisticasAproximadas) {
+        this(detectorAnomalias, estatisticasAproximadas, Clock.systemDefaultZone());
+    }
+
+    AnalyticsService(DetectorAnomalias detectorAnomalias, EstatisticasAproximadas estatisticasAproximadas, Clock clock) {
+        this.detectorAnomalias = detectorAnomalias;
+        this.estatisticasAproximadas = estatisticasAproximadas;
+        this.clock = clock;
+    }
+
     public void processarMovimentoEstoque(MovimentoEstoqueEventDTO event) {
-        log.info("Processando analytics para movimento: {}", event.getMovimentoId());
-        // Implementar processamento de analytics
+        log.debug("Processando analytics para movimento: {}", event.getMovimentoId());
+
+        if (event.getProdutoId() == null || event.getTipoMovimentacao() == null || event.getQuantidadeMovimentada() == null) {
+            log.warn("Evento de movimento incompleto ignorado pelo analytics: {}", event.getEventId());
+            return;
+        }
+
+        long quantidade = event.getQuantidadeMovimentada();
+        long unidadesEntrada = 0;
+        long unidadesSaida = 0;
+        long receitaCentavos = 0;
+        long lucroCentavos = 0;
+
+        if (event.getTipoMovimentacao() == TipoMovimentacao.ENTRADA) {
+            unidadesEntrada = quantidade;
+        } else {
+            unidadesSaida = quantidade;
+            long precoVendaCentavos = centavos(event.getValorVenda());
+            receitaCentavos = precoVendaCentavos * quantidade;
+            lucroCentavos = (precoVendaCentavos - centavos(event.getValorFornecedor())) * quantidade;
+        }
+
+        long agora = clock.millis();
+        agregadorProduto(event.getProdutoId())
+                .registrar(agora, unidadesEntrada, unidadesSaida, receitaCentavos, lucroCentavos);
+        if (event.getTipoProduto() != null) {
+            agregadorTipoProduto(event.getTipoProduto())
+                    .registrar(agora, unidadesEntrada, unidadesSaida, receitaCentavos, lucroCentavos);
+        }
+        geral.registrar(agora, unidadesEntrada, unidadesSaida, receitaCentavos, lucroCentavos);
+
+        if (unidadesSaida > 0) {
+            estatisticasAproximadas.registrarVenda(event.getProdutoId(), unidadesSaida);
+        }
+        estatisticasAproximadas.registrarUsuarioAtivo(event.getUserId());
+    }
+
+    /**
+     * Métricas de um produto na janela informada.
+     */
+    public JanelaAnalyticsDTO consultarProduto(Long produtoId, JanelaTempo janela) {
+        AgregadorJanelas agregador = porProduto.get(produtoId);
+        return consultar(agregador != null ? agregador : new AgregadorJanelas(String.valueOf(produtoId)), janela);
+    }
+
+    /**
+     * Métricas de um tipo de produto na janela informada.
+     */
+    public JanelaAnalyticsDTO consultarTipoProduto(String tipoProduto, JanelaTempo janela) {
+        AgregadorJanelas agregador = porTipoProduto.get(tipoProduto);
+        return consultar(agregador != null ? agregador : new AgregadorJanelas(tipoProduto), janela);
+    }
+
+    /**
+     * Métricas de todas as movimentações na janela informada.
+     */
+    public JanelaAnalyticsDTO consultarGeral(JanelaTempo janela) {
+        return consultar(geral, janela);
+    }
+
+    /**
+     * Produtos com maior receita na janela deslizante informada.
+     */
+    public List<JanelaAnalyticsDTO> rankingProdutosPorReceita(JanelaTempo janela, int limite) {
+        return ranking(porProduto.values(), janela, limite);
+    }
+
+    /**
+     * Tipos de produto com maior receita na janela deslizante informada.
+     */
+    public List<JanelaAnalyticsDTO> rankingTiposProdutoPorReceita(JanelaTempo janela, int limite) {
+        return ranking(porTipoProduto.values(), janela, limite);
+    }
+
+    /**
+     * Ranking aproximado de vendas da última hora e usuários ativos no dia desta instância.
+     */
+    public EstatisticasAproximadasDTO consultarEstatisticasAproximadas(int limite) {
+        return estatisticasAproximadas.consultar(limite);
+    }
+
+    /**
+     * Snapshot dos sketches desta instância, para combinação com outras instâncias.
+     */
+    public SketchesSnapshotDTO gerarSnapshotSketches() {
+        return estatisticasAproximadas.snapshot();
+    }
+
+    /**
+     * Combina snapshots de outras instâncias, opcionalmente com o estado desta instância.
+     *
+     * @throws RegraNegocioException se os snapshots tiverem dimensões incompatíveis
+     */
+    public EstatisticasAproximadasDTO combinarSnapshotsSketches(List<SketchesSnapshotDTO> snapshots, boolean incluirLocal, int limite) {
+        List<SketchesSnapshotDTO> todos = new ArrayList<>(snapshots);
+        if (incluirLocal) {
+            todos.add(estatisticasAproximadas.snapshot());
+        }
+        try {
+            return EstatisticasAproximadas.combinar(todos, limite);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException(e.getMessage(), e);
+        }
     }
 
     public void registrarAuditoria(AuditoriaEventDTO event) {
         log.debug("Registrando auditoria: {}", event.getAcao());
-        // Implementar registro de auditoria
+        estatisticasAproximadas.registrarUsuarioAtivo(event.getUserId());
     }
 
+    /**
+     * Avalia o evento de auditoria contra o histórico do usuário e do produto.
+     * Para movimentos, produto e quantidade vêm dos campos próprios do evento.
+     */
     public boolean isOperacaoSuspeita(AuditoriaEventDTO event) {
-        log.debug("Verificando operação suspeita: {}", event.getAcao());
-        // Implementar lógica de detecção de operações suspeitas
+        Long produtoId = null;
+        long quantidade = -1;
+        if (ACAO_MOVIMENTO_CRIADO.equals(event.getAcao()) && event.getProdutoId() != null && event.getQuantidade() != null) {
+            produtoId = event.getProdutoId();
+            quantidade = event.getQuantidade();
+        }
+
+        boolean sucesso = event.getResultado() == null || "SUCCESS".equals(event.getResultado());
+        MotivoSuspeita motivo = detectorAnomalias.avaliar(event.getUserId(), event.getAcao(), sucesso, produtoId, quantidade);
+        if (motivo != null) {
+            log.warn("Operação suspeita detectada - Motivo: {}, Usuário: {}, Ação: {}, Entidade: {} {}",
+                motivo, event.getUserId(), event.getAcao(), event.getEntidade(), event.getEntidadeId());
+            return true;
+        }
         return false;
     }
 
+    /**
+     * Estatísticas do detector de operações suspeitas.
+     */
+    public Map<String, Object> obterEstatisticasAnomalias() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("operacoesAvaliadas", detectorAnomalias.getAvaliadas());
+        estatisticas.put("operacoesSuspeitas", detectorAnomalias.getSuspeitas());
+        estatisticas.put("usuariosMonitorados", detectorAnomalias.getUsuariosMonitorados());
+        estatisticas.put("produtosMonitorados", detectorAnomalias.getProdutosMonitorados());
+        estatisticas.put("estadosDescartados", detectorAnomalias.getEstadosDescartados());
+        return estatisticas;
+    }
+
     public void atualizarMetricasCompliance(AuditoriaEventDTO event) {
         log.debug("Atualizando métricas de compliance: {}", event.getAcao());
         // Implementar atualização de métricas de compliance
     }
-} 
\ No newline at end of file
+
+    private List<JanelaAnalyticsDTO> ranking(Iterable<AgregadorJanelas> agregadores, JanelaTempo janela, int limite) {
+        long agora = clock.millis();
+        List<JanelaAnalyticsDTO> resultado = new ArrayList<>();
+        for (AgregadorJanelas agregador : agregadores) {
+            JanelaAnalyticsDTO dto = agregador.consultar(janela, agora, clock.getZone());
+            if (dto.getDeslizante().getEventos() > 0) {
+                resultado.add(dto);
+            }
+        }
+        resultado.sort(Comparator.comparing((JanelaAnalyticsDTO dto) -> dto.getDeslizante().getReceita()).reversed());
+        int quantidade = Math.max(0, limite);
+        return resultado.size() > quantidade ? resultado.subList(0, quantidade) : resultado;
+    }
+
+    private JanelaAnalyticsDTO consultar(AgregadorJanelas agregador, JanelaTempo janela) {
+        return agregador.consultar(janela, clock.millis(), clock.getZone());
+    }
+
+    private AgregadorJanelas agregadorProduto(Long produtoId) {
+        AgregadorJanelas agregador = porProduto.get(produtoId);
+        return agregador != null ? agregador
+                : porProduto.computeIfAbsent(produtoId, id -> new AgregadorJanelas(String.valueOf(id)));
+    }
+
+    private AgregadorJanelas agregadorTipoProduto(String tipoProduto) {
+        AgregadorJanelas agregador = porTipoProduto.get(tipoProduto);
+        return agregador != null ? agregador
+                : porTipoProduto.computeIfAbsent(tipoProduto, AgregadorJanelas::new);
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor != null ? Math.round(valor.doubleValue() * 100) : 0L;
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Move os meses frios de {@code movimento_estoque} para {@code movimento_estoque_arquivo}.
+ *
+ * Cada mês anterior à janela quente é copiado e removido em uma transação própria; como a tabela é
+ * particionada por mês no Oracle, cada passo corresponde a uma partição, que é descartada em seguida.
+ * A cópia usa inserção direta ({@code APPEND}), que é o que aplica a compressão da tabela de arquivo
+ * no Oracle; em outros bancos a dica é ignorada.
+ *
+ * O agendamento dispara em todas as instâncias, mas só uma arquiva por vez: a execução começa
+ * avançando o prazo da linha {@value #TAREFA} em {@code bloqueio_tarefa}, o que só funciona se o prazo
+ * anterior já tiver vencido. O prazo é liberado ao final; se a instância cair no meio, ele vence
+ * sozinho após {@code arquivamento.movimentos.bloqueio-maximo-minutos}.
+ */
+@Slf4j
+@Service
+public class ArquivamentoMovimentosService {
+
+    private static final String ARQUIVAR_PERIODO = "INSERT /*+ APPEND */ INTO movimento_estoque_arquivo "
+            + "(id, data_movimento, tipo_movimentacao, quantidade_movimentada, valor_venda, produto_id, data_arquivamento) "
+            + "SELECT id, data_movimento, tipo_movimentacao, quantidade_movimentada, valor_venda, produto_id, ? "
+            + "FROM movimento_estoque WHERE data_movimento >= ? AND data_movimento < ?";
+
+    private static final String REMOVER_PERIODO =
+            "DELETE FROM movimento_estoque WHERE data_movimento >= ? AND data_movimento < ?";
+
+    static final String TAREFA = "arquivamento-movimentos";
+
+    private static final String ADQUIRIR_BLOQUEIO = "UPDATE bloqueio_tarefa SET bloqueado_ate = ?, bloqueado_por = ? "
+            + "WHERE nome = ? AND bloqueado_ate <= ?";
+
+    private static final String LIBERAR_BLOQUEIO = "UPDATE bloqueio_tarefa SET bloqueado_ate = ? "
+            + "WHERE nome = ? AND bloqueado_por = ?";
+
+    private static final DateTimeFormatter FORMATO_LITERAL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final MovimentoEstoqueRepository movimentoEstoqueRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int mesesQuentes;
+    private final Duration bloqueioMaximo;
+    private final Clock clock;
+    private final String instancia = UUID.randomUUID().toString();
+
+    private volatile Boolean oracle;
+
+    @Autowired
+    public ArquivamentoMovimentosService(MovimentoEstoqueRepository movimentoEstoqueRepository,
+                                         DataSource dataSource,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${arquivamento.movimentos.enabled:true}") boolean habilitado,
+                                         @Value("${arquivamento.movimentos.meses-quentes:12}") int mesesQuentes,
+                                         @Value("${arquivamento.movimentos.bloqueio-maximo-minutos:360}") long bloqueioMaximoMinutos) {
+        this(movimentoEstoqueRepository, dataSource, transactionManager, habilitado, mesesQuentes,
+                Duration.ofMinutes(bloqueioMaximoMinutos), Clock.systemDefaultZone());
+    }
+
+    ArquivamentoMovimentosService(MovimentoEstoqueRepository movimentoEstoqueRepository, DataSource dataSource,
+                                  PlatformTransactionManager transactionManager, boolean habilitado,
+                                  int mesesQuentes, Duration bloqueioMaximo, Clock clock) {
+        this.movimentoEstoqueRepository = movimentoEstoqueRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.mesesQuentes = mesesQuentes;
+        this.bloqueioMaximo = bloqueioMaximo;
+        this.clock = clock;
+    }
+
+    /**
+     * Execução agendada, por padrão na madrugada do primeiro dia de cada mês.
+     */
+    @Scheduled(cron = "${arquivamento.movimentos.cron:0 0 3 1 * *}")
+    public void executar() {
+        if (habilitado) {
+            arquivar();
+        }
+    }
+
+    /**
+     * Arquiva, mês a mês, todos os movimentos anteriores à janela quente.
+     *
+     * @return Quantidade de movimentos arquivados (0 se outra instância estiver arquivando)
+     */
+    public int arquivar() {
+        if (!adquirirBloqueio()) {
+            log.info("Arquivamento de movimentos em andamento em outra instância; execução ignorada");
+            return 0;
+        }
+        try {
+            return arquivarMeses();
+        } finally {
+            liberarBloqueio();
+        }
+    }
+
+    private boolean adquirirBloqueio() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        return jdbcTemplate.update(ADQUIRIR_BLOQUEIO, agora.plus(bloqueioMaximo), instancia, TAREFA, agora) == 1;
+    }
+
+    private void liberarBloqueio() {
+        try {
+            jdbcTemplate.update(LIBERAR_BLOQUEIO, LocalDateTime.now(clock), TAREFA, instancia);
+        } catch (DataAccessException e) {
+            // O prazo vence sozinho; só atrasa a próxima execução
+            log.warn("Falha ao liberar o bloqueio do arquivamento de movimentos: {}", e.getMessage());
+        }
+    }
+
+    private int arquivarMeses() {
+        LocalDateTime limite = inicioDoMes(LocalDateTime.now(clock)).minusMonths(mesesQuentes);
+        LocalDateTime maisAntigo = movimentoEstoqueRepository.buscarDataMaisAntigaAntesDe(limite);
+        if (maisAntigo == null) {
+            return 0;
+        }
+
+        int total = 0;
+        for (LocalDateTime mes = inicioDoMes(maisAntigo); mes.isBefore(limite); mes = mes.plusMonths(1)) {
+            total += arquivarMes(mes);
+        }
+        log.info("Arquivados {} movimentos de estoque anteriores a {}", total, limite.toLocalDate());
+        return total;
+    }
+
+    private int arquivarMes(LocalDateTime inicio) {
+        LocalDateTime fim = inicio.plusMonths(1);
+        LocalDateTime agora = LocalDateTime.now(clock);
+
+        int movidos = transactionTemplate.execute(status -> {
+            int copiados = jdbcTemplate.update(ARQUIVAR_PERIODO, agora, inicio, fim);
+            int removidos = jdbcTemplate.update(REMOVER_PERIODO, inicio, fim);
+            if (copiados != removidos) {
+                // Um movimento retroativo entrou no mês durante a cópia; o mês é refeito na próxima execução
+                throw new IllegalStateException("Movimentos de " + inicio.toLocalDate() + " mudaram durante o arquivamento");
+            }
+            return removidos;
+        });
+
+        if (movidos > 0 && isOracle()) {
+            descartarParticao(inicio);
+        }
+        return movidos;
+    }
+
+    private void descartarParticao(LocalDateTime inicio) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE movimento_estoque DROP PARTITION FOR (TIMESTAMP '"
+                    + FORMATO_LITERAL.format(inicio) + "') UPDATE INDEXES");
+        } catch (DataAccessException e) {
+            // Partição inicial (não descartável) ou tabela ainda não particionada
+            log.debug("Partição de {} mantida: {}", inicio.toLocalDate(), e.getMessage());
+        }
+    }
+
+    private boolean isOracle() {
+        if (oracle == null) {
+            String produto = jdbcTemplate.execute((ConnectionCallback<String>) conexao ->
+                    conexao.getMetaData().getDatabaseProductName());
+            oracle = produto != null && produto.toLowerCase(Locale.ROOT).contains("oracle");
+        }
+        return oracle;
+    }
+
+    private static LocalDateTime inicioDoMes(LocalDateTime data) {
+        return data.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.dto.ProdutoEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Invalida o cache do catálogo a partir dos tópicos de eventos de produto e de movimentos
+ * de estoque, já que cada movimento altera o saldo guardado no produto em cache.
+ *
+ * Cada instância usa um grupo de consumidores próprio para receber todos os eventos
+ * (e não apenas os da sua partição) e começa do fim do tópico, já que o cache é vazio
+ * na inicialização.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true")
+public class CacheCatalogoKafkaConsumer {
+
+    @Autowired
+    private CacheCatalogoService cacheCatalogoService;
+
+    @KafkaListener(topics = "${kafka.topics.produto-events:vortex.produto.events}",
+                   groupId = "vortex-cache-catalogo-#{T(java.util.UUID).randomUUID().toString()}",
+                   properties = "auto.offset.reset=latest")
+    public void invalidar(@Payload ProdutoEventDTO event, Acknowledgment acknowledgment) {
+        try {
+            cacheCatalogoService.invalidarProduto(event.getProdutoId());
+        } catch (Exception e) {
+            log.error("Erro ao invalidar o cache do produto {}: {}", event.getProdutoId(), e.getMessage());
+        } finally {
+            acknowledgment.acknowledge();
+        }
+    }
+
+    @KafkaListener(topics = "${kafka.topics.movimento-estoque:vortex.movimento.estoque}",
+                   groupId = "vortex-cache-catalogo-movimentos-#{T(java.util.UUID).randomUUID().toString()}",
+                   properties = "auto.offset.reset=latest")
+    public void invalidarMovimento(@Payload MovimentoEstoqueEventDTO event, Acknowledgment acknowledgment) {
+        try {
+            cacheCatalogoService.invalidarProduto(event.getProdutoId());
+        } catch (Exception e) {
+            log.error("Erro ao invalidar o cache do produto {}: {}", event.getProdutoId(), e.getMessage());
+        } finally {
+            acknowledgment.acknowledge();
+        }
+    }
+}
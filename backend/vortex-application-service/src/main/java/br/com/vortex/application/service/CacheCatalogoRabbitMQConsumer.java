@@ -0,0 +1,67 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.dto.ProdutoEventDTO;
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * Invalida o cache do catálogo a partir dos eventos de produto e de movimentos de estoque
+ * publicados no RabbitMQ, já que cada movimento altera o saldo guardado no produto em cache.
+ *
+ * Cada instância declara uma fila exclusiva e temporária ligada ao exchange, para que
+ * todas recebam todos os eventos.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true")
+public class CacheCatalogoRabbitMQConsumer {
+
+    @Autowired
+    private CacheCatalogoService cacheCatalogoService;
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = "${rabbitmq.exchange.name:vortex.exchange}", type = ExchangeTypes.TOPIC),
+            key = "vortex.produto.events.*"))
+    public void invalidar(@Payload ProdutoEventDTO event,
+                          @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag,
+                          Channel channel) throws IOException {
+        try {
+            cacheCatalogoService.invalidarProduto(event.getProdutoId());
+        } catch (Exception e) {
+            log.error("Erro ao invalidar o cache do produto {}: {}", event.getProdutoId(), e.getMessage());
+        } finally {
+            channel.basicAck(deliveryTag, false);
+        }
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = "${rabbitmq.exchange.name:vortex.exchange}", type = ExchangeTypes.TOPIC),
+            key = "vortex.movimento.estoque.*"))
+    public void invalidarMovimento(@Payload MovimentoEstoqueEventDTO event,
+                                   @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag,
+                                   Channel channel) throws IOException {
+        try {
+            cacheCatalogoService.invalidarProduto(event.getProdutoId());
+        } catch (Exception e) {
+            log.error("Erro ao invalidar o cache do produto {}: {}", event.getProdutoId(), e.getMessage());
+        } finally {
+            channel.basicAck(deliveryTag, false);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.CacheRegiaoStatusDTO;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Administra o cache de segundo nível do catálogo (Produto e TipoProduto).
+ *
+ * Alterações feitas na própria instância já atualizam o cache local; as feitas em outras
+ * instâncias chegam pelos eventos de produto e de movimento (o saldo em estoque fica no
+ * produto em cache) e são invalidadas aqui. As listas por tipo
+ * ficam no cache de consultas, que é descartado junto com o produto alterado.
+ */
+@Slf4j
+@Service
+public class CacheCatalogoService {
+
+    public static final String REGIAO_PRODUTO = "vortex-produto";
+    public static final String REGIAO_TIPO_PRODUTO = "vortex-tipo-produto";
+    public static final String REGIAO_PRODUTO_POR_TIPO = "vortex-produto-por-tipo";
+    public static final String REGIAO_TIPO_PRODUTO_POR_NOME = "vortex-tipo-produto-por-nome";
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public CacheCatalogoService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Invalida o produto e as listas por tipo em que ele pode aparecer.
+     *
+     * @param produtoId ID do produto alterado; {@code null} invalida todos os produtos
+     */
+    public void invalidarProduto(Long produtoId) {
+        Cache cache = sessionFactory.getCache();
+        if (produtoId != null) {
+            cache.evictEntityData(Produto.class, produtoId);
+        } else {
+            cache.evictEntityData(Produto.class);
+        }
+        cache.evictQueryRegion(REGIAO_PRODUTO_POR_TIPO);
+        log.debug("Cache do produto {} invalidado", produtoId);
+    }
+
+    /**
+     * Invalida todo o catálogo (produtos, tipos e consultas).
+     */
+    public void invalidarCatalogo() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Produto.class);
+        cache.evictEntityData(TipoProduto.class);
+        cache.evictQueryRegion(REGIAO_PRODUTO_POR_TIPO);
+        cache.evictQueryRegion(REGIAO_TIPO_PRODUTO_POR_NOME);
+        log.info("Cache do catálogo invalidado");
+    }
+
+    /**
+     * Obtém acertos, falhas e taxa de acerto de cada região do catálogo.
+     */
+    public List<CacheRegiaoStatusDTO> obterEstatisticas() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return List.of(
+                status(REGIAO_PRODUTO, "ENTIDADE", statistics.getDomainDataRegionStatistics(REGIAO_PRODUTO)),
+                status(REGIAO_TIPO_PRODUTO, "ENTIDADE", statistics.getDomainDataRegionStatistics(REGIAO_TIPO_PRODUTO)),
+                status(REGIAO_PRODUTO_POR_TIPO, "CONSULTA", statistics.getQueryRegionStatistics(REGIAO_PRODUTO_POR_TIPO)),
+                status(REGIAO_TIPO_PRODUTO_POR_NOME, "CONSULTA", statistics.getQueryRegionStatistics(REGIAO_TIPO_PRODUTO_POR_NOME))
+        );
+    }
+
+    private CacheRegiaoStatusDTO status(String regiao, String tipo, CacheRegionStatistics estatisticas) {
+        if (estatisticas == null) {
+            // Região de consulta ainda não utilizada
+            return new CacheRegiaoStatusDTO(regiao, tipo, 0, 0, 0, 0, 0.0);
+        }
+        long acertos = estatisticas.getHitCount();
+        long falhas = estatisticas.getMissCount();
+        long leituras = acertos + falhas;
+        return new CacheRegiaoStatusDTO(
+                regiao,
+                tipo,
+                acertos,
+                falhas,
+                estatisticas.getPutCount(),
+                estatisticas.getElementCountInMemory(),
+                leituras > 0 ? (double) acertos / leituras : 0.0
+        );
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.BrokerMetricasDTO;
+import br.com.vortex.application.dto.KafkaEventDTO;
+import br.com.vortex.application.dto.ProdutoDTO;
+import br.com.vortex.application.model.MovimentoEstoque;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Message broker composto que publica cada evento em vários brokers (ex.: Kafka e RabbitMQ
+ * durante uma migração).
+ *
+ * Cada destino tem uma fila limitada e uma thread própria: o chamador só enfileira o envio,
+ * e um broker lento ou fora do ar não atrasa os demais. Quando a fila de um destino enche,
+ * o evento é descartado apenas para ele e contabilizado nas métricas. Como o envio acontece
+ * em outra thread, as entidades são copiadas no momento da chamada. Todas as cópias de um
+ * evento levam o mesmo {@code eventId}, gerado aqui uma única vez, e os consumidores de todos
+ * os brokers deduplicam pelo mesmo namespace, então cada evento é processado uma vez só.
+ */
+@Slf4j
+public class CompositeMessageBrokerService implements MessageBrokerService, AutoCloseable {
+
+    private final List<Destino> destinos;
+
+    /**
+     * @param brokers Brokers de destino, por nome
+     * @param capacidadeFila Capacidade da fila de envio de cada destino
+     */
+    public CompositeMessageBrokerService(Map<String, MessageBrokerService> brokers, int capacidadeFila) {
+        this.destinos = brokers.entrySet().stream()
+                .map(entry -> new Destino(entry.getKey(), entry.getValue(), capacidadeFila))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void publicarMovimentoEstoque(MovimentoEstoque movimento, Produto produto,
+                                       Integer estoqueAnterior, String userId) {
+        MovimentoEstoque movimentoCopia = copiar(movimento);
+        Produto produtoCopia = copiar(produto);
+        despachar("movimento de estoque",
+                broker -> broker.publicarMovimentoEstoque(movimentoCopia, produtoCopia, estoqueAnterior, userId));
+    }
+
+    @Override
+    public void publicarProdutoCriado(Produto produto, String userId) {
+        Produto copia = copiar(produto);
+        despachar("produto criado", broker -> broker.publicarProdutoCriado(copia, userId));
+    }
+
+    @Override
+    public void publicarProdutoAtualizado(Produto produto, ProdutoDTO dadosAnteriores, String userId) {
+        Produto copia = copiar(produto);
+        despachar("produto atualizado", broker -> broker.publicarProdutoAtualizado(copia, dadosAnteriores, userId));
+    }
+
+    @Override
+    public void publicarProdutoExcluido(Produto produto, String userId) {
+        Produto copia = copiar(produto);
+        despachar("produto excluído", broker -> broker.publicarProdutoExcluido(copia, userId));
+    }
+
+    @Override
+    public void publicarInvalidacaoCacheProduto(Long produtoId) {
+        despachar("invalidação de cache", broker -> broker.publicarInvalidacaoCacheProduto(produtoId));
+    }
+
+    @Override
+    public void publicarAlertaEstoqueBaixo(Produto produto, Integer quantidadeMinima, String userId) {
+        Produto copia = copiar(produto);
+        despachar("alerta de estoque baixo", broker -> broker.publicarAlertaEstoqueBaixo(copia, quantidadeMinima, userId));
+    }
+
+    @Override
+    public void publicarAlertaEstoqueEsgotado(Produto produto, String userId) {
+        Produto copia = copiar(produto);
+        despachar("alerta de estoque esgotado", broker -> broker.publicarAlertaEstoqueEsgotado(copia, userId));
+    }
+
+    @Override
+    public void publicarAlertaEstoqueCritico(Produto produto, Integer quantidadeMinima, String userId) {
+        Produto copia = copiar(produto);
+        despachar("alerta de estoque crítico", broker -> broker.publicarAlertaEstoqueCritico(copia, quantidadeMinima, userId));
+    }
+
+    @Override
+    public void publicarAuditoria(String acao, String entidade, Long entidadeId,
+                                String detalhes, String userId, String status, String erro) {
+        despachar("auditoria",
+                broker -> broker.publicarAuditoria(acao, entidade, entidadeId, detalhes, userId, status, erro));
+    }
+
+    @Override
+    public void publicarAuditoriaMovimento(String acao, Long movimentoId, Long produtoId, Integer quantidade,
+                                           String detalhes, String userId) {
+        despachar("auditoria",
+                broker -> broker.publicarAuditoriaMovimento(acao, movimentoId, produtoId, quantidade, detalhes, userId));
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return destinos.stream().anyMatch(destino -> destino.broker.isAvailable());
+    }
+
+    @Override
+    public String getType() {
+        return destinos.stream()
+                .map(destino -> destino.broker.getType())
+                .collect(Collectors.joining(",", "Composite[", "]"));
+    }
+
+    /**
+     * Métricas de publicação de cada destino.
+     */
+    public List<BrokerMetricasDTO> getMetricas() {
+        List<BrokerMetricasDTO> metricas = new ArrayList<>(destinos.size());
+        for (Destino destino : destinos) {
+            metricas.add(destino.metricas());
+        }
+        return metricas;
+    }
+
+    @Override
+    public void close() {
+        for (Destino destino : destinos) {
+            destino.executor.shutdown();
+        }
+        for (Destino destino : destinos) {
+            try {
+                if (!destino.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Destino {} encerrado com {} eventos pendentes", destino.nome, destino.executor.getQueue().size());
+                    destino.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                destino.executor.shutdownNow();
+            }
+        }
+    }
+
+    private void despachar(String tipoEvento, Consumer<MessageBrokerService> publicacao) {
+        String eventId = UUID.randomUUID().toString();
+        for (Destino destino : destinos) {
+            destino.enfileirar(tipoEvento, broker -> KafkaEventDTO.comEventId(eventId, () -> publicacao.accept(broker)));
+        }
+    }
+
+    private Produto copiar(Produto produto) {
+        if (produto == null) {
+            return null;
+        }
+
+        Produto copia = new Produto();
+        copia.setId(produto.getId());
+        copia.setCodigo(produto.getCodigo());
+        copia.setDescricao(produto.getDescricao());
+        copia.setValorFornecedor(produto.getValorFornecedor());
+        copia.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque());
+        copia.setVersao(produto.getVersao());
+
+        TipoProduto tipoProduto = produto.getTipoProduto();
+        if (tipoProduto != null) {
+            copia.setTipoProduto(new TipoProduto(tipoProduto.getId(), tipoProduto.getNome()));
+        }
+        return copia;
+    }
+
+    private MovimentoEstoque copiar(MovimentoEstoque movimento) {
+        if (movimento == null) {
+            return null;
+        }
+
+        MovimentoEstoque copia = new MovimentoEstoque();
+        copia.setId(movimento.getId());
+        copia.setDataMovimento(movimento.getDataMovimento());
+        copia.setTipoMovimentacao(movimento.getTipoMovimentacao());
+        copia.setQuantidadeMovimentada(movimento.getQuantidadeMovimentada());
+        copia.setValorVenda(movimento.getValorVenda());
+        return copia;
+    }
+
+    /**
+     * Broker de destino com fila de envio, thread e métricas próprias.
+     */
+    private static class Destino {
+
+        private final String nome;
+        private final MessageBrokerService broker;
+        private final int capacidade;
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicLong enfileirados = new AtomicLong();
+        private final AtomicLong publicados = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+        private final AtomicLong descartados = new AtomicLong();
+        private final AtomicLong latenciaTotalNanos = new AtomicLong();
+        private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+
+        private volatile String ultimoErro;
+        private volatile LocalDateTime dataUltimoErro;
+
+        Destino(String nome, MessageBrokerService broker, int capacidade) {
+            this.nome = nome;
+            this.broker = broker;
+            this.capacidade = capacidade;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacidade),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "broker-" + nome);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        void enfileirar(String tipoEvento, Consumer<MessageBrokerService> publicacao) {
+            try {
+                executor.execute(() -> publicar(tipoEvento, publicacao));
+                enfileirados.incrementAndGet();
+            } catch (RejectedExecutionException e) {
+                long total = descartados.incrementAndGet();
+                if (total == 1 || total % 1000 == 0) {
+                    log.warn("Fila de envio do broker {} cheia. Eventos descartados até agora: {}", nome, total);
+                }
+            }
+        }
+
+        private void publicar(String tipoEvento, Consumer<MessageBrokerService> publicacao) {
+            long inicio = System.nanoTime();
+            try {
+                publicacao.accept(broker);
+                publicados.incrementAndGet();
+            } catch (Exception e) {
+                falhas.incrementAndGet();
+                ultimoErro = e.getMessage();
+                dataUltimoErro = LocalDateTime.now();
+                log.error("Erro ao publicar {} no broker {}", tipoEvento, nome, e);
+            } finally {
+                long latencia = System.nanoTime() - inicio;
+                latenciaTotalNanos.addAndGet(latencia);
+                latenciaMaximaNanos.accumulateAndGet(latencia, Math::max);
+            }
+        }
+
+        BrokerMetricasDTO metricas() {
+            long concluidos = publicados.get() + falhas.get();
+            long latenciaMedia = concluidos > 0 ? latenciaTotalNanos.get() / concluidos : 0;
+
+            return new BrokerMetricasDTO(
+                    nome,
+                    broker.getType(),
+                    enfileirados.get(),
+                    publicados.get(),
+                    falhas.get(),
+                    descartados.get(),
+                    executor.getQueue().size(),
+                    capacidade,
+                    TimeUnit.NANOSECONDS.toMicros(latenciaMedia),
+                    TimeUnit.NANOSECONDS.toMicros(latenciaMaximaNanos.get()),
+                    ultimoErro,
+                    dataUltimoErro);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AlertaEstoqueEventDTO;
+import br.com.vortex.application.dto.AtualizacaoDashboardDTO;
+import br.com.vortex.application.dto.DashboardPushStatusDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia aos dashboards conectados as mudanças de estoque e os alertas recebidos pelos consumidores.
+ *
+ * Os eventos não são repassados um a um: a cada intervalo de frame, as atualizações
+ * pendentes são agrupadas por produto (vale o estado mais recente), serializadas uma
+ * única vez e entregues a todos os dashboards. Cada dashboard tem um buffer limitado
+ * de frames; quando o buffer enche, o frame mais antigo é descartado. O envio de cada
+ * dashboard roda em uma virtual thread, de modo que um cliente lento não atrasa os
+ * demais nem o consumidor que originou o evento.
+ *
+ * Ao conectar, o dashboard recebe o último estado conhecido de cada produto, sem
+ * consulta ao banco. Esse estado é limitado em quantidade de produtos e expira após
+ * {@code analytics.dashboard.push.estado.ttl-minutos} sem atualização, de modo que
+ * produtos sem movimento e alertas antigos deixam de ocupar memória.
+ */
+@Slf4j
+@Service
+public class DashboardPushService implements DisposableBean {
+
+    public static final String EVENTO_SNAPSHOT = "snapshot";
+    public static final String EVENTO_ATUALIZACOES = "atualizacoes";
+
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+    private final long intervaloMillis;
+    private final int capacidadeBufferCliente;
+    private final long timeoutClienteMillis;
+
+    private final Map<Long, AtualizacaoDashboardDTO> estoquePendente = new ConcurrentHashMap<>();
+    private final Map<Long, AtualizacaoDashboardDTO> alertasPendentes = new ConcurrentHashMap<>();
+    private final Map<Long, AtualizacaoDashboardDTO> ultimoEstoque;
+    private final Map<Long, AtualizacaoDashboardDTO> ultimoAlerta;
+
+    private final Set<ClienteDashboard> clientes = ConcurrentHashMap.newKeySet();
+    private final Object lockPublicacao = new Object();
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicLong sequenciaClientes = new AtomicLong();
+    private final AtomicLong eventosRecebidos = new AtomicLong();
+    private final AtomicLong framesPublicados = new AtomicLong();
+    private final AtomicLong framesDescartados = new AtomicLong();
+
+    @Autowired
+    public DashboardPushService(ObjectMapper objectMapper,
+                                @Value("${analytics.dashboard.websocket.enabled:true}") boolean habilitado,
+                                @Value("${analytics.dashboard.push.intervalo-ms:250}") long intervaloMillis,
+                                @Value("${analytics.dashboard.push.buffer-cliente:64}") int capacidadeBufferCliente,
+                                @Value("${analytics.dashboard.push.timeout-cliente-ms:1800000}") long timeoutClienteMillis,
+                                @Value("${analytics.dashboard.push.estado.capacidade:10000}") long capacidadeEstado,
+                                @Value("${analytics.dashboard.push.estado.ttl-minutos:60}") long ttlEstadoMinutos) {
+        if (capacidadeBufferCliente <= 0) {
+            throw new IllegalArgumentException("A capacidade do buffer do dashboard deve ser positiva");
+        }
+
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.intervaloMillis = intervaloMillis;
+        this.capacidadeBufferCliente = capacidadeBufferCliente;
+        this.timeoutClienteMillis = timeoutClienteMillis;
+        this.ultimoEstoque = estadoLimitado(capacidadeEstado, ttlEstadoMinutos);
+        this.ultimoAlerta = estadoLimitado(capacidadeEstado, ttlEstadoMinutos);
+    }
+
+    private static Map<Long, AtualizacaoDashboardDTO> estadoLimitado(long capacidade, long ttlMinutos) {
+        Cache<Long, AtualizacaoDashboardDTO> cache = Caffeine.newBuilder()
+                .maximumSize(capacidade)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .executor(Runnable::run)
+                .build();
+        return cache.asMap();
+    }
+
+    /**
+     * Registra a mudança de estoque de um produto para o próximo frame.
+     */
+    public void registrarMovimento(MovimentoEstoqueEventDTO event) {
+        if (!habilitado || event.getProdutoId() == null) {
+            return;
+        }
+        eventosRecebidos.incrementAndGet();
+        estoquePendente.merge(event.getProdutoId(), AtualizacaoDashboardDTO.deMovimento(event), DashboardPushService::agrupar);
+    }
+
+    /**
+     * Registra um alerta de estoque para o próximo frame.
+     */
+    public void registrarAlerta(AlertaEstoqueEventDTO event) {
+        if (!habilitado || event.getProdutoId() == null) {
+            return;
+        }
+        eventosRecebidos.incrementAndGet();
+        alertasPendentes.merge(event.getProdutoId(), AtualizacaoDashboardDTO.deAlerta(event), DashboardPushService::agrupar);
+    }
+
+    /**
+     * Conecta um dashboard via Server-Sent Events.
+     */
+    public SseEmitter conectar() {
+        if (!habilitado) {
+            throw new IllegalStateException("Atualização de dashboards em tempo real desabilitada");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutClienteMillis);
+        ClienteDashboard cliente = registrarCliente((evento, id, dados) ->
+                emitter.send(SseEmitter.event().name(evento).id(Long.toString(id)).data(dados)));
+
+        emitter.onCompletion(cliente::encerrar);
+        emitter.onTimeout(cliente::encerrar);
+        emitter.onError(erro -> cliente.encerrar());
+        cliente.aoEncerrar(emitter::complete);
+        return emitter;
+    }
+
+    /**
+     * Registra um dashboard com o canal de envio informado e agenda o snapshot inicial.
+     */
+    ClienteDashboard registrarCliente(CanalDashboard canal) {
+        ClienteDashboard cliente = new ClienteDashboard(canal, capacidadeBufferCliente);
+
+        // Snapshot e inclusão na lista sob o mesmo lock da publicação: nenhum frame se perde entre os dois
+        synchronized (lockPublicacao) {
+            List<AtualizacaoDashboardDTO> estado = new ArrayList<>(ultimoEstoque.values());
+            estado.addAll(ultimoAlerta.values());
+            cliente.enfileirar(new Frame(EVENTO_SNAPSHOT, sequencia.get(), serializar(estado)));
+            clientes.add(cliente);
+        }
+
+        cliente.iniciar();
+        log.info("Dashboard conectado. Total de dashboards: {}", clientes.size());
+        return cliente;
+    }
+
+    /**
+     * Publica um frame com as atualizações agrupadas desde o frame anterior.
+     */
+    @Scheduled(fixedDelayString = "${analytics.dashboard.push.intervalo-ms:250}")
+    public void publicarFrame() {
+        if (estoquePendente.isEmpty() && alertasPendentes.isEmpty()) {
+            return;
+        }
+
+        List<AtualizacaoDashboardDTO> atualizacoes = new ArrayList<>();
+        drenar(estoquePendente, ultimoEstoque, atualizacoes);
+        drenar(alertasPendentes, ultimoAlerta, atualizacoes);
+        if (atualizacoes.isEmpty()) {
+            return;
+        }
+
+        String dados = serializar(atualizacoes);
+        synchronized (lockPublicacao) {
+            Frame frame = new Frame(EVENTO_ATUALIZACOES, sequencia.incrementAndGet(), dados);
+            for (ClienteDashboard cliente : clientes) {
+                cliente.enfileirar(frame);
+            }
+        }
+        framesPublicados.incrementAndGet();
+    }
+
+    public DashboardPushStatusDTO obterStatus() {
+        return new DashboardPushStatusDTO(habilitado, clientes.size(), intervaloMillis, capacidadeBufferCliente,
+                eventosRecebidos.get(), framesPublicados.get(), framesDescartados.get());
+    }
+
+    @Override
+    public void destroy() {
+        for (ClienteDashboard cliente : clientes) {
+            cliente.encerrar();
+        }
+    }
+
+    private void drenar(Map<Long, AtualizacaoDashboardDTO> pendentes, Map<Long, AtualizacaoDashboardDTO> ultimos,
+                        List<AtualizacaoDashboardDTO> destino) {
+        for (Long produtoId : pendentes.keySet()) {
+            AtualizacaoDashboardDTO atualizacao = pendentes.remove(produtoId);
+            if (atualizacao != null) {
+                ultimos.put(produtoId, atualizacao);
+                destino.add(atualizacao);
+            }
+        }
+    }
+
+    private String serializar(List<AtualizacaoDashboardDTO> atualizacoes) {
+        try {
+            return objectMapper.writeValueAsString(atualizacoes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar atualizações do dashboard", e);
+        }
+    }
+
+    private static AtualizacaoDashboardDTO agrupar(AtualizacaoDashboardDTO anterior, AtualizacaoDashboardDTO nova) {
+        nova.setEventosAgrupados(anterior.getEventosAgrupados() + nova.getEventosAgrupados());
+        return nova;
+    }
+
+    /**
+     * Canal de escrita de frames para um dashboard.
+     */
+    @FunctionalInterface
+    interface CanalDashboard {
+        void enviar(String evento, long id, String dados) throws IOException;
+    }
+
+    record Frame(String evento, long id, String dados) {
+    }
+
+    /**
+     * Dashboard conectado: buffer limitado de frames e virtual thread de envio.
+     */
+    class ClienteDashboard {
+
+        private final CanalDashboard canal;
+        private final BlockingQueue<Frame> buffer;
+        private volatile boolean ativo = true;
+        private volatile Runnable aoEncerrar = () -> { };
+        private Thread escritor;
+
+        ClienteDashboard(CanalDashboard canal, int capacidade) {
+            this.canal = canal;
+            this.buffer = new ArrayBlockingQueue<>(capacidade);
+        }
+
+        void iniciar() {
+            escritor = Thread.ofVirtual().name("dashboard-sse-" + sequenciaClientes.incrementAndGet()).start(this::enviarFrames);
+        }
+
+        void aoEncerrar(Runnable acao) {
+            this.aoEncerrar = acao;
+        }
+
+        /**
+         * Enfileira o frame, descartando o mais antigo se o buffer estiver cheio.
+         */
+        void enfileirar(Frame frame) {
+            while (!buffer.offer(frame)) {
+                if (buffer.poll() != null) {
+                    framesDescartados.incrementAndGet();
+                }
+            }
+        }
+
+        void encerrar() {
+            if (!ativo) {
+                return;
+            }
+            ativo = false;
+            clientes.remove(this);
+            if (escritor != null) {
+                escritor.interrupt();
+            }
+            try {
+                aoEncerrar.run();
+            } catch (Exception e) {
+                log.debug("Erro ao encerrar conexão do dashboard: {}", e.getMessage());
+            }
+            log.info("Dashboard desconectado. Total de dashboards: {}", clientes.size());
+        }
+
+        boolean isAtivo() {
+            return ativo;
+        }
+
+        private void enviarFrames() {
+            try {
+                while (ativo) {
+                    Frame frame = buffer.take();
+                    canal.enviar(frame.evento(), frame.id(), frame.dados());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.debug("Falha ao enviar frame ao dashboard: {}", e.getMessage());
+            } finally {
+                encerrar();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.KafkaEventDTO;
+import br.com.vortex.application.messaging.EmbeddedEventBus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável por consumir eventos do broker embutido.
+ *
+ * Encaminha os eventos publicados em memória para o {@link ProcessadorEventosBroker},
+ * o mesmo processamento usado pelos consumidores Kafka e RabbitMQ.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "embedded.broker.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddedConsumerService {
+
+    @Autowired
+    private EmbeddedEventBus eventBus;
+
+    @Autowired
+    private ProcessadorEventosBroker processadorEventos;
+
+    @PostConstruct
+    public void registrar() {
+        eventBus.registrarConsumidor(this::processarEvento);
+    }
+
+    /**
+     * Processa um evento entregue pelo broker embutido.
+     */
+    public void processarEvento(KafkaEventDTO event) {
+        log.debug("Processando evento {} via broker embutido - EventId: {}",
+            event.getClass().getSimpleName(), event.getEventId());
+        processadorEventos.processar(event);
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.*;
+import br.com.vortex.application.messaging.EmbeddedEventBus;
+import br.com.vortex.application.model.MovimentoEstoque;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * Serviço responsável por publicar eventos no broker embutido (em memória).
+ *
+ * Usado quando nenhum broker externo está configurado: os eventos são entregues
+ * de forma assíncrona, na mesma JVM, aos mesmos handlers usados pelos consumidores
+ * Kafka e RabbitMQ (ver {@link EmbeddedConsumerService}).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "embedded.broker.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddedMessageBrokerService implements MessageBrokerService {
+
+    private final EmbeddedEventBus eventBus;
+
+    @Autowired
+    public EmbeddedMessageBrokerService(EmbeddedEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Publica evento de movimentação de estoque.
+     */
+    @Override
+    public void publicarMovimentoEstoque(MovimentoEstoque movimento, Produto produto,
+                                       Integer estoqueAnterior, String userId) {
+        try {
+            MovimentoEstoqueEventDTO event = new MovimentoEstoqueEventDTO();
+            event.setMovimentoId(movimento.getId());
+            event.setProdutoId(produto.getId());
+            event.setProdutoDescricao(produto.getDescricao());
+            event.setTipoMovimentacao(movimento.getTipoMovimentacao());
+            event.setQuantidadeMovimentada(movimento.getQuantidadeMovimentada());
+            event.setValorVenda(movimento.getValorVenda());
+            event.setValorFornecedor(produto.getValorFornecedor());
+            event.setEstoqueAnterior(estoqueAnterior);
+            event.setEstoqueAtual(produto.getQuantidadeEmEstoque());
+            event.setDataMovimento(movimento.getDataMovimento());
+            event.setTipoProduto(produto.getTipoProduto().getNome());
+            event.setUserId(userId);
+
+            // Calcular lucro para saídas
+            if (movimento.getTipoMovimentacao() == TipoMovimentacao.SAIDA && movimento.getValorVenda() != null) {
+                BigDecimal custoTotal = produto.getValorFornecedor()
+                    .multiply(BigDecimal.valueOf(movimento.getQuantidadeMovimentada()));
+                event.setLucro(movimento.getValorVenda().subtract(custoTotal));
+            }
+
+            eventBus.publicar(event);
+
+        } catch (Exception e) {
+            log.error("Erro ao publicar evento de movimento de estoque no broker embutido", e);
+        }
+    }
+
+    /**
+     * Publica evento de criação de produto.
+     */
+    @Override
+    public void publicarProdutoCriado(Produto produto, String userId) {
+        publicarEventoProduto("CREATED", produto, null, userId);
+    }
+
+    /**
+     * Publica evento de atualização de produto.
+     */
+    @Override
+    public void publicarProdutoAtualizado(Produto produto, ProdutoDTO dadosAnteriores, String userId) {
+        publicarEventoProduto("UPDATED", produto, dadosAnteriores, userId);
+    }
+
+    /**
+     * Publica evento de exclusão de produto.
+     */
+    @Override
+    public void publicarProdutoExcluido(Produto produto, String userId) {
+        publicarEventoProduto("DELETED", produto, null, userId);
+    }
+
+    private void publicarEventoProduto(String action, Produto produto, ProdutoDTO dadosAnteriores, String userId) {
+        try {
+            ProdutoEventDTO event = new ProdutoEventDTO();
+            event.setAction(action);
+            event.setProdutoId(produto.getId());
+            event.setDescricao(produto.getDescricao());
+            event.setValorFornecedor(produto.getValorFornecedor());
+            event.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque());
+            event.setTipoProdutoId(produto.getTipoProduto().getId());
+            event.setTipoProdutoNome(produto.getTipoProduto().getNome());
+            event.setDadosAnteriores(dadosAnteriores);
+            event.setUserId(userId);
+
+            eventBus.publicar(event);
+
+        } catch (Exception e) {
+            log.error("Erro ao publicar evento de produto no broker embutido", e);
+        }
+    }
+
+    /**
+     * O broker embutido atende só esta instância, cujo cache já reflete as próprias alterações.
+     */
+    @Override
+    public void publicarInvalidacaoCacheProduto(Long produtoId) {
+        // No-op
+    }
+
+    /**
+     * Publica alerta de estoque baixo.
+     */
+    @Override
+    public void publicarAlertaEstoqueBaixo(Produto produto, Integer quantidadeMinima, String userId) {
+        publicarAlertaEstoque("ESTOQUE_BAIXO", produto, quantidadeMinima, "MEDIUM",
+            "Estoque baixo detectado para o produto: " + produto.getDescricao(), false, userId);
+    }
+
+    /**
+     * Publica alerta de estoque esgotado.
+     */
+    @Override
+    public void publicarAlertaEstoqueEsgotado(Produto produto, String userId) {
+        publicarAlertaEstoque("ESTOQUE_ESGOTADO", produto, 0, "HIGH",
+            "Produto esgotado: " + produto.getDescricao(), true, userId);
+    }
+
+    /**
+     * Publica alerta de estoque crítico.
+     */
+    @Override
+    public void publicarAlertaEstoqueCritico(Produto produto, Integer quantidadeMinima, String userId) {
+        publicarAlertaEstoque("ESTOQUE_CRITICO", produto, quantidadeMinima, "CRITICAL",
+            "Estoque crítico para o produto: " + produto.getDescricao(), true, userId);
+    }
+
+    private void publicarAlertaEstoque(String tipoAlerta, Produto produto, Integer quantidadeMinima,
+                                     String prioridade, String mensagem, Boolean acaoImediata, String userId) {
+        try {
+            AlertaEstoqueEventDTO event = new AlertaEstoqueEventDTO();
+            event.setTipoAlerta(tipoAlerta);
+            event.setProdutoId(produto.getId());
+            event.setProdutoDescricao(produto.getDescricao());
+            event.setQuantidadeAtual(produto.getQuantidadeEmEstoque());
+            event.setQuantidadeMinima(quantidadeMinima);
+            event.setTipoProduto(produto.getTipoProduto().getNome());
+            event.setPrioridade(prioridade);
+            event.setMensagem(mensagem);
+            event.setAcaoImediata(acaoImediata);
+            event.setUserId(userId);
+
+            eventBus.publicar(event);
+
+        } catch (Exception e) {
+            log.error("Erro ao publicar alerta de estoque no broker embutido", e);
+        }
+    }
+
+    /**
+     * Publica evento de auditoria.
+     */
+    @Override
+    public void publicarAuditoria(String acao, String entidade, Long entidadeId,
+                                String detalhes, String userId, String status, String erro) {
+        publicarAuditoria(AuditoriaEventDTO.de(acao, entidade, entidadeId, detalhes, userId, status, erro));
+    }
+
+    /**
+     * Publica evento de auditoria de um movimento de estoque.
+     */
+    @Override
+    public void publicarAuditoriaMovimento(String acao, Long movimentoId, Long produtoId, Integer quantidade,
+                                           String detalhes, String userId) {
+        publicarAuditoria(AuditoriaEventDTO.deMovimento(acao, movimentoId, produtoId, quantidade, detalhes, userId));
+    }
+
+    private void publicarAuditoria(AuditoriaEventDTO event) {
+        try {
+            eventBus.publicar(event);
+
+        } catch (Exception e) {
+            log.error("Erro ao publicar evento de auditoria no broker embutido", e);
+        }
+    }
+
+    /**
+     * Métricas de publicação do broker embutido.
+     */
+    public BrokerMetricasDTO getMetricas() {
+        BrokerMetricasDTO metricas = new BrokerMetricasDTO();
+        metricas.setNome("embedded");
+        metricas.setTipo(getType());
+        metricas.setEnfileirados(eventBus.getPublicados());
+        metricas.setPublicados(eventBus.getEntregues());
+        metricas.setFalhas(eventBus.getFalhas());
+        metricas.setDescartados(eventBus.getDescartados());
+        metricas.setPendentes(eventBus.getPendentes());
+        metricas.setCapacidade(eventBus.getCapacidade());
+        return metricas;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return eventBus.isRunning();
+    }
+
+    @Override
+    public String getType() {
+        return "Embedded";
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.LucroPorProdutoDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.dto.ProdutoPorTipoDTO;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository;
+import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import com.github.luben.zstd.ZstdOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação de movimentos e relatórios em CSV, escrita direto na saída da resposta.
+ *
+ * Os movimentos são lidos por cursor (arquivados e depois ativos, em ordem de data) e cada linha é
+ * escrita assim que lida, então a memória usada não depende do tamanho do período. A leitura roda em
+ * transação somente leitura, atendida pela réplica quando ela estiver habilitada.
+ */
+@Slf4j
+@Service
+public class ExportacaoService {
+
+    /**
+     * Compressão aplicada ao arquivo exportado.
+     */
+    public enum Compressao {
+        NENHUMA("", "text/csv"),
+        GZIP(".gz", "application/gzip"),
+        ZSTD(".zst", "application/zstd");
+
+        private final String extensao;
+        private final String contentType;
+
+        Compressao(String extensao, String contentType) {
+            this.extensao = extensao;
+            this.contentType = contentType;
+        }
+
+        public String nomeArquivo(String base) {
+            return base + ".csv" + extensao;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        OutputStream envolver(OutputStream saida) throws IOException {
+            return switch (this) {
+                case NENHUMA -> saida;
+                case GZIP -> new GZIPOutputStream(saida, TAMANHO_BUFFER);
+                case ZSTD -> new ZstdOutputStream(saida);
+            };
+        }
+    }
+
+    /** Início usado quando o período exportado não tem início. */
+    static final LocalDateTime INICIO_HISTORICO = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final String CABECALHO_MOVIMENTOS =
+            "id,data_movimento,tipo_movimentacao,quantidade_movimentada,valor_venda,produto_id";
+    private static final String CABECALHO_LUCRO = "id,descricao,total_unidades_vendidas,lucro_total";
+    private static final String CABECALHO_PRODUTOS_POR_TIPO = "id,descricao,total_saidas,quantidade_em_estoque";
+
+    private final MovimentoEstoqueRepository movimentoEstoqueRepository;
+    private final MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository;
+    private final TransactionTemplate leitura;
+
+    @Autowired
+    public ExportacaoService(MovimentoEstoqueRepository movimentoEstoqueRepository,
+                             MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.movimentoEstoqueRepository = movimentoEstoqueRepository;
+        this.movimentoEstoqueArquivoRepository = movimentoEstoqueArquivoRepository;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+    }
+
+    /**
+     * Valida o período de uma exportação de movimentos, antes de qualquer escrita na resposta.
+     *
+     * @param inicio Início do período (inclusivo)
+     * @param fim Fim do período (exclusivo)
+     * @throws RegraNegocioException se o início não for anterior ao fim
+     */
+    public void validarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio != null && fim != null && !inicio.isBefore(fim)) {
+            throw new RegraNegocioException("O início do período deve ser anterior ao fim");
+        }
+    }
+
+    /**
+     * Exporta os movimentos de estoque de um período, incluindo os arquivados.
+     *
+     * @param inicio Início do período (inclusivo); sem início, desde o primeiro movimento
+     * @param fim Fim do período (exclusivo); sem fim, até agora
+     * @param compressao Compressão do arquivo
+     * @param saida Destino do arquivo; é fechado ao final
+     * @return Quantidade de movimentos exportados
+     */
+    public long exportarMovimentos(LocalDateTime inicio, LocalDateTime fim, Compressao compressao,
+                                   OutputStream saida) throws IOException {
+        validarPeriodo(inicio, fim);
+        LocalDateTime inicioPeriodo = inicio != null ? inicio : INICIO_HISTORICO;
+        LocalDateTime fimPeriodo = fim != null ? fim : LocalDateTime.now();
+
+        try (Writer escritor = abrir(saida, compressao)) {
+            escritor.write(CABECALHO_MOVIMENTOS);
+            escritor.write('\n');
+            Long total = leitura.execute(status -> {
+                try (Stream<MovimentoEstoqueDTO> arquivados =
+                             movimentoEstoqueArquivoRepository.percorrerDTOsPorPeriodo(inicioPeriodo, fimPeriodo);
+                     Stream<MovimentoEstoqueDTO> ativos =
+                             movimentoEstoqueRepository.percorrerDTOsPorPeriodo(inicioPeriodo, fimPeriodo)) {
+                    return escreverMovimentos(escritor, arquivados.iterator()) + escreverMovimentos(escritor, ativos.iterator());
+                }
+            });
+            log.info("Exportados {} movimentos de {} a {}", total, inicioPeriodo, fimPeriodo);
+            return total;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Exporta o relatório de lucro por produto.
+     *
+     * @param relatorio Relatório gerado pelo {@link RelatorioService}
+     * @param compressao Compressão do arquivo
+     * @param saida Destino do arquivo; é fechado ao final
+     */
+    public void exportarLucroPorProduto(List<LucroPorProdutoDTO> relatorio, Compressao compressao,
+                                        OutputStream saida) throws IOException {
+        try (Writer escritor = abrir(saida, compressao)) {
+            escritor.write(CABECALHO_LUCRO);
+            escritor.write('\n');
+            for (LucroPorProdutoDTO linha : relatorio) {
+                escreverLinha(escritor, linha.getId(), linha.getDescricao(),
+                        linha.getTotalUnidadesVendidas(), linha.getLucroTotal());
+            }
+        }
+    }
+
+    /**
+     * Exporta o relatório de produtos de um tipo.
+     *
+     * @param relatorio Relatório gerado pelo {@link RelatorioService}
+     * @param compressao Compressão do arquivo
+     * @param saida Destino do arquivo; é fechado ao final
+     */
+    public void exportarProdutosPorTipo(List<ProdutoPorTipoDTO> relatorio, Compressao compressao,
+                                        OutputStream saida) throws IOException {
+        try (Writer escritor = abrir(saida, compressao)) {
+            escritor.write(CABECALHO_PRODUTOS_POR_TIPO);
+            escritor.write('\n');
+            for (ProdutoPorTipoDTO linha : relatorio) {
+                escreverLinha(escritor, linha.getId(), linha.getDescricao(),
+                        linha.getTotalSaidas(), linha.getQuantidadeEmEstoque());
+            }
+        }
+    }
+
+    private long escreverMovimentos(Writer escritor, Iterator<MovimentoEstoqueDTO> movimentos) {
+        long total = 0;
+        try {
+            while (movimentos.hasNext()) {
+                MovimentoEstoqueDTO movimento = movimentos.next();
+                escreverLinha(escritor, movimento.getId(), movimento.getDataMovimento(), movimento.getTipoMovimentacao(),
+                        movimento.getQuantidadeMovimentada(), movimento.getValorVenda(), movimento.getProdutoId());
+                total++;
+            }
+        } catch (IOException e) {
+            // Cliente desconectado: interrompe a leitura e libera o cursor
+            throw new UncheckedIOException(e);
+        }
+        return total;
+    }
+
+    private static Writer abrir(OutputStream saida, Compressao compressao) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(compressao.envolver(saida), StandardCharsets.UTF_8), TAMANHO_BUFFER);
+    }
+
+    private static void escreverLinha(Writer escritor, Object... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escreverCampo(escritor, campos[i]);
+        }
+        escritor.write('\n');
+    }
+
+    private static void escreverCampo(Writer escritor, Object campo) throws IOException {
+        if (campo == null) {
+            return;
+        }
+        String valor = campo instanceof BigDecimal decimal ? decimal.toPlainString() : campo.toString();
+        if (campo instanceof CharSequence && iniciaFormula(valor)) {
+            // Texto cadastrado que uma planilha interpretaria como fórmula vai com apóstrofo na frente
+            valor = "'" + valor;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+
+    private static boolean iniciaFormula(String valor) {
+        return !valor.isEmpty() && "=+-@\t\r".indexOf(valor.charAt(0)) >= 0;
+    }
+}
@@ -0,0 +1,457 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.ErroImportacaoDTO;
+import br.com.vortex.application.dto.ProdutoDTO;
+import br.com.vortex.application.dto.ResultadoImportacaoCatalogoDTO;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.repository.TipoProdutoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa do catálogo de produtos a partir de CSV ou NDJSON.
+ *
+ * O arquivo é lido em blocos de linhas; cada bloco é validado em paralelo em um pool fork-join
+ * próprio da importação e as linhas válidas são gravadas com {@code MERGE} pelo código (SKU), em
+ * lotes JDBC de uma transação cada. Os tipos de produto são resolvidos pelo nome em um mapa
+ * carregado no início, sem consulta por linha. Linhas inválidas ou recusadas pelo banco entram no
+ * relatório de erros sem interromper a importação.
+ *
+ * Produtos existentes têm descrição, valor e tipo atualizados; a quantidade em estoque só é usada
+ * na criação, já que depois dela o saldo é mantido pelos movimentos.
+ */
+@Slf4j
+@Service
+public class ImportacaoCatalogoService {
+
+    /**
+     * Formato do arquivo importado.
+     */
+    public enum Formato {
+        /** Cabeçalho com as colunas codigo, descricao, valor_fornecedor, quantidade_em_estoque e tipo_produto. */
+        CSV,
+        /** Um objeto JSON por linha, com os campos codigo, descricao, valorFornecedor, quantidadeEmEstoque e tipoProduto. */
+        NDJSON
+    }
+
+    private static final List<String> COLUNAS_CSV =
+            List.of("codigo", "descricao", "valor_fornecedor", "quantidade_em_estoque", "tipo_produto");
+
+    /** Mesmo incremento da sequência e do allocationSize de Produto (otimizador pooled-lo). */
+    private static final int BLOCO_IDS = 50;
+
+    private final TipoProdutoRepository tipoProdutoRepository;
+    private final CacheCatalogoService cacheCatalogoService;
+    private final MessageBrokerService messageBrokerService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String mergeProduto;
+    private final String proximoBlocoIds;
+    private final int paralelismo;
+    private final int linhasPorBloco;
+    private final int tamanhoLote;
+    private final int maxErros;
+
+    @Autowired
+    public ImportacaoCatalogoService(TipoProdutoRepository tipoProdutoRepository,
+                                     CacheCatalogoService cacheCatalogoService,
+                                     MessageBrokerService messageBrokerService,
+                                     Validator validator,
+                                     ObjectMapper objectMapper,
+                                     DataSource dataSource,
+                                     PlatformTransactionManager transactionManager,
+                                     EntityManagerFactory entityManagerFactory,
+                                     @Value("${importacao.catalogo.paralelismo:0}") int paralelismo,
+                                     @Value("${importacao.catalogo.linhas-por-bloco:5000}") int linhasPorBloco,
+                                     @Value("${importacao.catalogo.tamanho-lote:500}") int tamanhoLote,
+                                     @Value("${importacao.catalogo.max-erros:10000}") int maxErros) {
+        this.tipoProdutoRepository = tipoProdutoRepository;
+        this.cacheCatalogoService = cacheCatalogoService;
+        this.messageBrokerService = messageBrokerService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.linhasPorBloco = linhasPorBloco;
+        this.tamanhoLote = tamanhoLote;
+        this.maxErros = maxErros;
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.proximoBlocoIds = dialect.getSequenceSupport().getSequenceNextValString("produto_seq");
+        this.mergeProduto = "MERGE INTO produto p USING (SELECT CAST(? AS NUMERIC(19)) id, CAST(? AS VARCHAR(64)) codigo, "
+                + "CAST(? AS VARCHAR(255)) descricao, CAST(? AS NUMERIC(38, 2)) valor_fornecedor, "
+                + "CAST(? AS INTEGER) quantidade_em_estoque, CAST(? AS NUMERIC(19)) tipo_produto_id"
+                + dialect.getFromDualForSelectOnly() + ") s ON (p.codigo = s.codigo) "
+                + "WHEN MATCHED THEN UPDATE SET p.descricao = s.descricao, p.valor_fornecedor = s.valor_fornecedor, "
+                + "p.tipo_produto_id = s.tipo_produto_id, p.versao = p.versao + 1 "
+                + "WHEN NOT MATCHED THEN INSERT (id, codigo, descricao, valor_fornecedor, quantidade_em_estoque, tipo_produto_id) "
+                + "VALUES (s.id, s.codigo, s.descricao, s.valor_fornecedor, s.quantidade_em_estoque, s.tipo_produto_id)";
+    }
+
+    /**
+     * Importa o catálogo lido da entrada, linha a linha.
+     *
+     * @param entrada Conteúdo do arquivo, em UTF-8
+     * @param formato Formato do arquivo
+     * @return Totais da importação e erros por linha
+     * @throws RegraNegocioException se o cabeçalho do CSV não tiver as colunas esperadas
+     */
+    public ResultadoImportacaoCatalogoDTO importar(InputStream entrada, Formato formato) throws IOException {
+        Importacao importacao = new Importacao(tiposPorNome());
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+             ForkJoinPool pool = new ForkJoinPool(paralelismo)) {
+            long numeroLinha = 0;
+            Map<String, Integer> colunas = null;
+            if (formato == Formato.CSV) {
+                colunas = lerCabecalho(leitor.readLine());
+                numeroLinha++;
+            }
+
+            List<LinhaArquivo> bloco = new ArrayList<>(linhasPorBloco);
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (texto.isBlank()) {
+                    continue;
+                }
+                bloco.add(new LinhaArquivo(numeroLinha, texto));
+                if (bloco.size() == linhasPorBloco) {
+                    processarBloco(pool, bloco, formato, colunas, importacao);
+                    bloco = new ArrayList<>(linhasPorBloco);
+                }
+            }
+            if (!bloco.isEmpty()) {
+                processarBloco(pool, bloco, formato, colunas, importacao);
+            }
+        } finally {
+            // As gravações via JDBC não passam pelo cache de segundo nível, nem aqui nem nas demais instâncias
+            cacheCatalogoService.invalidarProduto(null);
+            if (messageBrokerService.isAvailable()) {
+                messageBrokerService.publicarInvalidacaoCacheProduto(null);
+            }
+        }
+
+        ResultadoImportacaoCatalogoDTO resultado = importacao.resultado;
+        log.info("Importação do catálogo concluída: {} linhas, {} inseridos, {} atualizados, {} rejeitados",
+                resultado.getLinhasLidas(), resultado.getInseridos(), resultado.getAtualizados(), resultado.getRejeitados());
+        return resultado;
+    }
+
+    private void processarBloco(ForkJoinPool pool, List<LinhaArquivo> bloco, Formato formato,
+                                Map<String, Integer> colunas, Importacao importacao) {
+        List<LinhaValidada> validadas = pool.submit(() -> bloco.parallelStream()
+                .map(linha -> validar(linha, formato, colunas, importacao.tipos))
+                .toList()).join();
+        importacao.resultado.setLinhasLidas(importacao.resultado.getLinhasLidas() + bloco.size());
+
+        List<LinhaValidada> lote = new ArrayList<>(tamanhoLote);
+        for (LinhaValidada linha : validadas) {
+            if (linha.erro() != null) {
+                importacao.rejeitar(linha.numero(), linha.codigo(), linha.erro());
+                continue;
+            }
+            lote.add(linha);
+            if (lote.size() == tamanhoLote) {
+                gravarLote(lote, importacao);
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote, importacao);
+        }
+    }
+
+    private void gravarLote(List<LinhaValidada> lote, Importacao importacao) {
+        for (LinhaValidada linha : lote) {
+            linha.produto().setId(importacao.proximoId());
+        }
+        try {
+            Set<String> existentes = transactionTemplate.execute(status -> {
+                Set<String> codigos = codigosExistentes(lote);
+                jdbcTemplate.batchUpdate(mergeProduto, lote, lote.size(), (ps, linha) -> preencher(ps, linha.produto()));
+                return codigos;
+            });
+            contar(lote, existentes, importacao);
+        } catch (DataAccessException e) {
+            // Uma linha recusada pelo banco desfaz o lote; as linhas são regravadas uma a uma para isolar a falha
+            log.debug("Lote da linha {} recusado, gravando linha a linha: {}", lote.get(0).numero(), e.getMessage());
+            for (LinhaValidada linha : lote) {
+                gravarLinha(linha, importacao);
+            }
+        }
+    }
+
+    private void gravarLinha(LinhaValidada linha, Importacao importacao) {
+        try {
+            Set<String> existentes = transactionTemplate.execute(status -> {
+                Set<String> codigos = codigosExistentes(List.of(linha));
+                jdbcTemplate.update(mergeProduto, ps -> preencher(ps, linha.produto()));
+                return codigos;
+            });
+            contar(List.of(linha), existentes, importacao);
+        } catch (DataAccessException e) {
+            importacao.rejeitar(linha.numero(), linha.codigo(), "Recusado pelo banco: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private Set<String> codigosExistentes(List<LinhaValidada> lote) {
+        List<String> codigos = lote.stream().map(LinhaValidada::codigo).distinct().toList();
+        String marcadores = String.join(", ", Collections.nCopies(codigos.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT codigo FROM produto WHERE codigo IN (" + marcadores + ")", String.class, codigos.toArray()));
+    }
+
+    private static void contar(List<LinhaValidada> lote, Set<String> existentes, Importacao importacao) {
+        Set<String> vistos = new HashSet<>(existentes);
+        for (LinhaValidada linha : lote) {
+            if (vistos.add(linha.codigo())) {
+                importacao.resultado.setInseridos(importacao.resultado.getInseridos() + 1);
+            } else {
+                importacao.resultado.setAtualizados(importacao.resultado.getAtualizados() + 1);
+            }
+        }
+    }
+
+    private static void preencher(PreparedStatement ps, ProdutoDTO produto) throws SQLException {
+        ps.setLong(1, produto.getId());
+        ps.setString(2, produto.getCodigo());
+        ps.setString(3, produto.getDescricao());
+        ps.setBigDecimal(4, produto.getValorFornecedor());
+        if (produto.getQuantidadeEmEstoque() != null) {
+            ps.setInt(5, produto.getQuantidadeEmEstoque());
+        } else {
+            ps.setInt(5, 0);
+        }
+        ps.setLong(6, produto.getTipoProdutoId());
+    }
+
+    private LinhaValidada validar(LinhaArquivo linha, Formato formato, Map<String, Integer> colunas,
+                                  Map<String, Long> tipos) {
+        CamposProduto campos;
+        try {
+            campos = formato == Formato.CSV ? lerCsv(linha.texto(), colunas) : lerNdjson(linha.texto());
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return LinhaValidada.comErro(linha.numero(), null, "Linha malformada: " + e.getMessage());
+        }
+
+        String codigo = campos.codigo();
+        if (codigo == null || codigo.isBlank()) {
+            return LinhaValidada.comErro(linha.numero(), null, "O código do produto é obrigatório");
+        }
+
+        ProdutoDTO produto = new ProdutoDTO();
+        produto.setCodigo(codigo);
+        produto.setDescricao(campos.descricao());
+        List<String> erros = new ArrayList<>();
+        try {
+            produto.setValorFornecedor(campos.valorFornecedor() != null ? new BigDecimal(campos.valorFornecedor()) : null);
+            if (produto.getValorFornecedor() != null && produto.getValorFornecedor().scale() > 2) {
+                erros.add("O valor do fornecedor deve ter no máximo 2 casas decimais");
+            }
+        } catch (NumberFormatException e) {
+            erros.add("Valor do fornecedor inválido: " + campos.valorFornecedor());
+        }
+        try {
+            produto.setQuantidadeEmEstoque(campos.quantidadeEmEstoque() != null ? Integer.valueOf(campos.quantidadeEmEstoque()) : null);
+        } catch (NumberFormatException e) {
+            erros.add("Quantidade em estoque inválida: " + campos.quantidadeEmEstoque());
+        }
+        if (campos.tipoProduto() != null && !campos.tipoProduto().isBlank()) {
+            produto.setTipoProdutoId(tipos.get(normalizarNome(campos.tipoProduto())));
+            if (produto.getTipoProdutoId() == null) {
+                erros.add("Tipo de produto não encontrado: " + campos.tipoProduto());
+            }
+        } else {
+            erros.add("O tipo de produto é obrigatório");
+        }
+        for (ConstraintViolation<ProdutoDTO> violacao : validator.validate(produto)) {
+            if (!"tipoProdutoId".equals(violacao.getPropertyPath().toString())) {
+                erros.add(violacao.getMessage());
+            }
+        }
+
+        if (!erros.isEmpty()) {
+            return LinhaValidada.comErro(linha.numero(), codigo, String.join("; ", erros));
+        }
+        return new LinhaValidada(linha.numero(), codigo, produto, null);
+    }
+
+    private static Map<String, Integer> lerCabecalho(String cabecalho) {
+        if (cabecalho == null) {
+            throw new RegraNegocioException("Arquivo vazio: o CSV deve começar pelo cabeçalho " + String.join(",", COLUNAS_CSV));
+        }
+        List<String> nomes = dividirCsv(cabecalho.replace("\uFEFF", ""));
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> faltando = COLUNAS_CSV.stream().filter(coluna -> !colunas.containsKey(coluna)).toList();
+        if (!faltando.isEmpty()) {
+            throw new RegraNegocioException("Colunas ausentes no cabeçalho do CSV: " + String.join(", ", faltando));
+        }
+        return colunas;
+    }
+
+    private static CamposProduto lerCsv(String texto, Map<String, Integer> colunas) {
+        List<String> valores = dividirCsv(texto);
+        return new CamposProduto(
+                valorCsv(valores, colunas, "codigo"),
+                valorCsv(valores, colunas, "descricao"),
+                valorCsv(valores, colunas, "valor_fornecedor"),
+                valorCsv(valores, colunas, "quantidade_em_estoque"),
+                valorCsv(valores, colunas, "tipo_produto"));
+    }
+
+    private static String valorCsv(List<String> valores, Map<String, Integer> colunas, String coluna) {
+        int indice = colunas.get(coluna);
+        if (indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Divide uma linha CSV (RFC 4180, sem quebras de linha dentro dos campos).
+     */
+    private static List<String> dividirCsv(String texto) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private CamposProduto lerNdjson(String texto) throws JsonProcessingException {
+        JsonNode no = objectMapper.readTree(texto);
+        if (!no.isObject()) {
+            throw new IllegalArgumentException("cada linha deve ser um objeto JSON");
+        }
+        return new CamposProduto(texto(no, "codigo"), texto(no, "descricao"), texto(no, "valorFornecedor"),
+                texto(no, "quantidadeEmEstoque"), texto(no, "tipoProduto"));
+    }
+
+    private static String texto(JsonNode no, String campo) {
+        JsonNode valor = no.get(campo);
+        return valor == null || valor.isNull() ? null : valor.asText().trim();
+    }
+
+    private Map<String, Long> tiposPorNome() {
+        return tipoProdutoRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(tipo -> normalizarNome(tipo.getNome()), TipoProduto::getId));
+    }
+
+    private static String normalizarNome(String nome) {
+        return nome.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record LinhaArquivo(long numero, String texto) {
+    }
+
+    private record CamposProduto(String codigo, String descricao, String valorFornecedor,
+                                 String quantidadeEmEstoque, String tipoProduto) {
+    }
+
+    private record LinhaValidada(long numero, String codigo, ProdutoDTO produto, String erro) {
+
+        static LinhaValidada comErro(long numero, String codigo, String erro) {
+            return new LinhaValidada(numero, codigo, null, erro);
+        }
+    }
+
+    /**
+     * Estado de uma importação: tipos resolvidos, IDs reservados e resultado parcial.
+     * Usado só pela thread que lê o arquivo; a validação paralela não o altera.
+     */
+    private class Importacao {
+
+        private final Map<String, Long> tipos;
+        private final ResultadoImportacaoCatalogoDTO resultado = new ResultadoImportacaoCatalogoDTO();
+        private long proximoId;
+        private long limiteIds;
+
+        Importacao(Map<String, Long> tipos) {
+            this.tipos = tipos;
+        }
+
+        /**
+         * Reserva IDs como o otimizador pooled-lo do Hibernate: cada nextval dá o bloco [valor, valor + 49].
+         */
+        long proximoId() {
+            if (proximoId == limiteIds) {
+                proximoId = jdbcTemplate.queryForObject(proximoBlocoIds, Long.class);
+                limiteIds = proximoId + BLOCO_IDS;
+            }
+            return proximoId++;
+        }
+
+        void rejeitar(long linha, String codigo, String mensagem) {
+            resultado.setRejeitados(resultado.getRejeitados() + 1);
+            if (resultado.getErros().size() < maxErros) {
+                resultado.getErros().add(new ErroImportacaoDTO(linha, codigo, mensagem));
+            }
+        }
+    }
+}
@@ -1,44 +1,65 @@
 package br.com.vortex.application.service;
 
 import br.com.vortex.application.dto.*;
+import br.com.vortex.application.integracao.PipelineIntegracaoService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
  * Serviço de integração externa para integração com Kafka.
- * Este é um stub básico que pode ser expandido conforme necessário.
+ *
+ * Movimentos e alterações de produto são repassados ao {@link PipelineIntegracaoService},
+ * que agrupa por produto e envia em lote aos sistemas externos configurados. Pedidos de
+ * reposição e tickets urgentes passam pelo {@link ReposicaoAutomaticaService}, que
+ * descarta alertas repetidos antes de qualquer chamada externa.
  */
 @Slf4j
 @Service
 public class IntegracaoExternaService {
 
+    private final PipelineIntegracaoService pipelineIntegracao;
+    private final ReposicaoAutomaticaService reposicaoAutomaticaService;
+
+    @Autowired
+    public IntegracaoExternaService(PipelineIntegracaoService pipelineIntegracao,
+                                    ReposicaoAutomaticaService reposicaoAutomaticaService) {
+        this.pipelineIntegracao = pipelineIntegracao;
+        this.reposicaoAutomaticaService = reposicaoAutomaticaService;
+    }
+
     public void sincronizarMovimentoEstoque(MovimentoEstoqueEventDTO event) {
-        log.info("Sincronizando movimento com sistemas externos: {}", event.getMovimentoId());
-        // Implementar sincronização com ERP, WMS, etc.
+        log.debug("Sincronizando movimento com sistemas externos: {}", event.getMovimentoId());
+        pipelineIntegracao.registrar(ItemSincronizacaoDTO.deMovimento(event));
     }
 
     public void criarPedidoReposicaoAutomatico(AlertaEstoqueEventDTO event) {
-        log.info("Criando pedido de reposição automático para produto: {}", event.getProdutoId());
-        // Implementar criação automática de pedido de reposição
+        reposicaoAutomaticaService.abrirPedido(event).ifPresentOrElse(
+                pedido -> log.info("Criando pedido de reposição automático {} para produto: {}", pedido.getId(), event.getProdutoId()),
+                () -> log.debug("Produto {} já possui pedido de reposição aberto; alerta {} ignorado",
+                        event.getProdutoId(), event.getEventId()));
     }
 
     public void criarTicketUrgente(AlertaEstoqueEventDTO event) {
-        log.warn("Criando ticket urgente para produto: {}", event.getProdutoId());
-        // Implementar criação de ticket urgente
+        if (reposicaoAutomaticaService.registrarTicket(event)) {
+            log.warn("Criando ticket urgente para produto: {}", event.getProdutoId());
+        } else {
+            log.debug("Ticket urgente do produto {} já criado; alerta {} ignorado", event.getProdutoId(), event.getEventId());
+        }
     }
 
     public void sincronizarProdutoExterno(ProdutoEventDTO event) {
-        log.info("Sincronizando produto com catálogo externo: {}", event.getProdutoId());
-        // Implementar sincronização com catálogo externo
+        log.debug("Sincronizando produto com catálogo externo: {}", event.getProdutoId());
+        pipelineIntegracao.registrar(ItemSincronizacaoDTO.deProduto(event, ItemSincronizacaoDTO.OPERACAO_ATUALIZAR));
     }
 
     public void atualizarProdutoExterno(ProdutoEventDTO event) {
-        log.info("Atualizando produto em sistemas externos: {}", event.getProdutoId());
-        // Implementar atualização em sistemas externos
+        log.debug("Atualizando produto em sistemas externos: {}", event.getProdutoId());
+        pipelineIntegracao.registrar(ItemSincronizacaoDTO.deProduto(event, ItemSincronizacaoDTO.OPERACAO_ATUALIZAR));
     }
 
     public void removerProdutoExterno(ProdutoEventDTO event) {
-        log.info("Removendo produto de sistemas externos: {}", event.getProdutoId());
-        // Implementar remoção de sistemas externos
+        log.debug("Removendo produto de sistemas externos: {}", event.getProdutoId());
+        pipelineIntegracao.registrar(ItemSincronizacaoDTO.deProduto(event, ItemSincronizacaoDTO.OPERACAO_REMOVER));
     }
-} 
\ No newline at end of file
+}
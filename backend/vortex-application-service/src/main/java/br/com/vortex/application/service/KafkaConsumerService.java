@@ -14,7 +14,7 @@ import org.springframework.stereotype.Service;
 /**
  * Serviço responsável por consumir eventos do Apache Kafka.
  * 
- * Este serviço processa:
+ * Cuida da entrega (deduplicação e confirmação) e encaminha ao {@link ProcessadorEventosBroker}:
  * - Eventos de movimentação de estoque para analytics
  * - Alertas de estoque para notificações
  * - Eventos de auditoria para compliance
@@ -26,13 +26,10 @@ import org.springframework.stereotype.Service;
 public class KafkaConsumerService {
 
     @Autowired
-    private NotificacaoService notificacaoService;
+    private ProcessadorEventosBroker processadorEventos;
 
     @Autowired
-    private AnalyticsService analyticsService;
-
-    @Autowired
-    private IntegracaoExternaService integracaoExternaService;
+    private RegistroMensagensProcessadas registroMensagens;
 
     // ================================
     // CONSUMER DE MOVIMENTOS DE ESTOQUE
@@ -46,21 +43,18 @@ public class KafkaConsumerService {
                                         @Header(KafkaHeaders.OFFSET) long offset,
                                         Acknowledgment acknowledgment) {
         try {
+            if (registroMensagens.jaProcessada(ProcessadorEventosBroker.CONSUMIDOR_MOVIMENTOS, event.getEventId())) {
+                log.debug("Evento {} já processado, reentrega descartada", event.getEventId());
+                acknowledgment.acknowledge();
+                return;
+            }
+
             log.info("Processando evento de movimento de estoque - Produto: {}, Tipo: {}, Quantidade: {}", 
                 event.getProdutoId(), event.getTipoMovimentacao(), event.getQuantidadeMovimentada());
 
-            // 1. Atualizar analytics em tempo real
-            analyticsService.processarMovimentoEstoque(event);
-
-            // 2. Verificar se precisa gerar alertas
-            verificarAlertas(event);
-
-            // 3. Integrar com sistemas externos (ERP, WMS, etc.)
-            integracaoExternaService.sincronizarMovimentoEstoque(event);
-
-            // 4. Atualizar dashboards em tempo real
-            notificacaoService.atualizarDashboard(event);
+            processadorEventos.processarMovimentoEstoque(event);
 
+            registroMensagens.registrar(ProcessadorEventosBroker.CONSUMIDOR_MOVIMENTOS, event.getEventId());
             acknowledgment.acknowledge();
             log.debug("Evento de movimento processado com sucesso - Key: {}, Offset: {}", key, offset);
 
@@ -79,21 +73,18 @@ public class KafkaConsumerService {
                                      @Header(KafkaHeaders.RECEIVED_KEY) String key,
                                      Acknowledgment acknowledgment) {
         try {
+            if (registroMensagens.jaProcessada(ProcessadorEventosBroker.CONSUMIDOR_PRODUTOS, event.getEventId())) {
+                log.debug("Evento {} já processado, reentrega descartada", event.getEventId());
+                acknowledgment.acknowledge();
+                return;
+            }
+
             log.info("Processando evento de produto - Ação: {}, Produto: {}", 
                 event.getAction(), event.getProdutoId());
 
-            switch (event.getAction()) {
-                case "CREATED":
-                    processarProdutoCriado(event);
-                    break;
-                case "UPDATED":
-                    processarProdutoAtualizado(event);
-                    break;
-                case "DELETED":
-                    processarProdutoExcluido(event);
-                    break;
-            }
+            processadorEventos.processarEventoProduto(event);
 
+            registroMensagens.registrar(ProcessadorEventosBroker.CONSUMIDOR_PRODUTOS, event.getEventId());
             acknowledgment.acknowledge();
 
         } catch (Exception e) {
@@ -110,25 +101,18 @@ public class KafkaConsumerService {
                                      @Header(KafkaHeaders.RECEIVED_KEY) String key,
                                      Acknowledgment acknowledgment) {
         try {
+            if (registroMensagens.jaProcessada(ProcessadorEventosBroker.CONSUMIDOR_ALERTAS, event.getEventId())) {
+                log.debug("Evento {} já processado, reentrega descartada", event.getEventId());
+                acknowledgment.acknowledge();
+                return;
+            }
+
             log.warn("Processando alerta de estoque - Tipo: {}, Produto: {}, Quantidade: {}", 
                 event.getTipoAlerta(), event.getProdutoId(), event.getQuantidadeAtual());
 
-            // 1. Enviar notificações por email/SMS
-            notificacaoService.enviarAlertaEstoque(event);
-
-            // 2. Atualizar dashboard com alertas
-            notificacaoService.atualizarDashboardAlertas(event);
-
-            // 3. Se for crítico, integrar com sistema de compras
-            if ("CRITICAL".equals(event.getPrioridade()) || event.getAcaoImediata()) {
-                integracaoExternaService.criarPedidoReposicaoAutomatico(event);
-            }
-
-            // 4. Registrar no sistema de tickets (se necessário)
-            if (event.getAcaoImediata()) {
-                integracaoExternaService.criarTicketUrgente(event);
-            }
+            processadorEventos.processarAlertaEstoque(event);
 
+            registroMensagens.registrar(ProcessadorEventosBroker.CONSUMIDOR_ALERTAS, event.getEventId());
             acknowledgment.acknowledge();
 
         } catch (Exception e) {
@@ -145,20 +129,18 @@ public class KafkaConsumerService {
                                  @Header(KafkaHeaders.RECEIVED_KEY) String key,
                                  Acknowledgment acknowledgment) {
         try {
+            if (registroMensagens.jaProcessada(ProcessadorEventosBroker.CONSUMIDOR_AUDITORIA, event.getEventId())) {
+                log.debug("Evento {} já processado, reentrega descartada", event.getEventId());
+                acknowledgment.acknowledge();
+                return;
+            }
+
             log.debug("Processando evento de auditoria - Ação: {}, Entidade: {}", 
                 event.getAcao(), event.getEntidade());
 
-            // 1. Armazenar em sistema de auditoria
-            analyticsService.registrarAuditoria(event);
-
-            // 2. Verificar se é uma operação suspeita
-            if (analyticsService.isOperacaoSuspeita(event)) {
-                notificacaoService.enviarAlertaSeguranca(event);
-            }
-
-            // 3. Atualizar métricas de compliance
-            analyticsService.atualizarMetricasCompliance(event);
+            processadorEventos.processarAuditoria(event);
 
+            registroMensagens.registrar(ProcessadorEventosBroker.CONSUMIDOR_AUDITORIA, event.getEventId());
             acknowledgment.acknowledge();
 
         } catch (Exception e) {
@@ -166,44 +148,4 @@ public class KafkaConsumerService {
         }
     }
 
-    // ================================
-    // MÉTODOS AUXILIARES
-    // ================================
-
-    private void verificarAlertas(MovimentoEstoqueEventDTO event) {
-        // Verificar se o estoque está baixo após a movimentação
-        if (event.getEstoqueAtual() <= 10 && event.getEstoqueAtual() > 0) {
-            log.warn("Estoque baixo detectado após movimentação - Produto: {}, Quantidade: {}", 
-                event.getProdutoId(), event.getEstoqueAtual());
-        } else if (event.getEstoqueAtual() <= 0) {
-            log.error("Produto esgotado após movimentação - Produto: {}", event.getProdutoId());
-        }
-    }
-
-    private void processarProdutoCriado(ProdutoEventDTO event) {
-        // Integrar com catálogo de produtos externo
-        integracaoExternaService.sincronizarProdutoExterno(event);
-        
-        // Notificar equipe de compras sobre novo produto
-        notificacaoService.notificarNovoProduto(event);
-    }
-
-    private void processarProdutoAtualizado(ProdutoEventDTO event) {
-        // Sincronizar mudanças com sistemas externos
-        integracaoExternaService.atualizarProdutoExterno(event);
-        
-        // Se houve mudança significativa no preço, notificar
-        if (event.getDadosAnteriores() != null && 
-            !event.getValorFornecedor().equals(event.getDadosAnteriores().getValorFornecedor())) {
-            notificacaoService.notificarMudancaPreco(event);
-        }
-    }
-
-    private void processarProdutoExcluido(ProdutoEventDTO event) {
-        // Remover de sistemas externos
-        integracaoExternaService.removerProdutoExterno(event);
-        
-        // Notificar sobre descontinuação
-        notificacaoService.notificarProdutoDescontinuado(event);
-    }
-} 
\ No newline at end of file
+}
@@ -151,6 +151,22 @@ public class KafkaProducerService implements MessageBrokerService {
         }
     }
 
+    /**
+     * Publica a invalidação do cache do produto no tópico de eventos de produto.
+     */
+    @Override
+    public void publicarInvalidacaoCacheProduto(Long produtoId) {
+        if (!kafkaEnabled) return;
+
+        try {
+            String key = "produto-" + produtoId;
+            publishEventWithFallback(produtoEventsTopic, key, ProdutoEventDTO.invalidacaoCache(produtoId),
+                "invalidação de cache do produto " + produtoId);
+        } catch (Exception e) {
+            log.error("Erro ao publicar invalidação de cache do produto {}", produtoId, e);
+        }
+    }
+
     /**
      * Publica alerta de estoque baixo.
      */
@@ -208,20 +224,24 @@ public class KafkaProducerService implements MessageBrokerService {
      */
     public void publicarAuditoria(String acao, String entidade, Long entidadeId, 
                                 String detalhes, String userId, String status, String erro) {
+        publicarAuditoria(AuditoriaEventDTO.de(acao, entidade, entidadeId, detalhes, userId, status, erro));
+    }
+
+    /**
+     * Publica evento de auditoria de um movimento de estoque.
+     */
+    @Override
+    public void publicarAuditoriaMovimento(String acao, Long movimentoId, Long produtoId, Integer quantidade,
+                                           String detalhes, String userId) {
+        publicarAuditoria(AuditoriaEventDTO.deMovimento(acao, movimentoId, produtoId, quantidade, detalhes, userId));
+    }
+
+    private void publicarAuditoria(AuditoriaEventDTO event) {
         if (!kafkaEnabled) return;
 
         try {
-            AuditoriaEventDTO event = new AuditoriaEventDTO();
-            event.setAcao(acao);
-            event.setEntidade(entidade);
-            event.setEntidadeId(entidadeId);
-            event.setDetalhes(detalhes);
-            event.setResultado(status);
-            event.setMensagemErro(erro);
-            event.setUserId(userId);
-
-            String key = "auditoria-" + entidade + "-" + entidadeId;
-            publishEventWithFallback(auditoriaTopic, key, event, "auditoria " + acao);
+            String key = "auditoria-" + event.getEntidade() + "-" + event.getEntidadeId();
+            publishEventWithFallback(auditoriaTopic, key, event, "auditoria " + event.getAcao());
 
         } catch (Exception e) {
             log.error("Erro ao publicar evento de auditoria", e);
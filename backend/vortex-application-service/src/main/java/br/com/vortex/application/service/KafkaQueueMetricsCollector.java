@@ -0,0 +1,182 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coleta offsets finais e lag dos grupos de consumidores dos tópicos Kafka.
+ *
+ * A cada coleta são feitas quatro chamadas ao AdminClient, independentemente do
+ * número de tópicos e de grupos: descrição dos tópicos, offsets finais de todas as
+ * partições, offsets confirmados de todos os grupos (em uma única requisição) e
+ * descrição dos grupos (membros ativos).
+ * O lag de uma partição é a diferença entre o offset final e o offset confirmado;
+ * quando mais de um grupo consome o tópico, vale o maior lag.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true")
+public class KafkaQueueMetricsCollector implements QueueMetricsCollector, DisposableBean {
+
+    private final Supplier<Admin> fabricaAdmin;
+    private final List<String> topicos;
+    private final List<String> grupos;
+    private final long timeoutMillis;
+
+    private volatile Admin admin;
+
+    @Autowired
+    public KafkaQueueMetricsCollector(@Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                                      @Value("${monitoramento.filas.kafka.grupos:vortex-movimento-group,vortex-produto-group,vortex-alertas-group,vortex-auditoria-group}") List<String> grupos,
+                                      @Value("${monitoramento.filas.timeout-ms:5000}") long timeoutMillis,
+                                      List<NewTopic> topicos) {
+        this(() -> {
+            Properties props = new Properties();
+            props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+            props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) timeoutMillis);
+            props.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, (int) timeoutMillis);
+            props.put(AdminClientConfig.CLIENT_ID_CONFIG, "vortex-queue-metrics");
+            return Admin.create(props);
+        }, topicos.stream().map(NewTopic::name).toList(), grupos, timeoutMillis);
+    }
+
+    KafkaQueueMetricsCollector(Supplier<Admin> fabricaAdmin, List<String> topicos, List<String> grupos, long timeoutMillis) {
+        this.fabricaAdmin = fabricaAdmin;
+        this.topicos = topicos;
+        this.grupos = grupos;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String getTipo() {
+        return "Kafka";
+    }
+
+    @Override
+    public List<AmostraFilaDTO> coletar() throws Exception {
+        Admin cliente = obterAdmin();
+
+        // 1. Partições de cada tópico
+        Map<String, TopicDescription> descricoes = cliente.describeTopics(topicos).allTopicNames()
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        Map<TopicPartition, OffsetSpec> consulta = new HashMap<>();
+        descricoes.values().forEach(descricao -> descricao.partitions().forEach(particao ->
+                consulta.put(new TopicPartition(descricao.name(), particao.partition()), OffsetSpec.latest())));
+
+        // 2. Offsets finais
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> offsetsFinais = cliente.listOffsets(consulta).all()
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        // 3. Offsets confirmados de todos os grupos
+        Map<String, ListConsumerGroupOffsetsSpec> consultaGrupos = new HashMap<>();
+        grupos.forEach(grupo -> consultaGrupos.put(grupo, new ListConsumerGroupOffsetsSpec()));
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> confirmadosPorGrupo = cliente
+                .listConsumerGroupOffsets(consultaGrupos).all()
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        // 4. Membros ativos por grupo
+        Map<String, ConsumerGroupDescription> descricoesGrupos = cliente.describeConsumerGroups(grupos).all()
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        List<AmostraFilaDTO> amostras = new ArrayList<>(topicos.size());
+        for (String topico : topicos) {
+            TopicDescription descricao = descricoes.get(topico);
+            if (descricao == null) {
+                continue;
+            }
+
+            long offsetFinalTotal = 0;
+            Map<Integer, Long> lagPorParticao = new TreeMap<>();
+            for (var particao : descricao.partitions()) {
+                TopicPartition tp = new TopicPartition(topico, particao.partition());
+                ListOffsetsResult.ListOffsetsResultInfo info = offsetsFinais.get(tp);
+                long offsetFinal = info != null ? info.offset() : 0L;
+                offsetFinalTotal += offsetFinal;
+
+                long maiorLag = -1;
+                for (Map<TopicPartition, OffsetAndMetadata> confirmados : confirmadosPorGrupo.values()) {
+                    OffsetAndMetadata confirmado = confirmados.get(tp);
+                    if (confirmado != null) {
+                        maiorLag = Math.max(maiorLag, Math.max(0, offsetFinal - confirmado.offset()));
+                    }
+                }
+                if (maiorLag >= 0) {
+                    lagPorParticao.put(particao.partition(), maiorLag);
+                }
+            }
+
+            int consumidores = 0;
+            for (Map.Entry<String, Map<TopicPartition, OffsetAndMetadata>> grupo : confirmadosPorGrupo.entrySet()) {
+                ConsumerGroupDescription descricaoGrupo = descricoesGrupos.get(grupo.getKey());
+                if (descricaoGrupo == null) {
+                    continue;
+                }
+                consumidores += (int) descricaoGrupo.members().stream()
+                        .filter(membro -> membro.assignment().topicPartitions().stream()
+                                .anyMatch(tp -> tp.topic().equals(topico)))
+                        .count();
+            }
+
+            long lagTotal = lagPorParticao.values().stream().mapToLong(Long::longValue).sum();
+
+            AmostraFilaDTO amostra = new AmostraFilaDTO();
+            amostra.setNome(topico);
+            amostra.setTipo(getTipo());
+            amostra.setMensagens(lagTotal);
+            amostra.setLag(lagTotal);
+            amostra.setOffsetFinal(offsetFinalTotal);
+            amostra.setLagPorParticao(lagPorParticao);
+            amostra.setConsumidores(consumidores);
+            amostras.add(amostra);
+        }
+        return amostras;
+    }
+
+    private Admin obterAdmin() {
+        Admin atual = admin;
+        if (atual == null) {
+            synchronized (this) {
+                atual = admin;
+                if (atual == null) {
+                    atual = fabricaAdmin.get();
+                    admin = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    @Override
+    public void destroy() {
+        Admin atual = admin;
+        if (atual != null) {
+            atual.close(Duration.ofMillis(timeoutMillis));
+        }
+    }
+}
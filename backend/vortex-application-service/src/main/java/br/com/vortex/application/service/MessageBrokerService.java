@@ -31,6 +31,14 @@ public interface MessageBrokerService {
      */
     void publicarProdutoExcluido(Produto produto, String userId);
 
+    /**
+     * Publica a invalidação do cache do produto para as demais instâncias, em alterações
+     * de estoque que não geram evento de produto nem de movimento.
+     *
+     * @param produtoId ID do produto; {@code null} invalida todos os produtos
+     */
+    void publicarInvalidacaoCacheProduto(Long produtoId);
+
     /**
      * Publica alerta de estoque baixo.
      */
@@ -52,6 +60,12 @@ public interface MessageBrokerService {
     void publicarAuditoria(String acao, String entidade, Long entidadeId, 
                           String detalhes, String userId, String status, String erro);
 
+    /**
+     * Publica evento de auditoria de um movimento de estoque, com produto e quantidade em campos próprios.
+     */
+    void publicarAuditoriaMovimento(String acao, Long movimentoId, Long produtoId, Integer quantidade,
+                                    String detalhes, String userId);
+
     /**
      * Verifica se o message broker está disponível.
      */
@@ -3,9 +3,11 @@ package br.com.vortex.application.service;
 import br.com.vortex.application.dto.MovimentoEstoqueDTO;
 import br.com.vortex.application.dto.MovimentoEstoqueMessageDTO;
 import br.com.vortex.application.exception.EstoqueInsuficienteException;
+import br.com.vortex.application.exception.RegraNegocioException;
 import br.com.vortex.application.exception.ResourceNotFoundException;
 import br.com.vortex.application.model.MovimentoEstoque;
 import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.enums.NivelEstoque;
 import br.com.vortex.application.model.enums.TipoMovimentacao;
 import br.com.vortex.application.repository.MovimentoEstoqueRepository;
 import br.com.vortex.application.repository.ProdutoRepository;
@@ -13,14 +15,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Serviço para operações relacionadas a MovimentoEstoque.
+ *
+ * Criação, atualização e exclusão alteram o saldo do produto e rodam pelo {@link RetentativaConflitoExecutor}:
+ * produto e movimento são versionados, e uma operação que perde a disputa para outra é repetida sobre o
+ * saldo já atualizado, sem bloquear a linha do produto. Saídas só consomem o estoque disponível, descontadas
+ * as reservas do checkout (ver {@link ReservaEstoqueService#verificarSaida}).
  */
 @Service
 public class MovimentoEstoqueService {
@@ -29,6 +39,10 @@ public class MovimentoEstoqueService {
     private final ProdutoRepository produtoRepository;
     private final SqsProducerService sqsProducerService;
     private final MessageBrokerService messageBrokerService;
+    private final AlertaEstoqueCoalescer alertaEstoqueCoalescer;
+    private final OperacaoMovimentoService operacaoMovimentoService;
+    private final RetentativaConflitoExecutor retentativaConflito;
+    private final ReservaEstoqueService reservaEstoqueService;
 
     @Value("${sqs.processamento.assincrono.enabled:false}")
     private boolean processamentoAssincronoEnabled;
@@ -37,11 +51,19 @@ public class MovimentoEstoqueService {
     public MovimentoEstoqueService(MovimentoEstoqueRepository movimentoEstoqueRepository,
                                   ProdutoRepository produtoRepository,
                                   SqsProducerService sqsProducerService,
-                                  MessageBrokerService messageBrokerService) {
+                                  MessageBrokerService messageBrokerService,
+                                  AlertaEstoqueCoalescer alertaEstoqueCoalescer,
+                                  OperacaoMovimentoService operacaoMovimentoService,
+                                  RetentativaConflitoExecutor retentativaConflito,
+                                  ReservaEstoqueService reservaEstoqueService) {
         this.movimentoEstoqueRepository = movimentoEstoqueRepository;
         this.produtoRepository = produtoRepository;
         this.sqsProducerService = sqsProducerService;
         this.messageBrokerService = messageBrokerService;
+        this.alertaEstoqueCoalescer = alertaEstoqueCoalescer;
+        this.operacaoMovimentoService = operacaoMovimentoService;
+        this.retentativaConflito = retentativaConflito;
+        this.reservaEstoqueService = reservaEstoqueService;
     }
 
     /**
@@ -53,7 +75,6 @@ public class MovimentoEstoqueService {
      * @throws ResourceNotFoundException se o produto não for encontrado
      * @throws EstoqueInsuficienteException se não houver estoque suficiente para uma saída
      */
-    @Transactional
     public MovimentoEstoqueDTO criar(MovimentoEstoqueDTO movimentoEstoqueDTO) {
         return criar(movimentoEstoqueDTO, null);
     }
@@ -66,22 +87,40 @@ public class MovimentoEstoqueService {
      * @return DTO do movimento de estoque criado
      * @throws ResourceNotFoundException se o produto não for encontrado
      * @throws EstoqueInsuficienteException se não houver estoque suficiente para uma saída
+     * @throws org.springframework.dao.OptimisticLockingFailureException se o conflito persistir após as repetições
      */
-    @Transactional
     public MovimentoEstoqueDTO criar(MovimentoEstoqueDTO movimentoEstoqueDTO, String usuarioId) {
+        return criar(movimentoEstoqueDTO, usuarioId, null);
+    }
+
+    /**
+     * Cria um novo movimento de estoque; se for a saída que confirma uma reserva, a reserva é consumida
+     * na mesma transação em que a saída é aplicada.
+     *
+     * @param movimentoEstoqueDTO DTO com os dados do movimento de estoque
+     * @param usuarioId ID do usuário que está realizando a operação
+     * @param reservaId ID da reserva confirmada pela saída, ou {@code null}
+     * @return DTO do movimento de estoque criado
+     * @throws ResourceNotFoundException se o produto não for encontrado
+     * @throws EstoqueInsuficienteException se não houver estoque disponível para uma saída
+     * @throws org.springframework.dao.OptimisticLockingFailureException se o conflito persistir após as repetições
+     */
+    public MovimentoEstoqueDTO criar(MovimentoEstoqueDTO movimentoEstoqueDTO, String usuarioId, String reservaId) {
         // Se processamento assíncrono estiver habilitado, envia para SQS
         if (processamentoAssincronoEnabled) {
-            return criarAssincrono(movimentoEstoqueDTO, usuarioId);
+            return criarAssincrono(movimentoEstoqueDTO, usuarioId, reservaId);
         }
         
         // Processamento síncrono (comportamento original)
-        return criarSincrono(movimentoEstoqueDTO, usuarioId);
+        return criarSincrono(movimentoEstoqueDTO, usuarioId, reservaId);
     }
 
     /**
      * Cria movimento de estoque de forma assíncrona via SQS.
+     * A operação é registrada como PENDENTE antes do envio; o DTO retornado não tem ID
+     * de movimento, mas traz o operationId para acompanhar o resultado.
      */
-    private MovimentoEstoqueDTO criarAssincrono(MovimentoEstoqueDTO movimentoEstoqueDTO, String usuarioId) {
+    private MovimentoEstoqueDTO criarAssincrono(MovimentoEstoqueDTO movimentoEstoqueDTO, String usuarioId, String reservaId) {
         // Valida se o produto existe antes de enviar para a fila
         Produto produto = produtoRepository.findById(movimentoEstoqueDTO.getProdutoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", movimentoEstoqueDTO.getProdutoId()));
@@ -94,9 +133,19 @@ public class MovimentoEstoqueService {
         message.setValorFornecedor(produto.getValorFornecedor());
         message.setUsuarioId(usuarioId);
         message.setPrioridade("NORMAL");
+        message.setOperationId(UUID.randomUUID().toString());
+        message.setReservaId(reservaId);
+
+        // Registra a operação antes do envio para que o consumidor sempre a encontre
+        operacaoMovimentoService.registrarPendente(message);
 
         // Envia para SQS
-        sqsProducerService.enviarMovimentoEstoque(message);
+        try {
+            sqsProducerService.enviarMovimentoEstoque(message);
+        } catch (RuntimeException e) {
+            operacaoMovimentoService.descartar(message.getOperationId());
+            throw e;
+        }
 
         // Retorna DTO com informações básicas (sem ID do movimento, pois será processado assincronamente)
         MovimentoEstoqueDTO responseDTO = new MovimentoEstoqueDTO();
@@ -104,6 +153,7 @@ public class MovimentoEstoqueService {
         responseDTO.setQuantidadeMovimentada(movimentoEstoqueDTO.getQuantidadeMovimentada());
         responseDTO.setProdutoId(movimentoEstoqueDTO.getProdutoId());
         responseDTO.setDataMovimento(LocalDateTime.now());
+        responseDTO.setOperationId(message.getOperationId());
 
         // Envia auditoria
         sqsProducerService.enviarAuditoria(
@@ -123,9 +173,44 @@ public class MovimentoEstoqueService {
 
     /**
      * Cria movimento de estoque de forma síncrona (comportamento original).
+     * Os eventos só são publicados depois do commit, uma vez, mesmo que a gravação tenha sido repetida.
      */
-    private MovimentoEstoqueDTO criarSincrono(MovimentoEstoqueDTO movimentoEstoqueDTO, String usuarioId) {
-        Produto produto = produtoRepository.findById(movimentoEstoqueDTO.getProdutoId())
+    private MovimentoEstoqueDTO criarSincrono(MovimentoEstoqueDTO movimentoEstoqueDTO, String usuarioId, String reservaId) {
+        MovimentoGravado gravado = retentativaConflito.executar("criação de movimento",
+                () -> gravarNovoMovimento(movimentoEstoqueDTO, reservaId));
+        MovimentoEstoque savedMovimento = gravado.movimento();
+        Produto produto = gravado.produto();
+
+        // INTEGRAÇÃO KAFKA: Publica evento de movimentação
+        if (messageBrokerService.isAvailable()) {
+            messageBrokerService.publicarMovimentoEstoque(savedMovimento, produto, gravado.estoqueAnterior(), usuarioId);
+            
+            // Verificar se precisa gerar alertas de estoque
+            verificarAlertas(produto, usuarioId);
+            
+            // Auditoria via Message Broker
+            messageBrokerService.publicarAuditoriaMovimento(
+                "MOVIMENTO_CRIADO", 
+                savedMovimento.getId(), 
+                produto.getId(), 
+                savedMovimento.getQuantidadeMovimentada(), 
+                String.format("Movimento %s criado. Produto: %d, Quantidade: %d", 
+                    savedMovimento.getTipoMovimentacao(), 
+                    produto.getId(), 
+                    savedMovimento.getQuantidadeMovimentada()),
+                usuarioId
+            );
+        }
+        
+        return mapToDTO(savedMovimento);
+    }
+
+    /**
+     * Grava o movimento e aplica seu efeito no saldo do produto; roda dentro de uma tentativa do executor.
+     */
+    private MovimentoGravado gravarNovoMovimento(MovimentoEstoqueDTO movimentoEstoqueDTO, String reservaId) {
+        // Os eventos publicados levam o nome do tipo de produto
+        Produto produto = produtoRepository.findComTipoProdutoById(movimentoEstoqueDTO.getProdutoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", movimentoEstoqueDTO.getProdutoId()));
         
         // Armazenar estoque anterior para o evento Kafka
@@ -150,6 +235,8 @@ public class MovimentoEstoqueService {
                         produto.getQuantidadeEmEstoque(), 
                         movimentoEstoqueDTO.getQuantidadeMovimentada());
             }
+            reservaEstoqueService.verificarSaida(produto.getId(), produto.getQuantidadeEmEstoque(),
+                    movimentoEstoqueDTO.getQuantidadeMovimentada(), reservaId);
             
             // Decrementa o estoque
             produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() - movimentoEstoqueDTO.getQuantidadeMovimentada());
@@ -167,59 +254,65 @@ public class MovimentoEstoqueService {
         
         // Salva o movimento de estoque
         MovimentoEstoque savedMovimento = movimentoEstoqueRepository.save(movimentoEstoque);
-        
-        // INTEGRAÇÃO KAFKA: Publica evento de movimentação
-        if (messageBrokerService.isAvailable()) {
-            messageBrokerService.publicarMovimentoEstoque(savedMovimento, produto, estoqueAnterior, usuarioId);
-            
-            // Verificar se precisa gerar alertas de estoque
-            verificarAlertas(produto, usuarioId);
-            
-            // Auditoria via Message Broker
-            messageBrokerService.publicarAuditoria(
-                "MOVIMENTO_CRIADO", 
-                "MovimentoEstoque", 
-                savedMovimento.getId(), 
-                String.format("Movimento %s criado. Produto: %d, Quantidade: %d", 
-                    savedMovimento.getTipoMovimentacao(), 
-                    produto.getId(), 
-                    savedMovimento.getQuantidadeMovimentada()),
-                usuarioId, 
-                "SUCCESS", 
-                null
-            );
+        if (reservaId != null) {
+            reservaEstoqueService.registrarMovimento(reservaId, savedMovimento.getId());
         }
         
-        return mapToDTO(savedMovimento);
+        return new MovimentoGravado(savedMovimento, produto, estoqueAnterior);
     }
     
     /**
      * Verifica se é necessário gerar alertas de estoque após movimentação.
+     * Só publica quando o produto muda para um nível pior (ver {@link AlertaEstoqueCoalescer}).
      */
     private void verificarAlertas(Produto produto, String usuarioId) {
-        Integer quantidadeAtual = produto.getQuantidadeEmEstoque();
-        
-        if (quantidadeAtual <= 0) {
-            messageBrokerService.publicarAlertaEstoqueEsgotado(produto, usuarioId);
-        } else if (quantidadeAtual <= 5) {
-            messageBrokerService.publicarAlertaEstoqueCritico(produto, 5, usuarioId);
-        } else if (quantidadeAtual <= 10) {
-            messageBrokerService.publicarAlertaEstoqueBaixo(produto, 10, usuarioId);
+        NivelEstoque nivel = alertaEstoqueCoalescer.avaliar(produto.getId(), produto.getQuantidadeEmEstoque());
+        if (nivel == null) {
+            return;
+        }
+
+        switch (nivel) {
+            case ESGOTADO:
+                messageBrokerService.publicarAlertaEstoqueEsgotado(produto, usuarioId);
+                break;
+            case CRITICO:
+                messageBrokerService.publicarAlertaEstoqueCritico(produto, alertaEstoqueCoalescer.getQuantidadeCritica(), usuarioId);
+                break;
+            case BAIXO:
+                messageBrokerService.publicarAlertaEstoqueBaixo(produto, alertaEstoqueCoalescer.getQuantidadeMinima(), usuarioId);
+                break;
+            default:
+                break;
         }
     }
 
     /**
      * Busca todos os movimentos de estoque.
+     * Usa uma projeção direto para DTO, sem carregar os movimentos nem seus produtos.
      *
      * @return Lista de DTOs dos movimentos de estoque
      */
     @Transactional(readOnly = true)
     public List<MovimentoEstoqueDTO> buscarTodos() {
-        List<MovimentoEstoque> movimentos = movimentoEstoqueRepository.findAll();
-        
-        return movimentos.stream()
-                .map(this::mapToDTO)
-                .toList();
+        return movimentoEstoqueRepository.listarDTOs();
+    }
+
+    /**
+     * Busca os movimentos de um produto em um período.
+     * Só lê as partições mensais do período; movimentos já arquivados não são retornados.
+     *
+     * @param produtoId ID do produto
+     * @param inicio Início do período (inclusivo)
+     * @param fim Fim do período (exclusivo)
+     * @return Lista de DTOs dos movimentos do produto no período
+     * @throws RegraNegocioException se o início não for anterior ao fim
+     */
+    @Transactional(readOnly = true)
+    public List<MovimentoEstoqueDTO> buscarPorProdutoEPeriodo(Long produtoId, LocalDateTime inicio, LocalDateTime fim) {
+        if (!inicio.isBefore(fim)) {
+            throw new RegraNegocioException("O início do período deve ser anterior ao fim");
+        }
+        return movimentoEstoqueRepository.listarDTOsPorProdutoEPeriodo(produtoId, inicio, fim);
     }
 
     /**
@@ -246,20 +339,27 @@ public class MovimentoEstoqueService {
      * @return DTO do movimento de estoque atualizado
      * @throws ResourceNotFoundException se o movimento de estoque ou o produto não for encontrado
      * @throws EstoqueInsuficienteException se não houver estoque suficiente para uma saída
+     * @throws org.springframework.dao.OptimisticLockingFailureException se o conflito persistir após as repetições
      */
-    @Transactional
     public MovimentoEstoqueDTO atualizar(Long id, MovimentoEstoqueDTO movimentoEstoqueDTO) {
-        MovimentoEstoque movimentoEstoque = movimentoEstoqueRepository.findById(id)
+        return retentativaConflito.executar("atualização do movimento " + id,
+                () -> mapToDTO(aplicarAtualizacao(id, movimentoEstoqueDTO)));
+    }
+
+    private MovimentoEstoque aplicarAtualizacao(Long id, MovimentoEstoqueDTO movimentoEstoqueDTO) {
+        MovimentoEstoque movimentoEstoque = movimentoEstoqueRepository.findComProdutoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("MovimentoEstoque", "id", id));
         
+        // Mesma instância do produto original quando o movimento continua no mesmo produto
+        Produto produtoOriginal = movimentoEstoque.getProduto();
         Produto produto = produtoRepository.findById(movimentoEstoqueDTO.getProdutoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", movimentoEstoqueDTO.getProdutoId()));
         
-        // Reverte o efeito do movimento original no estoque
+        // Reverte o efeito do movimento original no estoque do produto original
         if (movimentoEstoque.getTipoMovimentacao() == TipoMovimentacao.ENTRADA) {
-            produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() - movimentoEstoque.getQuantidadeMovimentada());
+            produtoOriginal.setQuantidadeEmEstoque(produtoOriginal.getQuantidadeEmEstoque() - movimentoEstoque.getQuantidadeMovimentada());
         } else if (movimentoEstoque.getTipoMovimentacao() == TipoMovimentacao.SAIDA) {
-            produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() + movimentoEstoque.getQuantidadeMovimentada());
+            produtoOriginal.setQuantidadeEmEstoque(produtoOriginal.getQuantidadeEmEstoque() + movimentoEstoque.getQuantidadeMovimentada());
         }
         
         // Aplica o efeito do novo movimento no estoque
@@ -274,6 +374,8 @@ public class MovimentoEstoqueService {
                         produto.getQuantidadeEmEstoque(), 
                         movimentoEstoqueDTO.getQuantidadeMovimentada());
             }
+            reservaEstoqueService.verificarSaida(produto.getId(), produto.getQuantidadeEmEstoque(),
+                    movimentoEstoqueDTO.getQuantidadeMovimentada(), null);
             
             produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() - movimentoEstoqueDTO.getQuantidadeMovimentada());
             
@@ -292,11 +394,10 @@ public class MovimentoEstoqueService {
         
         // Salva o produto atualizado
         produtoRepository.save(produto);
+        publicarInvalidacaoCacheAposCommit(produtoOriginal.getId(), produto.getId());
         
         // Salva o movimento de estoque
-        MovimentoEstoque updatedMovimento = movimentoEstoqueRepository.save(movimentoEstoque);
-        
-        return mapToDTO(updatedMovimento);
+        return movimentoEstoqueRepository.save(movimentoEstoque);
     }
 
     /**
@@ -305,16 +406,26 @@ public class MovimentoEstoqueService {
      *
      * @param id ID do movimento de estoque
      * @throws ResourceNotFoundException se o movimento de estoque não for encontrado
+     * @throws org.springframework.dao.OptimisticLockingFailureException se o conflito persistir após as repetições
      */
-    @Transactional
     public void excluir(Long id) {
-        MovimentoEstoque movimentoEstoque = movimentoEstoqueRepository.findById(id)
+        retentativaConflito.executar("exclusão do movimento " + id, () -> {
+            aplicarExclusao(id);
+            return null;
+        });
+    }
+
+    private void aplicarExclusao(Long id) {
+        MovimentoEstoque movimentoEstoque = movimentoEstoqueRepository.findComProdutoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("MovimentoEstoque", "id", id));
         
         Produto produto = movimentoEstoque.getProduto();
         
         // Reverte o efeito do movimento no estoque
         if (movimentoEstoque.getTipoMovimentacao() == TipoMovimentacao.ENTRADA) {
+            // Desfazer uma entrada é uma saída: não pode levar o estoque reservado
+            reservaEstoqueService.verificarSaida(produto.getId(), produto.getQuantidadeEmEstoque(),
+                    movimentoEstoque.getQuantidadeMovimentada(), null);
             produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() - movimentoEstoque.getQuantidadeMovimentada());
         } else if (movimentoEstoque.getTipoMovimentacao() == TipoMovimentacao.SAIDA) {
             produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() + movimentoEstoque.getQuantidadeMovimentada());
@@ -322,11 +433,35 @@ public class MovimentoEstoqueService {
         
         // Salva o produto atualizado
         produtoRepository.save(produto);
+        publicarInvalidacaoCacheAposCommit(produto.getId());
         
         // Exclui o movimento de estoque
         movimentoEstoqueRepository.delete(movimentoEstoque);
     }
 
+    /**
+     * Atualização e exclusão não publicam evento de movimento, então as demais instâncias
+     * são avisadas para descartar o saldo em cache, só depois do commit da tentativa que venceu.
+     */
+    private void publicarInvalidacaoCacheAposCommit(Long... produtoIds) {
+        Runnable publicar = () -> {
+            if (messageBrokerService.isAvailable()) {
+                List.of(produtoIds).stream().distinct().forEach(messageBrokerService::publicarInvalidacaoCacheProduto);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicar.run();
+                }
+            });
+        } else {
+            publicar.run();
+        }
+    }
+
     /**
      * Converte uma entidade MovimentoEstoque para um DTO.
      *
@@ -344,4 +479,10 @@ public class MovimentoEstoqueService {
         
         return movimentoEstoqueDTO;
     }
+
+    /**
+     * Movimento recém-gravado, com o produto alterado e o saldo anterior, para os eventos publicados após o commit.
+     */
+    private record MovimentoGravado(MovimentoEstoque movimento, Produto produto, Integer estoqueAnterior) {
+    }
 }
\ No newline at end of file
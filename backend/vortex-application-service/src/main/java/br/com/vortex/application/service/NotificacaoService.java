@@ -1,7 +1,9 @@
 package br.com.vortex.application.service;
 
 import br.com.vortex.application.dto.*;
+import br.com.vortex.application.notificacao.AgregadorNotificacoes;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
@@ -12,19 +14,25 @@ import org.springframework.stereotype.Service;
 @Service
 public class NotificacaoService {
 
+    @Autowired
+    private DashboardPushService dashboardPushService;
+
+    @Autowired
+    private AgregadorNotificacoes agregadorNotificacoes;
+
     public void enviarAlertaEstoque(AlertaEstoqueEventDTO event) {
         log.info("Enviando alerta de estoque: {}", event.getMensagem());
-        // Implementar integração com email/SMS
+        agregadorNotificacoes.registrar(event);
     }
 
     public void atualizarDashboard(MovimentoEstoqueEventDTO event) {
         log.debug("Atualizando dashboard com movimento: {}", event.getMovimentoId());
-        // Implementar WebSocket para atualização em tempo real
+        dashboardPushService.registrarMovimento(event);
     }
 
     public void atualizarDashboardAlertas(AlertaEstoqueEventDTO event) {
         log.info("Atualizando dashboard com alerta: {}", event.getTipoAlerta());
-        // Implementar atualização de alertas no dashboard
+        dashboardPushService.registrarAlerta(event);
     }
 
     public void enviarAlertaSeguranca(AuditoriaEventDTO event) {
@@ -0,0 +1,345 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueMessageDTO;
+import br.com.vortex.application.dto.OperacaoMovimentoDTO;
+import br.com.vortex.application.exception.ResourceNotFoundException;
+import br.com.vortex.application.model.OperacaoMovimento;
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import br.com.vortex.application.repository.OperacaoMovimentoRepository;
+import br.com.vortex.application.util.LruSegmentado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Acompanha a situação dos movimentos de estoque enviados para processamento assíncrono.
+ *
+ * Cada operação é gravada como PENDENTE (em transação própria) antes de a mensagem ir
+ * para a fila, e o consumidor grava o resultado na mesma transação que aplica o movimento.
+ * Resultados finais não mudam mais e ficam em um LRU em memória. Clientes podem aguardar
+ * a conclusão (long-poll ou SSE) em vez de repetir a consulta: as esperas são liberadas
+ * após o commit do consumidor. Se o resultado for gravado por outra instância, a espera
+ * termina pelo tempo limite e a situação é relida do banco.
+ */
+@Slf4j
+@Service
+public class OperacaoMovimentoService implements DisposableBean {
+
+    private static final int TAMANHO_MAXIMO_MOTIVO = 500;
+
+    private final OperacaoMovimentoRepository operacaoMovimentoRepository;
+    private final TransactionTemplate novaTransacao;
+    private final Duration esperaMaxima;
+    private final Duration retencao;
+    private final Clock clock;
+
+    private final LruSegmentado<String, OperacaoMovimentoDTO> finalizadas;
+    private final Map<String, Espera> esperas = new ConcurrentHashMap<>();
+
+    /** Releituras do banco ao fim das esperas: consulta bloqueante, fora do common pool. */
+    private final ExecutorService executorReleitura = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public OperacaoMovimentoService(OperacaoMovimentoRepository operacaoMovimentoRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${operacoes.movimento.cache.capacidade:10000}") int capacidadeCache,
+                                    @Value("${operacoes.movimento.espera.max-segundos:30}") long esperaMaximaSegundos,
+                                    @Value("${operacoes.movimento.retencao-horas:72}") long retencaoHoras) {
+        this(operacaoMovimentoRepository, transactionManager, capacidadeCache,
+                Duration.ofSeconds(esperaMaximaSegundos), Duration.ofHours(retencaoHoras), Clock.systemDefaultZone());
+    }
+
+    OperacaoMovimentoService(OperacaoMovimentoRepository operacaoMovimentoRepository,
+                             PlatformTransactionManager transactionManager, int capacidadeCache,
+                             Duration esperaMaxima, Duration retencao, Clock clock) {
+        this.operacaoMovimentoRepository = operacaoMovimentoRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.esperaMaxima = esperaMaxima;
+        this.retencao = retencao;
+        this.clock = clock;
+        this.finalizadas = new LruSegmentado<>(capacidadeCache, 16);
+    }
+
+    /**
+     * Grava a operação como PENDENTE em uma transação própria, confirmada antes do envio à fila.
+     *
+     * @param message Mensagem que será enviada
+     * @return Situação da operação
+     */
+    public OperacaoMovimentoDTO registrarPendente(MovimentoEstoqueMessageDTO message) {
+        OperacaoMovimento operacao = novaOperacao(message);
+        return mapToDTO(novaTransacao.execute(status -> operacaoMovimentoRepository.save(operacao)));
+    }
+
+    /**
+     * Remove uma operação PENDENTE cuja mensagem não chegou a ser enviada.
+     */
+    public void descartar(String operationId) {
+        novaTransacao.executeWithoutResult(status -> operacaoMovimentoRepository.deleteById(operationId));
+    }
+
+    /**
+     * Grava o resultado das operações na transação corrente, se houver.
+     * As esperas são liberadas somente após o commit.
+     *
+     * @param conclusoes Resultados do processamento
+     */
+    public void concluirTodas(Collection<Conclusao> conclusoes) {
+        List<Conclusao> validas = conclusoes.stream()
+                .filter(conclusao -> conclusao.mensagem().getOperationId() != null)
+                .toList();
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        Map<String, OperacaoMovimento> existentes = operacaoMovimentoRepository
+                .findAllById(validas.stream().map(conclusao -> conclusao.mensagem().getOperationId()).toList())
+                .stream()
+                .collect(Collectors.toMap(OperacaoMovimento::getOperationId, Function.identity()));
+
+        LocalDateTime agora = LocalDateTime.now(clock);
+        List<OperacaoMovimento> alteradas = new ArrayList<>();
+        for (Conclusao conclusao : validas) {
+            MovimentoEstoqueMessageDTO message = conclusao.mensagem();
+            OperacaoMovimento operacao = existentes.computeIfAbsent(message.getOperationId(), id -> novaOperacao(message));
+            if (operacao.getStatus().isFinalizado()) {
+                continue;
+            }
+            operacao.setStatus(conclusao.status());
+            operacao.setMovimentoId(conclusao.movimentoId());
+            operacao.setMotivo(truncar(message.getMotivoErro()));
+            operacao.setDataConclusao(agora);
+            alteradas.add(operacao);
+        }
+
+        operacaoMovimentoRepository.saveAll(alteradas);
+        List<OperacaoMovimentoDTO> resultados = alteradas.stream().map(this::mapToDTO).toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicar(resultados);
+                }
+            });
+        } else {
+            publicar(resultados);
+        }
+    }
+
+    /**
+     * Consulta a situação atual da operação.
+     */
+    public Optional<OperacaoMovimentoDTO> consultar(String operationId) {
+        OperacaoMovimentoDTO finalizada = finalizadas.obter(operationId);
+        if (finalizada != null) {
+            return Optional.of(finalizada);
+        }
+
+        Optional<OperacaoMovimentoDTO> operacao = operacaoMovimentoRepository.findById(operationId).map(this::mapToDTO);
+        operacao.filter(OperacaoMovimentoDTO::isFinalizado).ifPresent(dto -> finalizadas.colocar(operationId, dto));
+        return operacao;
+    }
+
+    /**
+     * Busca a situação atual da operação.
+     *
+     * @throws ResourceNotFoundException se a operação não existir
+     */
+    public OperacaoMovimentoDTO buscar(String operationId) {
+        return consultar(operationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Operação de movimento", "operationId", operationId));
+    }
+
+    /**
+     * Aguarda a conclusão da operação por até {@code espera} (limitada ao máximo configurado).
+     * O futuro é completado com o resultado final assim que ele for confirmado, ou com a
+     * situação atual ao fim da espera.
+     *
+     * @throws ResourceNotFoundException se a operação não existir
+     */
+    public CompletableFuture<OperacaoMovimentoDTO> aguardarConclusao(String operationId, Duration espera) {
+        OperacaoMovimentoDTO atual = buscar(operationId);
+        long esperaMillis = Math.min(Math.max(espera.toMillis(), 0), esperaMaxima.toMillis());
+        if (atual.isFinalizado() || esperaMillis == 0) {
+            return CompletableFuture.completedFuture(atual);
+        }
+
+        Espera registrada = esperas.compute(operationId, (id, existente) -> {
+            Espera resultado = existente != null ? existente : new Espera();
+            resultado.ultimoAcesso = clock.millis();
+            return resultado;
+        });
+
+        // O resultado pode ter sido confirmado entre a consulta e o registro da espera
+        consultar(operationId).filter(OperacaoMovimentoDTO::isFinalizado).ifPresent(this::liberar);
+
+        return registrada.futuro.copy()
+                .completeOnTimeout(null, esperaMillis, TimeUnit.MILLISECONDS)
+                .thenCompose(dto -> dto != null
+                        ? CompletableFuture.completedFuture(dto)
+                        : CompletableFuture.supplyAsync(() -> buscar(operationId), executorReleitura));
+    }
+
+    /**
+     * Abre um stream (Server-Sent Events) que envia a situação atual da operação e,
+     * se ela ainda estiver pendente, a situação final assim que confirmada.
+     *
+     * @throws ResourceNotFoundException se a operação não existir
+     */
+    public SseEmitter acompanhar(String operationId) {
+        OperacaoMovimentoDTO atual = buscar(operationId);
+        SseEmitter emitter = new SseEmitter(esperaMaxima.toMillis() + 5_000);
+
+        try {
+            emitter.send(SseEmitter.event().name("status").data(atual));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        if (atual.isFinalizado()) {
+            emitter.complete();
+            return emitter;
+        }
+
+        aguardarConclusao(operationId, esperaMaxima).whenComplete((dto, erro) -> {
+            if (erro != null) {
+                emitter.completeWithError(erro);
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("status").data(dto));
+                emitter.complete();
+            } catch (IOException e) {
+                log.debug("Cliente desconectado do acompanhamento da operação {}: {}", operationId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Remove as operações antigas e as esperas abandonadas.
+     */
+    @Scheduled(fixedDelayString = "${operacoes.movimento.limpeza-ms:3600000}")
+    public void limpar() {
+        long limiteEspera = clock.millis() - 2 * esperaMaxima.toMillis();
+        esperas.entrySet().removeIf(entrada -> entrada.getValue().ultimoAcesso < limiteEspera);
+
+        int removidas = operacaoMovimentoRepository.excluirAnteriores(LocalDateTime.now(clock).minus(retencao));
+        if (removidas > 0) {
+            log.info("Removidas {} operações de movimento antigas", removidas);
+        }
+    }
+
+    /**
+     * Quantidade de operações com clientes aguardando a conclusão.
+     */
+    public int getEsperasAtivas() {
+        return esperas.size();
+    }
+
+    @Override
+    public void destroy() {
+        executorReleitura.shutdownNow();
+    }
+
+    private void publicar(List<OperacaoMovimentoDTO> resultados) {
+        for (OperacaoMovimentoDTO resultado : resultados) {
+            finalizadas.colocar(resultado.getOperationId(), resultado);
+            liberar(resultado);
+        }
+    }
+
+    private void liberar(OperacaoMovimentoDTO resultado) {
+        Espera espera = esperas.remove(resultado.getOperationId());
+        if (espera != null) {
+            espera.futuro.complete(resultado);
+        }
+    }
+
+    private OperacaoMovimento novaOperacao(MovimentoEstoqueMessageDTO message) {
+        OperacaoMovimento operacao = new OperacaoMovimento();
+        operacao.setOperationId(message.getOperationId());
+        operacao.setProdutoId(message.getProdutoId());
+        operacao.setTipoMovimentacao(message.getTipoMovimentacao());
+        operacao.setQuantidadeMovimentada(message.getQuantidadeMovimentada());
+        operacao.setDataCriacao(LocalDateTime.now(clock));
+        return operacao;
+    }
+
+    private OperacaoMovimentoDTO mapToDTO(OperacaoMovimento operacao) {
+        return new OperacaoMovimentoDTO(
+                operacao.getOperationId(),
+                operacao.getStatus(),
+                operacao.getProdutoId(),
+                operacao.getTipoMovimentacao(),
+                operacao.getQuantidadeMovimentada(),
+                operacao.getMovimentoId(),
+                operacao.getMotivo(),
+                operacao.getDataCriacao(),
+                operacao.getDataConclusao()
+        );
+    }
+
+    private static String truncar(String motivo) {
+        if (motivo == null || motivo.length() <= TAMANHO_MAXIMO_MOTIVO) {
+            return motivo;
+        }
+        return motivo.substring(0, TAMANHO_MAXIMO_MOTIVO);
+    }
+
+    /**
+     * Resultado do processamento de uma mensagem.
+     *
+     * @param mensagem Mensagem processada (o motivo da falha vem de {@code motivoErro})
+     * @param status Situação final
+     * @param movimentoId ID do movimento criado, quando aplicado
+     */
+    public record Conclusao(MovimentoEstoqueMessageDTO mensagem, StatusOperacaoMovimento status, Long movimentoId) {
+
+        public Conclusao {
+            Objects.requireNonNull(mensagem, "mensagem");
+            if (status == null || !status.isFinalizado()) {
+                throw new IllegalArgumentException("A conclusão deve ter uma situação final");
+            }
+        }
+    }
+
+    /**
+     * Clientes aguardando a conclusão de uma operação; todos compartilham o mesmo futuro.
+     */
+    private static class Espera {
+
+        private final CompletableFuture<OperacaoMovimentoDTO> futuro = new CompletableFuture<>();
+        private volatile long ultimoAcesso;
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Processamento dos eventos recebidos do broker, comum a todos os consumidores.
+ *
+ * Os consumidores Kafka, RabbitMQ e do broker embutido cuidam só da entrega (deduplicação,
+ * ack/nack) e encaminham cada evento para cá, então um novo handler é incluído em um único lugar:
+ * - Eventos de movimentação de estoque para analytics
+ * - Alertas de estoque para notificações
+ * - Eventos de auditoria para compliance
+ * - Integração com sistemas externos
+ */
+@Slf4j
+@Service
+public class ProcessadorEventosBroker {
+
+    /*
+     * Namespaces de deduplicação por tipo de evento, compartilhados pelos consumidores de todos
+     * os brokers: com o message broker composto o mesmo evento (mesmo eventId) chega por mais
+     * de um broker e deve ser processado uma única vez.
+     */
+    public static final String CONSUMIDOR_MOVIMENTOS = "broker-movimentos";
+    public static final String CONSUMIDOR_PRODUTOS = "broker-produtos";
+    public static final String CONSUMIDOR_ALERTAS = "broker-alertas";
+    public static final String CONSUMIDOR_AUDITORIA = "broker-auditoria";
+
+    private final NotificacaoService notificacaoService;
+    private final AnalyticsService analyticsService;
+    private final IntegracaoExternaService integracaoExternaService;
+    private final int quantidadeMinima;
+
+    @Autowired
+    public ProcessadorEventosBroker(NotificacaoService notificacaoService,
+                                    AnalyticsService analyticsService,
+                                    IntegracaoExternaService integracaoExternaService,
+                                    @Value("${alertas.estoque.quantidade-minima:10}") int quantidadeMinima) {
+        this.notificacaoService = notificacaoService;
+        this.analyticsService = analyticsService;
+        this.integracaoExternaService = integracaoExternaService;
+        this.quantidadeMinima = quantidadeMinima;
+    }
+
+    /**
+     * Encaminha o evento para o handler do seu tipo.
+     */
+    public void processar(KafkaEventDTO event) {
+        if (event instanceof MovimentoEstoqueEventDTO movimento) {
+            processarMovimentoEstoque(movimento);
+        } else if (event instanceof ProdutoEventDTO produto) {
+            processarEventoProduto(produto);
+        } else if (event instanceof AlertaEstoqueEventDTO alerta) {
+            processarAlertaEstoque(alerta);
+        } else if (event instanceof AuditoriaEventDTO auditoria) {
+            processarAuditoria(auditoria);
+        } else {
+            log.warn("Tipo de evento não suportado: {}", event.getClass().getSimpleName());
+        }
+    }
+
+    // ================================
+    // MOVIMENTOS DE ESTOQUE
+    // ================================
+
+    public void processarMovimentoEstoque(MovimentoEstoqueEventDTO event) {
+        // 1. Atualizar analytics em tempo real
+        analyticsService.processarMovimentoEstoque(event);
+
+        // 2. Verificar se precisa gerar alertas
+        verificarAlertas(event);
+
+        // 3. Integrar com sistemas externos (ERP, WMS, etc.)
+        integracaoExternaService.sincronizarMovimentoEstoque(event);
+
+        // 4. Atualizar dashboards em tempo real
+        notificacaoService.atualizarDashboard(event);
+    }
+
+    // ================================
+    // EVENTOS DE PRODUTO
+    // ================================
+
+    public void processarEventoProduto(ProdutoEventDTO event) {
+        switch (event.getAction()) {
+            case "CREATED":
+                processarProdutoCriado(event);
+                break;
+            case "UPDATED":
+                processarProdutoAtualizado(event);
+                break;
+            case "DELETED":
+                processarProdutoExcluido(event);
+                break;
+        }
+    }
+
+    // ================================
+    // ALERTAS DE ESTOQUE
+    // ================================
+
+    public void processarAlertaEstoque(AlertaEstoqueEventDTO event) {
+        // 1. Enviar notificações por email/SMS
+        notificacaoService.enviarAlertaEstoque(event);
+
+        // 2. Atualizar dashboard com alertas
+        notificacaoService.atualizarDashboardAlertas(event);
+
+        // 3. Se for crítico, integrar com sistema de compras
+        if ("CRITICAL".equals(event.getPrioridade()) || Boolean.TRUE.equals(event.getAcaoImediata())) {
+            integracaoExternaService.criarPedidoReposicaoAutomatico(event);
+        }
+
+        // 4. Registrar no sistema de tickets (se necessário)
+        if (Boolean.TRUE.equals(event.getAcaoImediata())) {
+            integracaoExternaService.criarTicketUrgente(event);
+        }
+    }
+
+    // ================================
+    // AUDITORIA
+    // ================================
+
+    public void processarAuditoria(AuditoriaEventDTO event) {
+        // 1. Armazenar em sistema de auditoria
+        analyticsService.registrarAuditoria(event);
+
+        // 2. Verificar se é uma operação suspeita
+        if (analyticsService.isOperacaoSuspeita(event)) {
+            notificacaoService.enviarAlertaSeguranca(event);
+        }
+
+        // 3. Atualizar métricas de compliance
+        analyticsService.atualizarMetricasCompliance(event);
+    }
+
+    // ================================
+    // MÉTODOS AUXILIARES
+    // ================================
+
+    private void verificarAlertas(MovimentoEstoqueEventDTO event) {
+        // Verificar se o estoque está baixo após a movimentação
+        if (event.getEstoqueAtual() <= quantidadeMinima && event.getEstoqueAtual() > 0) {
+            log.warn("Estoque baixo detectado após movimentação - Produto: {}, Quantidade: {}",
+                event.getProdutoId(), event.getEstoqueAtual());
+        } else if (event.getEstoqueAtual() <= 0) {
+            log.error("Produto esgotado após movimentação - Produto: {}", event.getProdutoId());
+        }
+    }
+
+    private void processarProdutoCriado(ProdutoEventDTO event) {
+        // Integrar com catálogo de produtos externo
+        integracaoExternaService.sincronizarProdutoExterno(event);
+
+        // Notificar equipe de compras sobre novo produto
+        notificacaoService.notificarNovoProduto(event);
+    }
+
+    private void processarProdutoAtualizado(ProdutoEventDTO event) {
+        // Sincronizar mudanças com sistemas externos
+        integracaoExternaService.atualizarProdutoExterno(event);
+
+        // Se houve mudança significativa no preço, notificar
+        if (event.getDadosAnteriores() != null &&
+            !event.getValorFornecedor().equals(event.getDadosAnteriores().getValorFornecedor())) {
+            notificacaoService.notificarMudancaPreco(event);
+        }
+    }
+
+    private void processarProdutoExcluido(ProdutoEventDTO event) {
+        // Remover de sistemas externos
+        integracaoExternaService.removerProdutoExterno(event);
+
+        // Notificar sobre descontinuação
+        notificacaoService.notificarProdutoDescontinuado(event);
+    }
+}
@@ -4,6 +4,7 @@ import br.com.vortex.application.dto.ProdutoDTO;
 import br.com.vortex.application.exception.ResourceNotFoundException;
 import br.com.vortex.application.model.Produto;
 import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository;
 import br.com.vortex.application.repository.MovimentoEstoqueRepository;
 import br.com.vortex.application.repository.ProdutoRepository;
 import br.com.vortex.application.repository.TipoProdutoRepository;
@@ -23,14 +24,17 @@ public class ProdutoService {
     private final ProdutoRepository produtoRepository;
     private final TipoProdutoRepository tipoProdutoRepository;
     private final MovimentoEstoqueRepository movimentoEstoqueRepository;
+    private final MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository;
 
     @Autowired
     public ProdutoService(ProdutoRepository produtoRepository, 
                          TipoProdutoRepository tipoProdutoRepository,
-                         MovimentoEstoqueRepository movimentoEstoqueRepository) {
+                         MovimentoEstoqueRepository movimentoEstoqueRepository,
+                         MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository) {
         this.produtoRepository = produtoRepository;
         this.tipoProdutoRepository = tipoProdutoRepository;
         this.movimentoEstoqueRepository = movimentoEstoqueRepository;
+        this.movimentoEstoqueArquivoRepository = movimentoEstoqueArquivoRepository;
     }
 
     /**
@@ -46,6 +50,7 @@ public class ProdutoService {
                 .orElseThrow(() -> new ResourceNotFoundException("TipoProduto", "id", produtoDTO.getTipoProdutoId()));
         
         Produto produto = new Produto();
+        produto.setCodigo(produtoDTO.getCodigo());
         produto.setDescricao(produtoDTO.getDescricao());
         produto.setValorFornecedor(produtoDTO.getValorFornecedor());
         produto.setQuantidadeEmEstoque(produtoDTO.getQuantidadeEmEstoque() != null ? 
@@ -59,16 +64,13 @@ public class ProdutoService {
 
     /**
      * Busca todos os produtos.
+     * Usa uma projeção direto para DTO, sem carregar entidades nem tipos de produto.
      *
      * @return Lista de DTOs dos produtos
      */
     @Transactional(readOnly = true)
     public List<ProdutoDTO> buscarTodos() {
-        List<Produto> produtos = produtoRepository.findAll();
-        
-        return produtos.stream()
-                .map(this::mapToDTO)
-                .toList();
+        return produtoRepository.listarDTOs();
     }
 
     /**
@@ -88,11 +90,13 @@ public class ProdutoService {
 
     /**
      * Atualiza um produto.
+     * A quantidade em estoque do DTO é ignorada: o saldo só muda pelos movimentos de estoque.
      *
      * @param id ID do produto
      * @param produtoDTO DTO com os novos dados do produto
      * @return DTO do produto atualizado
      * @throws ResourceNotFoundException se o produto ou o tipo de produto não for encontrado
+     * @throws org.springframework.dao.OptimisticLockingFailureException se o produto for alterado por outra transação
      */
     @Transactional
     public ProdutoDTO atualizar(Long id, ProdutoDTO produtoDTO) {
@@ -102,9 +106,9 @@ public class ProdutoService {
         TipoProduto tipoProduto = tipoProdutoRepository.findById(produtoDTO.getTipoProdutoId())
                 .orElseThrow(() -> new ResourceNotFoundException("TipoProduto", "id", produtoDTO.getTipoProdutoId()));
         
+        produto.setCodigo(produtoDTO.getCodigo());
         produto.setDescricao(produtoDTO.getDescricao());
         produto.setValorFornecedor(produtoDTO.getValorFornecedor());
-        produto.setQuantidadeEmEstoque(produtoDTO.getQuantidadeEmEstoque());
         produto.setTipoProduto(tipoProduto);
         
         Produto updatedProduto = produtoRepository.save(produto);
@@ -124,7 +128,8 @@ public class ProdutoService {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", id));
         
-        if (movimentoEstoqueRepository.existsByProduto(produto)) {
+        if (movimentoEstoqueRepository.existsByProduto(produto)
+                || movimentoEstoqueArquivoRepository.existsByProdutoId(produto.getId())) {
             throw new DataIntegrityViolationException("Não é possível excluir um produto que possui movimentos de estoque associados");
         }
         
@@ -140,6 +145,7 @@ public class ProdutoService {
     private ProdutoDTO mapToDTO(Produto produto) {
         ProdutoDTO produtoDTO = new ProdutoDTO();
         produtoDTO.setId(produto.getId());
+        produtoDTO.setCodigo(produto.getCodigo());
         produtoDTO.setDescricao(produto.getDescricao());
         produtoDTO.setValorFornecedor(produto.getValorFornecedor());
         produtoDTO.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque());
@@ -0,0 +1,26 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+
+import java.util.List;
+
+/**
+ * Coleta as métricas atuais das filas de um message broker.
+ *
+ * As implementações consultam o broker diretamente e são chamadas apenas pelo
+ * amostrador periódico do {@link QueueMetricsService}, nunca por requisição HTTP.
+ */
+public interface QueueMetricsCollector {
+
+    /**
+     * Tipo de broker coletado (RabbitMQ, Kafka).
+     */
+    String getTipo();
+
+    /**
+     * Consulta o broker e retorna uma amostra por fila ou tópico.
+     *
+     * @throws Exception se o broker não estiver acessível
+     */
+    List<AmostraFilaDTO> coletar() throws Exception;
+}
@@ -0,0 +1,135 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Amostra periodicamente as métricas das filas e mantém o resultado em cache.
+ *
+ * Cada {@link QueueMetricsCollector} ativo é consultado em intervalo fixo e as amostras
+ * são gravadas em um histórico circular por fila. Os endpoints de monitoramento leem
+ * apenas este cache, de modo que nenhuma requisição HTTP acessa o broker diretamente.
+ */
+@Slf4j
+@Service
+public class QueueMetricsService {
+
+    public static final String STATUS_CONECTADO = "CONNECTED";
+    public static final String STATUS_DESCONECTADO = "DISCONNECTED";
+    public static final String STATUS_DESCONHECIDO = "UNKNOWN";
+
+    private final List<QueueMetricsCollector> coletores;
+    private final int capacidadeHistorico;
+    private final Clock clock;
+
+    private final Map<String, SerieAmostrasFila> series = new ConcurrentHashMap<>();
+    private final Map<String, AmostraFilaDTO> ultimasAmostras = new ConcurrentHashMap<>();
+    private final Map<String, StatusColeta> statusPorTipo = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueueMetricsService(ObjectProvider<QueueMetricsCollector> coletores,
+                               @Value("${monitoramento.filas.historico.capacidade:360}") int capacidadeHistorico) {
+        this(coletores.orderedStream().toList(), capacidadeHistorico, Clock.systemDefaultZone());
+    }
+
+    QueueMetricsService(List<QueueMetricsCollector> coletores, int capacidadeHistorico, Clock clock) {
+        this.coletores = coletores;
+        this.capacidadeHistorico = capacidadeHistorico;
+        this.clock = clock;
+    }
+
+    /**
+     * Consulta todos os brokers configurados e registra uma nova amostra por fila.
+     * A falha de um broker não impede a coleta dos demais.
+     */
+    @Scheduled(fixedDelayString = "${monitoramento.filas.intervalo-ms:10000}",
+               initialDelayString = "${monitoramento.filas.atraso-inicial-ms:5000}")
+    public void amostrar() {
+        for (QueueMetricsCollector coletor : coletores) {
+            long agora = clock.millis();
+            try {
+                List<AmostraFilaDTO> amostras = coletor.coletar();
+                for (AmostraFilaDTO amostra : amostras) {
+                    registrar(agora, amostra);
+                }
+                statusPorTipo.put(coletor.getTipo(), new StatusColeta(STATUS_CONECTADO, agora, null));
+            } catch (Exception e) {
+                log.warn("Falha ao coletar métricas das filas {}: {}", coletor.getTipo(), e.getMessage());
+                statusPorTipo.put(coletor.getTipo(), new StatusColeta(STATUS_DESCONECTADO, agora, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Amostra mais recente da fila, com a taxa de mensagens já calculada.
+     *
+     * @return Amostra ou {@code null} se a fila ainda não foi coletada
+     */
+    public AmostraFilaDTO obterUltimaAmostra(String nomeFila) {
+        return ultimasAmostras.get(nomeFila);
+    }
+
+    /**
+     * Variação do lag por segundo ao longo do histórico da fila.
+     */
+    public double obterTendenciaLag(String nomeFila) {
+        SerieAmostrasFila serie = series.get(nomeFila);
+        return serie != null ? serie.tendenciaLag() : 0.0;
+    }
+
+    /**
+     * Histórico de amostras da fila, da mais antiga para a mais recente.
+     */
+    public List<AmostraFilaDTO> obterHistorico(String nomeFila) {
+        SerieAmostrasFila serie = series.get(nomeFila);
+        AmostraFilaDTO ultima = ultimasAmostras.get(nomeFila);
+        if (serie == null || ultima == null) {
+            return List.of();
+        }
+        return serie.historico(nomeFila, ultima.getTipo(), clock.getZone());
+    }
+
+    /**
+     * Resultado da última coleta de um tipo de broker.
+     */
+    public Map<String, Object> obterStatusColeta(String tipo) {
+        Map<String, Object> status = new HashMap<>();
+        StatusColeta coleta = statusPorTipo.get(tipo);
+        if (coleta == null) {
+            status.put("status", STATUS_DESCONHECIDO);
+            return status;
+        }
+
+        status.put("status", coleta.status());
+        status.put("ultimaColeta", LocalDateTime.ofInstant(Instant.ofEpochMilli(coleta.instanteMillis()), clock.getZone()));
+        if (coleta.erro() != null) {
+            status.put("erro", coleta.erro());
+        }
+        return status;
+    }
+
+    private void registrar(long agora, AmostraFilaDTO amostra) {
+        SerieAmostrasFila serie = series.computeIfAbsent(amostra.getNome(), nome -> new SerieAmostrasFila(capacidadeHistorico));
+        serie.registrar(agora, amostra);
+
+        amostra.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(agora), clock.getZone()));
+        amostra.setTaxaMensagens(serie.taxaMensagens());
+        ultimasAmostras.put(amostra.getNome(), amostra);
+    }
+
+    private record StatusColeta(String status, long instanteMillis, String erro) {
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.vortex.application.service;
 
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import br.com.vortex.application.dto.BrokerMetricasDTO;
 import br.com.vortex.application.dto.QueueInfoDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
@@ -18,10 +20,13 @@ import java.util.Map;
  * Serviço responsável por monitorar filas de mensageria.
  * 
  * Este serviço permite:
- * - Obter informações sobre filas RabbitMQ
+ * - Obter informações sobre filas RabbitMQ e tópicos Kafka
  * - Monitorar status do sistema de mensageria
  * - Fornecer estatísticas das filas
  * - Buscar mensagens para diagnóstico
+ *
+ * As métricas das filas (mensagens, consumidores, taxa e lag) vêm do cache mantido
+ * pelo {@link QueueMetricsService}, atualizado periodicamente em segundo plano.
  */
 @Slf4j
 @Service
@@ -30,6 +35,12 @@ public class QueueMonitoringService {
     @Autowired(required = false)
     private RabbitTemplate rabbitTemplate;
 
+    @Autowired(required = false)
+    private MessageBrokerService messageBrokerService;
+
+    @Autowired
+    private QueueMetricsService queueMetricsService;
+
     @Value("${message.broker.type:none}")
     private String brokerType;
 
@@ -96,22 +107,23 @@ public class QueueMonitoringService {
         status.put("kafkaEnabled", kafkaEnabled);
         status.put("timestamp", LocalDateTime.now());
 
+        // Resultado da última amostragem; não acessa o broker a cada chamada
         if (rabbitmqEnabled && rabbitTemplate != null) {
-            try {
-                // Tenta fazer um teste de conectividade
-                rabbitTemplate.convertAndSend(exchangeName, "test.routing.key", "test-message");
-                status.put("rabbitmqStatus", "CONNECTED");
-            } catch (Exception e) {
-                log.warn("RabbitMQ não está disponível: {}", e.getMessage());
-                status.put("rabbitmqStatus", "DISCONNECTED");
-                status.put("rabbitmqError", e.getMessage());
+            Map<String, Object> coleta = queueMetricsService.obterStatusColeta("RabbitMQ");
+            status.put("rabbitmqStatus", coleta.get("status"));
+            if (coleta.containsKey("erro")) {
+                status.put("rabbitmqError", coleta.get("erro"));
             }
         } else {
             status.put("rabbitmqStatus", "DISABLED");
         }
 
         if (kafkaEnabled) {
-            status.put("kafkaStatus", "CONFIGURED");
+            Map<String, Object> coleta = queueMetricsService.obterStatusColeta("Kafka");
+            status.put("kafkaStatus", coleta.get("status"));
+            if (coleta.containsKey("erro")) {
+                status.put("kafkaError", coleta.get("erro"));
+            }
         } else {
             status.put("kafkaStatus", "DISABLED");
         }
@@ -119,6 +131,27 @@ public class QueueMonitoringService {
         return status;
     }
 
+    /**
+     * Obtém as métricas de publicação do message broker em uso.
+     * Com o broker composto, retorna uma entrada por broker de destino.
+     */
+    public List<BrokerMetricasDTO> obterMetricasBrokers() {
+        List<BrokerMetricasDTO> metricas = new ArrayList<>();
+
+        if (messageBrokerService instanceof CompositeMessageBrokerService composite) {
+            metricas.addAll(composite.getMetricas());
+        } else if (messageBrokerService instanceof EmbeddedMessageBrokerService embedded) {
+            metricas.add(embedded.getMetricas());
+        } else if (messageBrokerService != null) {
+            BrokerMetricasDTO dto = new BrokerMetricasDTO();
+            dto.setNome(messageBrokerService.getType().toLowerCase());
+            dto.setTipo(messageBrokerService.getType());
+            metricas.add(dto);
+        }
+
+        return metricas;
+    }
+
     /**
      * Lista filas do RabbitMQ.
      */
@@ -148,13 +181,9 @@ public class QueueMonitoringService {
                 fila.setNome(nomesFilas[i]);
                 fila.setDescricao(descricoes[i]);
                 fila.setTipo("RabbitMQ");
-                fila.setStatus("ACTIVE");
-                fila.setMensagens(0L); // Seria obtido via RabbitMQ Management API
-                fila.setConsumidores(1);
-                fila.setTaxaMensagens(0.0);
                 fila.setDuravel(true);
                 fila.setExchange(exchangeName);
-                fila.setUltimaAtualizacao(LocalDateTime.now());
+                preencherMetricas(fila);
                 
                 filas.add(fila);
             }
@@ -194,12 +223,8 @@ public class QueueMonitoringService {
             fila.setNome(topicos[i]);
             fila.setDescricao(descricoes[i]);
             fila.setTipo("Kafka");
-            fila.setStatus("ACTIVE");
-            fila.setMensagens(0L);
-            fila.setConsumidores(1);
-            fila.setTaxaMensagens(0.0);
             fila.setDuravel(true);
-            fila.setUltimaAtualizacao(LocalDateTime.now());
+            preencherMetricas(fila);
             
             filas.add(fila);
         }
@@ -214,13 +239,9 @@ public class QueueMonitoringService {
         QueueInfoDTO fila = new QueueInfoDTO();
         fila.setNome(nomeFila);
         fila.setTipo("RabbitMQ");
-        fila.setStatus("ACTIVE");
-        fila.setMensagens(0L);
-        fila.setConsumidores(1);
-        fila.setTaxaMensagens(0.0);
         fila.setDuravel(true);
         fila.setExchange(exchangeName);
-        fila.setUltimaAtualizacao(LocalDateTime.now());
+        preencherMetricas(fila);
         
         return fila;
     }
@@ -232,16 +253,41 @@ public class QueueMonitoringService {
         QueueInfoDTO fila = new QueueInfoDTO();
         fila.setNome(nomeFila);
         fila.setTipo("Kafka");
-        fila.setStatus("ACTIVE");
-        fila.setMensagens(0L);
-        fila.setConsumidores(1);
-        fila.setTaxaMensagens(0.0);
         fila.setDuravel(true);
-        fila.setUltimaAtualizacao(LocalDateTime.now());
+        preencherMetricas(fila);
         
         return fila;
     }
 
+    /**
+     * Obtém o histórico de amostras de uma fila, usado para gráficos de taxa e lag.
+     */
+    public List<AmostraFilaDTO> obterHistoricoFila(String nomeFila) {
+        return queueMetricsService.obterHistorico(nomeFila);
+    }
+
+    /**
+     * Preenche as métricas da fila a partir da última amostra coletada.
+     * Enquanto a fila não foi amostrada, o status fica como desconhecido.
+     */
+    private void preencherMetricas(QueueInfoDTO fila) {
+        AmostraFilaDTO amostra = queueMetricsService.obterUltimaAmostra(fila.getNome());
+        if (amostra == null) {
+            fila.setStatus(QueueMetricsService.STATUS_DESCONHECIDO);
+            fila.setUltimaAtualizacao(LocalDateTime.now());
+            return;
+        }
+
+        fila.setStatus("ACTIVE");
+        fila.setMensagens(amostra.getMensagens());
+        fila.setConsumidores(amostra.getConsumidores());
+        fila.setTaxaMensagens(amostra.getTaxaMensagens());
+        fila.setLag(amostra.getLag());
+        fila.setLagPorParticao(amostra.getLagPorParticao());
+        fila.setTendenciaLag(queueMetricsService.obterTendenciaLag(fila.getNome()));
+        fila.setUltimaAtualizacao(amostra.getTimestamp());
+    }
+
     /**
      * Cria filas mockadas para desenvolvimento quando nenhum broker está configurado.
      */
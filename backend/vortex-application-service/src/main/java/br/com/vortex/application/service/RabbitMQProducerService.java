@@ -126,6 +126,19 @@ public class RabbitMQProducerService implements MessageBrokerService {
         }
     }
 
+    @Override
+    public void publicarInvalidacaoCacheProduto(Long produtoId) {
+        if (!rabbitMQEnabled) return;
+
+        try {
+            String routingKey = "vortex.produto.events." + ProdutoEventDTO.ACAO_CACHE_INVALIDADO.toLowerCase();
+            publishEventWithFallback(routingKey, ProdutoEventDTO.invalidacaoCache(produtoId),
+                "invalidação de cache do produto " + produtoId);
+        } catch (Exception e) {
+            log.error("Erro ao publicar invalidação de cache do produto {} via RabbitMQ", produtoId, e);
+        }
+    }
+
     @Override
     public void publicarAlertaEstoqueBaixo(Produto produto, Integer quantidadeMinima, String userId) {
         publicarAlertaEstoque("ESTOQUE_BAIXO", produto, quantidadeMinima, "MEDIUM", 
@@ -175,20 +188,21 @@ public class RabbitMQProducerService implements MessageBrokerService {
     @Override
     public void publicarAuditoria(String acao, String entidade, Long entidadeId, 
                                 String detalhes, String userId, String status, String erro) {
+        publicarAuditoria(AuditoriaEventDTO.de(acao, entidade, entidadeId, detalhes, userId, status, erro));
+    }
+
+    @Override
+    public void publicarAuditoriaMovimento(String acao, Long movimentoId, Long produtoId, Integer quantidade,
+                                           String detalhes, String userId) {
+        publicarAuditoria(AuditoriaEventDTO.deMovimento(acao, movimentoId, produtoId, quantidade, detalhes, userId));
+    }
+
+    private void publicarAuditoria(AuditoriaEventDTO event) {
         if (!rabbitMQEnabled) return;
 
         try {
-            AuditoriaEventDTO event = new AuditoriaEventDTO();
-            event.setAcao(acao);
-            event.setEntidade(entidade);
-            event.setEntidadeId(entidadeId);
-            event.setDetalhes(detalhes);
-            event.setResultado(status);
-            event.setMensagemErro(erro);
-            event.setUserId(userId);
-
-            String routingKey = "vortex.auditoria." + acao.toLowerCase();
-            publishEventWithFallback(routingKey, event, "auditoria " + acao);
+            String routingKey = "vortex.auditoria." + event.getAcao().toLowerCase();
+            publishEventWithFallback(routingKey, event, "auditoria " + event.getAcao());
 
         } catch (Exception e) {
             log.error("Erro ao publicar evento de auditoria via RabbitMQ", e);
@@ -0,0 +1,63 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import com.rabbitmq.client.AMQP;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coleta a profundidade e o número de consumidores das filas RabbitMQ.
+ *
+ * Usa declaração passiva ({@code queue.declare} com {@code passive=true}), que não
+ * cria nem altera a fila e retorna as contagens atuais no próprio canal AMQP, sem
+ * depender do plugin de management. Cada fila é consultada em um canal próprio: a
+ * declaração passiva de uma fila inexistente fecha o canal, e assim só essa fila fica
+ * fora da amostra.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "rabbitmq.enabled", havingValue = "true")
+public class RabbitMQQueueMetricsCollector implements QueueMetricsCollector {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<String> filas;
+
+    @Autowired
+    public RabbitMQQueueMetricsCollector(RabbitTemplate rabbitTemplate, List<Queue> filas) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.filas = filas.stream().map(Queue::getName).toList();
+    }
+
+    @Override
+    public String getTipo() {
+        return "RabbitMQ";
+    }
+
+    @Override
+    public List<AmostraFilaDTO> coletar() {
+        List<AmostraFilaDTO> amostras = new ArrayList<>(filas.size());
+        for (String fila : filas) {
+            try {
+                AMQP.Queue.DeclareOk declaracao = rabbitTemplate.execute(channel -> channel.queueDeclarePassive(fila));
+
+                AmostraFilaDTO amostra = new AmostraFilaDTO();
+                amostra.setNome(fila);
+                amostra.setTipo(getTipo());
+                amostra.setMensagens((long) declaracao.getMessageCount());
+                amostra.setConsumidores(declaracao.getConsumerCount());
+                amostras.add(amostra);
+            } catch (AmqpException e) {
+                log.warn("Não foi possível coletar as métricas da fila RabbitMQ {}: {}", fila, e.getMessage());
+            }
+        }
+        return amostras;
+    }
+}
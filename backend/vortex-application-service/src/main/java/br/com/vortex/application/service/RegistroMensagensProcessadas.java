@@ -0,0 +1,166 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.model.MensagemProcessada;
+import br.com.vortex.application.repository.MensagemProcessadaRepository;
+import br.com.vortex.application.util.LruSegmentado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro das mensagens de broker já processadas, para descartar reentregas.
+ *
+ * As consultas passam primeiro por um LRU em memória, que resolve as reentregas
+ * recentes sem ir ao banco; só então a tabela {@code mensagem_processada} é consultada.
+ * O registro deve ser feito na mesma transação que aplica o efeito da mensagem (ex.:
+ * alteração de estoque): se a transação é desfeita, a mensagem continua pendente; se
+ * duas entregas concorrem, a chave primária impede a segunda confirmação. As chaves
+ * só entram no LRU após o commit. Os registros expiram após o TTL configurado.
+ */
+@Slf4j
+@Service
+public class RegistroMensagensProcessadas {
+
+    private final MensagemProcessadaRepository mensagemProcessadaRepository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LruSegmentado<String, Boolean> recentes;
+
+    private final AtomicLong descartadasEmMemoria = new AtomicLong();
+    private final AtomicLong descartadasNoBanco = new AtomicLong();
+
+    @Autowired
+    public RegistroMensagensProcessadas(MensagemProcessadaRepository mensagemProcessadaRepository,
+                                        @Value("${mensagens.processadas.ttl-horas:168}") long ttlHoras,
+                                        @Value("${mensagens.processadas.cache.capacidade:100000}") int capacidadeCache) {
+        this(mensagemProcessadaRepository, Duration.ofHours(ttlHoras), capacidadeCache, Clock.systemDefaultZone());
+    }
+
+    RegistroMensagensProcessadas(MensagemProcessadaRepository mensagemProcessadaRepository, Duration ttl,
+                                 int capacidadeCache, Clock clock) {
+        this.mensagemProcessadaRepository = mensagemProcessadaRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.recentes = new LruSegmentado<>(capacidadeCache, 16);
+    }
+
+    /**
+     * Verifica se a mensagem já foi processada pelo consumidor.
+     *
+     * @param consumidor Nome do consumidor
+     * @param mensagemId ID da mensagem (eventId ou operationId); {@code null} nunca é considerado processado
+     */
+    public boolean jaProcessada(String consumidor, String mensagemId) {
+        if (mensagemId == null) {
+            return false;
+        }
+        return !filtrarProcessadas(consumidor, List.of(mensagemId)).isEmpty();
+    }
+
+    /**
+     * Retorna, entre os IDs informados, os já processados pelo consumidor (no máximo uma consulta ao banco).
+     */
+    public Set<String> filtrarProcessadas(String consumidor, Collection<String> mensagemIds) {
+        Set<String> processadas = new HashSet<>();
+        List<String> consultarNoBanco = new ArrayList<>();
+
+        for (String mensagemId : mensagemIds) {
+            if (mensagemId == null) {
+                continue;
+            }
+            if (recentes.obter(chave(consumidor, mensagemId)) != null) {
+                processadas.add(mensagemId);
+                descartadasEmMemoria.incrementAndGet();
+            } else {
+                consultarNoBanco.add(chave(consumidor, mensagemId));
+            }
+        }
+
+        if (!consultarNoBanco.isEmpty()) {
+            String prefixo = consumidor + ":";
+            for (String chave : mensagemProcessadaRepository.findChavesRegistradas(consultarNoBanco)) {
+                recentes.colocar(chave, Boolean.TRUE);
+                processadas.add(chave.substring(prefixo.length()));
+                descartadasNoBanco.incrementAndGet();
+            }
+        }
+        return processadas;
+    }
+
+    /**
+     * Registra a mensagem como processada, na transação corrente se houver.
+     */
+    public void registrar(String consumidor, String mensagemId) {
+        if (mensagemId != null) {
+            registrarTodas(consumidor, List.of(mensagemId));
+        }
+    }
+
+    /**
+     * Registra as mensagens como processadas, na transação corrente se houver.
+     */
+    public void registrarTodas(String consumidor, Collection<String> mensagemIds) {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        Set<String> chaves = new LinkedHashSet<>();
+        List<MensagemProcessada> registros = new ArrayList<>();
+        for (String mensagemId : mensagemIds) {
+            if (mensagemId != null && chaves.add(chave(consumidor, mensagemId))) {
+                registros.add(new MensagemProcessada(chave(consumidor, mensagemId), consumidor, agora, agora.plus(ttl)));
+            }
+        }
+        if (registros.isEmpty()) {
+            return;
+        }
+
+        mensagemProcessadaRepository.saveAll(registros);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    chaves.forEach(chave -> recentes.colocar(chave, Boolean.TRUE));
+                }
+            });
+        } else {
+            chaves.forEach(chave -> recentes.colocar(chave, Boolean.TRUE));
+        }
+    }
+
+    /**
+     * Remove os registros cujo TTL expirou.
+     */
+    @Scheduled(fixedDelayString = "${mensagens.processadas.limpeza-ms:3600000}")
+    public void limparExpiradas() {
+        int removidas = mensagemProcessadaRepository.excluirExpiradas(LocalDateTime.now(clock));
+        if (removidas > 0) {
+            log.info("Removidos {} registros de mensagens processadas expirados", removidas);
+        }
+    }
+
+    public long getDescartadasEmMemoria() {
+        return descartadasEmMemoria.get();
+    }
+
+    public long getDescartadasNoBanco() {
+        return descartadasNoBanco.get();
+    }
+
+    private static String chave(String consumidor, String mensagemId) {
+        return consumidor + ":" + mensagemId;
+    }
+}
@@ -3,19 +3,18 @@ package br.com.vortex.application.service;
 import br.com.vortex.application.dto.LucroPorProdutoDTO;
 import br.com.vortex.application.dto.ProdutoPorTipoDTO;
 import br.com.vortex.application.exception.ResourceNotFoundException;
-import br.com.vortex.application.model.Produto;
-import br.com.vortex.application.model.TipoProduto;
-import br.com.vortex.application.model.enums.TipoMovimentacao;
-import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository;
+import br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository.TotaisSaidas;
 import br.com.vortex.application.repository.ProdutoRepository;
 import br.com.vortex.application.repository.TipoProdutoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Serviço para operações relacionadas a relatórios.
@@ -25,19 +24,20 @@ public class RelatorioService {
 
     private final ProdutoRepository produtoRepository;
     private final TipoProdutoRepository tipoProdutoRepository;
-    private final MovimentoEstoqueRepository movimentoEstoqueRepository;
+    private final MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository;
 
     @Autowired
     public RelatorioService(ProdutoRepository produtoRepository,
                            TipoProdutoRepository tipoProdutoRepository,
-                           MovimentoEstoqueRepository movimentoEstoqueRepository) {
+                           MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository) {
         this.produtoRepository = produtoRepository;
         this.tipoProdutoRepository = tipoProdutoRepository;
-        this.movimentoEstoqueRepository = movimentoEstoqueRepository;
+        this.movimentoEstoqueArquivoRepository = movimentoEstoqueArquivoRepository;
     }
 
     /**
      * Gera relatório de produtos por tipo.
+     * O total de saídas é agregado no banco e inclui os movimentos arquivados.
      *
      * @param tipoProdutoId ID do tipo de produto
      * @return Lista de DTOs com informações dos produtos do tipo especificado
@@ -45,54 +45,45 @@ public class RelatorioService {
      */
     @Transactional(readOnly = true)
     public List<ProdutoPorTipoDTO> gerarRelatorioProdutosPorTipo(Long tipoProdutoId) {
-        TipoProduto tipoProduto = tipoProdutoRepository.findById(tipoProdutoId)
-                .orElseThrow(() -> new ResourceNotFoundException("TipoProduto", "id", tipoProdutoId));
-        
-        List<Produto> produtos = produtoRepository.findByTipoProduto(tipoProduto);
+        if (!tipoProdutoRepository.existsById(tipoProdutoId)) {
+            throw new ResourceNotFoundException("TipoProduto", "id", tipoProdutoId);
+        }
         
-        return produtos.stream()
-                .map(produto -> {
-                    ProdutoPorTipoDTO dto = new ProdutoPorTipoDTO();
-                    dto.setId(produto.getId());
-                    dto.setDescricao(produto.getDescricao());
-                    dto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque());
-                    
-                    // Calcula o total de saídas para o produto
-                    long totalSaidas = movimentoEstoqueRepository.countByProdutoAndTipoMovimentacao(
-                            produto, TipoMovimentacao.SAIDA);
-                    dto.setTotalSaidas((int) totalSaidas);
-                    
-                    return dto;
-                })
-                .toList();
+        List<ProdutoPorTipoDTO> relatorio = produtoRepository.gerarRelatorioPorTipo(tipoProdutoId);
+        Map<Long, TotaisSaidas> arquivados = porProduto(
+                movimentoEstoqueArquivoRepository.somarSaidasPorProdutoDoTipo(tipoProdutoId));
+        for (ProdutoPorTipoDTO dto : relatorio) {
+            TotaisSaidas totais = arquivados.get(dto.getId());
+            if (totais != null) {
+                dto.setTotalSaidas(dto.getTotalSaidas() + totais.saidas().intValue());
+            }
+        }
+        return relatorio;
     }
 
     /**
      * Gera relatório de lucro por produto.
+     * Unidades vendidas e lucro são agregados no banco e incluem os movimentos arquivados.
      *
      * @return Lista de DTOs com informações de lucro por produto
      */
     @Transactional(readOnly = true)
     public List<LucroPorProdutoDTO> gerarRelatorioLucroPorProduto() {
-        List<Produto> produtos = produtoRepository.findAll();
-        List<LucroPorProdutoDTO> resultado = new ArrayList<>();
-        
-        for (Produto produto : produtos) {
-            LucroPorProdutoDTO dto = new LucroPorProdutoDTO();
-            dto.setId(produto.getId());
-            dto.setDescricao(produto.getDescricao());
-            
-            // Busca o total de unidades vendidas
-            Integer totalUnidadesVendidas = movimentoEstoqueRepository.getTotalUnidadesVendidas(produto.getId());
-            dto.setTotalUnidadesVendidas(totalUnidadesVendidas != null ? totalUnidadesVendidas : 0);
-            
-            // Busca o lucro total
-            BigDecimal lucroTotal = movimentoEstoqueRepository.getLucroTotal(produto.getId());
-            dto.setLucroTotal(lucroTotal != null ? lucroTotal : BigDecimal.ZERO);
-            
-            resultado.add(dto);
+        List<LucroPorProdutoDTO> relatorio = produtoRepository.gerarRelatorioLucro();
+        Map<Long, TotaisSaidas> arquivados = porProduto(movimentoEstoqueArquivoRepository.somarSaidasPorProduto());
+        for (LucroPorProdutoDTO dto : relatorio) {
+            TotaisSaidas totais = arquivados.get(dto.getId());
+            if (totais != null) {
+                dto.setTotalUnidadesVendidas(dto.getTotalUnidadesVendidas() + totais.unidades().intValue());
+                if (totais.lucro() != null) {
+                    dto.setLucroTotal(dto.getLucroTotal().add(totais.lucro()));
+                }
+            }
         }
-        
-        return resultado;
+        return relatorio;
+    }
+
+    private static Map<Long, TotaisSaidas> porProduto(List<TotaisSaidas> totais) {
+        return totais.stream().collect(Collectors.toMap(TotaisSaidas::produtoId, Function.identity()));
     }
-}
\ No newline at end of file
+}
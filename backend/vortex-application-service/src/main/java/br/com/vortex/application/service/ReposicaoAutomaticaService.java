@@ -0,0 +1,258 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AlertaEstoqueEventDTO;
+import br.com.vortex.application.dto.PedidoReposicaoDTO;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.exception.ResourceNotFoundException;
+import br.com.vortex.application.model.PedidoReposicao;
+import br.com.vortex.application.model.enums.StatusPedidoReposicao;
+import br.com.vortex.application.repository.PedidoReposicaoRepository;
+import br.com.vortex.application.util.LruSegmentado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço responsável pelos pedidos de reposição abertos automaticamente a partir de alertas.
+ *
+ * Alertas críticos se repetem a cada movimentação do produto e a cada reentrega do
+ * broker, mas cada produto deve ter no máximo um pedido aberto e um ticket urgente.
+ * Duas verificações evitam as chamadas repetidas aos sistemas externos:
+ * - IDs de evento já processados ficam em cache, descartando reentregas sem ir ao banco;
+ * - o pedido aberto de cada produto fica em cache por um tempo limitado, com o banco
+ *   como fonte da verdade (unicidade de {@code chaveAberta} e marcação atômica do ticket).
+ */
+@Slf4j
+@Service
+public class ReposicaoAutomaticaService {
+
+    private static final String OPERACAO_PEDIDO = ":PEDIDO";
+    private static final String OPERACAO_TICKET = ":TICKET";
+
+    private final PedidoReposicaoRepository pedidoReposicaoRepository;
+    private final int fatorEstoqueAlvo;
+    private final long validadeCacheMillis;
+    private final Clock clock;
+
+    private final LruSegmentado<String, Boolean> eventosProcessados;
+    private final LruSegmentado<Long, PedidoAberto> pedidosAbertos;
+
+    private final AtomicLong pedidosCriados = new AtomicLong();
+    private final AtomicLong ticketsCriados = new AtomicLong();
+    private final AtomicLong alertasDuplicados = new AtomicLong();
+
+    @Autowired
+    public ReposicaoAutomaticaService(PedidoReposicaoRepository pedidoReposicaoRepository,
+                                      @Value("${reposicao.fator-estoque-alvo:2}") int fatorEstoqueAlvo,
+                                      @Value("${reposicao.cache.capacidade:10000}") int capacidadeCache,
+                                      @Value("${reposicao.cache.validade-segundos:60}") long validadeCacheSegundos) {
+        this(pedidoReposicaoRepository, fatorEstoqueAlvo, capacidadeCache, validadeCacheSegundos * 1000, Clock.systemDefaultZone());
+    }
+
+    ReposicaoAutomaticaService(PedidoReposicaoRepository pedidoReposicaoRepository, int fatorEstoqueAlvo,
+                               int capacidadeCache, long validadeCacheMillis, Clock clock) {
+        this.pedidoReposicaoRepository = pedidoReposicaoRepository;
+        this.fatorEstoqueAlvo = fatorEstoqueAlvo;
+        this.validadeCacheMillis = validadeCacheMillis;
+        this.clock = clock;
+        this.eventosProcessados = new LruSegmentado<>(capacidadeCache, 16);
+        this.pedidosAbertos = new LruSegmentado<>(capacidadeCache, 16);
+    }
+
+    /**
+     * Abre o pedido de reposição do produto do alerta, se ele ainda não tiver um aberto.
+     *
+     * @param event Alerta de estoque
+     * @return Pedido criado, ou vazio se o alerta é repetido ou o produto já tem pedido aberto
+     */
+    public Optional<PedidoReposicao> abrirPedido(AlertaEstoqueEventDTO event) {
+        String chaveEvento = event.getEventId() + OPERACAO_PEDIDO;
+        if (eventosProcessados.obter(chaveEvento) != null || pedidoAberto(event.getProdutoId()) != null) {
+            eventosProcessados.colocar(chaveEvento, Boolean.TRUE);
+            alertasDuplicados.incrementAndGet();
+            return Optional.empty();
+        }
+
+        if (pedidoReposicaoRepository.existsByEventoOrigem(event.getEventId())) {
+            // Reentrega de um alerta cujo pedido já foi fechado
+            eventosProcessados.colocar(chaveEvento, Boolean.TRUE);
+            alertasDuplicados.incrementAndGet();
+            return Optional.empty();
+        }
+
+        PedidoReposicao pedido = new PedidoReposicao();
+        pedido.setProdutoId(event.getProdutoId());
+        pedido.setChaveAberta(event.getProdutoId());
+        pedido.setEventoOrigem(event.getEventId());
+        pedido.setQuantidadeSolicitada(calcularQuantidade(event));
+        pedido.setPrioridade(event.getPrioridade());
+        pedido.setDataCriacao(LocalDateTime.now(clock));
+
+        try {
+            pedido = pedidoReposicaoRepository.saveAndFlush(pedido);
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância abriu o pedido do produto (ou processou o mesmo alerta) antes
+            log.debug("Pedido de reposição do produto {} já aberto por outro consumidor", event.getProdutoId());
+            pedidosAbertos.remover(event.getProdutoId());
+            eventosProcessados.colocar(chaveEvento, Boolean.TRUE);
+            alertasDuplicados.incrementAndGet();
+            return Optional.empty();
+        }
+
+        PedidoAberto aberto = new PedidoAberto(pedido.getId(), false, clock.millis());
+        aposCommit(() -> {
+            pedidosAbertos.colocar(event.getProdutoId(), aberto);
+            eventosProcessados.colocar(chaveEvento, Boolean.TRUE);
+        });
+        pedidosCriados.incrementAndGet();
+        log.info("Pedido de reposição {} aberto para o produto {} ({} unidades)",
+                pedido.getId(), pedido.getProdutoId(), pedido.getQuantidadeSolicitada());
+        return Optional.of(pedido);
+    }
+
+    /**
+     * Registra o ticket urgente do pedido aberto do produto, se ele ainda não tiver um.
+     * O alerta só é lembrado como processado após o commit da marcação do ticket; se a
+     * transação for desfeita, a reentrega do alerta volta a tentar.
+     *
+     * @param event Alerta de estoque
+     * @return true se o ticket deve ser criado por este alerta
+     */
+    public boolean registrarTicket(AlertaEstoqueEventDTO event) {
+        String chaveEvento = event.getEventId() + OPERACAO_TICKET;
+        if (eventosProcessados.obter(chaveEvento) != null) {
+            alertasDuplicados.incrementAndGet();
+            return false;
+        }
+
+        PedidoAberto aberto = pedidoAberto(event.getProdutoId());
+        if (aberto == null || aberto.ticketCriado()) {
+            alertasDuplicados.incrementAndGet();
+            return false;
+        }
+
+        boolean marcado = pedidoReposicaoRepository.marcarTicketCriado(aberto.pedidoId()) == 1;
+        PedidoAberto comTicket = new PedidoAberto(aberto.pedidoId(), true, clock.millis());
+        aposCommit(() -> {
+            pedidosAbertos.colocar(event.getProdutoId(), comTicket);
+            eventosProcessados.colocar(chaveEvento, Boolean.TRUE);
+        });
+        if (marcado) {
+            ticketsCriados.incrementAndGet();
+        } else {
+            alertasDuplicados.incrementAndGet();
+        }
+        return marcado;
+    }
+
+    /**
+     * Lista os pedidos na situação informada.
+     */
+    @Transactional(readOnly = true)
+    public List<PedidoReposicaoDTO> listar(StatusPedidoReposicao status) {
+        return pedidoReposicaoRepository.findByStatusOrderByDataCriacaoDesc(status).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fecha o pedido (atendido ou cancelado), liberando o produto para um novo pedido automático.
+     */
+    @Transactional
+    public PedidoReposicaoDTO fechar(Long id, StatusPedidoReposicao novoStatus) {
+        if (novoStatus == StatusPedidoReposicao.ABERTO) {
+            throw new RegraNegocioException("O pedido só pode ser fechado como ATENDIDO ou CANCELADO");
+        }
+
+        PedidoReposicao pedido = pedidoReposicaoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("PedidoReposicao", "id", id));
+        if (pedido.getStatus() != StatusPedidoReposicao.ABERTO) {
+            throw new RegraNegocioException("O pedido " + id + " já está " + pedido.getStatus());
+        }
+
+        pedido.setStatus(novoStatus);
+        pedido.setChaveAberta(null);
+        pedido.setDataFechamento(LocalDateTime.now(clock));
+        pedido = pedidoReposicaoRepository.save(pedido);
+        pedidosAbertos.remover(pedido.getProdutoId());
+
+        log.info("Pedido de reposição {} do produto {} fechado como {}", id, pedido.getProdutoId(), novoStatus);
+        return mapToDTO(pedido);
+    }
+
+    public long getPedidosCriados() {
+        return pedidosCriados.get();
+    }
+
+    public long getTicketsCriados() {
+        return ticketsCriados.get();
+    }
+
+    public long getAlertasDuplicados() {
+        return alertasDuplicados.get();
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente, ou imediatamente se não houver transação.
+     */
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    /**
+     * Pedido aberto do produto, do cache enquanto válido ou do banco.
+     */
+    private PedidoAberto pedidoAberto(Long produtoId) {
+        long agora = clock.millis();
+        PedidoAberto aberto = pedidosAbertos.obter(produtoId);
+        if (aberto != null && agora - aberto.carregadoEm() < validadeCacheMillis) {
+            return aberto;
+        }
+
+        Optional<PedidoReposicao> pedido = pedidoReposicaoRepository.findByChaveAberta(produtoId);
+        if (pedido.isEmpty()) {
+            pedidosAbertos.remover(produtoId);
+            return null;
+        }
+
+        aberto = new PedidoAberto(pedido.get().getId(), pedido.get().isTicketCriado(), agora);
+        pedidosAbertos.colocar(produtoId, aberto);
+        return aberto;
+    }
+
+    private int calcularQuantidade(AlertaEstoqueEventDTO event) {
+        int minima = event.getQuantidadeMinima() != null ? event.getQuantidadeMinima() : 0;
+        int atual = event.getQuantidadeAtual() != null ? Math.max(event.getQuantidadeAtual(), 0) : 0;
+        return Math.max(minima * fatorEstoqueAlvo - atual, 1);
+    }
+
+    private PedidoReposicaoDTO mapToDTO(PedidoReposicao pedido) {
+        return new PedidoReposicaoDTO(pedido.getId(), pedido.getProdutoId(), pedido.getEventoOrigem(),
+                pedido.getStatus(), pedido.getQuantidadeSolicitada(), pedido.getPrioridade(),
+                pedido.isTicketCriado(), pedido.getDataCriacao(), pedido.getDataFechamento());
+    }
+
+    private record PedidoAberto(Long pedidoId, boolean ticketCriado, long carregadoEm) {
+    }
+}
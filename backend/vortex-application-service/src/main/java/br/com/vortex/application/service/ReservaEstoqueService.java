@@ -0,0 +1,406 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.DisponibilidadeEstoqueDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.dto.OperacaoMovimentoDTO;
+import br.com.vortex.application.dto.ReservaEstoqueDTO;
+import br.com.vortex.application.exception.EstoqueInsuficienteException;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.exception.ResourceNotFoundException;
+import br.com.vortex.application.model.ReservaEstoque;
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import br.com.vortex.application.model.enums.StatusReservaEstoque;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import br.com.vortex.application.repository.ReservaEstoqueRepository;
+import br.com.vortex.application.util.RodaTemporizadora;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Reservas de estoque para o checkout em duas fases: reservar antes do pagamento e confirmar depois.
+ *
+ * O estado fica no banco e vale para todas as instâncias: a quantidade reservada de cada produto está
+ * na coluna {@code produto.quantidade_reservada} e cada reserva em {@code reserva_estoque}. Reservar é
+ * um único UPDATE condicionado ao estoque disponível (estoque menos reservado), sem leitura prévia nem
+ * bloqueio explícito; as mudanças de situação são condicionadas à situação anterior, então só uma das
+ * instâncias que disputam a mesma reserva a conclui, e devolvem a quantidade na mesma transação. A
+ * coluna fica fora da entidade {@code Produto} e, portanto, do cache de segundo nível.
+ *
+ * Toda saída de estoque passa por {@link #verificarSaida}, que desconta as reservas dos outros; uma
+ * restrição no banco impede o estoque de ficar abaixo do reservado caso uma reserva seja gravada
+ * entre essa verificação e o commit da saída. A confirmação cria a SAIDA pelo
+ * {@link MovimentoEstoqueService}, e a reserva é consumida na transação que grava a saída. Com o
+ * processamento assíncrono de movimentos a saída ainda não existe no retorno: a reserva fica
+ * CONFIRMANDO, sem vencer, até o consumidor aplicar a saída; se ela for recusada, a reserva é cancelada.
+ *
+ * Reservas não confirmadas vencem pela {@link RodaTemporizadora} da instância que as criou; as que
+ * ficarem para trás (instância parada) são expiradas pela varredura periódica de qualquer instância.
+ */
+@Slf4j
+@Service
+public class ReservaEstoqueService {
+
+    private static final String RESERVAR = "UPDATE produto SET quantidade_reservada = quantidade_reservada + ? "
+            + "WHERE id = ? AND quantidade_em_estoque - quantidade_reservada >= ?";
+
+    private static final String LIBERAR = "UPDATE produto SET quantidade_reservada = quantidade_reservada - ? WHERE id = ?";
+
+    private static final String LER_RESERVADO = "SELECT quantidade_reservada FROM produto WHERE id = ?";
+
+    private static final String LER_SALDO = "SELECT quantidade_em_estoque, quantidade_reservada FROM produto WHERE id = ?";
+
+    private final ReservaEstoqueRepository reservaEstoqueRepository;
+    private final Supplier<MovimentoEstoqueService> movimentoEstoqueService;
+    private final OperacaoMovimentoService operacaoMovimentoService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration validadePadrao;
+    private final Duration validadeMaxima;
+    private final Duration retencao;
+    private final Clock clock;
+
+    private final RodaTemporizadora<String> rodaExpiracao;
+
+    @Autowired
+    public ReservaEstoqueService(ReservaEstoqueRepository reservaEstoqueRepository,
+                                ObjectProvider<MovimentoEstoqueService> movimentoEstoqueService,
+                                OperacaoMovimentoService operacaoMovimentoService,
+                                DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${reservas.estoque.validade-padrao-segundos:600}") long validadePadraoSegundos,
+                                @Value("${reservas.estoque.validade-maxima-segundos:3600}") long validadeMaximaSegundos,
+                                @Value("${reservas.estoque.resolucao-ms:1000}") long resolucaoMs,
+                                @Value("${reservas.estoque.retencao-horas:72}") long retencaoHoras) {
+        // O MovimentoEstoqueService também depende deste serviço; é resolvido só na primeira confirmação
+        this(reservaEstoqueRepository, movimentoEstoqueService::getObject, operacaoMovimentoService,
+                dataSource, transactionManager,
+                Duration.ofSeconds(validadePadraoSegundos), Duration.ofSeconds(validadeMaximaSegundos),
+                Duration.ofMillis(resolucaoMs), Duration.ofHours(retencaoHoras), Clock.systemDefaultZone());
+    }
+
+    ReservaEstoqueService(ReservaEstoqueRepository reservaEstoqueRepository,
+                          Supplier<MovimentoEstoqueService> movimentoEstoqueService, OperacaoMovimentoService operacaoMovimentoService,
+                          DataSource dataSource, PlatformTransactionManager transactionManager,
+                          Duration validadePadrao, Duration validadeMaxima, Duration resolucao, Duration retencao,
+                          Clock clock) {
+        if (validadePadrao.compareTo(validadeMaxima) > 0) {
+            throw new IllegalArgumentException("A validade padrão das reservas não pode passar da validade máxima");
+        }
+
+        this.reservaEstoqueRepository = reservaEstoqueRepository;
+        this.movimentoEstoqueService = movimentoEstoqueService;
+        this.operacaoMovimentoService = operacaoMovimentoService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validadePadrao = validadePadrao;
+        this.validadeMaxima = validadeMaxima;
+        this.retencao = retencao;
+        this.clock = clock;
+        // Uma volta da roda cobre aproximadamente a validade máxima; reservas mais longas só dão voltas extras
+        int posicoes = (int) Math.min(1 << 16, Math.max(64, validadeMaxima.toMillis() / resolucao.toMillis()));
+        this.rodaExpiracao = new RodaTemporizadora<>(resolucao.toMillis(), posicoes, clock.millis());
+    }
+
+    /**
+     * Reserva estoque de um produto, descontando-o da disponibilidade até a confirmação ou o vencimento.
+     *
+     * @param reservaDTO Produto, quantidade e validade opcional da reserva
+     * @return Reserva criada
+     * @throws ResourceNotFoundException se o produto não for encontrado
+     * @throws EstoqueInsuficienteException se a quantidade disponível não for suficiente
+     * @throws RegraNegocioException se a validade passar da máxima permitida
+     */
+    public ReservaEstoqueDTO reservar(ReservaEstoqueDTO reservaDTO) {
+        Duration validade = reservaDTO.getValidadeSegundos() != null
+                ? Duration.ofSeconds(reservaDTO.getValidadeSegundos()) : validadePadrao;
+        if (validade.compareTo(validadeMaxima) > 0) {
+            throw new RegraNegocioException("A validade da reserva deve ser de no máximo "
+                    + validadeMaxima.toSeconds() + " segundos");
+        }
+
+        Long produtoId = reservaDTO.getProdutoId();
+        int quantidade = reservaDTO.getQuantidade();
+        LocalDateTime agora = LocalDateTime.now(clock);
+        ReservaEstoque registro = new ReservaEstoque(UUID.randomUUID().toString(), StatusReservaEstoque.ATIVA,
+                produtoId, quantidade, null, null, agora, agora.plus(validade), null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Verificação e reserva no mesmo UPDATE: o banco decide entre instâncias concorrentes
+            if (jdbcTemplate.update(RESERVAR, quantidade, produtoId, quantidade) == 0) {
+                DisponibilidadeEstoqueDTO disponibilidade = consultarDisponibilidade(produtoId);
+                throw new EstoqueInsuficienteException(produtoId, disponibilidade.getQuantidadeDisponivel(), quantidade);
+            }
+            reservaEstoqueRepository.save(registro);
+        });
+        rodaExpiracao.agendar(registro.getId(), clock.millis() + validade.toMillis());
+
+        log.debug("Reserva {} criada: produto {}, quantidade {}, expira em {}",
+                registro.getId(), produtoId, quantidade, registro.getExpiraEm());
+        return mapToDTO(registro);
+    }
+
+    /**
+     * Confirma a reserva, criando a saída de estoque correspondente; a reserva é consumida na
+     * transação da saída. Se a saída for processada de forma assíncrona, a reserva fica CONFIRMANDO,
+     * e a quantidade reservada, até o consumidor aplicá-la (ver {@link #acompanharConfirmacoes()}).
+     *
+     * @param id ID da reserva
+     * @return Movimento de saída criado, ou enviado para processamento com o operationId
+     * @throws ResourceNotFoundException se não houver reserva ativa com o ID
+     * @throws EstoqueInsuficienteException se a reserva vencer ou for cancelada durante a confirmação
+     */
+    public MovimentoEstoqueDTO confirmar(String id) {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        ReservaEstoque registro = reservaEstoqueRepository.findById(id)
+                .filter(reserva -> reserva.getStatus() == StatusReservaEstoque.ATIVA && reserva.getExpiraEm().isAfter(agora))
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva ativa", "id", id));
+
+        MovimentoEstoqueDTO saida = movimentoEstoqueService.get().criar(saida(registro), null, id);
+
+        if (saida.getId() == null && saida.getOperationId() != null) {
+            // Se o consumidor já aplicou a saída, a reserva já está CONFIRMADA e nada muda
+            transactionTemplate.executeWithoutResult(status ->
+                    reservaEstoqueRepository.marcarConfirmando(id, saida.getOperationId()));
+            log.debug("Reserva {} aguardando a saída assíncrona {}", id, saida.getOperationId());
+        }
+        return saida;
+    }
+
+    /**
+     * Verifica uma saída de estoque contra a quantidade disponível (estoque menos reservas) e, se a
+     * saída confirma uma reserva, consome a reserva. Deve rodar na transação que grava a saída, depois
+     * da verificação do próprio estoque; a quantidade reservada é lida do banco.
+     *
+     * @param produtoId ID do produto
+     * @param estoque Estoque do produto antes da saída
+     * @param quantidade Quantidade da saída
+     * @param reservaId ID da reserva confirmada pela saída, ou {@code null}
+     * @throws EstoqueInsuficienteException se a saída avançar sobre estoque reservado, ou se a reserva
+     *         informada não estiver mais em aberto
+     */
+    public void verificarSaida(Long produtoId, int estoque, int quantidade, String reservaId) {
+        Integer reservado = jdbcTemplate.queryForObject(LER_RESERVADO, Integer.class, produtoId);
+        ReservaEstoque propria = null;
+        if (reservaId != null) {
+            propria = reservaEstoqueRepository.findById(reservaId)
+                    .filter(reserva -> produtoId.equals(reserva.getProdutoId()) && reserva.getQuantidade() == quantidade)
+                    .orElseThrow(() -> new EstoqueInsuficienteException("A reserva " + reservaId + " não está mais ativa"));
+        }
+
+        int disponivel = estoque - (reservado != null ? reservado : 0) + (propria != null ? propria.getQuantidade() : 0);
+        if (disponivel < quantidade) {
+            throw new EstoqueInsuficienteException(produtoId, Math.max(0, disponivel), quantidade);
+        }
+
+        if (propria != null) {
+            if (reservaEstoqueRepository.confirmar(reservaId, LocalDateTime.now(clock)) == 0) {
+                throw new EstoqueInsuficienteException("A reserva " + reservaId + " não está mais ativa");
+            }
+            jdbcTemplate.update(LIBERAR, quantidade, produtoId);
+            log.debug("Reserva {} confirmada", reservaId);
+        }
+    }
+
+    /**
+     * Registra na reserva o movimento de saída que a consumiu.
+     *
+     * @param reservaId ID da reserva
+     * @param movimentoId ID do movimento de saída
+     */
+    public void registrarMovimento(String reservaId, Long movimentoId) {
+        reservaEstoqueRepository.registrarMovimento(reservaId, movimentoId);
+    }
+
+    /**
+     * Cancela as reservas em confirmação cuja saída assíncrona terminou sem ser aplicada; as aplicadas
+     * já foram confirmadas pelo consumidor.
+     *
+     * @return Quantidade de reservas canceladas
+     */
+    @Scheduled(fixedDelayString = "${reservas.estoque.confirmacao-ms:1000}")
+    public int acompanharConfirmacoes() {
+        int canceladas = 0;
+        for (ReservaEstoque registro : reservaEstoqueRepository.findByStatus(StatusReservaEstoque.CONFIRMANDO)) {
+            Optional<OperacaoMovimentoDTO> operacao = operacaoMovimentoService.consultar(registro.getOperationId());
+            if (operacao.isPresent() && (!operacao.get().isFinalizado()
+                    || operacao.get().getStatus() == StatusOperacaoMovimento.APLICADO)) {
+                continue;
+            }
+
+            if (concluir(registro, StatusReservaEstoque.CONFIRMANDO, StatusReservaEstoque.CANCELADA)) {
+                log.warn("Saída {} da reserva {} não foi aplicada ({}); reserva cancelada", registro.getOperationId(),
+                        registro.getId(), operacao.map(OperacaoMovimentoDTO::getStatus).orElse(null));
+                canceladas++;
+            }
+        }
+        return canceladas;
+    }
+
+    /**
+     * Cancela a reserva, devolvendo a quantidade à disponibilidade.
+     *
+     * @param id ID da reserva
+     * @throws ResourceNotFoundException se não houver reserva ativa com o ID
+     */
+    public void cancelar(String id) {
+        ReservaEstoque registro = reservaEstoqueRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva ativa", "id", id));
+        if (!concluir(registro, StatusReservaEstoque.ATIVA, StatusReservaEstoque.CANCELADA)) {
+            throw new ResourceNotFoundException("Reserva ativa", "id", id);
+        }
+    }
+
+    /**
+     * Busca uma reserva, ativa ou já concluída.
+     *
+     * @param id ID da reserva
+     * @return Reserva
+     * @throws ResourceNotFoundException se a reserva não existir
+     */
+    public ReservaEstoqueDTO buscar(String id) {
+        return reservaEstoqueRepository.findById(id)
+                .map(ReservaEstoqueService::mapToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva", "id", id));
+    }
+
+    /**
+     * Consulta o estoque de um produto descontadas as reservas ativas e em confirmação de todas as
+     * instâncias. Estoque e reservado são lidos do banco, sem cache e sem bloqueio.
+     *
+     * @param produtoId ID do produto
+     * @return Estoque, quantidade reservada e quantidade disponível
+     * @throws ResourceNotFoundException se o produto não for encontrado
+     */
+    public DisponibilidadeEstoqueDTO consultarDisponibilidade(Long produtoId) {
+        List<DisponibilidadeEstoqueDTO> saldo = jdbcTemplate.query(LER_SALDO, (rs, linha) -> {
+            int estoque = rs.getInt(1);
+            int reservado = rs.getInt(2);
+            return new DisponibilidadeEstoqueDTO(produtoId, estoque, reservado, Math.max(0, estoque - reservado));
+        }, produtoId);
+        if (saldo.isEmpty()) {
+            throw new ResourceNotFoundException("Produto", "id", produtoId);
+        }
+        return saldo.get(0);
+    }
+
+    /**
+     * Expira as reservas desta instância vencidas desde o último avanço da roda.
+     *
+     * @return Quantidade de reservas expiradas
+     */
+    @Scheduled(fixedDelayString = "${reservas.estoque.resolucao-ms:1000}")
+    public int expirar() {
+        int expiradas = 0;
+        for (String id : rodaExpiracao.avancar(clock.millis())) {
+            // Reservas já confirmadas ou canceladas continuam na roda e são ignoradas aqui
+            Optional<ReservaEstoque> registro = reservaEstoqueRepository.findById(id);
+            if (registro.isPresent() && concluir(registro.get(), StatusReservaEstoque.ATIVA, StatusReservaEstoque.EXPIRADA)) {
+                expiradas++;
+            }
+        }
+        if (expiradas > 0) {
+            log.info("{} reservas de estoque expiradas", expiradas);
+        }
+        return expiradas;
+    }
+
+    /**
+     * Expira as reservas ativas já vencidas de qualquer instância, em especial as de instâncias que
+     * pararam antes de expirá-las.
+     *
+     * @return Quantidade de reservas expiradas
+     */
+    @Scheduled(fixedDelayString = "${reservas.estoque.varredura-ms:60000}")
+    public int expirarVencidas() {
+        int expiradas = 0;
+        List<ReservaEstoque> vencidas = reservaEstoqueRepository.findByStatusAndExpiraEmLessThanEqual(
+                StatusReservaEstoque.ATIVA, LocalDateTime.now(clock));
+        for (ReservaEstoque registro : vencidas) {
+            if (concluir(registro, StatusReservaEstoque.ATIVA, StatusReservaEstoque.EXPIRADA)) {
+                expiradas++;
+            }
+        }
+        if (expiradas > 0) {
+            log.info("{} reservas de estoque vencidas expiradas na varredura", expiradas);
+        }
+        return expiradas;
+    }
+
+    /**
+     * Expira as reservas que venceram com a aplicação parada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void expirarVencidasNaInicializacao() {
+        expirarVencidas();
+    }
+
+    /**
+     * Remove as reservas concluídas há mais tempo que a retenção.
+     */
+    @Scheduled(fixedDelayString = "${reservas.estoque.limpeza-ms:3600000}")
+    public void limpar() {
+        int removidas = reservaEstoqueRepository.excluirConcluidasAnteriores(LocalDateTime.now(clock).minus(retencao));
+        if (removidas > 0) {
+            log.info("Removidas {} reservas de estoque antigas", removidas);
+        }
+    }
+
+    /**
+     * Conclui a reserva sem saída (expirada ou cancelada), devolvendo a quantidade ao produto na mesma
+     * transação; não faz nada se outra instância já tiver mudado a situação.
+     */
+    private boolean concluir(ReservaEstoque registro, StatusReservaEstoque de, StatusReservaEstoque para) {
+        Boolean concluida = transactionTemplate.execute(status -> {
+            if (reservaEstoqueRepository.mudarStatus(registro.getId(), de, para, LocalDateTime.now(clock)) == 0) {
+                return false;
+            }
+            jdbcTemplate.update(LIBERAR, registro.getQuantidade(), registro.getProdutoId());
+            return true;
+        });
+        if (Boolean.TRUE.equals(concluida)) {
+            log.debug("Reserva {} {}", registro.getId(), para);
+            return true;
+        }
+        return false;
+    }
+
+    private static MovimentoEstoqueDTO saida(ReservaEstoque registro) {
+        MovimentoEstoqueDTO movimento = new MovimentoEstoqueDTO();
+        movimento.setTipoMovimentacao(TipoMovimentacao.SAIDA);
+        movimento.setQuantidadeMovimentada(registro.getQuantidade());
+        movimento.setProdutoId(registro.getProdutoId());
+        return movimento;
+    }
+
+    private static ReservaEstoqueDTO mapToDTO(ReservaEstoque registro) {
+        ReservaEstoqueDTO reservaDTO = new ReservaEstoqueDTO();
+        reservaDTO.setId(registro.getId());
+        reservaDTO.setProdutoId(registro.getProdutoId());
+        reservaDTO.setQuantidade(registro.getQuantidade());
+        reservaDTO.setStatus(registro.getStatus());
+        reservaDTO.setMovimentoId(registro.getMovimentoId());
+        reservaDTO.setOperationId(registro.getOperationId());
+        reservaDTO.setDataCriacao(registro.getDataCriacao());
+        reservaDTO.setExpiraEm(registro.getExpiraEm());
+        reservaDTO.setDataConclusao(registro.getDataConclusao());
+        return reservaDTO;
+    }
+}
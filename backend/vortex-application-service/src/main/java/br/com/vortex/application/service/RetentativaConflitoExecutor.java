@@ -0,0 +1,84 @@
+package br.com.vortex.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Executa operações de estoque em transação própria, repetindo-as quando falham por conflito de versão.
+ *
+ * Cada tentativa relê o produto e o movimento numa transação nova, então a repetição aplica a operação
+ * sobre o saldo que a outra transação acabou de gravar. O número de tentativas é limitado; esgotado,
+ * o conflito sobe para o chamador (HTTP 409). Entre as tentativas há uma espera curta, exponencial e
+ * com jitter, para que as transações em disputa não colidam de novo no mesmo instante.
+ */
+@Slf4j
+@Service
+public class RetentativaConflitoExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxTentativas;
+    private final long esperaBaseMs;
+
+    @Autowired
+    public RetentativaConflitoExecutor(PlatformTransactionManager transactionManager,
+                                       @Value("${concorrencia.retentativa.max-tentativas:5}") int maxTentativas,
+                                       @Value("${concorrencia.retentativa.espera-base-ms:5}") long esperaBaseMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTentativas = Math.max(1, maxTentativas);
+        this.esperaBaseMs = esperaBaseMs;
+    }
+
+    /**
+     * Executa a operação, repetindo-a em caso de conflito de versão.
+     * Se já houver uma transação ativa, a operação roda nela uma única vez: repetir dentro da transação
+     * do chamador releria as mesmas entidades desatualizadas, então o conflito fica com ele.
+     *
+     * @param operacao Nome da operação, para o log
+     * @param acao Operação a executar; deve ler tudo o que altera, pois pode rodar mais de uma vez
+     * @return Resultado da operação
+     * @throws OptimisticLockingFailureException se o conflito persistir após o número máximo de tentativas
+     */
+    public <T> T executar(String operacao, Supplier<T> acao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return acao.get();
+        }
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> acao.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= maxTentativas) {
+                    log.warn("Conflito de concorrência em {} persistiu após {} tentativas", operacao, tentativa);
+                    throw e;
+                }
+                log.debug("Conflito de concorrência em {} (tentativa {}), repetindo", operacao, tentativa);
+                if (!esperar(tentativa)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean esperar(int tentativa) {
+        if (esperaBaseMs <= 0) {
+            return true;
+        }
+        long maximo = esperaBaseMs << Math.min(tentativa - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maximo / 2, maximo + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
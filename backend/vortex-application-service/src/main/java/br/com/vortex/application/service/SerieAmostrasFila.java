@@ -0,0 +1,132 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico de amostras de uma fila em um buffer circular de arrays primitivos.
+ *
+ * Guarda apenas os valores numéricos de cada coleta; as amostras mais antigas são
+ * sobrescritas quando a capacidade é atingida. Um valor {@code -1} indica métrica
+ * não disponível para o tipo de broker.
+ */
+class SerieAmostrasFila {
+
+    private final long[] instantes;
+    private final long[] mensagens;
+    private final long[] lag;
+    private final long[] offsetFinal;
+    private final int[] consumidores;
+
+    private int proxima;
+    private int tamanho;
+
+    SerieAmostrasFila(int capacidade) {
+        if (capacidade < 2) {
+            throw new IllegalArgumentException("A capacidade do histórico deve ser de pelo menos 2 amostras");
+        }
+        this.instantes = new long[capacidade];
+        this.mensagens = new long[capacidade];
+        this.lag = new long[capacidade];
+        this.offsetFinal = new long[capacidade];
+        this.consumidores = new int[capacidade];
+    }
+
+    synchronized void registrar(long instanteMillis, AmostraFilaDTO amostra) {
+        instantes[proxima] = instanteMillis;
+        mensagens[proxima] = valor(amostra.getMensagens());
+        lag[proxima] = valor(amostra.getLag());
+        offsetFinal[proxima] = valor(amostra.getOffsetFinal());
+        consumidores[proxima] = amostra.getConsumidores() != null ? amostra.getConsumidores() : -1;
+
+        proxima = (proxima + 1) % instantes.length;
+        if (tamanho < instantes.length) {
+            tamanho++;
+        }
+    }
+
+    /**
+     * Mensagens por segundo entre as duas últimas amostras.
+     *
+     * Com offsets disponíveis (Kafka) é a taxa de produção; caso contrário (RabbitMQ)
+     * é a variação da profundidade da fila, negativa quando a fila está esvaziando.
+     */
+    synchronized double taxaMensagens() {
+        if (tamanho < 2) {
+            return 0.0;
+        }
+        return taxaEntre(indice(tamanho - 2), indice(tamanho - 1));
+    }
+
+    /**
+     * Variação do lag por segundo entre a amostra mais antiga e a mais recente do
+     * histórico. Positiva quando os consumidores estão ficando para trás.
+     */
+    synchronized double tendenciaLag() {
+        if (tamanho < 2) {
+            return 0.0;
+        }
+        int primeira = indice(0);
+        int ultima = indice(tamanho - 1);
+        if (lag[primeira] < 0 || lag[ultima] < 0) {
+            return 0.0;
+        }
+        return porSegundo(lag[ultima] - lag[primeira], instantes[ultima] - instantes[primeira]);
+    }
+
+    /**
+     * Amostras do histórico, da mais antiga para a mais recente.
+     */
+    synchronized List<AmostraFilaDTO> historico(String nome, String tipo, ZoneId zona) {
+        List<AmostraFilaDTO> resultado = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            int atual = indice(i);
+
+            AmostraFilaDTO amostra = new AmostraFilaDTO();
+            amostra.setNome(nome);
+            amostra.setTipo(tipo);
+            amostra.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(instantes[atual]), zona));
+            amostra.setMensagens(objeto(mensagens[atual]));
+            amostra.setLag(objeto(lag[atual]));
+            amostra.setOffsetFinal(objeto(offsetFinal[atual]));
+            amostra.setConsumidores(consumidores[atual] >= 0 ? consumidores[atual] : null);
+            amostra.setTaxaMensagens(i > 0 ? taxaEntre(indice(i - 1), atual) : null);
+            resultado.add(amostra);
+        }
+        return resultado;
+    }
+
+    synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private double taxaEntre(int anterior, int atual) {
+        long intervalo = instantes[atual] - instantes[anterior];
+        if (offsetFinal[atual] >= 0 && offsetFinal[anterior] >= 0) {
+            return porSegundo(offsetFinal[atual] - offsetFinal[anterior], intervalo);
+        }
+        return porSegundo(mensagens[atual] - mensagens[anterior], intervalo);
+    }
+
+    private int indice(int posicao) {
+        int inicio = tamanho < instantes.length ? 0 : proxima;
+        return (inicio + posicao) % instantes.length;
+    }
+
+    private static double porSegundo(long delta, long intervaloMillis) {
+        return intervaloMillis > 0 ? delta * 1000.0 / intervaloMillis : 0.0;
+    }
+
+    private static long valor(Long valor) {
+        return valor != null ? valor : -1L;
+    }
+
+    private static Long objeto(long valor) {
+        return valor >= 0 ? valor : null;
+    }
+}
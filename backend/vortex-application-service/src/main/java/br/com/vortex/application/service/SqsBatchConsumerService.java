@@ -0,0 +1,260 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueMessageDTO;
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.MessageSystemAttributeName;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumidor em lote da fila de movimentos de estoque.
+ *
+ * Faz long-polling de até 10 mensagens por chamada e aplica cada lote em uma única
+ * transação via {@link SqsConsumerService#processarLoteMovimentos(List)}. As mensagens
+ * só são removidas da fila após o commit. Se o lote falhar, as mensagens são processadas
+ * individualmente para isolar a que causou o erro; ela permanece na fila até atingir
+ * {@code sqs.consumer.max-tentativas} entregas e então segue para a DLQ.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "sqs.processamento.assincrono.enabled", havingValue = "true")
+public class SqsBatchConsumerService {
+
+    private static final String RECEIVE_COUNT = MessageSystemAttributeName.ApproximateReceiveCount.toString();
+
+    private final AmazonSQSAsync amazonSQS;
+    private final SqsBatchProducerService sqsBatchProducerService;
+    private final SqsConsumerService sqsConsumerService;
+    private final SqsProducerService sqsProducerService;
+    private final OperacaoMovimentoService operacaoMovimentoService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sqs.queue.movimento-estoque}")
+    private String movimentoEstoqueQueue;
+
+    @Value("${sqs.consumer.threads:1}")
+    private int threads;
+
+    @Value("${sqs.consumer.wait-time-seconds:20}")
+    private int waitTimeSeconds;
+
+    @Value("${sqs.consumer.max-tentativas:3}")
+    private int maxTentativas;
+
+    private ExecutorService executor;
+    private volatile boolean ativo;
+
+    @Autowired
+    public SqsBatchConsumerService(AmazonSQSAsync amazonSQS,
+                                   SqsBatchProducerService sqsBatchProducerService,
+                                   SqsConsumerService sqsConsumerService,
+                                   SqsProducerService sqsProducerService,
+                                   OperacaoMovimentoService operacaoMovimentoService,
+                                   ObjectMapper objectMapper) {
+        this.amazonSQS = amazonSQS;
+        this.sqsBatchProducerService = sqsBatchProducerService;
+        this.sqsConsumerService = sqsConsumerService;
+        this.sqsProducerService = sqsProducerService;
+        this.operacaoMovimentoService = operacaoMovimentoService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        ativo = true;
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sqs-batch-consumer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(this::consumir);
+        }
+
+        log.info("Consumidor SQS em lote iniciado. Fila: {}, Threads: {}", movimentoEstoqueQueue, threads);
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        executor.shutdownNow();
+        executor.awaitTermination(waitTimeSeconds + 5L, TimeUnit.SECONDS);
+    }
+
+    private void consumir() {
+        while (ativo && !Thread.currentThread().isInterrupted()) {
+            try {
+                consumirLote();
+            } catch (Exception e) {
+                log.error("Erro no consumo em lote da fila {}: {}", movimentoEstoqueQueue, e.getMessage(), e);
+                aguardar(1000);
+            }
+        }
+    }
+
+    /**
+     * Recebe e processa um lote da fila.
+     *
+     * @return Quantidade de mensagens recebidas
+     */
+    int consumirLote() {
+        String queueUrl = sqsBatchProducerService.obterUrlFila(movimentoEstoqueQueue);
+
+        ReceiveMessageRequest request = new ReceiveMessageRequest(queueUrl)
+                .withMaxNumberOfMessages(SqsBatchProducerService.TAMANHO_MAXIMO_LOTE)
+                .withWaitTimeSeconds(waitTimeSeconds)
+                .withAttributeNames(RECEIVE_COUNT)
+                .withMessageAttributeNames("All");
+
+        List<Message> recebidas = amazonSQS.receiveMessage(request).getMessages();
+        if (recebidas.isEmpty()) {
+            return 0;
+        }
+
+        List<Message> validas = new ArrayList<>(recebidas.size());
+        List<MovimentoEstoqueMessageDTO> mensagens = new ArrayList<>(recebidas.size());
+        List<Message> concluidas = new ArrayList<>(recebidas.size());
+
+        for (Message recebida : recebidas) {
+            try {
+                MovimentoEstoqueMessageDTO message = objectMapper.readValue(recebida.getBody(), MovimentoEstoqueMessageDTO.class);
+                message.setTentativas(obterTentativas(recebida));
+                validas.add(recebida);
+                mensagens.add(message);
+            } catch (Exception e) {
+                log.error("Mensagem inválida descartada da fila {}. MessageId: {}, Erro: {}",
+                        movimentoEstoqueQueue, recebida.getMessageId(), e.getMessage());
+                concluidas.add(recebida);
+            }
+        }
+
+        if (!mensagens.isEmpty()) {
+            try {
+                sqsConsumerService.processarLoteMovimentos(mensagens);
+                concluidas.addAll(validas);
+            } catch (Exception e) {
+                log.warn("Falha ao processar lote de {} mensagens, processando individualmente: {}",
+                        mensagens.size(), e.getMessage());
+                concluidas.addAll(processarIndividualmente(validas, mensagens));
+            }
+        }
+
+        excluir(queueUrl, concluidas);
+        return recebidas.size();
+    }
+
+    private List<Message> processarIndividualmente(List<Message> recebidas, List<MovimentoEstoqueMessageDTO> mensagens) {
+        List<Message> concluidas = new ArrayList<>();
+
+        for (int i = 0; i < mensagens.size(); i++) {
+            MovimentoEstoqueMessageDTO message = mensagens.get(i);
+            try {
+                sqsConsumerService.processarMovimentoEstoque(message);
+                concluidas.add(recebidas.get(i));
+            } catch (Exception e) {
+                log.error("Erro inesperado ao processar movimento de estoque. OperationId: {}, Tentativas: {}, Erro: {}",
+                        message.getOperationId(), message.getTentativas(), e.getMessage(), e);
+
+                // Rejeita a mensagem se excedeu o número de tentativas
+                if (message.getTentativas() >= maxTentativas) {
+                    message.setMotivoErro("Número máximo de tentativas excedido: " + e.getMessage());
+                    sqsProducerService.enviarParaDLQ(message);
+                    registrarDLQ(message);
+                    concluidas.add(recebidas.get(i));
+                }
+            }
+        }
+
+        return concluidas;
+    }
+
+    private void registrarDLQ(MovimentoEstoqueMessageDTO message) {
+        try {
+            operacaoMovimentoService.concluirTodas(List.of(
+                    new OperacaoMovimentoService.Conclusao(message, StatusOperacaoMovimento.DLQ, null)));
+        } catch (Exception e) {
+            log.error("Erro ao registrar a situação da operação enviada para a DLQ. OperationId: {}, Erro: {}",
+                    message.getOperationId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Remove as mensagens concluídas da fila. Entradas rejeitadas por falha do serviço
+     * são reenviadas uma vez; as que ainda falharem são registradas e voltam a ser
+     * entregues após o visibility timeout, quando o registro de mensagens processadas
+     * evita que sejam aplicadas de novo.
+     */
+    private void excluir(String queueUrl, List<Message> mensagens) {
+        if (mensagens.isEmpty()) {
+            return;
+        }
+
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(mensagens.size());
+        for (int i = 0; i < mensagens.size(); i++) {
+            entries.add(new DeleteMessageBatchRequestEntry(String.valueOf(i), mensagens.get(i).getReceiptHandle()));
+        }
+
+        List<BatchResultErrorEntry> falhas = amazonSQS
+                .deleteMessageBatch(new DeleteMessageBatchRequest(queueUrl, entries)).getFailed();
+        if (falhas.isEmpty()) {
+            return;
+        }
+
+        Map<String, DeleteMessageBatchRequestEntry> porId = new HashMap<>();
+        entries.forEach(entry -> porId.put(entry.getId(), entry));
+
+        List<DeleteMessageBatchRequestEntry> novasTentativas = new ArrayList<>();
+        for (BatchResultErrorEntry falha : falhas) {
+            if (Boolean.TRUE.equals(falha.getSenderFault())) {
+                registrarFalhaExclusao(falha);
+            } else {
+                novasTentativas.add(porId.get(falha.getId()));
+            }
+        }
+
+        if (!novasTentativas.isEmpty()) {
+            amazonSQS.deleteMessageBatch(new DeleteMessageBatchRequest(queueUrl, novasTentativas))
+                    .getFailed()
+                    .forEach(this::registrarFalhaExclusao);
+        }
+    }
+
+    private void registrarFalhaExclusao(BatchResultErrorEntry falha) {
+        log.warn("Falha ao excluir mensagem da fila {}. Entrada: {}, Código: {}, Erro: {}",
+                movimentoEstoqueQueue, falha.getId(), falha.getCode(), falha.getMessage());
+    }
+
+    private int obterTentativas(Message message) {
+        String receiveCount = message.getAttributes().get(RECEIVE_COUNT);
+        return receiveCount != null ? Integer.parseInt(receiveCount) : 1;
+    }
+
+    private void aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package br.com.vortex.application.service;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Produtor SQS com agrupamento no cliente.
+ *
+ * Mensagens enviadas para a mesma fila são acumuladas e enviadas juntas via
+ * {@code SendMessageBatch} (até 10 entradas e 256 KB de payload por chamada). Um lote é
+ * enviado assim que atinge um desses limites ou quando o tempo de espera
+ * ({@code sqs.producer.batch.linger-ms}) expira, o que vier primeiro.
+ */
+@Slf4j
+@Service
+public class SqsBatchProducerService {
+
+    /**
+     * Limite de entradas por chamada imposto pelo SQS.
+     */
+    public static final int TAMANHO_MAXIMO_LOTE = 10;
+
+    /**
+     * Limite de payload somado (corpos e atributos) por chamada imposto pelo SQS.
+     */
+    public static final int TAMANHO_MAXIMO_LOTE_BYTES = 256 * 1024;
+
+    private final AmazonSQSAsync amazonSQS;
+    private final long lingerMs;
+
+    private final Map<String, String> urlsFilas = new ConcurrentHashMap<>();
+    private final Map<String, LotePendente> lotesPendentes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService agendador;
+
+    @Autowired
+    public SqsBatchProducerService(AmazonSQSAsync amazonSQS,
+                                   @Value("${sqs.producer.batch.linger-ms:20}") long lingerMs) {
+        this.amazonSQS = amazonSQS;
+        this.lingerMs = lingerMs;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sqs-batch-producer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Enfileira uma mensagem para envio agrupado.
+     *
+     * @param fila Nome da fila
+     * @param corpo Corpo da mensagem
+     * @param atributos Atributos da mensagem (podem ser vazios)
+     * @return Future concluído com o MessageId retornado pelo SQS
+     */
+    public CompletableFuture<String> enviar(String fila, String corpo, Map<String, MessageAttributeValue> atributos) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        EntradaPendente entrada = new EntradaPendente(corpo, atributos, calcularTamanho(corpo, atributos), future);
+
+        List<EntradaPendente> loteCheio = lotesPendentes
+                .computeIfAbsent(fila, LotePendente::new)
+                .adicionar(entrada);
+
+        if (loteCheio != null) {
+            enviarLote(fila, loteCheio);
+        }
+
+        return future;
+    }
+
+    /**
+     * Resolve a URL de uma fila pelo nome, mantendo cache local.
+     *
+     * @param fila Nome da fila
+     * @return URL da fila
+     */
+    public String obterUrlFila(String fila) {
+        return urlsFilas.computeIfAbsent(fila, nome -> amazonSQS.getQueueUrl(nome).getQueueUrl());
+    }
+
+    /**
+     * Envia imediatamente todos os lotes pendentes.
+     */
+    public void descarregar() {
+        lotesPendentes.forEach((fila, lote) -> {
+            List<EntradaPendente> entradas = lote.drenar();
+            if (!entradas.isEmpty()) {
+                enviarLote(fila, entradas);
+            }
+        });
+    }
+
+    /**
+     * Calcula o tamanho da mensagem como o SQS contabiliza: corpo, nome, tipo e valor
+     * de cada atributo, em bytes UTF-8.
+     */
+    static int calcularTamanho(String corpo, Map<String, MessageAttributeValue> atributos) {
+        int tamanho = bytes(corpo);
+        if (atributos != null) {
+            for (Map.Entry<String, MessageAttributeValue> atributo : atributos.entrySet()) {
+                MessageAttributeValue valor = atributo.getValue();
+                tamanho += bytes(atributo.getKey()) + bytes(valor.getDataType()) + bytes(valor.getStringValue());
+                if (valor.getBinaryValue() != null) {
+                    tamanho += valor.getBinaryValue().remaining();
+                }
+            }
+        }
+        return tamanho;
+    }
+
+    private static int bytes(String valor) {
+        return valor != null ? valor.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregar();
+        agendador.shutdown();
+    }
+
+    private void enviarLote(String fila, List<EntradaPendente> entradas) {
+        Map<String, EntradaPendente> porId = new HashMap<>();
+        List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>(entradas.size());
+
+        for (int i = 0; i < entradas.size(); i++) {
+            String id = String.valueOf(i);
+            EntradaPendente entrada = entradas.get(i);
+            porId.put(id, entrada);
+            requestEntries.add(new SendMessageBatchRequestEntry(id, entrada.corpo())
+                    .withMessageAttributes(entrada.atributos()));
+        }
+
+        try {
+            SendMessageBatchRequest request = new SendMessageBatchRequest(obterUrlFila(fila), requestEntries);
+
+            amazonSQS.sendMessageBatchAsync(request, new AsyncHandler<>() {
+                @Override
+                public void onError(Exception exception) {
+                    log.error("Erro ao enviar lote SQS. Fila: {}, Mensagens: {}, Erro: {}",
+                            fila, entradas.size(), exception.getMessage());
+                    porId.values().forEach(entrada -> entrada.future().completeExceptionally(exception));
+                }
+
+                @Override
+                public void onSuccess(SendMessageBatchRequest req, SendMessageBatchResult result) {
+                    for (SendMessageBatchResultEntry sucesso : result.getSuccessful()) {
+                        EntradaPendente entrada = porId.get(sucesso.getId());
+                        if (entrada != null) {
+                            entrada.future().complete(sucesso.getMessageId());
+                        }
+                    }
+                    for (BatchResultErrorEntry falha : result.getFailed()) {
+                        EntradaPendente entrada = porId.get(falha.getId());
+                        if (entrada != null) {
+                            entrada.future().completeExceptionally(new IllegalStateException(
+                                    String.format("SQS rejeitou a mensagem (%s): %s", falha.getCode(), falha.getMessage())));
+                        }
+                    }
+                    log.debug("Lote SQS enviado. Fila: {}, Sucesso: {}, Falhas: {}",
+                            fila, result.getSuccessful().size(), result.getFailed().size());
+                }
+            });
+        } catch (Exception e) {
+            log.error("Erro ao enviar lote SQS. Fila: {}, Erro: {}", fila, e.getMessage(), e);
+            entradas.forEach(entrada -> entrada.future().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Mensagem aguardando envio.
+     */
+    private record EntradaPendente(String corpo,
+                                   Map<String, MessageAttributeValue> atributos,
+                                   int tamanho,
+                                   CompletableFuture<String> future) {
+    }
+
+    /**
+     * Lote em formação para uma fila. O primeiro elemento agenda o envio por tempo;
+     * o décimo dispara o envio imediato. Uma entrada que faria o lote ultrapassar
+     * {@link #TAMANHO_MAXIMO_LOTE_BYTES} fecha o lote atual e inicia o próximo.
+     */
+    private class LotePendente {
+
+        private final String fila;
+        private List<EntradaPendente> entradas = new ArrayList<>(TAMANHO_MAXIMO_LOTE);
+        private int bytes;
+
+        LotePendente(String fila) {
+            this.fila = fila;
+        }
+
+        synchronized List<EntradaPendente> adicionar(EntradaPendente entrada) {
+            if (!entradas.isEmpty() && bytes + entrada.tamanho() > TAMANHO_MAXIMO_LOTE_BYTES) {
+                List<EntradaPendente> cheio = trocar();
+                incluir(entrada);
+                return cheio;
+            }
+
+            incluir(entrada);
+
+            if (entradas.size() >= TAMANHO_MAXIMO_LOTE) {
+                return trocar();
+            }
+            return null;
+        }
+
+        private void incluir(EntradaPendente entrada) {
+            entradas.add(entrada);
+            bytes += entrada.tamanho();
+
+            if (entradas.size() == 1) {
+                agendador.schedule(this::expirar, lingerMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized List<EntradaPendente> drenar() {
+            return trocar();
+        }
+
+        private void expirar() {
+            List<EntradaPendente> pendentes = drenar();
+            if (!pendentes.isEmpty()) {
+                enviarLote(fila, pendentes);
+            }
+        }
+
+        private List<EntradaPendente> trocar() {
+            List<EntradaPendente> atuais = entradas;
+            entradas = new ArrayList<>(TAMANHO_MAXIMO_LOTE);
+            bytes = 0;
+            return atuais;
+        }
+    }
+}
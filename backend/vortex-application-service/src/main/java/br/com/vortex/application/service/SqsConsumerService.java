@@ -5,20 +5,30 @@ import br.com.vortex.application.exception.EstoqueInsuficienteException;
 import br.com.vortex.application.exception.ResourceNotFoundException;
 import br.com.vortex.application.model.MovimentoEstoque;
 import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
 import br.com.vortex.application.model.enums.TipoMovimentacao;
 import br.com.vortex.application.repository.MovimentoEstoqueRepository;
 import br.com.vortex.application.repository.ProdutoRepository;
+import br.com.vortex.application.service.OperacaoMovimentoService.Conclusao;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.aws.messaging.listener.annotation.SqsListener;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Serviço responsável por consumir mensagens das filas Amazon SQS.
@@ -28,57 +38,160 @@ import java.time.LocalDateTime;
 @Service
 public class SqsConsumerService {
 
+    static final String CONSUMIDOR_MOVIMENTOS = "sqs-movimentos";
+
     private final MovimentoEstoqueRepository movimentoEstoqueRepository;
     private final ProdutoRepository produtoRepository;
     private final SqsProducerService sqsProducerService;
+    private final AlertaEstoqueCoalescer alertaEstoqueCoalescer;
+    private final RegistroMensagensProcessadas registroMensagens;
+    private final OperacaoMovimentoService operacaoMovimentoService;
+    private final MessageBrokerService messageBrokerService;
+    private final ReservaEstoqueService reservaEstoqueService;
 
     @Autowired
     public SqsConsumerService(MovimentoEstoqueRepository movimentoEstoqueRepository,
                              ProdutoRepository produtoRepository,
-                             SqsProducerService sqsProducerService) {
+                             SqsProducerService sqsProducerService,
+                             AlertaEstoqueCoalescer alertaEstoqueCoalescer,
+                             RegistroMensagensProcessadas registroMensagens,
+                             OperacaoMovimentoService operacaoMovimentoService,
+                             MessageBrokerService messageBrokerService,
+                             ReservaEstoqueService reservaEstoqueService) {
         this.movimentoEstoqueRepository = movimentoEstoqueRepository;
         this.produtoRepository = produtoRepository;
         this.sqsProducerService = sqsProducerService;
+        this.alertaEstoqueCoalescer = alertaEstoqueCoalescer;
+        this.registroMensagens = registroMensagens;
+        this.operacaoMovimentoService = operacaoMovimentoService;
+        this.messageBrokerService = messageBrokerService;
+        this.reservaEstoqueService = reservaEstoqueService;
     }
 
     /**
-     * Processa mensagens de movimento de estoque da fila SQS.
+     * Processa uma mensagem de movimento de estoque.
+     * O consumo da fila é feito em lote pelo {@link SqsBatchConsumerService};
+     * este método processa uma mensagem isolada usando o mesmo fluxo.
      *
      * @param message Mensagem com dados do movimento
      */
-    @SqsListener("${sqs.queue.movimento-estoque}")
     @Transactional
-    public void processarMovimentoEstoque(@Payload MovimentoEstoqueMessageDTO message) {
-        log.info("Processando movimento de estoque assíncrono. OperationId: {}, Produto: {}, Tipo: {}", 
-                message.getOperationId(), message.getProdutoId(), message.getTipoMovimentacao());
-
-        try {
-            // Incrementa contador de tentativas
-            message.setTentativas(message.getTentativas() + 1);
-            
-            // Busca o produto
-            Produto produto = produtoRepository.findById(message.getProdutoId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Produto", "id", message.getProdutoId()));
-
-            // Cria o movimento de estoque
-            MovimentoEstoque movimento = new MovimentoEstoque();
-            movimento.setDataMovimento(LocalDateTime.now());
-            movimento.setTipoMovimentacao(message.getTipoMovimentacao());
-            movimento.setQuantidadeMovimentada(message.getQuantidadeMovimentada());
-            movimento.setProduto(produto);
-
-            // Processa conforme o tipo de movimentação
-            if (message.getTipoMovimentacao() == TipoMovimentacao.ENTRADA) {
-                processarEntrada(produto, movimento, message);
-            } else if (message.getTipoMovimentacao() == TipoMovimentacao.SAIDA) {
-                processarSaida(produto, movimento, message);
+    public void processarMovimentoEstoque(MovimentoEstoqueMessageDTO message) {
+        processarLoteMovimentos(List.of(message));
+    }
+
+    /**
+     * Processa um lote de mensagens de movimento de estoque em uma única transação.
+     * Os produtos do lote são carregados em uma só consulta e as mensagens são aplicadas
+     * na ordem recebida. Mensagens com estoque insuficiente ou produto inexistente são
+     * enviadas para a DLQ sem interromper o lote, só depois do commit; erros inesperados
+     * desfazem a transação para que o lote seja reentregue (ou reprocessado individualmente)
+     * sem que as rejeitadas cheguem duas vezes à DLQ. Mensagens cujo operationId já foi processado
+     * (reentregas) são descartadas; as processadas são registradas na mesma transação
+     * da alteração de estoque, junto com a situação final de cada operação.
+     *
+     * @param mensagens Mensagens recebidas da fila
+     * @return Quantidade de movimentos aplicados
+     */
+    @Transactional
+    public int processarLoteMovimentos(List<MovimentoEstoqueMessageDTO> mensagens) {
+        Set<Long> produtoIds = mensagens.stream()
+                .map(MovimentoEstoqueMessageDTO::getProdutoId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        Set<String> jaProcessadas = registroMensagens.filtrarProcessadas(CONSUMIDOR_MOVIMENTOS,
+                mensagens.stream().map(MovimentoEstoqueMessageDTO::getOperationId).toList());
+        Set<String> concluidas = new HashSet<>();
+
+        Map<Long, Produto> produtosAlterados = new LinkedHashMap<>();
+        List<MovimentoEstoque> movimentos = new ArrayList<>();
+        List<MovimentoEstoqueMessageDTO> processadas = new ArrayList<>();
+        List<Conclusao> conclusoes = new ArrayList<>();
+        List<MovimentoEstoqueMessageDTO> rejeitadas = new ArrayList<>();
+
+        for (MovimentoEstoqueMessageDTO message : mensagens) {
+            String operationId = message.getOperationId();
+            if (operationId != null && (jaProcessadas.contains(operationId) || concluidas.contains(operationId))) {
+                log.info("Movimento já processado, reentrega descartada. OperationId: {}", operationId);
+                continue;
+            }
+            if (operationId != null) {
+                concluidas.add(operationId);
             }
 
-            // Salva o produto atualizado
-            produtoRepository.save(produto);
+            log.info("Processando movimento de estoque assíncrono. OperationId: {}, Produto: {}, Tipo: {}", 
+                    message.getOperationId(), message.getProdutoId(), message.getTipoMovimentacao());
+
+            try {
+                Produto produto = produtos.get(message.getProdutoId());
+                if (produto == null) {
+                    throw new ResourceNotFoundException("Produto", "id", message.getProdutoId());
+                }
+
+                // Cria o movimento de estoque
+                MovimentoEstoque movimento = new MovimentoEstoque();
+                movimento.setDataMovimento(LocalDateTime.now());
+                movimento.setTipoMovimentacao(message.getTipoMovimentacao());
+                movimento.setQuantidadeMovimentada(message.getQuantidadeMovimentada());
+                movimento.setProduto(produto);
+
+                // Processa conforme o tipo de movimentação
+                if (message.getTipoMovimentacao() == TipoMovimentacao.ENTRADA) {
+                    processarEntrada(produto, movimento, message);
+                } else if (message.getTipoMovimentacao() == TipoMovimentacao.SAIDA) {
+                    processarSaida(produto, movimento, message);
+                }
+
+                produtosAlterados.put(produto.getId(), produto);
+                movimentos.add(movimento);
+                processadas.add(message);
+
+            } catch (EstoqueInsuficienteException e) {
+                log.error("Estoque insuficiente para processar movimento. OperationId: {}, Erro: {}", 
+                        message.getOperationId(), e.getMessage());
+                
+                message.setMotivoErro("Estoque insuficiente: " + e.getMessage());
+                conclusoes.add(new Conclusao(message, StatusOperacaoMovimento.ESTOQUE_INSUFICIENTE, null));
+                rejeitadas.add(message);
+                
+            } catch (ResourceNotFoundException e) {
+                log.error("Produto não encontrado para processar movimento. OperationId: {}, Erro: {}", 
+                        message.getOperationId(), e.getMessage());
+                
+                message.setMotivoErro("Produto não encontrado: " + e.getMessage());
+                conclusoes.add(new Conclusao(message, StatusOperacaoMovimento.PRODUTO_NAO_ENCONTRADO, null));
+                rejeitadas.add(message);
+            }
+        }
 
-            // Salva o movimento
-            movimentoEstoqueRepository.save(movimento);
+        registroMensagens.registrarTodas(CONSUMIDOR_MOVIMENTOS, concluidas);
+        enviarParaDLQAposCommit(rejeitadas);
+
+        if (movimentos.isEmpty()) {
+            operacaoMovimentoService.concluirTodas(conclusoes);
+            return 0;
+        }
+
+        // Salva produtos e movimentos do lote de uma vez
+        produtoRepository.saveAll(produtosAlterados.values());
+        movimentoEstoqueRepository.saveAll(movimentos);
+        publicarInvalidacaoCacheAposCommit(List.copyOf(produtosAlterados.keySet()));
+
+        for (int i = 0; i < movimentos.size(); i++) {
+            if (processadas.get(i).getReservaId() != null) {
+                reservaEstoqueService.registrarMovimento(processadas.get(i).getReservaId(), movimentos.get(i).getId());
+            }
+            conclusoes.add(new Conclusao(processadas.get(i), StatusOperacaoMovimento.APLICADO, movimentos.get(i).getId()));
+        }
+        operacaoMovimentoService.concluirTodas(conclusoes);
+
+        for (int i = 0; i < movimentos.size(); i++) {
+            MovimentoEstoque movimento = movimentos.get(i);
+            MovimentoEstoqueMessageDTO message = processadas.get(i);
 
             // Envia auditoria
             sqsProducerService.enviarAuditoria(
@@ -92,33 +205,9 @@ public class SqsConsumerService {
 
             log.info("Movimento de estoque processado com sucesso. OperationId: {}, MovimentoId: {}", 
                     message.getOperationId(), movimento.getId());
-
-        } catch (EstoqueInsuficienteException e) {
-            log.error("Estoque insuficiente para processar movimento. OperationId: {}, Erro: {}", 
-                    message.getOperationId(), e.getMessage());
-            
-            message.setMotivoErro("Estoque insuficiente: " + e.getMessage());
-            enviarParaDLQ(message);
-            
-        } catch (ResourceNotFoundException e) {
-            log.error("Produto não encontrado para processar movimento. OperationId: {}, Erro: {}", 
-                    message.getOperationId(), e.getMessage());
-            
-            message.setMotivoErro("Produto não encontrado: " + e.getMessage());
-            enviarParaDLQ(message);
-            
-        } catch (Exception e) {
-            log.error("Erro inesperado ao processar movimento de estoque. OperationId: {}, Tentativas: {}, Erro: {}", 
-                    message.getOperationId(), message.getTentativas(), e.getMessage(), e);
-            
-            // Rejeita a mensagem se excedeu o número de tentativas
-            if (message.getTentativas() >= 3) {
-                message.setMotivoErro("Número máximo de tentativas excedido: " + e.getMessage());
-                enviarParaDLQ(message);
-            } else {
-                throw new RuntimeException("Erro temporário no processamento", e);
-            }
         }
+
+        return movimentos.size();
     }
 
     /**
@@ -128,6 +217,9 @@ public class SqsConsumerService {
         // Incrementa o estoque
         produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() + message.getQuantidadeMovimentada());
         movimento.setValorVenda(null);
+
+        // Atualiza o nível de alerta do produto (entradas nunca geram alerta)
+        alertaEstoqueCoalescer.avaliar(produto.getId(), produto.getQuantidadeEmEstoque());
         
         log.debug("Entrada processada. Produto: {}, Nova quantidade: {}", 
                 produto.getId(), produto.getQuantidadeEmEstoque());
@@ -145,6 +237,9 @@ public class SqsConsumerService {
                     message.getQuantidadeMovimentada()
             );
         }
+        // Desconta as reservas e, se a saída confirma uma, consome a reserva nesta transação
+        reservaEstoqueService.verificarSaida(produto.getId(), produto.getQuantidadeEmEstoque(),
+                message.getQuantidadeMovimentada(), message.getReservaId());
 
         // Decrementa o estoque
         produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() - message.getQuantidadeMovimentada());
@@ -155,12 +250,12 @@ public class SqsConsumerService {
                 .setScale(2, RoundingMode.HALF_UP);
         movimento.setValorVenda(valorVenda);
 
-        // Verifica se precisa notificar estoque baixo (exemplo: menos de 10 unidades)
-        if (produto.getQuantidadeEmEstoque() < 10) {
+        // Notifica estoque baixo apenas quando o produto muda para um nível pior
+        if (alertaEstoqueCoalescer.avaliar(produto.getId(), produto.getQuantidadeEmEstoque()) != null) {
             sqsProducerService.enviarNotificacaoEstoqueBaixo(
                     produto.getId(),
                     produto.getQuantidadeEmEstoque(),
-                    10
+                    alertaEstoqueCoalescer.getQuantidadeMinima()
             );
         }
 
@@ -169,75 +264,46 @@ public class SqsConsumerService {
     }
 
     /**
-     * Processa notificações de estoque baixo.
-     *
-     * @param payload Conteúdo da mensagem
-     * @param produtoId ID do produto
-     * @param tipo Tipo de notificação
+     * Envia as mensagens rejeitadas para a DLQ após o commit do lote; se a transação
+     * for desfeita, nada é enviado e as mensagens seguem o fluxo de reentrega.
      */
-    @SqsListener("${sqs.queue.notificacao-estoque}")
-    public void processarNotificacaoEstoque(@Payload String payload,
-                                          @Header("produtoId") Long produtoId,
-                                          @Header("tipo") String tipo) {
-        log.info("Processando notificação de estoque. Tipo: {}, Produto: {}, Mensagem: {}", 
-                tipo, produtoId, payload);
-
-        try {
-            // Aqui você pode implementar diferentes tipos de notificação:
-            // - Envio de email
-            // - Notificação push
-            // - Integração com sistemas externos
-            // - Criação de alertas no dashboard
-            
-            switch (tipo) {
-                case "ESTOQUE_BAIXO":
-                    log.warn("ALERTA: Estoque baixo detectado - {}", payload);
-                    // Implementar lógica de notificação
-                    break;
-                case "PRODUTO_ESGOTADO":
-                    log.error("CRÍTICO: Produto esgotado - {}", payload);
-                    // Implementar lógica de notificação crítica
-                    break;
-                default:
-                    log.info("Notificação genérica: {}", payload);
-            }
+    private void enviarParaDLQAposCommit(List<MovimentoEstoqueMessageDTO> rejeitadas) {
+        if (rejeitadas.isEmpty()) {
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("Erro ao processar notificação de estoque. Produto: {}, Erro: {}", 
-                    produtoId, e.getMessage(), e);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rejeitadas.forEach(SqsConsumerService.this::enviarParaDLQ);
+                }
+            });
+        } else {
+            rejeitadas.forEach(this::enviarParaDLQ);
         }
     }
 
     /**
-     * Processa mensagens de auditoria.
-     *
-     * @param payload Detalhes da operação
-     * @param operacao Tipo de operação
-     * @param entidade Entidade afetada
-     * @param entidadeId ID da entidade
-     * @param usuarioId ID do usuário
+     * Os movimentos assíncronos não publicam evento de movimento, então as demais instâncias
+     * são avisadas para descartar o saldo em cache dos produtos do lote após o commit.
      */
-    @SqsListener("${sqs.queue.auditoria}")
-    public void processarAuditoria(@Payload String payload,
-                                 @Header("operacao") String operacao,
-                                 @Header("entidade") String entidade,
-                                 @Header("entidadeId") Long entidadeId,
-                                 @Header("usuarioId") String usuarioId) {
-        log.info("Processando auditoria. Operação: {}, Entidade: {}, ID: {}, Usuário: {}", 
-                operacao, entidade, entidadeId, usuarioId);
-
-        try {
-            // Aqui você pode implementar:
-            // - Persistência em banco de auditoria
-            // - Envio para sistemas de compliance
-            // - Integração com ferramentas de monitoramento
-            // - Geração de relatórios de auditoria
-            
-            log.debug("Detalhes da auditoria: {}", payload);
-            
-        } catch (Exception e) {
-            log.error("Erro ao processar auditoria. Operação: {}, Entidade: {}, ID: {}, Erro: {}", 
-                    operacao, entidade, entidadeId, e.getMessage(), e);
+    private void publicarInvalidacaoCacheAposCommit(List<Long> produtoIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicarInvalidacaoCache(produtoIds);
+                }
+            });
+        } else {
+            publicarInvalidacaoCache(produtoIds);
+        }
+    }
+
+    private void publicarInvalidacaoCache(List<Long> produtoIds) {
+        if (messageBrokerService.isAvailable()) {
+            produtoIds.forEach(messageBrokerService::publicarInvalidacaoCacheProduto);
         }
     }
 
@@ -248,8 +314,6 @@ public class SqsConsumerService {
         log.error("Enviando mensagem para DLQ. OperationId: {}, Motivo: {}", 
                 message.getOperationId(), message.getMotivoErro());
         
-        // Aqui você implementaria o envio para DLQ
-        // Por simplicidade, apenas logamos o erro
-        // Em produção, você enviaria para uma fila DLQ específica
+        sqsProducerService.enviarParaDLQ(message);
     }
 } 
\ No newline at end of file
@@ -1,25 +1,31 @@
 package br.com.vortex.application.service;
 
 import br.com.vortex.application.dto.MovimentoEstoqueMessageDTO;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.aws.messaging.core.QueueMessagingTemplate;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Serviço responsável por enviar mensagens para filas Amazon SQS.
  * Centraliza a lógica de produção de mensagens para diferentes tipos de operações.
+ * O envio é feito através do {@link SqsBatchProducerService}, que agrupa mensagens
+ * concorrentes para a mesma fila em uma única chamada {@code SendMessageBatch}.
  */
 @Slf4j
 @Service
 public class SqsProducerService {
 
-    private final QueueMessagingTemplate queueMessagingTemplate;
+    private final SqsBatchProducerService sqsBatchProducerService;
+    private final ObjectMapper objectMapper;
 
     @Value("${sqs.queue.movimento-estoque}")
     private String movimentoEstoqueQueue;
@@ -30,13 +36,21 @@ public class SqsProducerService {
     @Value("${sqs.queue.auditoria}")
     private String auditoriaQueue;
 
+    @Value("${sqs.dlq.movimento-estoque}")
+    private String movimentoEstoqueDlq;
+
+    @Value("${sqs.producer.timeout-ms:5000}")
+    private long timeoutEnvioMs;
+
     @Autowired
-    public SqsProducerService(QueueMessagingTemplate queueMessagingTemplate) {
-        this.queueMessagingTemplate = queueMessagingTemplate;
+    public SqsProducerService(SqsBatchProducerService sqsBatchProducerService, ObjectMapper objectMapper) {
+        this.sqsBatchProducerService = sqsBatchProducerService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Envia mensagem de movimento de estoque para processamento assíncrono.
+     * Aguarda a confirmação do SQS para que falhas de envio cheguem ao chamador.
      *
      * @param message DTO com dados do movimento
      */
@@ -46,26 +60,59 @@ public class SqsProducerService {
             if (message.getOperationId() == null) {
                 message.setOperationId(UUID.randomUUID().toString());
             }
-            
+
             // Define timestamp se não existir
             if (message.getTimestamp() == null) {
                 message.setTimestamp(LocalDateTime.now());
             }
 
-            log.info("Enviando mensagem de movimento de estoque para SQS. OperationId: {}, Produto: {}, Tipo: {}", 
+            log.info("Enviando mensagem de movimento de estoque para SQS. OperationId: {}, Produto: {}, Tipo: {}",
                     message.getOperationId(), message.getProdutoId(), message.getTipoMovimentacao());
 
-            queueMessagingTemplate.convertAndSend(movimentoEstoqueQueue, message);
-            
+            Map<String, MessageAttributeValue> atributos = new HashMap<>();
+            adicionarAtributo(atributos, "operationId", message.getOperationId());
+
+            sqsBatchProducerService
+                    .enviar(movimentoEstoqueQueue, objectMapper.writeValueAsString(message), atributos)
+                    .get(timeoutEnvioMs, TimeUnit.MILLISECONDS);
+
             log.info("Mensagem enviada com sucesso para fila: {}", movimentoEstoqueQueue);
-            
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Envio para SQS interrompido", e);
         } catch (Exception e) {
-            log.error("Erro ao enviar mensagem para SQS. OperationId: {}, Erro: {}", 
+            log.error("Erro ao enviar mensagem para SQS. OperationId: {}, Erro: {}",
                     message.getOperationId(), e.getMessage(), e);
             throw new RuntimeException("Falha ao enviar mensagem para SQS", e);
         }
     }
 
+    /**
+     * Envia mensagem de movimento de estoque para a Dead Letter Queue.
+     *
+     * @param message DTO com dados do movimento e motivo do erro
+     */
+    public void enviarParaDLQ(MovimentoEstoqueMessageDTO message) {
+        try {
+            Map<String, MessageAttributeValue> atributos = new HashMap<>();
+            adicionarAtributo(atributos, "operationId", message.getOperationId());
+            adicionarAtributo(atributos, "motivoErro", message.getMotivoErro());
+
+            sqsBatchProducerService
+                    .enviar(movimentoEstoqueDlq, objectMapper.writeValueAsString(message), atributos)
+                    .whenComplete((messageId, ex) -> {
+                        if (ex != null) {
+                            log.error("Erro ao enviar mensagem para DLQ. OperationId: {}, Erro: {}",
+                                    message.getOperationId(), ex.getMessage());
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("Erro ao enviar mensagem para DLQ. OperationId: {}, Erro: {}",
+                    message.getOperationId(), e.getMessage(), e);
+        }
+    }
+
     /**
      * Envia notificação de estoque baixo.
      *
@@ -75,20 +122,26 @@ public class SqsProducerService {
      */
     public void enviarNotificacaoEstoqueBaixo(Long produtoId, Integer quantidadeAtual, Integer quantidadeMinima) {
         try {
-            var notificacao = MessageBuilder.withPayload(
-                    String.format("Estoque baixo - Produto ID: %d, Quantidade atual: %d, Mínima: %d", 
-                            produtoId, quantidadeAtual, quantidadeMinima))
-                    .setHeader("produtoId", produtoId)
-                    .setHeader("tipo", "ESTOQUE_BAIXO")
-                    .setHeader("timestamp", LocalDateTime.now().toString())
-                    .build();
+            String payload = String.format("Estoque baixo - Produto ID: %d, Quantidade atual: %d, Mínima: %d",
+                    produtoId, quantidadeAtual, quantidadeMinima);
+
+            Map<String, MessageAttributeValue> atributos = new HashMap<>();
+            adicionarAtributo(atributos, "produtoId", produtoId);
+            adicionarAtributo(atributos, "tipo", "ESTOQUE_BAIXO");
+            adicionarAtributo(atributos, "timestamp", LocalDateTime.now().toString());
 
             log.info("Enviando notificação de estoque baixo para produto ID: {}", produtoId);
-            
-            queueMessagingTemplate.send(notificacaoEstoqueQueue, notificacao);
-            
+
+            sqsBatchProducerService.enviar(notificacaoEstoqueQueue, payload, atributos)
+                    .whenComplete((messageId, ex) -> {
+                        if (ex != null) {
+                            log.error("Erro ao enviar notificação de estoque baixo para produto ID: {}, Erro: {}",
+                                    produtoId, ex.getMessage());
+                        }
+                    });
+
         } catch (Exception e) {
-            log.error("Erro ao enviar notificação de estoque baixo para produto ID: {}, Erro: {}", 
+            log.error("Erro ao enviar notificação de estoque baixo para produto ID: {}, Erro: {}",
                     produtoId, e.getMessage(), e);
         }
     }
@@ -102,24 +155,49 @@ public class SqsProducerService {
      * @param usuarioId ID do usuário
      * @param detalhes Detalhes da operação
      */
-    public void enviarAuditoria(String operacao, String entidade, Long entidadeId, 
+    public void enviarAuditoria(String operacao, String entidade, Long entidadeId,
                                String usuarioId, String detalhes) {
         try {
-            var auditoria = MessageBuilder.withPayload(detalhes)
-                    .setHeader("operacao", operacao)
-                    .setHeader("entidade", entidade)
-                    .setHeader("entidadeId", entidadeId)
-                    .setHeader("usuarioId", usuarioId)
-                    .setHeader("timestamp", LocalDateTime.now().toString())
-                    .build();
+            Map<String, MessageAttributeValue> atributos = new HashMap<>();
+            adicionarAtributo(atributos, "operacao", operacao);
+            adicionarAtributo(atributos, "entidade", entidade);
+            adicionarAtributo(atributos, "entidadeId", entidadeId);
+            adicionarAtributo(atributos, "usuarioId", usuarioId);
+            adicionarAtributo(atributos, "timestamp", LocalDateTime.now().toString());
 
             log.debug("Enviando mensagem de auditoria: {} - {} ID: {}", operacao, entidade, entidadeId);
-            
-            queueMessagingTemplate.send(auditoriaQueue, auditoria);
-            
+
+            sqsBatchProducerService.enviar(auditoriaQueue, detalhes, atributos)
+                    .whenComplete((messageId, ex) -> {
+                        if (ex != null) {
+                            log.error("Erro ao enviar mensagem de auditoria. Operação: {}, Entidade: {}, ID: {}, Erro: {}",
+                                    operacao, entidade, entidadeId, ex.getMessage());
+                        }
+                    });
+
         } catch (Exception e) {
-            log.error("Erro ao enviar mensagem de auditoria. Operação: {}, Entidade: {}, ID: {}, Erro: {}", 
+            log.error("Erro ao enviar mensagem de auditoria. Operação: {}, Entidade: {}, ID: {}, Erro: {}",
                     operacao, entidade, entidadeId, e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Adiciona um atributo de mensagem, ignorando valores nulos (o SQS não aceita atributos vazios).
+     * Números usam o tipo {@code Number.<classe>} para manter a conversão feita pelos listeners.
+     */
+    private void adicionarAtributo(Map<String, MessageAttributeValue> atributos, String nome, Object valor) {
+        if (valor == null) {
+            return;
+        }
+
+        if (valor instanceof Number) {
+            atributos.put(nome, new MessageAttributeValue()
+                    .withDataType("Number." + valor.getClass().getName())
+                    .withStringValue(valor.toString()));
+        } else {
+            atributos.put(nome, new MessageAttributeValue()
+                    .withDataType("String")
+                    .withStringValue(valor.toString()));
+        }
+    }
+}
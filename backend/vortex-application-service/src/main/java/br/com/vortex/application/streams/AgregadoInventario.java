@@ -0,0 +1,72 @@
+package br.com.vortex.application.streams;
+
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estado acumulado de um produto mantido no state store do Kafka Streams.
+ *
+ * É serializado em JSON no RocksDB; por isso usa apenas tipos simples e um construtor vazio.
+ */
+@Data
+@NoArgsConstructor
+public class AgregadoInventario {
+
+    private Long produtoId;
+    private String produtoDescricao;
+    private String tipoProduto;
+    private Integer estoqueAtual;
+    private long unidadesEntrada;
+    private long unidadesSaida;
+    private BigDecimal receita = BigDecimal.ZERO;
+    private BigDecimal lucro = BigDecimal.ZERO;
+    private long movimentos;
+    private LocalDateTime ultimaMovimentacao;
+
+    /**
+     * Aplica um movimento ao agregado.
+     *
+     * O estoque atual segue o movimento mais recente pela data de movimentação, de modo
+     * que eventos reentregues fora de ordem não sobrescrevem um saldo mais novo.
+     * Receita e lucro usam {@code valorVenda} como preço unitário, como nos relatórios.
+     */
+    public AgregadoInventario aplicar(MovimentoEstoqueEventDTO event) {
+        produtoId = event.getProdutoId();
+        if (event.getProdutoDescricao() != null) {
+            produtoDescricao = event.getProdutoDescricao();
+        }
+        if (event.getTipoProduto() != null) {
+            tipoProduto = event.getTipoProduto();
+        }
+
+        if (ultimaMovimentacao == null || event.getDataMovimento() == null
+                || !event.getDataMovimento().isBefore(ultimaMovimentacao)) {
+            estoqueAtual = event.getEstoqueAtual();
+            if (event.getDataMovimento() != null) {
+                ultimaMovimentacao = event.getDataMovimento();
+            }
+        }
+
+        int quantidade = event.getQuantidadeMovimentada() != null ? event.getQuantidadeMovimentada() : 0;
+        if (event.getTipoMovimentacao() == TipoMovimentacao.ENTRADA) {
+            unidadesEntrada += quantidade;
+        } else if (event.getTipoMovimentacao() == TipoMovimentacao.SAIDA) {
+            unidadesSaida += quantidade;
+            if (event.getValorVenda() != null) {
+                BigDecimal quantidadeDecimal = BigDecimal.valueOf(quantidade);
+                receita = receita.add(event.getValorVenda().multiply(quantidadeDecimal));
+                if (event.getValorFornecedor() != null) {
+                    lucro = lucro.add(event.getValorVenda().subtract(event.getValorFornecedor()).multiply(quantidadeDecimal));
+                }
+            }
+        }
+
+        movimentos++;
+        return this;
+    }
+}
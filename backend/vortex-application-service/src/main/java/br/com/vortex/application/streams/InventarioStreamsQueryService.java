@@ -0,0 +1,142 @@
+package br.com.vortex.application.streams;
+
+import br.com.vortex.application.dto.InventarioProdutoStreamDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consultas interativas aos state stores da {@link InventarioStreamsTopologia}.
+ *
+ * Lê os agregados diretamente do RocksDB local, sem acessar o banco relacional.
+ * Cada instância responde pelas partições que processa; com várias instâncias no
+ * mesmo {@code application.id}, o produto pode estar em outra instância.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = {"kafka.enabled", "kafka.streams.enabled"}, havingValue = "true")
+public class InventarioStreamsQueryService {
+
+    private static final Duration PERIODO_VELOCIDADE = Duration.ofHours(24);
+
+    private final StreamsBuilderFactoryBean streamsBuilderFactoryBean;
+    private final Clock clock;
+
+    @Autowired
+    public InventarioStreamsQueryService(StreamsBuilderFactoryBean streamsBuilderFactoryBean) {
+        this.streamsBuilderFactoryBean = streamsBuilderFactoryBean;
+        this.clock = Clock.systemDefaultZone();
+    }
+
+    /**
+     * Agregados de um produto.
+     *
+     * @throws IllegalStateException se o Kafka Streams ainda não estiver em execução
+     */
+    public Optional<InventarioProdutoStreamDTO> consultarProduto(Long produtoId) {
+        return consultar(storeInventario(), storeVendas(), produtoId, clock.instant());
+    }
+
+    /**
+     * Agregados de todos os produtos presentes nas partições locais.
+     *
+     * @throws IllegalStateException se o Kafka Streams ainda não estiver em execução
+     */
+    public List<InventarioProdutoStreamDTO> listarProdutos() {
+        return listar(storeInventario(), storeVendas(), clock.instant());
+    }
+
+    static Optional<InventarioProdutoStreamDTO> consultar(ReadOnlyKeyValueStore<String, AgregadoInventario> inventario,
+                                                          ReadOnlyWindowStore<String, Long> vendas,
+                                                          Long produtoId, Instant agora) {
+        String chave = InventarioStreamsTopologia.chave(produtoId);
+        AgregadoInventario agregado = inventario.get(chave);
+        return Optional.ofNullable(agregado).map(a -> montar(a, vendas, chave, agora));
+    }
+
+    static List<InventarioProdutoStreamDTO> listar(ReadOnlyKeyValueStore<String, AgregadoInventario> inventario,
+                                                   ReadOnlyWindowStore<String, Long> vendas, Instant agora) {
+        List<InventarioProdutoStreamDTO> resultado = new ArrayList<>();
+        try (KeyValueIterator<String, AgregadoInventario> iterator = inventario.all()) {
+            while (iterator.hasNext()) {
+                KeyValue<String, AgregadoInventario> registro = iterator.next();
+                resultado.add(montar(registro.value, vendas, registro.key, agora));
+            }
+        }
+        return resultado;
+    }
+
+    private static InventarioProdutoStreamDTO montar(AgregadoInventario agregado, ReadOnlyWindowStore<String, Long> vendas,
+                                                     String chave, Instant agora) {
+        long vendasUltimaHora = 0;
+        long vendas24Horas = 0;
+        Instant inicioUltimaHora = agora.minus(InventarioStreamsTopologia.JANELA_VENDAS);
+
+        // Janelas de 1 hora cujo início está nas últimas 24 horas
+        try (WindowStoreIterator<Long> janelas = vendas.fetch(chave, agora.minus(PERIODO_VELOCIDADE), agora)) {
+            while (janelas.hasNext()) {
+                KeyValue<Long, Long> janela = janelas.next();
+                vendas24Horas += janela.value;
+                if (janela.key > inicioUltimaHora.toEpochMilli()) {
+                    vendasUltimaHora += janela.value;
+                }
+            }
+        }
+
+        double velocidade = vendas24Horas / (double) PERIODO_VELOCIDADE.toHours();
+
+        InventarioProdutoStreamDTO dto = new InventarioProdutoStreamDTO();
+        dto.setProdutoId(agregado.getProdutoId());
+        dto.setProdutoDescricao(agregado.getProdutoDescricao());
+        dto.setTipoProduto(agregado.getTipoProduto());
+        dto.setEstoqueAtual(agregado.getEstoqueAtual());
+        dto.setUnidadesEntrada(agregado.getUnidadesEntrada());
+        dto.setUnidadesSaida(agregado.getUnidadesSaida());
+        dto.setReceita(agregado.getReceita());
+        dto.setLucro(agregado.getLucro());
+        dto.setMovimentos(agregado.getMovimentos());
+        dto.setVendasUltimaHora(vendasUltimaHora);
+        dto.setVendasUltimas24Horas(vendas24Horas);
+        dto.setVelocidadeVendasPorHora(velocidade);
+        if (velocidade > 0 && agregado.getEstoqueAtual() != null) {
+            dto.setDiasDeEstoque(agregado.getEstoqueAtual() / (velocidade * 24));
+        }
+        dto.setUltimaMovimentacao(agregado.getUltimaMovimentacao());
+        return dto;
+    }
+
+    private ReadOnlyKeyValueStore<String, AgregadoInventario> storeInventario() {
+        return kafkaStreams().store(StoreQueryParameters.fromNameAndType(
+                InventarioStreamsTopologia.STORE_INVENTARIO, QueryableStoreTypes.keyValueStore()));
+    }
+
+    private ReadOnlyWindowStore<String, Long> storeVendas() {
+        return kafkaStreams().store(StoreQueryParameters.fromNameAndType(
+                InventarioStreamsTopologia.STORE_VENDAS_POR_HORA, QueryableStoreTypes.windowStore()));
+    }
+
+    private KafkaStreams kafkaStreams() {
+        KafkaStreams kafkaStreams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (kafkaStreams == null || kafkaStreams.state() != KafkaStreams.State.RUNNING) {
+            throw new IllegalStateException("Kafka Streams não está em execução");
+        }
+        return kafkaStreams;
+    }
+}
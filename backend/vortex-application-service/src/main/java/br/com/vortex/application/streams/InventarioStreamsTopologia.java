@@ -0,0 +1,94 @@
+package br.com.vortex.application.streams;
+
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Duration;
+
+/**
+ * Topologia Kafka Streams que mantém agregados contínuos de inventário a partir do
+ * tópico de movimentações de estoque.
+ *
+ * Dois state stores persistentes (RocksDB) são mantidos por produto:
+ * - {@value #STORE_INVENTARIO}: saldo atual, unidades movimentadas, receita e lucro acumulados
+ * - {@value #STORE_VENDAS_POR_HORA}: unidades vendidas em janelas de 1 hora, base da velocidade de vendas
+ *
+ * Os registros são agrupados pela chave de publicação do {@code KafkaProducerService}
+ * ({@code produto-<id>}), que já particiona o tópico por produto; assim a agregação não
+ * precisa de tópico de reparticionamento.
+ */
+public final class InventarioStreamsTopologia {
+
+    public static final String STORE_INVENTARIO = "inventario-produto-store";
+    public static final String STORE_VENDAS_POR_HORA = "vendas-por-hora-store";
+
+    public static final Duration JANELA_VENDAS = Duration.ofHours(1);
+    public static final Duration RETENCAO_VENDAS = Duration.ofHours(25);
+
+    private static final String PREFIXO_CHAVE = "produto-";
+
+    private InventarioStreamsTopologia() {
+    }
+
+    /**
+     * Chave dos registros e dos state stores para um produto.
+     */
+    public static String chave(Long produtoId) {
+        return PREFIXO_CHAVE + produtoId;
+    }
+
+    /**
+     * Adiciona a topologia de inventário ao builder.
+     *
+     * @param builder Builder do Kafka Streams
+     * @param topico Tópico de movimentações de estoque
+     * @param objectMapper ObjectMapper da aplicação (com suporte a java.time)
+     * @return Stream de movimentações válidas consumido pela topologia
+     */
+    public static KStream<String, MovimentoEstoqueEventDTO> construir(StreamsBuilder builder, String topico, ObjectMapper objectMapper) {
+        Serde<MovimentoEstoqueEventDTO> movimentoSerde = new JsonSerde<>(MovimentoEstoqueEventDTO.class, objectMapper)
+                .ignoreTypeHeaders();
+        Serde<AgregadoInventario> agregadoSerde = new JsonSerde<>(AgregadoInventario.class, objectMapper)
+                .noTypeInfo()
+                .ignoreTypeHeaders();
+
+        KStream<String, MovimentoEstoqueEventDTO> movimentos = builder
+                .stream(topico, Consumed.with(Serdes.String(), movimentoSerde))
+                .filter((chave, event) -> chave != null && event != null && event.getProdutoId() != null);
+
+        movimentos
+                .groupByKey(Grouped.with(Serdes.String(), movimentoSerde))
+                .aggregate(AgregadoInventario::new,
+                        (chave, event, agregado) -> agregado.aplicar(event),
+                        Materialized.<String, AgregadoInventario, KeyValueStore<Bytes, byte[]>>as(STORE_INVENTARIO)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(agregadoSerde));
+
+        movimentos
+                .filter((chave, event) -> event.getTipoMovimentacao() == TipoMovimentacao.SAIDA
+                        && event.getQuantidadeMovimentada() != null)
+                .mapValues(event -> event.getQuantidadeMovimentada().longValue())
+                .groupByKey(Grouped.with(Serdes.String(), Serdes.Long()))
+                .windowedBy(TimeWindows.ofSizeAndGrace(JANELA_VENDAS, Duration.ofMinutes(10)))
+                .reduce(Long::sum,
+                        Materialized.<String, Long, WindowStore<Bytes, byte[]>>as(STORE_VENDAS_POR_HORA)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(Serdes.Long())
+                                .withRetention(RETENCAO_VENDAS));
+
+        return movimentos;
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.vortex.application.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker por falhas consecutivas.
+ *
+ * Fechado, deixa todas as chamadas passarem. Após o limite de falhas consecutivas,
+ * abre e recusa chamadas durante o tempo de abertura. Passado esse tempo, deixa uma
+ * única chamada de teste passar (meio aberto): sucesso fecha o circuito, falha o
+ * reabre por mais um período.
+ */
+public class DisjuntorCircuito {
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private final int limiteFalhas;
+    private final long aberturaNanos;
+    private final LongSupplier relogioNanos;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas;
+    private long abertoAte;
+    private boolean testeEmAndamento;
+
+    public DisjuntorCircuito(int limiteFalhas, long aberturaMillis) {
+        this(limiteFalhas, aberturaMillis, System::nanoTime);
+    }
+
+    public DisjuntorCircuito(int limiteFalhas, long aberturaMillis, LongSupplier relogioNanos) {
+        if (limiteFalhas <= 0) {
+            throw new IllegalArgumentException("O limite de falhas do circuit breaker deve ser positivo");
+        }
+
+        this.limiteFalhas = limiteFalhas;
+        this.aberturaNanos = TimeUnit.MILLISECONDS.toNanos(aberturaMillis);
+        this.relogioNanos = relogioNanos;
+    }
+
+    /**
+     * Indica se uma chamada pode ser feita agora. Quando retorna {@code true}, o resultado
+     * da chamada deve ser informado em {@link #registrarSucesso()} ou {@link #registrarFalha()}.
+     */
+    public synchronized boolean permitirChamada() {
+        verificarFimAbertura();
+        return switch (estado) {
+            case FECHADO -> true;
+            case ABERTO -> false;
+            case MEIO_ABERTO -> {
+                if (testeEmAndamento) {
+                    yield false;
+                }
+                testeEmAndamento = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void registrarSucesso() {
+        falhasConsecutivas = 0;
+        testeEmAndamento = false;
+        estado = Estado.FECHADO;
+    }
+
+    public synchronized void registrarFalha() {
+        falhasConsecutivas++;
+        testeEmAndamento = false;
+        if (estado == Estado.MEIO_ABERTO || falhasConsecutivas >= limiteFalhas) {
+            estado = Estado.ABERTO;
+            abertoAte = relogioNanos.getAsLong() + aberturaNanos;
+        }
+    }
+
+    public synchronized Estado getEstado() {
+        verificarFimAbertura();
+        return estado;
+    }
+
+    private void verificarFimAbertura() {
+        if (estado == Estado.ABERTO && relogioNanos.getAsLong() - abertoAte >= 0) {
+            estado = Estado.MEIO_ABERTO;
+            testeEmAndamento = false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.vortex.application.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de taxa por token bucket.
+ *
+ * Os tokens são repostos continuamente à taxa configurada, até a capacidade de
+ * rajada. Quando não há token disponível, {@link #adquirir()} reserva o próximo e
+ * aguarda apenas o tempo necessário, de modo que chamadas concorrentes são
+ * espaçadas na taxa configurada em vez de todas acordarem ao mesmo tempo.
+ */
+public class LimitadorTaxa {
+
+    private final double tokensPorNano;
+    private final double capacidade;
+    private final LongSupplier relogioNanos;
+
+    private double disponiveis;
+    private long ultimaReposicao;
+
+    public LimitadorTaxa(double tokensPorSegundo, int rajada) {
+        this(tokensPorSegundo, rajada, System::nanoTime);
+    }
+
+    public LimitadorTaxa(double tokensPorSegundo, int rajada, LongSupplier relogioNanos) {
+        if (tokensPorSegundo <= 0 || rajada <= 0) {
+            throw new IllegalArgumentException("A taxa e a rajada do limitador devem ser positivas");
+        }
+
+        this.tokensPorNano = tokensPorSegundo / TimeUnit.SECONDS.toNanos(1);
+        this.capacidade = rajada;
+        this.relogioNanos = relogioNanos;
+        this.disponiveis = rajada;
+        this.ultimaReposicao = relogioNanos.getAsLong();
+    }
+
+    /**
+     * Consome um token se houver disponível, sem aguardar.
+     */
+    public synchronized boolean tentarAdquirir() {
+        repor();
+        if (disponiveis >= 1) {
+            disponiveis -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reserva um token e retorna quanto tempo é preciso aguardar até que ele esteja disponível.
+     *
+     * @return Espera em nanossegundos (0 se o token está disponível agora)
+     */
+    public synchronized long reservar() {
+        repor();
+        disponiveis -= 1;
+        return disponiveis >= 0 ? 0 : (long) Math.ceil(-disponiveis / tokensPorNano);
+    }
+
+    /**
+     * Consome um token, aguardando a reposição se necessário.
+     */
+    public void adquirir() throws InterruptedException {
+        long espera = reservar();
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+
+    private void repor() {
+        long agora = relogioNanos.getAsLong();
+        disponiveis = Math.min(capacidade, disponiveis + (agora - ultimaReposicao) * tokensPorNano);
+        ultimaReposicao = agora;
+    }
+}
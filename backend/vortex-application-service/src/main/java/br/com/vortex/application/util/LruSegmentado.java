@@ -0,0 +1,125 @@
+package br.com.vortex.application.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Mapa com capacidade máxima e remoção do menos usado recentemente (LRU).
+ *
+ * As chaves são distribuídas em segmentos independentes, cada um com seu próprio
+ * {@link LinkedHashMap} em ordem de acesso e seu próprio lock, o que reduz a contenção
+ * entre threads. A capacidade é dividida igualmente entre os segmentos; quando um
+ * segmento está cheio, a entrada menos usada dele é descartada.
+ *
+ * @param <K> Tipo da chave
+ * @param <V> Tipo do valor
+ */
+public class LruSegmentado<K, V> {
+
+    private final Segmento<K, V>[] segmentos;
+    private final int mascara;
+    private final AtomicLong remocoes = new AtomicLong();
+
+    /**
+     * @param capacidade Número máximo aproximado de entradas
+     * @param quantidadeSegmentos Número de segmentos (arredondado para potência de 2)
+     */
+    @SuppressWarnings("unchecked")
+    public LruSegmentado(int capacidade, int quantidadeSegmentos) {
+        if (capacidade <= 0 || quantidadeSegmentos <= 0) {
+            throw new IllegalArgumentException("Capacidade e quantidade de segmentos devem ser positivas");
+        }
+
+        int quantidade = Integer.highestOneBit(Math.min(quantidadeSegmentos, capacidade));
+        int capacidadeSegmento = Math.max(1, capacidade / quantidade);
+
+        this.segmentos = new Segmento[quantidade];
+        this.mascara = quantidade - 1;
+        for (int i = 0; i < quantidade; i++) {
+            segmentos[i] = new Segmento<>(capacidadeSegmento, remocoes);
+        }
+    }
+
+    /**
+     * Obtém o valor da chave, criando-o com a fábrica se ainda não existir.
+     * A fábrica é chamada sob o lock do segmento e não deve acessar este mapa.
+     */
+    public V obterOuCriar(K chave, Function<? super K, ? extends V> fabrica) {
+        Segmento<K, V> segmento = segmento(chave);
+        synchronized (segmento) {
+            V valor = segmento.get(chave);
+            if (valor == null) {
+                valor = fabrica.apply(chave);
+                segmento.put(chave, valor);
+            }
+            return valor;
+        }
+    }
+
+    public V obter(K chave) {
+        Segmento<K, V> segmento = segmento(chave);
+        synchronized (segmento) {
+            return segmento.get(chave);
+        }
+    }
+
+    public V colocar(K chave, V valor) {
+        Segmento<K, V> segmento = segmento(chave);
+        synchronized (segmento) {
+            return segmento.put(chave, valor);
+        }
+    }
+
+    public V remover(K chave) {
+        Segmento<K, V> segmento = segmento(chave);
+        synchronized (segmento) {
+            return segmento.remove(chave);
+        }
+    }
+
+    public int tamanho() {
+        int total = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Total de entradas descartadas por falta de capacidade.
+     */
+    public long getRemocoes() {
+        return remocoes.get();
+    }
+
+    private Segmento<K, V> segmento(K chave) {
+        int hash = chave.hashCode();
+        hash ^= (hash >>> 16);
+        return segmentos[hash & mascara];
+    }
+
+    private static class Segmento<K, V> extends LinkedHashMap<K, V> {
+
+        private final int capacidade;
+        private final AtomicLong remocoes;
+
+        Segmento(int capacidade, AtomicLong remocoes) {
+            super(Math.min(capacidade, 1024), 0.75f, true);
+            this.capacidade = capacidade;
+            this.remocoes = remocoes;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > capacidade) {
+                remocoes.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.vortex.application.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Roda temporizadora (hashed timer wheel) para expirar itens em grande quantidade.
+ *
+ * O tempo é dividido em ticks de resolução fixa e cada item é guardado na posição da roda
+ * correspondente ao tick em que vence; itens que vencem depois de uma volta completa ficam na
+ * mesma posição e são ignorados até a volta certa. Agendar custa O(1) e cada avanço percorre só
+ * as posições dos ticks decorridos, independentemente de quantos itens estão agendados.
+ *
+ * Não há cancelamento: quem agenda deve ignorar, ao receber o item vencido, o que já não estiver
+ * mais pendente. A expiração tem a precisão de um tick.
+ *
+ * @param <T> Tipo do item agendado
+ */
+public class RodaTemporizadora<T> {
+
+    private final long resolucaoMs;
+    private final ArrayDeque<Agendamento<T>>[] posicoes;
+    private final int mascara;
+
+    private long ultimoTick;
+    private int tamanho;
+
+    /**
+     * @param resolucaoMs Duração de um tick em milissegundos
+     * @param quantidadePosicoes Número de posições da roda (arredondado para potência de 2)
+     * @param agoraMs Instante inicial, em milissegundos
+     */
+    @SuppressWarnings("unchecked")
+    public RodaTemporizadora(long resolucaoMs, int quantidadePosicoes, long agoraMs) {
+        if (resolucaoMs <= 0 || quantidadePosicoes <= 0) {
+            throw new IllegalArgumentException("A resolução e a quantidade de posições da roda devem ser positivas");
+        }
+
+        int quantidade = Integer.highestOneBit(quantidadePosicoes);
+        this.resolucaoMs = resolucaoMs;
+        this.posicoes = new ArrayDeque[quantidade];
+        this.mascara = quantidade - 1;
+        for (int i = 0; i < quantidade; i++) {
+            posicoes[i] = new ArrayDeque<>();
+        }
+        this.ultimoTick = agoraMs / resolucaoMs;
+    }
+
+    /**
+     * Agenda o item para vencer no instante informado; instantes já passados vencem no próximo avanço.
+     */
+    public synchronized void agendar(T item, long venceEmMs) {
+        long tick = Math.max(Math.floorDiv(venceEmMs + resolucaoMs - 1, resolucaoMs), ultimoTick + 1);
+        posicoes[(int) (tick & mascara)].addLast(new Agendamento<>(item, tick));
+        tamanho++;
+    }
+
+    /**
+     * Avança a roda até o instante informado e retorna os itens vencidos.
+     */
+    public synchronized List<T> avancar(long agoraMs) {
+        long tickAtual = agoraMs / resolucaoMs;
+        if (tickAtual <= ultimoTick) {
+            return List.of();
+        }
+
+        List<T> vencidos = new ArrayList<>();
+        // Depois de uma volta completa todas as posições já foram visitadas
+        long voltas = Math.min(tickAtual - ultimoTick, posicoes.length);
+        for (long i = 1; i <= voltas; i++) {
+            Iterator<Agendamento<T>> agendamentos = posicoes[(int) ((ultimoTick + i) & mascara)].iterator();
+            while (agendamentos.hasNext()) {
+                Agendamento<T> agendamento = agendamentos.next();
+                if (agendamento.tick() <= tickAtual) {
+                    vencidos.add(agendamento.item());
+                    agendamentos.remove();
+                }
+            }
+        }
+        ultimoTick = tickAtual;
+        tamanho -= vencidos.size();
+        return vencidos;
+    }
+
+    /**
+     * Quantidade de itens agendados e ainda não vencidos.
+     */
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private record Agendamento<T>(T item, long tick) {
+    }
+}
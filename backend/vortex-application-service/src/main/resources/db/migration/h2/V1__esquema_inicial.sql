@@ -0,0 +1,86 @@
+-- Esquema inicial da aplicação (H2)
+-- Sequências com incremento 50, compatíveis com o allocationSize das entidades (otimizador pooled-lo)
+
+CREATE SEQUENCE tipo_produto_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE produto_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE movimento_estoque_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE pedido_reposicao_seq START WITH 1 INCREMENT BY 50;
+
+-- Table: tipo_produto
+CREATE TABLE tipo_produto (
+    id BIGINT NOT NULL PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL UNIQUE
+);
+
+-- Table: produto
+CREATE TABLE produto (
+    id BIGINT NOT NULL PRIMARY KEY,
+    descricao VARCHAR(255) NOT NULL,
+    valor_fornecedor NUMERIC(38, 2) NOT NULL,
+    quantidade_em_estoque INTEGER NOT NULL,
+    tipo_produto_id BIGINT NOT NULL,
+    CONSTRAINT fk_produto_tipo_produto FOREIGN KEY (tipo_produto_id) REFERENCES tipo_produto (id)
+);
+
+-- Table: movimento_estoque
+CREATE TABLE movimento_estoque (
+    id BIGINT NOT NULL PRIMARY KEY,
+    data_movimento TIMESTAMP(6) NOT NULL,
+    tipo_movimentacao ENUM ('ENTRADA', 'SAIDA') NOT NULL,
+    quantidade_movimentada INTEGER NOT NULL,
+    valor_venda NUMERIC(38, 2),
+    produto_id BIGINT NOT NULL,
+    CONSTRAINT fk_movimento_estoque_produto FOREIGN KEY (produto_id) REFERENCES produto (id)
+);
+
+-- Table: movimento_estoque_arquivo (meses frios, preenchida pelo ArquivamentoMovimentosService)
+CREATE TABLE movimento_estoque_arquivo (
+    id BIGINT NOT NULL PRIMARY KEY,
+    data_movimento TIMESTAMP(6) NOT NULL,
+    tipo_movimentacao ENUM ('ENTRADA', 'SAIDA') NOT NULL,
+    quantidade_movimentada INTEGER NOT NULL,
+    valor_venda NUMERIC(38, 2),
+    produto_id BIGINT NOT NULL,
+    data_arquivamento TIMESTAMP(6) NOT NULL
+);
+
+-- Table: operacao_movimento
+CREATE TABLE operacao_movimento (
+    operation_id VARCHAR(64) NOT NULL PRIMARY KEY,
+    status ENUM ('PENDENTE', 'APLICADO', 'ESTOQUE_INSUFICIENTE', 'PRODUTO_NAO_ENCONTRADO', 'DLQ') NOT NULL,
+    produto_id BIGINT,
+    tipo_movimentacao ENUM ('ENTRADA', 'SAIDA'),
+    quantidade_movimentada INTEGER,
+    movimento_id BIGINT,
+    motivo VARCHAR(500),
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_conclusao TIMESTAMP(6)
+);
+
+-- Table: pedido_reposicao
+CREATE TABLE pedido_reposicao (
+    id BIGINT NOT NULL PRIMARY KEY,
+    produto_id BIGINT NOT NULL,
+    chave_aberta BIGINT UNIQUE,
+    evento_origem VARCHAR(64) NOT NULL UNIQUE,
+    quantidade_solicitada INTEGER NOT NULL,
+    prioridade VARCHAR(255),
+    status ENUM ('ABERTO', 'ATENDIDO', 'CANCELADO') NOT NULL,
+    ticket_criado BOOLEAN NOT NULL,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_fechamento TIMESTAMP(6)
+);
+
+-- Table: mensagem_processada
+CREATE TABLE mensagem_processada (
+    chave VARCHAR(150) NOT NULL PRIMARY KEY,
+    consumidor VARCHAR(50) NOT NULL,
+    data_processamento TIMESTAMP(6) NOT NULL,
+    expira_em TIMESTAMP(6) NOT NULL
+);
+
+-- Table: replica_batimento
+CREATE TABLE replica_batimento (
+    id INTEGER NOT NULL PRIMARY KEY,
+    atualizado_em TIMESTAMP(6) NOT NULL
+);
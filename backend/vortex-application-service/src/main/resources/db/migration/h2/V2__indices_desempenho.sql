@@ -0,0 +1,26 @@
+-- Índices das consultas dos repositórios (H2)
+-- Mesmos índices de oracle/V2__indices_desempenho.sql
+
+-- Produtos por tipo, verificação de exclusão do tipo e relatório por tipo
+CREATE INDEX idx_produto_tipo_produto ON produto (tipo_produto_id);
+
+-- Contagens e somas de saídas por produto (relatórios): cobre o filtro e as colunas somadas
+CREATE INDEX idx_movimento_produto_tipo_data
+    ON movimento_estoque (produto_id, tipo_movimentacao, data_movimento, quantidade_movimentada, valor_venda);
+
+-- Movimentos de um produto, inteiros ou por período, e verificação de exclusão do produto
+CREATE INDEX idx_movimento_produto_data ON movimento_estoque (produto_id, data_movimento);
+
+-- Movimento mais antigo e cópia/remoção por mês no arquivamento
+CREATE INDEX idx_movimento_data ON movimento_estoque (data_movimento);
+
+-- Saídas arquivadas por produto (relatórios) e verificação de exclusão do produto
+CREATE INDEX idx_mov_arquivo_produto_tipo_data
+    ON movimento_estoque_arquivo (produto_id, tipo_movimentacao, data_movimento, quantidade_movimentada, valor_venda);
+
+-- Pedidos de reposição por situação, mais recentes primeiro
+CREATE INDEX idx_pedido_reposicao_status_data ON pedido_reposicao (status, data_criacao);
+
+-- Limpeza periódica das operações e das mensagens processadas
+CREATE INDEX idx_operacao_movimento_data_criacao ON operacao_movimento (data_criacao);
+CREATE INDEX idx_mensagem_processada_expira_em ON mensagem_processada (expira_em);
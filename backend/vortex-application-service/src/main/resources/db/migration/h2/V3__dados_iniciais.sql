@@ -1,3 +1,4 @@
+-- Dados iniciais (H2), antes carregados pelo Hibernate a partir do import.sql
 -- Inserir tipos de produto
 INSERT INTO tipo_produto (id, nome) VALUES (1, 'Eletrônicos');
 INSERT INTO tipo_produto (id, nome) VALUES (2, 'Roupas');
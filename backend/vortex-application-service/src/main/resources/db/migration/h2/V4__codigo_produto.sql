@@ -0,0 +1,4 @@
+-- Código (SKU) do produto, chave natural da importação do catálogo
+-- Opcional para os produtos já cadastrados; quando informado, é único
+ALTER TABLE produto ADD COLUMN codigo VARCHAR(64);
+CREATE UNIQUE INDEX uk_produto_codigo ON produto (codigo);
@@ -0,0 +1,3 @@
+-- Versão para o controle otimista de concorrência (@Version) de produto e movimento
+ALTER TABLE produto ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE movimento_estoque ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,15 @@
+-- Reservas de estoque do checkout em duas fases
+-- O estado vivo fica em memória (ReservaEstoqueService); a tabela é gravada de forma assíncrona e
+-- serve para recuperar as reservas ativas na inicialização e para consulta do histórico
+CREATE TABLE reserva_estoque (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    status ENUM ('ATIVA', 'CONFIRMADA', 'EXPIRADA', 'CANCELADA') NOT NULL,
+    produto_id BIGINT NOT NULL,
+    quantidade INTEGER NOT NULL,
+    movimento_id BIGINT,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    expira_em TIMESTAMP(6) NOT NULL,
+    data_conclusao TIMESTAMP(6)
+);
+
+CREATE INDEX idx_reserva_estoque_status_expira_em ON reserva_estoque (status, expira_em);
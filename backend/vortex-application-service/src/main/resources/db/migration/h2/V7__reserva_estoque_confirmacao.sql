@@ -0,0 +1,4 @@
+-- Reservas confirmadas com a saída em processamento assíncrono ficam CONFIRMANDO, com o operationId
+-- da saída, até o consumidor aplicá-la; a quantidade continua reservada nesse intervalo
+ALTER TABLE reserva_estoque ALTER COLUMN status ENUM ('ATIVA', 'CONFIRMANDO', 'CONFIRMADA', 'EXPIRADA', 'CANCELADA') NOT NULL;
+ALTER TABLE reserva_estoque ADD COLUMN operation_id VARCHAR(36);
@@ -0,0 +1,9 @@
+-- Bloqueio das tarefas agendadas que devem rodar em uma única instância por vez
+-- A instância que consegue avançar bloqueado_ate (já vencido) executa a tarefa; as demais a pulam
+CREATE TABLE bloqueio_tarefa (
+    nome VARCHAR(64) NOT NULL PRIMARY KEY,
+    bloqueado_ate TIMESTAMP(6) NOT NULL,
+    bloqueado_por VARCHAR(128)
+);
+
+INSERT INTO bloqueio_tarefa (nome, bloqueado_ate) VALUES ('arquivamento-movimentos', TIMESTAMP '1970-01-01 00:00:00');
@@ -0,0 +1,6 @@
+-- Quantidade reservada pelo checkout, compartilhada entre as instâncias
+-- Fica fora da entidade Produto (e do cache de segundo nível); a restrição impede que o estoque
+-- caia abaixo do que está reservado, qualquer que seja o caminho da saída
+ALTER TABLE produto ADD COLUMN quantidade_reservada INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE produto ADD CONSTRAINT ck_produto_quantidade_reservada
+    CHECK (quantidade_reservada >= 0 AND quantidade_reservada <= quantidade_em_estoque);
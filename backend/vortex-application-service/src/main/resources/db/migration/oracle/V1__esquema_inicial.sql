@@ -0,0 +1,98 @@
+-- Esquema inicial da aplicação (Oracle)
+-- Idempotente: bancos criados antes das migrações (ddl-auto=update e scripts de infra/oracle/init)
+-- recebem só os objetos que faltam; o Flyway os registra a partir da versão 0 (baseline-on-migrate).
+-- Sequências com incremento 50, compatíveis com o allocationSize das entidades (otimizador pooled-lo).
+-- Com pooled-lo, cada nextval reserva o bloco [valor, valor + 49]; os IDs já gravados ficam abaixo
+-- do próximo valor da sequência, então alinhar o incremento é seguro com dados existentes.
+DECLARE
+    PROCEDURE criar_sequencia(nome VARCHAR2) IS
+        incremento NUMBER;
+    BEGIN
+        SELECT increment_by INTO incremento FROM user_sequences WHERE sequence_name = UPPER(nome);
+        IF incremento <> 50 THEN
+            EXECUTE IMMEDIATE 'ALTER SEQUENCE ' || nome || ' INCREMENT BY 50';
+        END IF;
+    EXCEPTION
+        WHEN NO_DATA_FOUND THEN
+            EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || nome || ' START WITH 1 INCREMENT BY 50';
+    END;
+
+    PROCEDURE criar_tabela(nome VARCHAR2, definicao VARCHAR2) IS
+        existente NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO existente FROM user_tables WHERE table_name = UPPER(nome);
+        IF existente = 0 THEN
+            EXECUTE IMMEDIATE 'CREATE TABLE ' || nome || ' (' || definicao || ')';
+        END IF;
+    END;
+BEGIN
+    criar_sequencia('tipo_produto_seq');
+    criar_sequencia('produto_seq');
+    criar_sequencia('movimento_estoque_seq');
+    criar_sequencia('pedido_reposicao_seq');
+
+    criar_tabela('tipo_produto',
+           ' id NUMBER(19) NOT NULL PRIMARY KEY,'
+        || ' nome VARCHAR2(255 CHAR) NOT NULL UNIQUE');
+
+    criar_tabela('produto',
+           ' id NUMBER(19) NOT NULL PRIMARY KEY,'
+        || ' descricao VARCHAR2(255 CHAR) NOT NULL,'
+        || ' valor_fornecedor NUMBER(38,2) NOT NULL,'
+        || ' quantidade_em_estoque NUMBER(10) NOT NULL,'
+        || ' tipo_produto_id NUMBER(19) NOT NULL,'
+        || ' CONSTRAINT fk_produto_tipo_produto FOREIGN KEY (tipo_produto_id) REFERENCES tipo_produto (id)');
+
+    criar_tabela('movimento_estoque',
+           ' id NUMBER(19) NOT NULL PRIMARY KEY,'
+        || ' data_movimento TIMESTAMP(6) NOT NULL,'
+        || ' tipo_movimentacao VARCHAR2(255 CHAR) NOT NULL CHECK (tipo_movimentacao IN (''ENTRADA'', ''SAIDA'')),'
+        || ' quantidade_movimentada NUMBER(10) NOT NULL,'
+        || ' valor_venda NUMBER(38,2),'
+        || ' produto_id NUMBER(19) NOT NULL,'
+        || ' CONSTRAINT fk_movimento_estoque_produto FOREIGN KEY (produto_id) REFERENCES produto (id)');
+
+    criar_tabela('movimento_estoque_arquivo',
+           ' id NUMBER(19) NOT NULL PRIMARY KEY,'
+        || ' data_movimento TIMESTAMP(6) NOT NULL,'
+        || ' tipo_movimentacao VARCHAR2(255 CHAR) NOT NULL CHECK (tipo_movimentacao IN (''ENTRADA'', ''SAIDA'')),'
+        || ' quantidade_movimentada NUMBER(10) NOT NULL,'
+        || ' valor_venda NUMBER(38,2),'
+        || ' produto_id NUMBER(19) NOT NULL,'
+        || ' data_arquivamento TIMESTAMP(6) NOT NULL');
+
+    criar_tabela('operacao_movimento',
+           ' operation_id VARCHAR2(64 CHAR) NOT NULL PRIMARY KEY,'
+        || ' status VARCHAR2(30 CHAR) NOT NULL CHECK (status IN (''PENDENTE'', ''APLICADO'', ''ESTOQUE_INSUFICIENTE'','
+        || ' ''PRODUTO_NAO_ENCONTRADO'', ''DLQ'')),'
+        || ' produto_id NUMBER(19),'
+        || ' tipo_movimentacao VARCHAR2(255 CHAR) CHECK (tipo_movimentacao IN (''ENTRADA'', ''SAIDA'')),'
+        || ' quantidade_movimentada NUMBER(10),'
+        || ' movimento_id NUMBER(19),'
+        || ' motivo VARCHAR2(500 CHAR),'
+        || ' data_criacao TIMESTAMP(6) NOT NULL,'
+        || ' data_conclusao TIMESTAMP(6)');
+
+    criar_tabela('pedido_reposicao',
+           ' id NUMBER(19) NOT NULL PRIMARY KEY,'
+        || ' produto_id NUMBER(19) NOT NULL,'
+        || ' chave_aberta NUMBER(19) UNIQUE,'
+        || ' evento_origem VARCHAR2(64 CHAR) NOT NULL UNIQUE,'
+        || ' quantidade_solicitada NUMBER(10) NOT NULL,'
+        || ' prioridade VARCHAR2(255 CHAR),'
+        || ' status VARCHAR2(255 CHAR) NOT NULL CHECK (status IN (''ABERTO'', ''ATENDIDO'', ''CANCELADO'')),'
+        || ' ticket_criado NUMBER(1) NOT NULL CHECK (ticket_criado IN (0, 1)),'
+        || ' data_criacao TIMESTAMP(6) NOT NULL,'
+        || ' data_fechamento TIMESTAMP(6)');
+
+    criar_tabela('mensagem_processada',
+           ' chave VARCHAR2(150 CHAR) NOT NULL PRIMARY KEY,'
+        || ' consumidor VARCHAR2(50 CHAR) NOT NULL,'
+        || ' data_processamento TIMESTAMP(6) NOT NULL,'
+        || ' expira_em TIMESTAMP(6) NOT NULL');
+
+    criar_tabela('replica_batimento',
+           ' id NUMBER(10) NOT NULL PRIMARY KEY,'
+        || ' atualizado_em TIMESTAMP(6) NOT NULL');
+END;
+/
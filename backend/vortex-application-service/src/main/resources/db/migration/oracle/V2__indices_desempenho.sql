@@ -0,0 +1,47 @@
+-- Índices das consultas dos repositórios (Oracle)
+-- Mesmos índices de h2/V2__indices_desempenho.sql. Idempotente: índices existentes com as mesmas
+-- colunas são mantidos; os com colunas diferentes (versões anteriores criadas pelo Hibernate) são
+-- recriados. Em tabelas já particionadas os índices são locais, uma árvore por partição.
+DECLARE
+    PROCEDURE criar_indice(nome VARCHAR2, tabela VARCHAR2, colunas VARCHAR2) IS
+        existentes VARCHAR2(4000);
+        particionada NUMBER;
+    BEGIN
+        SELECT LISTAGG(column_name, ', ') WITHIN GROUP (ORDER BY column_position) INTO existentes
+        FROM user_ind_columns WHERE index_name = UPPER(nome);
+        IF existentes = UPPER(colunas) THEN
+            RETURN;
+        ELSIF existentes IS NOT NULL THEN
+            EXECUTE IMMEDIATE 'DROP INDEX ' || nome;
+        END IF;
+
+        SELECT COUNT(*) INTO particionada FROM user_part_tables WHERE table_name = UPPER(tabela);
+        EXECUTE IMMEDIATE 'CREATE INDEX ' || nome || ' ON ' || tabela || ' (' || colunas || ')'
+            || CASE WHEN particionada > 0 THEN ' LOCAL' END;
+    END;
+BEGIN
+    -- Produtos por tipo, verificação de exclusão do tipo e relatório por tipo
+    criar_indice('idx_produto_tipo_produto', 'produto', 'tipo_produto_id');
+
+    -- Contagens e somas de saídas por produto (relatórios): cobre o filtro e as colunas somadas
+    criar_indice('idx_movimento_produto_tipo_data', 'movimento_estoque',
+        'produto_id, tipo_movimentacao, data_movimento, quantidade_movimentada, valor_venda');
+
+    -- Movimentos de um produto, inteiros ou por período, e verificação de exclusão do produto
+    criar_indice('idx_movimento_produto_data', 'movimento_estoque', 'produto_id, data_movimento');
+
+    -- Movimento mais antigo e cópia/remoção por mês no arquivamento
+    criar_indice('idx_movimento_data', 'movimento_estoque', 'data_movimento');
+
+    -- Saídas arquivadas por produto (relatórios) e verificação de exclusão do produto
+    criar_indice('idx_mov_arquivo_produto_tipo_data', 'movimento_estoque_arquivo',
+        'produto_id, tipo_movimentacao, data_movimento, quantidade_movimentada, valor_venda');
+
+    -- Pedidos de reposição por situação, mais recentes primeiro
+    criar_indice('idx_pedido_reposicao_status_data', 'pedido_reposicao', 'status, data_criacao');
+
+    -- Limpeza periódica das operações e das mensagens processadas
+    criar_indice('idx_operacao_movimento_data_criacao', 'operacao_movimento', 'data_criacao');
+    criar_indice('idx_mensagem_processada_expira_em', 'mensagem_processada', 'expira_em');
+END;
+/
@@ -0,0 +1,29 @@
+-- Particionamento mensal de movimento_estoque e tabela de arquivo comprimida (Oracle 12.2+).
+-- Converte as tabelas sem parar a aplicação (ONLINE). Idempotente: tabelas já particionadas
+-- não são alteradas.
+--
+-- Consultas com filtro em data_movimento leem só as partições do período. Os índices de
+-- V2__indices_desempenho.sql passam a ser locais, uma árvore por partição.
+-- Os meses frios são movidos para movimento_estoque_arquivo pelo ArquivamentoMovimentosService,
+-- que descarta a partição esvaziada em seguida.
+DECLARE
+    PROCEDURE particionar(tabela VARCHAR2, indices_locais VARCHAR2) IS
+        particionada NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO particionada FROM user_part_tables WHERE table_name = UPPER(tabela);
+        IF particionada = 0 THEN
+            EXECUTE IMMEDIATE 'ALTER TABLE ' || tabela
+                || ' MODIFY PARTITION BY RANGE (data_movimento) INTERVAL (NUMTOYMINTERVAL(1, ''MONTH''))'
+                || ' (PARTITION p_inicial VALUES LESS THAN (TIMESTAMP ''2024-01-01 00:00:00''))'
+                || ' ONLINE UPDATE INDEXES (' || indices_locais || ')';
+        END IF;
+    END;
+BEGIN
+    particionar('movimento_estoque', 'idx_movimento_produto_tipo_data LOCAL, idx_movimento_produto_data LOCAL,'
+        || ' idx_movimento_data LOCAL');
+    particionar('movimento_estoque_arquivo', 'idx_mov_arquivo_produto_tipo_data LOCAL');
+
+    -- Partições novas do arquivo nascem comprimidas (a compressão básica vale para inserções diretas)
+    EXECUTE IMMEDIATE 'ALTER TABLE movimento_estoque_arquivo MODIFY DEFAULT ATTRIBUTES ROW STORE COMPRESS BASIC';
+END;
+/
@@ -0,0 +1,16 @@
+-- Código (SKU) do produto, chave natural da importação do catálogo
+-- Opcional para os produtos já cadastrados; quando informado, é único (chaves nulas não entram no índice)
+DECLARE
+    existente NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO existente FROM user_tab_columns WHERE table_name = 'PRODUTO' AND column_name = 'CODIGO';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE produto ADD codigo VARCHAR2(64 CHAR)';
+    END IF;
+
+    SELECT COUNT(*) INTO existente FROM user_indexes WHERE index_name = 'UK_PRODUTO_CODIGO';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE UNIQUE INDEX uk_produto_codigo ON produto (codigo)';
+    END IF;
+END;
+/
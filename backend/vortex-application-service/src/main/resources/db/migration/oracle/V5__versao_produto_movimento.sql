@@ -0,0 +1,16 @@
+-- Versão para o controle otimista de concorrência (@Version) de produto e movimento
+-- Coluna NOT NULL com default: só altera o dicionário, sem reescrever as partições de movimento_estoque
+DECLARE
+    PROCEDURE adicionar_versao(tabela VARCHAR2) IS
+        existente NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO existente FROM user_tab_columns WHERE table_name = UPPER(tabela) AND column_name = 'VERSAO';
+        IF existente = 0 THEN
+            EXECUTE IMMEDIATE 'ALTER TABLE ' || tabela || ' ADD versao NUMBER(19) DEFAULT 0 NOT NULL';
+        END IF;
+    END;
+BEGIN
+    adicionar_versao('produto');
+    adicionar_versao('movimento_estoque');
+END;
+/
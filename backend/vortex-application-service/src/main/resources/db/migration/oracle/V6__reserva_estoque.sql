@@ -0,0 +1,25 @@
+-- Reservas de estoque do checkout em duas fases
+-- O estado vivo fica em memória (ReservaEstoqueService); a tabela é gravada de forma assíncrona e
+-- serve para recuperar as reservas ativas na inicialização e para consulta do histórico
+DECLARE
+    existente NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO existente FROM user_tables WHERE table_name = 'RESERVA_ESTOQUE';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE TABLE reserva_estoque ('
+            || ' id VARCHAR2(64 CHAR) NOT NULL PRIMARY KEY,'
+            || ' status VARCHAR2(20 CHAR) NOT NULL CHECK (status IN (''ATIVA'', ''CONFIRMADA'', ''EXPIRADA'', ''CANCELADA'')),'
+            || ' produto_id NUMBER(19) NOT NULL,'
+            || ' quantidade NUMBER(10) NOT NULL,'
+            || ' movimento_id NUMBER(19),'
+            || ' data_criacao TIMESTAMP(6) NOT NULL,'
+            || ' expira_em TIMESTAMP(6) NOT NULL,'
+            || ' data_conclusao TIMESTAMP(6))';
+    END IF;
+
+    SELECT COUNT(*) INTO existente FROM user_indexes WHERE index_name = 'IDX_RESERVA_ESTOQUE_STATUS_EXPIRA_EM';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE INDEX idx_reserva_estoque_status_expira_em ON reserva_estoque (status, expira_em)';
+    END IF;
+END;
+/
@@ -0,0 +1,25 @@
+-- Reservas confirmadas com a saída em processamento assíncrono ficam CONFIRMANDO, com o operationId
+-- da saída, até o consumidor aplicá-la; a quantidade continua reservada nesse intervalo
+DECLARE
+    existente NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO existente FROM user_constraints
+     WHERE table_name = 'RESERVA_ESTOQUE' AND constraint_name = 'CK_RESERVA_ESTOQUE_STATUS';
+    IF existente = 0 THEN
+        -- A restrição da V6 não tem nome; é localizada pelos valores aceitos
+        FOR restricao IN (SELECT constraint_name FROM user_constraints
+                           WHERE table_name = 'RESERVA_ESTOQUE' AND constraint_type = 'C'
+                             AND search_condition_vc LIKE '%''CANCELADA''%') LOOP
+            EXECUTE IMMEDIATE 'ALTER TABLE reserva_estoque DROP CONSTRAINT ' || restricao.constraint_name;
+        END LOOP;
+        EXECUTE IMMEDIATE 'ALTER TABLE reserva_estoque ADD CONSTRAINT ck_reserva_estoque_status'
+            || ' CHECK (status IN (''ATIVA'', ''CONFIRMANDO'', ''CONFIRMADA'', ''EXPIRADA'', ''CANCELADA''))';
+    END IF;
+
+    SELECT COUNT(*) INTO existente FROM user_tab_columns
+     WHERE table_name = 'RESERVA_ESTOQUE' AND column_name = 'OPERATION_ID';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE reserva_estoque ADD operation_id VARCHAR2(36 CHAR)';
+    END IF;
+END;
+/
@@ -0,0 +1,19 @@
+-- Bloqueio das tarefas agendadas que devem rodar em uma única instância por vez
+-- A instância que consegue avançar bloqueado_ate (já vencido) executa a tarefa; as demais a pulam
+DECLARE
+    existente NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO existente FROM user_tables WHERE table_name = 'BLOQUEIO_TAREFA';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE TABLE bloqueio_tarefa ('
+            || ' nome VARCHAR2(64 CHAR) NOT NULL PRIMARY KEY,'
+            || ' bloqueado_ate TIMESTAMP(6) NOT NULL,'
+            || ' bloqueado_por VARCHAR2(128 CHAR))';
+    END IF;
+
+    EXECUTE IMMEDIATE 'MERGE INTO bloqueio_tarefa b'
+        || ' USING (SELECT ''arquivamento-movimentos'' AS nome FROM dual) n ON (b.nome = n.nome)'
+        || ' WHEN NOT MATCHED THEN INSERT (nome, bloqueado_ate)'
+        || ' VALUES (n.nome, TIMESTAMP ''1970-01-01 00:00:00'')';
+END;
+/
@@ -0,0 +1,20 @@
+-- Quantidade reservada pelo checkout, compartilhada entre as instâncias
+-- Fica fora da entidade Produto (e do cache de segundo nível); a restrição impede que o estoque
+-- caia abaixo do que está reservado, qualquer que seja o caminho da saída
+DECLARE
+    existente NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO existente FROM user_tab_columns
+     WHERE table_name = 'PRODUTO' AND column_name = 'QUANTIDADE_RESERVADA';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE produto ADD quantidade_reservada NUMBER(10) DEFAULT 0 NOT NULL';
+    END IF;
+
+    SELECT COUNT(*) INTO existente FROM user_constraints
+     WHERE table_name = 'PRODUTO' AND constraint_name = 'CK_PRODUTO_QUANTIDADE_RESERVADA';
+    IF existente = 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE produto ADD CONSTRAINT ck_produto_quantidade_reservada'
+            || ' CHECK (quantidade_reservada >= 0 AND quantidade_reservada <= quantidade_em_estoque)';
+    END IF;
+END;
+/
@@ -0,0 +1,61 @@
+package br.com.vortex.application.analytics;
+
+import br.com.vortex.application.dto.JanelaAnalyticsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AgregadorJanelasTest {
+
+    private static final long INICIO = Instant.parse("2025-01-01T12:00:00Z").toEpochMilli();
+
+    @Test
+    void testJanelaDeslizanteDescartaBaldesExpirados() {
+        AgregadorJanelas agregador = new AgregadorJanelas("1");
+        agregador.registrar(INICIO, 0, 2, 2_700, 700);
+        agregador.registrar(INICIO + 30_000, 0, 3, 4_050, 1_050);
+
+        assertEquals(5, agregador.deslizante(JanelaTempo.UM_MINUTO, INICIO + 59_000, JanelaMetricas.UNIDADES_SAIDA));
+        // O primeiro evento sai da janela de 1 minuto, mas continua na de 5 minutos
+        assertEquals(3, agregador.deslizante(JanelaTempo.UM_MINUTO, INICIO + 61_000, JanelaMetricas.UNIDADES_SAIDA));
+        assertEquals(5, agregador.deslizante(JanelaTempo.CINCO_MINUTOS, INICIO + 61_000, JanelaMetricas.UNIDADES_SAIDA));
+        // Longo período sem eventos limpa toda a janela
+        assertEquals(0, agregador.deslizante(JanelaTempo.UM_MINUTO, INICIO + 3_600_000, JanelaMetricas.EVENTOS));
+        assertEquals(0, agregador.deslizante(JanelaTempo.UMA_HORA, INICIO + 7_200_000, JanelaMetricas.RECEITA_CENTAVOS));
+    }
+
+    @Test
+    void testJanelaTumblingFechaNoLimiteAlinhado() {
+        AgregadorJanelas agregador = new AgregadorJanelas("1");
+        agregador.registrar(INICIO + 10_000, 10, 0, 0, 0);
+        agregador.registrar(INICIO + 299_000, 0, 1, 1_350, 350);
+        agregador.registrar(INICIO + 301_000, 0, 4, 5_400, 1_400);
+
+        JanelaAnalyticsDTO visao = agregador.consultar(JanelaTempo.CINCO_MINUTOS, INICIO + 302_000, ZoneOffset.UTC);
+
+        assertEquals("5m", visao.getJanela());
+        assertEquals(10L, visao.getTumblingAnterior().getUnidadesEntrada());
+        assertEquals(1L, visao.getTumblingAnterior().getUnidadesSaida());
+        assertEquals(new BigDecimal("13.50"), visao.getTumblingAnterior().getReceita());
+        assertEquals(4L, visao.getTumblingAtual().getUnidadesSaida());
+        assertEquals(new BigDecimal("14.00"), visao.getTumblingAtual().getLucro());
+        assertEquals(12, visao.getTumblingAtual().getInicio().getHour());
+        assertEquals(5, visao.getTumblingAtual().getInicio().getMinute());
+
+        // Intervalo sem eventos entre duas janelas: a anterior fica zerada
+        visao = agregador.consultar(JanelaTempo.CINCO_MINUTOS, INICIO + 900_000, ZoneOffset.UTC);
+        assertEquals(0L, visao.getTumblingAnterior().getEventos());
+        assertEquals(0L, visao.getTumblingAtual().getEventos());
+    }
+
+    @Test
+    void testCodigoDeJanelaInvalido() {
+        assertEquals(JanelaTempo.UMA_HORA, JanelaTempo.doCodigo("1H"));
+        assertThrows(IllegalArgumentException.class, () -> JanelaTempo.doCodigo("2m"));
+    }
+}
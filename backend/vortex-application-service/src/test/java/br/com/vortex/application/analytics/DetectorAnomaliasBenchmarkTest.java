@@ -0,0 +1,67 @@
+package br.com.vortex.application.analytics;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de vazão do detector: um milhão de usuários distintos sobre um estado limitado
+ * a cem mil, com mistura de movimentos, ações sensíveis e falhas.
+ *
+ * Fica fora da suíte padrão, porque o limite de tempo depende da máquina; rode com
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class DetectorAnomaliasBenchmarkTest {
+
+    private static final int USUARIOS = 1_000_000;
+    private static final int EVENTOS = 2_000_000;
+    private static final long LIMITE_NANOS_POR_EVENTO = TimeUnit.MICROSECONDS.toNanos(5);
+
+    @Test
+    void testVazaoDoDetector() {
+        DetectorAnomalias detector = new DetectorAnomalias(100_000, 10_000, 0.05, 4.0, 20,
+                TimeUnit.SECONDS.toNanos(60), 30, 10, List.of("DELETE", "EXCLU", "UPDATE"), System::nanoTime);
+
+        String[] usuarios = new String[USUARIOS];
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarios[i] = "usuario-" + i;
+        }
+        String[] acoes = {"MOVIMENTO_CRIADO", "MOVIMENTO_CRIADO", "MOVIMENTO_CRIADO", "PRODUTO_EXCLUIDO", "PRODUTO_UPDATE"};
+
+        // Aquecimento do JIT
+        executar(detector, usuarios, acoes, EVENTOS / 4);
+
+        long inicio = System.nanoTime();
+        long suspeitas = executar(detector, usuarios, acoes, EVENTOS);
+        long duracao = System.nanoTime() - inicio;
+
+        double nanosPorEvento = duracao / (double) EVENTOS;
+
+        assertTrue(nanosPorEvento < LIMITE_NANOS_POR_EVENTO,
+                "Detector acima do limite: " + nanosPorEvento + " ns/evento (" + suspeitas + " suspeitas)");
+        assertTrue(detector.getUsuariosMonitorados() <= 100_000);
+    }
+
+    private long executar(DetectorAnomalias detector, String[] usuarios, String[] acoes, int eventos) {
+        long suspeitas = 0;
+        long semente = 42;
+        for (int i = 0; i < eventos; i++) {
+            semente = semente * 6364136223846793005L + 1442695040888963407L;
+            int aleatorio = (int) (semente >>> 33);
+            String acao = acoes[aleatorio % acoes.length];
+            boolean movimento = acao.startsWith("MOVIMENTO");
+            long quantidade = movimento ? 5 + (aleatorio % 20) : -1;
+            Long produtoId = movimento ? (long) (aleatorio % 5_000) : null;
+
+            if (detector.avaliar(usuarios[aleatorio % usuarios.length], acao, aleatorio % 50 != 0, produtoId, quantidade) != null) {
+                suspeitas++;
+            }
+        }
+        return suspeitas;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.vortex.application.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DetectorAnomaliasTest {
+
+    private static final List<String> ACOES_SENSIVEIS = List.of("DELETE", "EXCLU");
+
+    private long agoraNanos;
+
+    private DetectorAnomalias detector(int capacidadeUsuarios) {
+        return new DetectorAnomalias(capacidadeUsuarios, 1_000, 0.05, 4.0, 20,
+                TimeUnit.SECONDS.toNanos(60), 30, 10, ACOES_SENSIVEIS, () -> agoraNanos);
+    }
+
+    @Test
+    void testQuantidadeMuitoAcimaDoPadraoDoProdutoESuspeita() {
+        DetectorAnomalias detector = detector(1_000);
+        for (int i = 0; i < 100; i++) {
+            assertNull(detector.avaliar("usuario-" + i, "MOVIMENTO_CRIADO", true, 1L, 8 + (i % 5)));
+        }
+
+        assertNull(detector.avaliar("usuario-x", "MOVIMENTO_CRIADO", true, 1L, 14));
+        assertEquals(MotivoSuspeita.QUANTIDADE_ATIPICA_PRODUTO,
+                detector.avaliar("usuario-y", "MOVIMENTO_CRIADO", true, 1L, 500));
+        // O valor anômalo não desloca a referência: o padrão continua normal
+        assertNull(detector.avaliar("usuario-z", "MOVIMENTO_CRIADO", true, 1L, 11));
+    }
+
+    @Test
+    void testRajadaDeExclusoesDoMesmoUsuarioESuspeitaAteDecair() {
+        DetectorAnomalias detector = detector(1_000);
+        MotivoSuspeita motivo = null;
+        for (int i = 0; i < 40 && motivo == null; i++) {
+            agoraNanos += TimeUnit.MILLISECONDS.toNanos(100);
+            motivo = detector.avaliar("usuario", "PRODUTO_EXCLUIDO", true, null, -1);
+        }
+        assertEquals(MotivoSuspeita.TAXA_ACOES_SENSIVEIS, motivo);
+
+        agoraNanos += TimeUnit.MINUTES.toNanos(10);
+        assertNull(detector.avaliar("usuario", "produto_excluido", true, null, -1));
+        assertNull(detector.avaliar("outro", "PRODUTO_CONSULTADO", true, null, -1));
+    }
+
+    @Test
+    void testEstadoPermaneceLimitadoComMuitosUsuarios() {
+        DetectorAnomalias detector = detector(1_024);
+        for (int i = 0; i < 200_000; i++) {
+            detector.avaliar("usuario-" + i, "MOVIMENTO_CRIADO", true, (long) (i % 500), 10);
+        }
+
+        assertTrue(detector.getUsuariosMonitorados() <= 1_024);
+        assertTrue(detector.getEstadosDescartados() >= 200_000 - 1_024);
+        assertEquals(200_000, detector.getAvaliadas());
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.vortex.application.analytics;
+
+import br.com.vortex.application.dto.EstatisticasAproximadasDTO;
+import br.com.vortex.application.dto.ProdutoTopVendasDTO;
+import br.com.vortex.application.dto.SketchesSnapshotDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EstatisticasAproximadasTest {
+
+    @Test
+    void testTopProdutosEncontraOsMaisVendidosEntreMuitosProdutos() {
+        RelogioAjustavel relogio = new RelogioAjustavel();
+        EstatisticasAproximadas estatisticas = new EstatisticasAproximadas(2048, 4, 64, 14, relogio);
+
+        // Cauda longa de 50 mil produtos com uma venda cada, e 10 produtos muito vendidos
+        for (long produto = 1_000; produto < 51_000; produto++) {
+            estatisticas.registrarVenda(produto, 1);
+            if (produto % 5_000 == 0) {
+                for (long top = 1; top <= 10; top++) {
+                    estatisticas.registrarVenda(top, top * 100);
+                }
+            }
+        }
+
+        EstatisticasAproximadasDTO resultado = estatisticas.consultar(10);
+        List<Long> ids = resultado.getTopProdutos().stream().map(ProdutoTopVendasDTO::getProdutoId).toList();
+        assertEquals(List.of(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L), ids);
+
+        ProdutoTopVendasDTO primeiro = resultado.getTopProdutos().get(0);
+        assertTrue(primeiro.getUnidadesEstimadas() >= 10_000);
+        assertTrue(primeiro.getUnidadesEstimadas() <= 10_000 + resultado.getErroMaximoUnidades());
+
+        // Após uma hora sem vendas, o ranking fica vazio
+        relogio.avancar(Duration.ofMinutes(61));
+        assertTrue(estatisticas.consultar(10).getTopProdutos().isEmpty());
+    }
+
+    @Test
+    void testSnapshotsDeInstanciasDiferentesSaoCombinados() {
+        RelogioAjustavel relogio = new RelogioAjustavel();
+        EstatisticasAproximadas instanciaA = new EstatisticasAproximadas(1024, 4, 32, 14, relogio);
+        EstatisticasAproximadas instanciaB = new EstatisticasAproximadas(1024, 4, 32, 14, relogio);
+
+        for (int i = 0; i < 60_000; i++) {
+            instanciaA.registrarUsuarioAtivo("usuario-" + i);
+            // Metade dos usuários de B também está em A
+            instanciaB.registrarUsuarioAtivo("usuario-" + (i + 30_000));
+        }
+        instanciaA.registrarVenda(7L, 40);
+        instanciaB.registrarVenda(7L, 60);
+        instanciaB.registrarVenda(8L, 70);
+
+        EstatisticasAproximadasDTO combinado = EstatisticasAproximadas.combinar(
+                List.of(instanciaA.snapshot(), instanciaB.snapshot()), 5);
+
+        assertEquals(2, combinado.getInstancias());
+        assertEquals(7L, combinado.getTopProdutos().get(0).getProdutoId());
+        assertEquals(100L, combinado.getTopProdutos().get(0).getUnidadesEstimadas());
+        assertEquals(170L, combinado.getTotalUnidadesVendidas());
+
+        double erroRelativo = Math.abs(combinado.getUsuariosAtivos() - 90_000) / 90_000.0;
+        assertTrue(erroRelativo < 0.03, "Erro relativo do HyperLogLog: " + erroRelativo);
+    }
+
+    @Test
+    void testSnapshotsComDimensoesDiferentesSaoRejeitadosAntesDeAlocar() {
+        RelogioAjustavel relogio = new RelogioAjustavel();
+        SketchesSnapshotDTO local = new EstatisticasAproximadas(1024, 4, 32, 14, relogio).snapshot();
+        SketchesSnapshotDTO externo = new EstatisticasAproximadas(1024, 4, 32, 14, relogio).snapshot();
+        externo.setLarguraCms(1 << 30);
+        externo.setProfundidadeCms(64);
+
+        assertThrows(IllegalArgumentException.class, () -> EstatisticasAproximadas.combinar(List.of(local, externo), 5));
+        assertThrows(IllegalArgumentException.class, () -> EstatisticasAproximadas.combinar(List.of(externo), 5));
+    }
+
+    @Test
+    void testUsuariosAtivosReiniciamNaViradaDoDia() {
+        RelogioAjustavel relogio = new RelogioAjustavel();
+        EstatisticasAproximadas estatisticas = new EstatisticasAproximadas(1024, 4, 32, 12, relogio);
+        estatisticas.registrarUsuarioAtivo("ana");
+        estatisticas.registrarUsuarioAtivo("ana");
+        estatisticas.registrarUsuarioAtivo("bruno");
+        assertEquals(2L, estatisticas.consultar(10).getUsuariosAtivos());
+
+        relogio.avancar(Duration.ofDays(1));
+        estatisticas.registrarUsuarioAtivo("carla");
+        assertEquals(1L, estatisticas.consultar(10).getUsuariosAtivos());
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-01-01T10:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
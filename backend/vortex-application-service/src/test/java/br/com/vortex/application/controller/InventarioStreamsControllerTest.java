@@ -0,0 +1,33 @@
+package br.com.vortex.application.controller;
+
+import br.com.vortex.application.dto.InventarioProdutoStreamDTO;
+import br.com.vortex.application.streams.InventarioStreamsQueryService;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InventarioStreamsControllerTest {
+
+    @Test
+    void testRebalanceamentoRespondeIndisponivelComRetryAfter() {
+        InventarioStreamsQueryService queryService = mock(InventarioStreamsQueryService.class);
+        when(queryService.consultarProduto(1L)).thenThrow(new InvalidStateStoreException("store em migração"));
+        when(queryService.listarProdutos()).thenThrow(new IllegalStateException("Kafka Streams não está em execução"));
+        InventarioStreamsController controller = new InventarioStreamsController(queryService);
+
+        ResponseEntity<InventarioProdutoStreamDTO> produto = controller.consultarProduto(1L);
+        ResponseEntity<List<InventarioProdutoStreamDTO>> produtos = controller.listarProdutos();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, produto.getStatusCode());
+        assertEquals("5", produto.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, produtos.getStatusCode());
+    }
+}
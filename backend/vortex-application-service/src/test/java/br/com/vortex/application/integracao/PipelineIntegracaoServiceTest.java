@@ -0,0 +1,150 @@
+package br.com.vortex.application.integracao;
+
+import br.com.vortex.application.dto.DestinoIntegracaoStatusDTO;
+import br.com.vortex.application.dto.ItemSincronizacaoDTO;
+import br.com.vortex.application.dto.LoteSincronizacaoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelineIntegracaoServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final BlockingQueue<LoteSincronizacaoDTO> lotesRecebidos = new LinkedBlockingQueue<>();
+    private final AtomicInteger statusResposta = new AtomicInteger(200);
+    private HttpServer servidor;
+    private PipelineIntegracaoService pipeline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.createContext("/erp/lotes", troca -> {
+            int status = statusResposta.get();
+            if (status == 200) {
+                lotesRecebidos.add(objectMapper.readValue(troca.getRequestBody(), LoteSincronizacaoDTO.class));
+            }
+            troca.sendResponseHeaders(status, -1);
+            troca.close();
+        });
+        servidor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.destroy();
+        }
+        servidor.stop(0);
+    }
+
+    @Test
+    void testAtualizacoesDoMesmoProdutoSaoAgrupadasNoUltimoEstado() throws Exception {
+        pipeline = pipeline(new ConfiguracaoDestino(100, 100, 10, 2, 3, 60_000));
+
+        for (int estoque = 100; estoque > 0; estoque--) {
+            pipeline.registrar(item(estoque % 3 + 1L, estoque));
+        }
+        pipeline.enviarPendentes();
+
+        LoteSincronizacaoDTO lote = lotesRecebidos.poll(5, TimeUnit.SECONDS);
+        assertNotNull(lote);
+        assertEquals("erp", lote.getSistema());
+        List<ItemSincronizacaoDTO> itens = lote.getItens().stream()
+                .sorted(Comparator.comparing(ItemSincronizacaoDTO::getProdutoId)).toList();
+        assertEquals(3, itens.size());
+        assertEquals(3, itens.get(0).getQuantidadeEmEstoque());
+        assertEquals(1, itens.get(1).getQuantidadeEmEstoque());
+        assertEquals(2, itens.get(2).getQuantidadeEmEstoque());
+        assertEquals(100, itens.stream().mapToInt(ItemSincronizacaoDTO::getEventosAgrupados).sum());
+        assertNull(lotesRecebidos.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testLotesCompletosSaoEnviadosSemEsperarOIntervalo() throws Exception {
+        pipeline = pipeline(new ConfiguracaoDestino(10, 100, 10, 2, 3, 60_000));
+
+        for (long produtoId = 1; produtoId <= 25; produtoId++) {
+            pipeline.registrar(item(produtoId, 10));
+        }
+        assertEquals(10, lotesRecebidos.poll(5, TimeUnit.SECONDS).getItens().size());
+        assertEquals(10, lotesRecebidos.poll(5, TimeUnit.SECONDS).getItens().size());
+        assertNull(lotesRecebidos.poll(200, TimeUnit.MILLISECONDS));
+
+        pipeline.enviarPendentes();
+        assertEquals(5, lotesRecebidos.poll(5, TimeUnit.SECONDS).getItens().size());
+        aguardar(() -> status().getItensEnviados() == 25);
+    }
+
+    @Test
+    void testCircuitoAbreComFalhasEItensSaoReenviadosAoFechar() throws Exception {
+        pipeline = pipeline(new ConfiguracaoDestino(1, 100, 10, 1, 2, 300));
+        statusResposta.set(503);
+
+        pipeline.registrar(item(1L, 10));
+        aguardar(() -> status().getLotesComFalha() == 1 && status().getLotesEmEnvio() == 0);
+        pipeline.enviarPendentes();
+        aguardar(() -> "ABERTO".equals(status().getCircuito()) && status().getLotesEmEnvio() == 0);
+
+        // Com o circuito aberto nada é enviado; o item continua pendente e recebe estados novos
+        pipeline.registrar(item(1L, 7));
+        pipeline.enviarPendentes();
+        assertEquals(2, status().getLotesComFalha());
+        assertEquals(1, status().getItensPendentes());
+
+        statusResposta.set(200);
+        Thread.sleep(350);
+        pipeline.enviarPendentes();
+
+        LoteSincronizacaoDTO lote = lotesRecebidos.poll(5, TimeUnit.SECONDS);
+        assertNotNull(lote);
+        assertEquals(7, lote.getItens().get(0).getQuantidadeEmEstoque());
+        aguardar(() -> "FECHADO".equals(status().getCircuito()) && status().getItensPendentes() == 0);
+    }
+
+    private PipelineIntegracaoService pipeline(ConfiguracaoDestino configuracao) {
+        String url = "http://localhost:" + servidor.getAddress().getPort() + "/erp/lotes";
+        return new PipelineIntegracaoService(Map.of("erp", url), RestClient.builder().build(), configuracao,
+                Clock.systemDefaultZone());
+    }
+
+    private DestinoIntegracaoStatusDTO status() {
+        return pipeline.obterStatus().get(0);
+    }
+
+    private ItemSincronizacaoDTO item(Long produtoId, int estoque) {
+        ItemSincronizacaoDTO item = new ItemSincronizacaoDTO();
+        item.setTipo(ItemSincronizacaoDTO.TIPO_ESTOQUE);
+        item.setOperacao(ItemSincronizacaoDTO.OPERACAO_ATUALIZAR);
+        item.setProdutoId(produtoId);
+        item.setQuantidadeEmEstoque(estoque);
+        return item;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Condição não atingida no tempo esperado");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.vortex.application.messaging;
+
+import br.com.vortex.application.dto.AuditoriaEventDTO;
+import br.com.vortex.application.dto.KafkaEventDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddedEventBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    void testRingBufferEntregaTodosOsElementosDeVariosProdutores() throws Exception {
+        RingBufferMpsc<Long> ring = new RingBufferMpsc<>(64);
+        int produtores = 4;
+        int porProdutor = 20_000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            long base = (long) p * porProdutor;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < porProdutor; i++) {
+                    while (!ring.oferecer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Set<Long> recebidos = new HashSet<>();
+        long[] ultimoPorProdutor = new long[produtores];
+        Arrays.fill(ultimoPorProdutor, -1);
+
+        while (recebidos.size() < produtores * porProdutor) {
+            Long valor = ring.consumir();
+            if (valor == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int produtor = (int) (valor / porProdutor);
+            assertTrue(valor > ultimoPorProdutor[produtor], "Ordem por produtor deve ser preservada");
+            ultimoPorProdutor[produtor] = valor;
+            recebidos.add(valor);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(ring.consumir());
+        assertTrue(ring.isVazia());
+    }
+
+    @Test
+    void testRingBufferCheioRecusaNovosElementos() {
+        RingBufferMpsc<Integer> ring = new RingBufferMpsc<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.oferecer(i));
+        }
+        assertFalse(ring.oferecer(99));
+        assertEquals(0, ring.consumir());
+        assertTrue(ring.oferecer(4));
+    }
+
+    @Test
+    void testEventosSaoDespachadosEmOrdemParaConsumidores() throws Exception {
+        EmbeddedEventBus bus = new EmbeddedEventBus(objectMapper, 1024, 100, false, null, 1);
+        List<KafkaEventDTO> recebidos = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(100);
+        bus.registrarConsumidor(evento -> {
+            recebidos.add(evento);
+            latch.countDown();
+        });
+        bus.start();
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(bus.publicar(movimento((long) i)));
+            }
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 100; i++) {
+                assertEquals((long) i, ((MovimentoEstoqueEventDTO) recebidos.get(i)).getMovimentoId());
+            }
+            assertEquals(100, bus.getEntregues());
+        } finally {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void testEventosNaoDespachadosSaoRecuperadosDoJournal(@TempDir Path diretorio) throws Exception {
+        String arquivo = diretorio.resolve("broker.journal").toString();
+
+        // Publica sem iniciar o despachante, simulando uma queda antes da entrega
+        EmbeddedEventBus anterior = new EmbeddedEventBus(objectMapper, 16, 10, true, arquivo, 1);
+        anterior.publicar(movimento(1L));
+        AuditoriaEventDTO auditoria = new AuditoriaEventDTO();
+        auditoria.setAcao("LOGIN");
+        anterior.publicar(auditoria);
+        anterior.stop();
+
+        EmbeddedEventBus recuperado = new EmbeddedEventBus(objectMapper, 16, 10, true, arquivo, 1);
+        List<KafkaEventDTO> recebidos = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        recuperado.registrarConsumidor(evento -> {
+            recebidos.add(evento);
+            latch.countDown();
+        });
+        recuperado.start();
+
+        try {
+            recuperado.publicar(movimento(2L));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+            assertEquals(1L, ((MovimentoEstoqueEventDTO) recebidos.get(0)).getMovimentoId());
+            assertInstanceOf(AuditoriaEventDTO.class, recebidos.get(1));
+            assertEquals(2L, ((MovimentoEstoqueEventDTO) recebidos.get(2)).getMovimentoId());
+        } finally {
+            recuperado.stop();
+        }
+
+        // Tudo foi confirmado: nada a reprocessar
+        try (JournalMapeado journal = new JournalMapeado(Path.of(arquivo), 1024 * 1024)) {
+            assertTrue(journal.pendentes().isEmpty());
+        }
+    }
+
+    @Test
+    void testEventoDescartadoComFilaCheiaNaoEhReprocessado(@TempDir Path diretorio) throws Exception {
+        String arquivo = diretorio.resolve("broker.journal").toString();
+
+        // Sem despachante, a fila de capacidade 2 enche no terceiro evento
+        EmbeddedEventBus anterior = new EmbeddedEventBus(objectMapper, 2, 1, true, arquivo, 1);
+        assertTrue(anterior.publicar(movimento(1L)));
+        assertTrue(anterior.publicar(movimento(2L)));
+        assertFalse(anterior.publicar(movimento(3L)));
+        assertEquals(1, anterior.getDescartados());
+        anterior.stop();
+
+        try (JournalMapeado journal = new JournalMapeado(Path.of(arquivo), 1024 * 1024)) {
+            List<JournalMapeado.RegistroJournal> pendentes = journal.pendentes();
+            assertEquals(2, pendentes.size());
+            assertEquals(2L, objectMapper.readValue(pendentes.get(1).dados(), MovimentoEstoqueEventDTO.class)
+                    .getMovimentoId());
+        }
+    }
+
+    @Test
+    void testTamanhoDoJournalNaoTransbordaInteiro() {
+        assertEquals(64 * 1024 * 1024, EmbeddedEventBus.tamanhoJournalBytes(64));
+        assertThrows(IllegalArgumentException.class, () -> EmbeddedEventBus.tamanhoJournalBytes(4096));
+        assertThrows(IllegalArgumentException.class, () -> EmbeddedEventBus.tamanhoJournalBytes(0));
+    }
+
+    private MovimentoEstoqueEventDTO movimento(Long id) {
+        MovimentoEstoqueEventDTO event = new MovimentoEstoqueEventDTO();
+        event.setMovimentoId(id);
+        event.setProdutoId(1L);
+        event.setTipoMovimentacao(TipoMovimentacao.ENTRADA);
+        event.setQuantidadeMovimentada(1);
+        event.setEstoqueAtual(10);
+        return event;
+    }
+}
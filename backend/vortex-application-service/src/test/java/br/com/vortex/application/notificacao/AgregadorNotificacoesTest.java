@@ -0,0 +1,210 @@
+package br.com.vortex.application.notificacao;
+
+import br.com.vortex.application.dto.AlertaEstoqueEventDTO;
+import br.com.vortex.application.dto.DigestAlertasDTO;
+import br.com.vortex.application.util.LimitadorTaxa;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgregadorNotificacoesTest {
+
+    private final BlockingQueue<DigestAlertasDTO> enviados = new LinkedBlockingQueue<>();
+    private RelogioAjustavel relogio;
+    private EnviadorNotificacoes enviador;
+    private AgregadorNotificacoes agregador;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel();
+        CanalNotificacao canal = new CanalNotificacao() {
+            @Override
+            public String getNome() {
+                return "teste";
+            }
+
+            @Override
+            public void enviar(DigestAlertasDTO digest) {
+                enviados.add(digest);
+            }
+        };
+        enviador = new EnviadorNotificacoes(List.of(canal), new LimitadorTaxa(1000, 100), 1, 100);
+        agregador = new AgregadorNotificacoes(enviador, grupo -> List.of(grupo + "@vortex.local"), 3, 60_000, relogio);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enviador.destroy();
+    }
+
+    @Test
+    void testAlertaCriticoEEnviadoImediatamente() throws Exception {
+        agregador.registrar(alerta(1L, "Eletrônicos", "CRITICAL"));
+
+        DigestAlertasDTO digest = enviados.poll(2, TimeUnit.SECONDS);
+        assertNotNull(digest);
+        assertEquals("CRITICAL", digest.getPrioridade());
+        assertEquals(List.of("eletrônicos@vortex.local"), digest.getDestinatarios());
+        assertEquals(0, agregador.getResumosAbertos());
+    }
+
+    @Test
+    void testResumoEEnviadoAoAtingirOTamanhoMaximo() throws Exception {
+        agregador.registrar(alerta(1L, "Eletrônicos", "MEDIUM"));
+        agregador.registrar(alerta(1L, "Eletrônicos", "MEDIUM"));
+        agregador.registrar(alerta(2L, "Eletrônicos", "MEDIUM"));
+        agregador.registrar(alerta(3L, "Eletrônicos", "HIGH"));
+        assertNull(enviados.poll(200, TimeUnit.MILLISECONDS));
+
+        // Terceiro produto distinto do mesmo grupo e prioridade completa o resumo
+        agregador.registrar(alerta(4L, "Eletrônicos", "MEDIUM"));
+        DigestAlertasDTO digest = enviados.poll(2, TimeUnit.SECONDS);
+        assertNotNull(digest);
+        assertEquals("MEDIUM", digest.getPrioridade());
+        assertEquals(3, digest.getAlertas().size());
+        assertEquals(4, digest.getAlertasRecebidos());
+        assertTrue(digest.getAssunto().contains("3 alertas"));
+        assertEquals(1, agregador.getResumosAbertos());
+    }
+
+    @Test
+    void testResumoEEnviadoQuandoAJanelaExpira() throws Exception {
+        agregador.registrar(alerta(1L, "Eletrônicos", "MEDIUM"));
+        agregador.registrar(alerta(2L, null, "MEDIUM"));
+
+        agregador.liberarVencidos();
+        assertNull(enviados.poll(200, TimeUnit.MILLISECONDS));
+
+        relogio.avancar(Duration.ofMinutes(1));
+        agregador.liberarVencidos();
+        DigestAlertasDTO primeiro = enviados.poll(2, TimeUnit.SECONDS);
+        DigestAlertasDTO segundo = enviados.poll(2, TimeUnit.SECONDS);
+        assertNotNull(primeiro);
+        assertNotNull(segundo);
+        assertEquals(0, agregador.getResumosAbertos());
+        assertTrue(List.of(primeiro.getGrupo(), segundo.getGrupo()).contains(AgregadorNotificacoes.GRUPO_GERAL));
+    }
+
+    @Test
+    void testResumoEntregueAoServidorSmtpLocal() throws Exception {
+        try (ServidorSmtpLocal servidor = new ServidorSmtpLocal()) {
+            SmtpCanalNotificacao smtp = new SmtpCanalNotificacao(mailSender(servidor), "vortex@vortex.local");
+            EnviadorNotificacoes enviadorSmtp = new EnviadorNotificacoes(List.of(smtp), new LimitadorTaxa(1000, 100), 1, 10);
+            AgregadorNotificacoes agregadorSmtp = new AgregadorNotificacoes(enviadorSmtp,
+                    grupo -> List.of("compras@vortex.local", "estoque@vortex.local"), 10, 60_000, relogio);
+
+            agregadorSmtp.registrar(alerta(1L, "Eletrônicos", "MEDIUM"));
+            agregadorSmtp.registrar(alerta(2L, "Eletrônicos", "MEDIUM"));
+            agregadorSmtp.destroy();
+
+            ServidorSmtpLocal.Mensagem mensagem = servidor.getMensagens().poll(5, TimeUnit.SECONDS);
+            enviadorSmtp.destroy();
+            assertNotNull(mensagem);
+            assertEquals("vortex@vortex.local", mensagem.remetente());
+            assertEquals(List.of("compras@vortex.local", "estoque@vortex.local"), mensagem.destinatarios());
+            MimeMessage recebida = ler(mensagem);
+            assertEquals("[Vortex][MEDIUM] 2 alertas de estoque - eletrônicos", recebida.getSubject());
+            assertNotNull(recebida.getSentDate());
+            assertNotNull(recebida.getMessageID());
+            assertNotNull(recebida.getHeader("Content-Transfer-Encoding"));
+            assertTrue(((String) recebida.getContent()).contains("Produto 2 - Produto 2"));
+            assertEquals(1, enviadorSmtp.getEnviados());
+        }
+    }
+
+    @Test
+    void testAssuntoComQuebraDeLinhaNaoInjetaCabecalhos() throws Exception {
+        try (ServidorSmtpLocal servidor = new ServidorSmtpLocal()) {
+            SmtpCanalNotificacao smtp = new SmtpCanalNotificacao(mailSender(servidor), "vortex@vortex.local");
+            AlertaEstoqueEventDTO alerta = alerta(1L, "Eletrônicos", "CRITICAL");
+            alerta.setProdutoDescricao("Mouse\r\nBcc: externo@exemplo.com\r\n\r\n.");
+            DigestAlertasDTO digest = new DigestAlertasDTO();
+            digest.setPrioridade("CRITICAL");
+            digest.setGrupo("eletrônicos");
+            digest.setDestinatarios(List.of("compras@vortex.local"));
+            digest.setAlertas(List.of(alerta));
+            digest.setAlertasRecebidos(1);
+
+            smtp.enviar(digest);
+
+            ServidorSmtpLocal.Mensagem mensagem = servidor.getMensagens().poll(5, TimeUnit.SECONDS);
+            assertNotNull(mensagem);
+            String cabecalhos = mensagem.conteudo().substring(0, mensagem.conteudo().indexOf("\n\n"));
+            assertTrue(cabecalhos.lines().noneMatch(linha -> linha.startsWith("Bcc:")));
+            assertEquals(List.of("compras@vortex.local"), mensagem.destinatarios());
+            assertEquals("[Vortex][CRITICAL] ESTOQUE_BAIXO - Mouse Bcc: externo@exemplo.com .", ler(mensagem).getSubject());
+        }
+    }
+
+    private static JavaMailSender mailSender(ServidorSmtpLocal servidor) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(servidor.getPorta());
+        mailSender.setDefaultEncoding("UTF-8");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return mailSender;
+    }
+
+    private static MimeMessage ler(ServidorSmtpLocal.Mensagem mensagem) throws Exception {
+        return new MimeMessage(Session.getInstance(new Properties()),
+                new ByteArrayInputStream(mensagem.conteudo().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private AlertaEstoqueEventDTO alerta(Long produtoId, String tipoProduto, String prioridade) {
+        AlertaEstoqueEventDTO alerta = new AlertaEstoqueEventDTO();
+        alerta.setProdutoId(produtoId);
+        alerta.setProdutoDescricao("Produto " + produtoId);
+        alerta.setTipoProduto(tipoProduto);
+        alerta.setPrioridade(prioridade);
+        alerta.setTipoAlerta("ESTOQUE_BAIXO");
+        alerta.setQuantidadeAtual(3);
+        alerta.setMensagem("Estoque baixo");
+        return alerta;
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
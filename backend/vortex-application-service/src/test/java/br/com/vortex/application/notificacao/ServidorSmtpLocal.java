@@ -0,0 +1,99 @@
+package br.com.vortex.application.notificacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Servidor SMTP mínimo para testes: aceita qualquer remetente e destinatário e guarda as mensagens recebidas.
+ */
+class ServidorSmtpLocal implements AutoCloseable {
+
+    record Mensagem(String remetente, List<String> destinatarios, String conteudo) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final BlockingQueue<Mensagem> mensagens = new LinkedBlockingQueue<>();
+    private final Thread thread;
+
+    ServidorSmtpLocal() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        thread = Thread.ofVirtual().start(this::aceitar);
+    }
+
+    int getPorta() {
+        return serverSocket.getLocalPort();
+    }
+
+    BlockingQueue<Mensagem> getMensagens() {
+        return mensagens;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        thread.interrupt();
+    }
+
+    private void aceitar() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                atender(socket);
+            } catch (IOException e) {
+                // Servidor encerrado ou cliente desconectado
+            }
+        }
+    }
+
+    private void atender(Socket socket) throws IOException {
+        BufferedReader entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer saida = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        responder(saida, "220 localhost ESMTP teste");
+
+        String remetente = null;
+        List<String> destinatarios = new ArrayList<>();
+        String linha;
+        while ((linha = entrada.readLine()) != null) {
+            if (linha.startsWith("MAIL FROM:")) {
+                remetente = endereco(linha);
+                responder(saida, "250 OK");
+            } else if (linha.startsWith("RCPT TO:")) {
+                destinatarios.add(endereco(linha));
+                responder(saida, "250 OK");
+            } else if (linha.equals("DATA")) {
+                responder(saida, "354 Fim com <CRLF>.<CRLF>");
+                StringBuilder conteudo = new StringBuilder();
+                while (!(linha = entrada.readLine()).equals(".")) {
+                    conteudo.append(linha.startsWith("..") ? linha.substring(1) : linha).append('\n');
+                }
+                mensagens.add(new Mensagem(remetente, List.copyOf(destinatarios), conteudo.toString()));
+                destinatarios.clear();
+                responder(saida, "250 OK");
+            } else if (linha.equals("QUIT")) {
+                responder(saida, "221 Tchau");
+                return;
+            } else {
+                responder(saida, "250 localhost");
+            }
+        }
+    }
+
+    private static String endereco(String linha) {
+        return linha.substring(linha.indexOf('<') + 1, linha.indexOf('>'));
+    }
+
+    private static void responder(Writer saida, String resposta) throws IOException {
+        saida.write(resposta + "\r\n");
+        saida.flush();
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.vortex.application.replica;
+
+import br.com.vortex.application.config.ReplicaLeituraConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roteamento entre duas instâncias H2 em memória: uma faz o papel do primário e a outra da réplica.
+ * A replicação é simulada copiando o batimento do primário para a réplica.
+ */
+@DataJpaTest(properties = {
+        "datasource.replica.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:roteamento-primario;DB_CLOSE_DELAY=-1",
+        "datasource.replica.url=" + ReplicaLeituraRoteamentoTest.URL_REPLICA
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReplicaLeituraConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaLeituraRoteamentoTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:roteamento-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MonitorAtrasoReplica monitorAtrasoReplica;
+
+    @Autowired
+    @Qualifier("dataSourcePrimario")
+    private DataSource primario;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    private DataSource replica;
+
+    private JdbcTemplate jdbcPrimario;
+    private JdbcTemplate canalReplicacao;
+
+    @BeforeEach
+    void setUp() {
+        jdbcPrimario = new JdbcTemplate(primario);
+        canalReplicacao = new JdbcTemplate(new SimpleDriverDataSource(new org.h2.Driver(), URL_REPLICA, "sa", "password"));
+        canalReplicacao.execute("CREATE TABLE IF NOT EXISTS replica_batimento (id INT PRIMARY KEY, atualizado_em TIMESTAMP NOT NULL)");
+        canalReplicacao.update("DELETE FROM replica_batimento");
+        jdbcPrimario.update("DELETE FROM replica_batimento");
+    }
+
+    @Test
+    void testTransacoesJpaSomenteLeituraVaoParaAReplica() {
+        canalReplicacao.update("INSERT INTO replica_batimento (id, atualizado_em) VALUES (1, ?)", LocalDateTime.now());
+        monitorAtrasoReplica.verificar();
+        assertTrue(monitorAtrasoReplica.isReplicaDisponivel());
+
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+
+        assertTrue(leitura.execute(status -> urlDaConexaoJpa()).contains("roteamento-replica"));
+        assertTrue(escrita.execute(status -> urlDaConexaoJpa()).contains("roteamento-primario"));
+    }
+
+    @Test
+    void testTransacoesSomenteLeituraNaoPopulamOCacheDeSegundoNivel() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+
+        assertEquals(CacheMode.GET, leitura.execute(status -> entityManager.unwrap(Session.class).getCacheMode()));
+        assertEquals(CacheMode.NORMAL, escrita.execute(status -> entityManager.unwrap(Session.class).getCacheMode()));
+    }
+
+    @Test
+    void testReplicaAtrasadaOuForaDoArDesviaLeiturasParaOPrimario() {
+        RelogioAjustavel relogio = new RelogioAjustavel();
+        MonitorAtrasoReplica monitor = new MonitorAtrasoReplica(primario, replica, Duration.ofSeconds(5), relogio);
+        DataSource roteado = DataSourceRoteado.criar(primario, replica, monitor);
+        TransactionTemplate leitura = new TransactionTemplate(new DataSourceTransactionManager(roteado));
+        leitura.setReadOnly(true);
+
+        // Sem batimento replicado ainda
+        monitor.verificar();
+        assertFalse(monitor.isReplicaDisponivel());
+        assertNull(monitor.getAtrasoAtual());
+        assertTrue(urlDaLeitura(leitura, roteado).contains("roteamento-primario"));
+
+        replicar();
+        monitor.verificar();
+        assertTrue(monitor.isReplicaDisponivel());
+        assertTrue(urlDaLeitura(leitura, roteado).contains("roteamento-replica"));
+
+        // A replicação parou: o batimento do primário avança e o da réplica não
+        relogio.avancar(Duration.ofSeconds(10));
+        monitor.verificar();
+        assertEquals(Duration.ofSeconds(10), monitor.getAtrasoAtual());
+        assertFalse(monitor.isReplicaDisponivel());
+        assertTrue(urlDaLeitura(leitura, roteado).contains("roteamento-primario"));
+
+        replicar();
+        relogio.avancar(Duration.ofSeconds(1));
+        monitor.verificar();
+        assertTrue(monitor.isReplicaDisponivel());
+        assertTrue(urlDaLeitura(leitura, roteado).contains("roteamento-replica"));
+    }
+
+    private String urlDaConexaoJpa() {
+        return entityManager.unwrap(Session.class).doReturningWork(conexao -> conexao.getMetaData().getURL());
+    }
+
+    private String urlDaLeitura(TransactionTemplate leitura, DataSource roteado) {
+        return leitura.execute(status -> new JdbcTemplate(roteado).execute(
+                (ConnectionCallback<String>) conexao -> conexao.getMetaData().getURL()));
+    }
+
+    private void replicar() {
+        LocalDateTime batimento = jdbcPrimario.queryForObject(
+                "SELECT atualizado_em FROM replica_batimento WHERE id = 1", LocalDateTime.class);
+        canalReplicacao.update("DELETE FROM replica_batimento");
+        canalReplicacao.update("INSERT INTO replica_batimento (id, atualizado_em) VALUES (1, ?)", batimento);
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
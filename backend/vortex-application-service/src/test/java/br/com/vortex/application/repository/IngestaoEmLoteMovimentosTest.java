@@ -0,0 +1,184 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.model.MovimentoEstoque;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede as idas ao banco na ingestão de movimentos: com IDs alocados em blocos
+ * (pooled-lo) e inserts em lote, 10 mil movimentos custam algumas centenas de
+ * round trips em vez de dois por movimento.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IngestaoEmLoteMovimentosTest {
+
+    private static final int QUANTIDADE_MOVIMENTOS = 10_000;
+    private static final int TAMANHO_LOTE = 50;
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ContadorRoundTrips contador;
+
+    private final List<Long> idsCriados = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        movimentoEstoqueRepository.deleteAllByIdInBatch(idsCriados);
+    }
+
+    @Test
+    void testDezMilMovimentosUsamLotesDeSequenciaEInsert() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Produto produto = transactionTemplate.execute(status -> produtoRepository.save(novoProduto()));
+
+        contador.zerar();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<MovimentoEstoque> movimentos = new ArrayList<>(QUANTIDADE_MOVIMENTOS);
+            for (int i = 0; i < QUANTIDADE_MOVIMENTOS; i++) {
+                MovimentoEstoque movimento = new MovimentoEstoque();
+                movimento.setTipoMovimentacao(TipoMovimentacao.ENTRADA);
+                movimento.setQuantidadeMovimentada(1);
+                movimento.setProduto(produto);
+                movimentos.add(movimento);
+            }
+            movimentoEstoqueRepository.saveAll(movimentos).forEach(movimento -> idsCriados.add(movimento.getId()));
+        });
+
+        assertEquals(QUANTIDADE_MOVIMENTOS, Set.copyOf(idsCriados).size());
+        assertEquals(QUANTIDADE_MOVIMENTOS / TAMANHO_LOTE, contador.getConsultas(), "chamadas à sequência");
+        assertEquals(QUANTIDADE_MOVIMENTOS / TAMANHO_LOTE, contador.getLotes(), "lotes de insert");
+        assertEquals(0, contador.getAtualizacoesIndividuais(), "inserts fora de lote");
+        assertTrue(contador.getTotal() <= 2 * QUANTIDADE_MOVIMENTOS / TAMANHO_LOTE + 5,
+                "round trips por " + QUANTIDADE_MOVIMENTOS + " movimentos: " + contador.getTotal());
+    }
+
+    private Produto novoProduto() {
+        TipoProduto tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Carga em lote"));
+        Produto produto = new Produto();
+        produto.setDescricao("Produto carga em lote");
+        produto.setValorFornecedor(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(0);
+        produto.setTipoProduto(tipoProduto);
+        return produto;
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        ContadorRoundTrips contadorRoundTrips() {
+            return new ContadorRoundTrips();
+        }
+
+        @Bean
+        static BeanPostProcessor contarRoundTrips(ContadorRoundTrips contador) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? contador.envolver(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Conta as execuções de comandos JDBC (cada uma é uma ida ao banco).
+     */
+    static class ContadorRoundTrips {
+
+        private final AtomicLong consultas = new AtomicLong();
+        private final AtomicLong lotes = new AtomicLong();
+        private final AtomicLong atualizacoesIndividuais = new AtomicLong();
+
+        DataSource envolver(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource);
+        }
+
+        void zerar() {
+            consultas.set(0);
+            lotes.set(0);
+            atualizacoesIndividuais.set(0);
+        }
+
+        long getConsultas() {
+            return consultas.get();
+        }
+
+        long getLotes() {
+            return lotes.get();
+        }
+
+        long getAtualizacoesIndividuais() {
+            return atualizacoesIndividuais.get();
+        }
+
+        long getTotal() {
+            return consultas.get() + lotes.get() + atualizacoesIndividuais.get();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> tipo, T alvo) {
+            InvocationHandler handler = (instancia, metodo, argumentos) -> {
+                switch (metodo.getName()) {
+                    case "executeQuery" -> consultas.incrementAndGet();
+                    case "executeBatch", "executeLargeBatch" -> lotes.incrementAndGet();
+                    case "executeUpdate", "executeLargeUpdate", "execute" -> atualizacoesIndividuais.incrementAndGet();
+                    default -> { }
+                }
+                Object resultado;
+                try {
+                    resultado = metodo.invoke(alvo, argumentos);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (resultado instanceof Connection conexao && metodo.getReturnType() == Connection.class) {
+                    return proxy(Connection.class, conexao);
+                }
+                if (resultado instanceof Statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                    return proxy((Class<Statement>) metodo.getReturnType(), (Statement) resultado);
+                }
+                return resultado;
+            };
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, handler);
+        }
+    }
+}
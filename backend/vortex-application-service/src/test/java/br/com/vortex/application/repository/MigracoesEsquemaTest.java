@@ -0,0 +1,83 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.model.TipoProduto;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O esquema vem só das migrações: o contexto sobe com {@code ddl-auto=validate}, então qualquer
+ * divergência entre entidades e migrações falha aqui.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MigracoesEsquemaTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Test
+    void testMigracoesAplicadasComDadosIniciais() {
+        List<String> versoes = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(Object::toString)
+                .toList();
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9"), versoes);
+
+        assertEquals("Eletrônicos", tipoProdutoRepository.findById(1L).orElseThrow().getNome());
+        assertTrue(produtoRepository.existsById(20L));
+
+        // As sequências continuam depois dos dados iniciais
+        TipoProduto novo = tipoProdutoRepository.save(new TipoProduto(null, "Migrações"));
+        try {
+            assertTrue(novo.getId() > 10);
+        } finally {
+            tipoProdutoRepository.deleteById(novo.getId());
+        }
+    }
+
+    @Test
+    void testIndicesDasConsultasExistem() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> indices = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE index_name LIKE 'IDX_%'", String.class);
+
+        assertTrue(indices.containsAll(List.of(
+                "idx_produto_tipo_produto",
+                "idx_movimento_produto_tipo_data",
+                "idx_movimento_produto_data",
+                "idx_movimento_data",
+                "idx_mov_arquivo_produto_tipo_data",
+                "idx_pedido_reposicao_status_data",
+                "idx_operacao_movimento_data_criacao",
+                "idx_mensagem_processada_expira_em",
+                "idx_reserva_estoque_status_expira_em")), indices.toString());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.indexes "
+                + "WHERE LOWER(index_name) = 'uk_produto_codigo'", Integer.class));
+
+        String plano = jdbcTemplate.queryForObject("EXPLAIN SELECT MIN(data_movimento) FROM movimento_estoque "
+                + "WHERE data_movimento < TIMESTAMP '2024-01-01 00:00:00'", String.class);
+        assertTrue(plano.toLowerCase().contains("idx_movimento_data"), plano);
+    }
+}
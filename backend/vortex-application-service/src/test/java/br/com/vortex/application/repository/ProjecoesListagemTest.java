@@ -0,0 +1,155 @@
+package br.com.vortex.application.repository;
+
+import br.com.vortex.application.dto.LucroPorProdutoDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.dto.ProdutoDTO;
+import br.com.vortex.application.dto.ProdutoPorTipoDTO;
+import br.com.vortex.application.model.MovimentoEstoque;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante que as listagens e relatórios são montados por projeção, em um único comando
+ * e sem carregar entidades, e que as associações só são buscadas quando pedidas.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProjecoesListagemTest {
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private TipoProduto tipoProduto;
+    private Produto vendido;
+    private Produto parado;
+    private List<Long> movimentoIds;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Projeção"));
+        vendido = produtoRepository.save(novoProduto("Vendido"));
+        parado = produtoRepository.save(novoProduto("Parado"));
+        movimentoIds = movimentoEstoqueRepository.saveAll(List.of(
+                novoMovimento(vendido, TipoMovimentacao.ENTRADA, 10, null),
+                novoMovimento(vendido, TipoMovimentacao.SAIDA, 2, new BigDecimal("13.50")),
+                novoMovimento(vendido, TipoMovimentacao.SAIDA, 3, new BigDecimal("13.50"))))
+                .stream().map(MovimentoEstoque::getId).toList();
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movimentoEstoqueRepository.deleteAllByIdInBatch(movimentoIds);
+        produtoRepository.deleteAllByIdInBatch(List.of(vendido.getId(), parado.getId()));
+        tipoProdutoRepository.deleteById(tipoProduto.getId());
+    }
+
+    @Test
+    void testListagensNaoCarregamEntidades() {
+        List<ProdutoDTO> produtos = produtoRepository.listarDTOs().stream()
+                .filter(produto -> tipoProduto.getId().equals(produto.getTipoProdutoId()))
+                .toList();
+        List<MovimentoEstoqueDTO> movimentos = movimentoEstoqueRepository.listarDTOs().stream()
+                .filter(movimento -> movimentoIds.contains(movimento.getId()))
+                .toList();
+
+        assertEquals(List.of(vendido.getId(), parado.getId()), produtos.stream().map(ProdutoDTO::getId).toList());
+        assertEquals(3, movimentos.size());
+        assertTrue(movimentos.stream().allMatch(movimento -> vendido.getId().equals(movimento.getProdutoId())));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testRelatoriosAgregamEmUmaConsulta() {
+        List<ProdutoPorTipoDTO> porTipo = produtoRepository.gerarRelatorioPorTipo(tipoProduto.getId());
+        List<LucroPorProdutoDTO> lucro = produtoRepository.gerarRelatorioLucro().stream()
+                .filter(linha -> linha.getId().equals(vendido.getId()) || linha.getId().equals(parado.getId()))
+                .toList();
+
+        assertEquals(List.of(
+                new ProdutoPorTipoDTO(vendido.getId(), "Vendido", 2, 5),
+                new ProdutoPorTipoDTO(parado.getId(), "Parado", 0, 5)), porTipo);
+        assertEquals(5, lucro.get(0).getTotalUnidadesVendidas());
+        assertEquals(0, new BigDecimal("17.50").compareTo(lucro.get(0).getLucroTotal()));
+        assertEquals(0, lucro.get(1).getTotalUnidadesVendidas());
+        assertEquals(0, BigDecimal.ZERO.compareTo(lucro.get(1).getLucroTotal()));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testAssociacoesSoSaoCarregadasQuandoPedidas() {
+        Long movimentoId = movimentoIds.get(0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            MovimentoEstoque movimento = movimentoEstoqueRepository.findById(movimentoId).orElseThrow();
+            assertFalse(Hibernate.isInitialized(movimento.getProduto()));
+            assertEquals(vendido.getId(), movimento.getProduto().getId());
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(Hibernate.isInitialized(
+                    movimentoEstoqueRepository.findComProdutoById(movimentoId).orElseThrow().getProduto()));
+            assertTrue(Hibernate.isInitialized(
+                    produtoRepository.findComTipoProdutoById(vendido.getId()).orElseThrow().getTipoProduto()));
+        });
+    }
+
+    private Produto novoProduto(String descricao) {
+        Produto produto = new Produto();
+        produto.setDescricao(descricao);
+        produto.setValorFornecedor(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(5);
+        produto.setTipoProduto(tipoProduto);
+        return produto;
+    }
+
+    private MovimentoEstoque novoMovimento(Produto produto, TipoMovimentacao tipo, int quantidade, BigDecimal valorVenda) {
+        MovimentoEstoque movimento = new MovimentoEstoque();
+        movimento.setTipoMovimentacao(tipo);
+        movimento.setQuantidadeMovimentada(quantidade);
+        movimento.setValorVenda(valorVenda);
+        movimento.setProduto(produto);
+        return movimento;
+    }
+}
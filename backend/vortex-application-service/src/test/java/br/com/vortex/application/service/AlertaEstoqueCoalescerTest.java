@@ -0,0 +1,122 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.model.enums.NivelEstoque;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AlertaEstoqueCoalescerTest {
+
+    private static final Long PRODUTO_ID = 1L;
+
+    private RelogioAjustavel relogio;
+    private AlertaEstoqueCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel();
+        coalescer = new AlertaEstoqueCoalescer(10, 5, Duration.ofMinutes(5), relogio);
+    }
+
+    @Test
+    void testEmiteApenasNasTransicoesParaNivelPior() {
+        assertNull(coalescer.avaliar(PRODUTO_ID, 50));
+        assertEquals(NivelEstoque.BAIXO, coalescer.avaliar(PRODUTO_ID, 9));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 8));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 7));
+        assertEquals(NivelEstoque.CRITICO, coalescer.avaliar(PRODUTO_ID, 4));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 3));
+        assertEquals(NivelEstoque.ESGOTADO, coalescer.avaliar(PRODUTO_ID, 0));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 0));
+
+        // Reposição parcial melhora o nível sem alertar
+        assertNull(coalescer.avaliar(PRODUTO_ID, 8));
+        assertEquals(NivelEstoque.BAIXO, coalescer.getNivelAtual(PRODUTO_ID));
+        assertEquals(3, coalescer.getAlertasEmitidos());
+    }
+
+    @Test
+    void testOscilacaoNoLimiteEDeduplicadaDentroDaJanela() {
+        assertEquals(NivelEstoque.BAIXO, coalescer.avaliar(PRODUTO_ID, 10));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 11));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 10));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 11));
+        assertEquals(1, coalescer.getAlertasSuprimidos());
+
+        relogio.avancar(Duration.ofMinutes(6));
+        assertEquals(NivelEstoque.BAIXO, coalescer.avaliar(PRODUTO_ID, 10));
+    }
+
+    @Test
+    void testProdutosTemEstadosIndependentes() {
+        assertEquals(NivelEstoque.CRITICO, coalescer.avaliar(1L, 5));
+        assertEquals(NivelEstoque.CRITICO, coalescer.avaliar(2L, 5));
+        assertEquals(NivelEstoque.NORMAL, coalescer.getNivelAtual(3L));
+    }
+
+    @Test
+    void testTransicaoSoValeAposOCommitDaTransacao() {
+        // Transação desfeita: o alerta volta a ser emitido na reentrega
+        List<TransactionSynchronization> desfeita = emTransacao(() -> {
+            assertEquals(NivelEstoque.BAIXO, coalescer.avaliar(PRODUTO_ID, 9));
+            assertNull(coalescer.avaliar(PRODUTO_ID, 8));
+        });
+        desfeita.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(NivelEstoque.NORMAL, coalescer.getNivelAtual(PRODUTO_ID));
+
+        List<TransactionSynchronization> confirmada = emTransacao(
+                () -> assertEquals(NivelEstoque.BAIXO, coalescer.avaliar(PRODUTO_ID, 9)));
+        assertEquals(NivelEstoque.NORMAL, coalescer.getNivelAtual(PRODUTO_ID));
+        confirmada.forEach(TransactionSynchronization::afterCommit);
+        confirmada.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(NivelEstoque.BAIXO, coalescer.getNivelAtual(PRODUTO_ID));
+        assertNull(coalescer.avaliar(PRODUTO_ID, 8));
+        assertEquals(1, coalescer.getAlertasEmitidos());
+    }
+
+    private List<TransactionSynchronization> emTransacao(Runnable acao) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            acao.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
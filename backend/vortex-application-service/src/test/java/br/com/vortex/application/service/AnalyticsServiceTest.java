@@ -0,0 +1,89 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.analytics.DetectorAnomalias;
+import br.com.vortex.application.analytics.EstatisticasAproximadas;
+import br.com.vortex.application.analytics.JanelaTempo;
+import br.com.vortex.application.analytics.MotivoSuspeita;
+import br.com.vortex.application.dto.AuditoriaEventDTO;
+import br.com.vortex.application.dto.JanelaAnalyticsDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalyticsServiceTest {
+
+    private final DetectorAnomalias detectorAnomalias = mock(DetectorAnomalias.class);
+    private final AnalyticsService analyticsService =
+            new AnalyticsService(detectorAnomalias, mock(EstatisticasAproximadas.class), Clock.fixed(Instant.parse("2025-01-01T12:00:30Z"), ZoneOffset.UTC));
+
+    @Test
+    void testAgregaPorProdutoTipoEGeral() {
+        analyticsService.processarMovimentoEstoque(evento(1L, "Eletrônicos", TipoMovimentacao.ENTRADA, 20));
+        analyticsService.processarMovimentoEstoque(evento(1L, "Eletrônicos", TipoMovimentacao.SAIDA, 3));
+        analyticsService.processarMovimentoEstoque(evento(2L, "Eletrônicos", TipoMovimentacao.SAIDA, 1));
+        analyticsService.processarMovimentoEstoque(evento(3L, "Móveis", TipoMovimentacao.SAIDA, 10));
+
+        JanelaAnalyticsDTO produto = analyticsService.consultarProduto(1L, JanelaTempo.UM_MINUTO);
+        assertEquals(20L, produto.getDeslizante().getUnidadesEntrada());
+        assertEquals(3L, produto.getDeslizante().getUnidadesSaida());
+        // valorVenda é unitário: 3 x 135,00 de receita e 3 x 35,00 de lucro
+        assertEquals(new BigDecimal("405.00"), produto.getDeslizante().getReceita());
+        assertEquals(new BigDecimal("105.00"), produto.getDeslizante().getLucro());
+
+        JanelaAnalyticsDTO tipo = analyticsService.consultarTipoProduto("Eletrônicos", JanelaTempo.UMA_HORA);
+        assertEquals(4L, tipo.getDeslizante().getUnidadesSaida());
+        assertEquals(3L, tipo.getTumblingAtual().getEventos());
+
+        assertEquals(14L, analyticsService.consultarGeral(JanelaTempo.CINCO_MINUTOS).getDeslizante().getUnidadesSaida());
+        assertEquals(0L, analyticsService.consultarProduto(99L, JanelaTempo.UM_MINUTO).getDeslizante().getEventos());
+
+        List<JanelaAnalyticsDTO> ranking = analyticsService.rankingProdutosPorReceita(JanelaTempo.UM_MINUTO, 2);
+        assertEquals(List.of("3", "1"), ranking.stream().map(JanelaAnalyticsDTO::getChave).toList());
+    }
+
+    @Test
+    void testRankingComLimiteNegativoRetornaVazio() {
+        analyticsService.processarMovimentoEstoque(evento(1L, "Eletrônicos", TipoMovimentacao.SAIDA, 3));
+
+        assertTrue(analyticsService.rankingProdutosPorReceita(JanelaTempo.UM_MINUTO, -1).isEmpty());
+    }
+
+    @Test
+    void testOperacaoSuspeitaUsaProdutoEQuantidadeDoEventoDeMovimento() {
+        AuditoriaEventDTO event = AuditoriaEventDTO.deMovimento("MOVIMENTO_CRIADO", 7L, 42L, 1500,
+                "Movimento SAIDA criado", "usuario");
+        when(detectorAnomalias.avaliar(anyString(), anyString(), anyBoolean(), eq(42L),
+                eq(1500L))).thenReturn(MotivoSuspeita.QUANTIDADE_ATIPICA_PRODUTO);
+
+        assertTrue(analyticsService.isOperacaoSuspeita(event));
+        verify(detectorAnomalias).avaliar("usuario", "MOVIMENTO_CRIADO", true, 42L, 1500L);
+    }
+
+    private MovimentoEstoqueEventDTO evento(Long produtoId, String tipoProduto, TipoMovimentacao tipo, int quantidade) {
+        MovimentoEstoqueEventDTO event = new MovimentoEstoqueEventDTO();
+        event.setProdutoId(produtoId);
+        event.setTipoProduto(tipoProduto);
+        event.setTipoMovimentacao(tipo);
+        event.setQuantidadeMovimentada(quantidade);
+        event.setValorFornecedor(new BigDecimal("100.00"));
+        if (tipo == TipoMovimentacao.SAIDA) {
+            event.setValorVenda(new BigDecimal("135.00"));
+        }
+        return event;
+    }
+}
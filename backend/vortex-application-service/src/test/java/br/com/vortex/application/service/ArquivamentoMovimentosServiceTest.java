@@ -0,0 +1,173 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.LucroPorProdutoDTO;
+import br.com.vortex.application.dto.ProdutoPorTipoDTO;
+import br.com.vortex.application.model.MovimentoEstoque;
+import br.com.vortex.application.model.MovimentoEstoqueArquivo;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository;
+import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import br.com.vortex.application.repository.ProdutoRepository;
+import br.com.vortex.application.repository.TipoProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ArquivamentoMovimentosServiceTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2023, 6, 15, 12, 0);
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Autowired
+    private MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ArquivamentoMovimentosService arquivamento;
+    private TipoProduto tipoProduto;
+    private Produto produto;
+    private List<Long> movimentoIds;
+
+    @BeforeEach
+    void setUp() {
+        // Janela quente de 5 meses: arquiva o que for anterior a 2023-01-01 (os dados iniciais ficam)
+        arquivamento = novoArquivamento();
+
+        tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Arquivamento"));
+        produto = new Produto();
+        produto.setDescricao("Produto arquivado");
+        produto.setValorFornecedor(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(100);
+        produto.setTipoProduto(tipoProduto);
+        produto = produtoRepository.save(produto);
+
+        movimentoIds = movimentoEstoqueRepository.saveAll(List.of(
+                movimento(LocalDateTime.of(2022, 11, 3, 8, 0), TipoMovimentacao.ENTRADA, 10),
+                movimento(LocalDateTime.of(2022, 11, 15, 9, 0), TipoMovimentacao.SAIDA, 2),
+                movimento(LocalDateTime.of(2022, 12, 31, 23, 59), TipoMovimentacao.SAIDA, 1),
+                movimento(LocalDateTime.of(2023, 3, 10, 10, 0), TipoMovimentacao.SAIDA, 3)))
+                .stream().map(MovimentoEstoque::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(dataSource).update("UPDATE bloqueio_tarefa SET bloqueado_ate = ?, bloqueado_por = NULL WHERE nome = ?",
+                LocalDateTime.of(1970, 1, 1, 0, 0), ArquivamentoMovimentosService.TAREFA);
+        movimentoEstoqueArquivoRepository.deleteAllByIdInBatch(movimentoIds);
+        movimentoEstoqueRepository.deleteAllByIdInBatch(movimentoIds);
+        produtoRepository.deleteById(produto.getId());
+        tipoProdutoRepository.deleteById(tipoProduto.getId());
+    }
+
+    @Test
+    void testMesesFriosSaoMovidosParaOArquivo() {
+        long ativosAntes = movimentoEstoqueRepository.count();
+
+        assertEquals(3, arquivamento.arquivar());
+        assertEquals(0, arquivamento.arquivar());
+
+        assertEquals(ativosAntes - 3, movimentoEstoqueRepository.count());
+        assertTrue(movimentoEstoqueRepository.existsById(movimentoIds.get(3)));
+        List<MovimentoEstoqueArquivo> arquivados = movimentoEstoqueArquivoRepository.findAllById(movimentoIds);
+        assertEquals(3, arquivados.size());
+        assertTrue(arquivados.stream().allMatch(arquivado -> produto.getId().equals(arquivado.getProdutoId())
+                && AGORA.equals(arquivado.getDataArquivamento())));
+    }
+
+    @Test
+    void testSoUmaInstanciaArquivaPorVez() {
+        // Outra instância adquiriu o bloqueio e ainda está arquivando
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE bloqueio_tarefa SET bloqueado_ate = ?, bloqueado_por = 'outra' WHERE nome = ?",
+                AGORA.plusHours(1), ArquivamentoMovimentosService.TAREFA);
+
+        assertEquals(0, arquivamento.arquivar());
+        assertEquals(0, movimentoEstoqueArquivoRepository.findAllById(movimentoIds).size());
+
+        // O bloqueio dela vence (instância caiu) e a próxima execução arquiva normalmente
+        jdbcTemplate.update("UPDATE bloqueio_tarefa SET bloqueado_ate = ? WHERE nome = ?",
+                AGORA.minusMinutes(1), ArquivamentoMovimentosService.TAREFA);
+        assertEquals(3, arquivamento.arquivar());
+
+        // Ao final o prazo volta para o horário do término, liberando a próxima execução em qualquer instância
+        assertEquals(AGORA, jdbcTemplate.queryForObject("SELECT bloqueado_ate FROM bloqueio_tarefa WHERE nome = ?",
+                LocalDateTime.class, ArquivamentoMovimentosService.TAREFA));
+    }
+
+    @Test
+    void testConsultaPorPeriodoERelatoriosConsideramOArquivo() {
+        arquivamento.arquivar();
+
+        assertEquals(1, movimentoEstoqueRepository.listarDTOsPorProdutoEPeriodo(produto.getId(),
+                LocalDateTime.of(2023, 3, 1, 0, 0), LocalDateTime.of(2023, 4, 1, 0, 0)).size());
+        assertEquals(0, movimentoEstoqueRepository.listarDTOsPorProdutoEPeriodo(produto.getId(),
+                LocalDateTime.of(2022, 11, 1, 0, 0), LocalDateTime.of(2022, 12, 1, 0, 0)).size());
+
+        RelatorioService relatorioService = new RelatorioService(
+                produtoRepository, tipoProdutoRepository, movimentoEstoqueArquivoRepository);
+        List<ProdutoPorTipoDTO> porTipo = relatorioService.gerarRelatorioProdutosPorTipo(tipoProduto.getId());
+        assertEquals(3, porTipo.get(0).getTotalSaidas());
+        LucroPorProdutoDTO lucro = relatorioService.gerarRelatorioLucroPorProduto().stream()
+                .filter(linha -> linha.getId().equals(produto.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(6, lucro.getTotalUnidadesVendidas());
+        assertEquals(0, new BigDecimal("21.00").compareTo(lucro.getLucroTotal()));
+
+        // Sem movimentos ativos, os arquivados ainda impedem a exclusão do produto
+        movimentoEstoqueRepository.deleteAllByIdInBatch(movimentoIds);
+        ProdutoService produtoService = new ProdutoService(produtoRepository, tipoProdutoRepository,
+                movimentoEstoqueRepository, movimentoEstoqueArquivoRepository);
+        assertThrows(DataIntegrityViolationException.class, () -> produtoService.excluir(produto.getId()));
+    }
+
+    private ArquivamentoMovimentosService novoArquivamento() {
+        return new ArquivamentoMovimentosService(movimentoEstoqueRepository, dataSource, transactionManager,
+                true, 5, Duration.ofHours(6), Clock.fixed(AGORA.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    private MovimentoEstoque movimento(LocalDateTime data, TipoMovimentacao tipo, int quantidade) {
+        MovimentoEstoque movimento = new MovimentoEstoque();
+        movimento.setDataMovimento(data);
+        movimento.setTipoMovimentacao(tipo);
+        movimento.setQuantidadeMovimentada(quantidade);
+        movimento.setValorVenda(tipo == TipoMovimentacao.SAIDA ? new BigDecimal("13.50") : null);
+        movimento.setProduto(produto);
+        return movimento;
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.CacheRegiaoStatusDTO;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.repository.ProdutoRepository;
+import br.com.vortex.application.repository.TipoProdutoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheCatalogoServiceTest {
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private CacheCatalogoService cacheCatalogoService;
+    private TipoProduto tipoProduto;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheCatalogoService = new CacheCatalogoService(entityManagerFactory);
+
+        tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Cache"));
+        produto = new Produto();
+        produto.setDescricao("Produto em cache");
+        produto.setValorFornecedor(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(5);
+        produto.setTipoProduto(tipoProduto);
+        produto = produtoRepository.save(produto);
+
+        cacheCatalogoService.invalidarCatalogo();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteById(produto.getId());
+        tipoProdutoRepository.deleteById(tipoProduto.getId());
+    }
+
+    @Test
+    void testLeituraRepetidaDoProdutoNaoVaiAoBanco() {
+        produtoRepository.findById(produto.getId());
+        long comandosAposPrimeiraLeitura = statistics.getPrepareStatementCount();
+
+        Produto emCache = produtoRepository.findById(produto.getId()).orElseThrow();
+
+        assertEquals(comandosAposPrimeiraLeitura, statistics.getPrepareStatementCount());
+        assertEquals(tipoProduto.getId(), emCache.getTipoProduto().getId());
+        CacheRegiaoStatusDTO regiaoProduto = regiao(CacheCatalogoService.REGIAO_PRODUTO);
+        assertEquals(1, regiaoProduto.getAcertos());
+        assertEquals(1, regiaoProduto.getFalhas());
+        assertEquals(0.5, regiaoProduto.getTaxaAcerto());
+    }
+
+    @Test
+    void testConsultaPorTipoEmCacheEInvalidadaPorAlteracaoEPorEvento() {
+        produtoRepository.findByTipoProdutoId(tipoProduto.getId());
+        produtoRepository.findByTipoProdutoId(tipoProduto.getId());
+        assertEquals(1, regiao(CacheCatalogoService.REGIAO_PRODUTO_POR_TIPO).getAcertos());
+
+        // Alteração local: o Hibernate descarta o resultado pela marca de atualização da tabela
+        produto.setQuantidadeEmEstoque(4);
+        produto = produtoRepository.save(produto);
+        assertEquals(4, produtoRepository.findByTipoProdutoId(tipoProduto.getId()).get(0).getQuantidadeEmEstoque());
+        assertEquals(2, regiao(CacheCatalogoService.REGIAO_PRODUTO_POR_TIPO).getFalhas());
+
+        // Evento de outra instância: produto e consultas são descartados
+        produtoRepository.findByTipoProdutoId(tipoProduto.getId());
+        cacheCatalogoService.invalidarProduto(produto.getId());
+        produtoRepository.findById(produto.getId());
+        produtoRepository.findByTipoProdutoId(tipoProduto.getId());
+
+        assertEquals(1, regiao(CacheCatalogoService.REGIAO_PRODUTO).getFalhas());
+        assertEquals(3, regiao(CacheCatalogoService.REGIAO_PRODUTO_POR_TIPO).getFalhas());
+    }
+
+    @Test
+    void testBuscaDeTipoPorNomeUsaCacheDeConsultas() {
+        tipoProdutoRepository.findByNome("Cache");
+        long comandos = statistics.getPrepareStatementCount();
+
+        assertEquals(tipoProduto.getId(), tipoProdutoRepository.findByNome("Cache").orElseThrow().getId());
+        assertEquals(comandos, statistics.getPrepareStatementCount());
+        assertEquals(1, regiao(CacheCatalogoService.REGIAO_TIPO_PRODUTO_POR_NOME).getAcertos());
+    }
+
+    private CacheRegiaoStatusDTO regiao(String nome) {
+        return cacheCatalogoService.obterEstatisticas().stream()
+                .filter(status -> status.getRegiao().equals(nome))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.BrokerMetricasDTO;
+import br.com.vortex.application.dto.ProdutoEventDTO;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompositeMessageBrokerServiceTest {
+
+    @Test
+    void testBrokerLentoNaoAtrasaChamadorNemOutrosBrokers() throws Exception {
+        CountDownLatch liberarLento = new CountDownLatch(1);
+        MessageBrokerService lento = mock(MessageBrokerService.class);
+        MessageBrokerService rapido = mock(MessageBrokerService.class);
+        when(lento.getType()).thenReturn("Kafka");
+        when(rapido.getType()).thenReturn("RabbitMQ");
+        doAnswer(invocation -> liberarLento.await(10, TimeUnit.SECONDS))
+                .when(lento).publicarProdutoCriado(any(), anyString());
+
+        Map<String, MessageBrokerService> brokers = new LinkedHashMap<>();
+        brokers.put("kafka", lento);
+        brokers.put("rabbitmq", rapido);
+
+        try (CompositeMessageBrokerService composite = new CompositeMessageBrokerService(brokers, 4)) {
+            long tempoPublicacaoNanos = 0;
+            for (int i = 0; i < 10; i++) {
+                long inicio = System.nanoTime();
+                composite.publicarProdutoCriado(produto(), "usuario");
+                tempoPublicacaoNanos += System.nanoTime() - inicio;
+
+                verify(rapido, timeout(2000).times(i + 1)).publicarProdutoCriado(any(), anyString());
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(tempoPublicacaoNanos) < 1000);
+
+            // 1 em execução + 4 na fila; os demais são descartados apenas para o broker lento
+            List<BrokerMetricasDTO> metricas = composite.getMetricas();
+            assertEquals(5, metricas.get(0).getDescartados());
+            assertEquals(0, metricas.get(1).getDescartados());
+            assertEquals(10, metricas.get(1).getEnfileirados());
+
+            liberarLento.countDown();
+            verify(lento, timeout(2000).times(5)).publicarProdutoCriado(any(), anyString());
+        }
+    }
+
+    @Test
+    void testFalhaEmUmBrokerFicaIsolada() {
+        MessageBrokerService comFalha = mock(MessageBrokerService.class);
+        MessageBrokerService saudavel = mock(MessageBrokerService.class);
+        doThrow(new IllegalStateException("broker fora do ar"))
+                .when(comFalha).publicarAuditoria(any(), any(), any(), any(), any(), any(), any());
+
+        Map<String, MessageBrokerService> brokers = new LinkedHashMap<>();
+        brokers.put("kafka", comFalha);
+        brokers.put("rabbitmq", saudavel);
+
+        try (CompositeMessageBrokerService composite = new CompositeMessageBrokerService(brokers, 100)) {
+            composite.publicarAuditoria("CREATE", "Produto", 1L, "detalhes", "usuario", "SUCCESS", null);
+            composite.publicarAuditoria("UPDATE", "Produto", 1L, "detalhes", "usuario", "SUCCESS", null);
+
+            verify(saudavel, timeout(2000).times(2)).publicarAuditoria(any(), any(), any(), any(), any(), any(), any());
+            verify(comFalha, timeout(2000).times(2)).publicarAuditoria(any(), any(), any(), any(), any(), any(), any());
+        }
+
+        verify(saudavel, times(2)).publicarAuditoria(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testEntidadeECopiadaNoMomentoDaPublicacao() {
+        MessageBrokerService broker = mock(MessageBrokerService.class);
+        CountDownLatch publicado = new CountDownLatch(1);
+        Integer[] quantidadePublicada = new Integer[1];
+        doAnswer(invocation -> {
+            quantidadePublicada[0] = invocation.<Produto>getArgument(0).getQuantidadeEmEstoque();
+            publicado.countDown();
+            return null;
+        }).when(broker).publicarProdutoAtualizado(any(), any(), anyString());
+
+        Produto produto = produto();
+        try (CompositeMessageBrokerService composite = new CompositeMessageBrokerService(Map.of("kafka", broker), 10)) {
+            composite.publicarProdutoAtualizado(produto, null, "usuario");
+            produto.setQuantidadeEmEstoque(0);
+            assertTrue(publicado.await(2, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        assertEquals(50, quantidadePublicada[0]);
+    }
+
+    @Test
+    void testCopiasDoEventoCompartilhamEventId() throws Exception {
+        Map<String, String> eventIds = new ConcurrentHashMap<>();
+        CountDownLatch publicados = new CountDownLatch(2);
+        Map<String, MessageBrokerService> brokers = new LinkedHashMap<>();
+        for (String nome : List.of("kafka", "rabbitmq")) {
+            MessageBrokerService broker = mock(MessageBrokerService.class);
+            doAnswer(invocation -> {
+                eventIds.put(nome, ProdutoEventDTO.invalidacaoCache(invocation.getArgument(0)).getEventId());
+                publicados.countDown();
+                return null;
+            }).when(broker).publicarInvalidacaoCacheProduto(any());
+            brokers.put(nome, broker);
+        }
+
+        try (CompositeMessageBrokerService composite = new CompositeMessageBrokerService(brokers, 10)) {
+            composite.publicarInvalidacaoCacheProduto(1L);
+            assertTrue(publicados.await(2, TimeUnit.SECONDS));
+        }
+
+        assertEquals(eventIds.get("kafka"), eventIds.get("rabbitmq"));
+        assertNotEquals(eventIds.get("kafka"), ProdutoEventDTO.invalidacaoCache(1L).getEventId());
+    }
+
+    private Produto produto() {
+        Produto produto = new Produto();
+        produto.setId(1L);
+        produto.setDescricao("Notebook");
+        produto.setValorFornecedor(new BigDecimal("100.00"));
+        produto.setQuantidadeEmEstoque(50);
+        produto.setTipoProduto(new TipoProduto(1L, "Eletrônicos"));
+        return produto;
+    }
+}
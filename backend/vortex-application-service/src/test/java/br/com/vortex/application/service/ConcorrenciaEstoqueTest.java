@@ -0,0 +1,177 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.dto.ProdutoDTO;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository;
+import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import br.com.vortex.application.repository.ProdutoRepository;
+import br.com.vortex.application.repository.TipoProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConcorrenciaEstoqueTest {
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Autowired
+    private MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TipoProduto tipoProduto;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Concorrência"));
+        produto = new Produto();
+        produto.setDescricao("Produto disputado");
+        produto.setValorFornecedor(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(100);
+        produto.setTipoProduto(tipoProduto);
+        produto = produtoRepository.save(produto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(dataSource).update("DELETE FROM movimento_estoque WHERE produto_id = ?", produto.getId());
+        produtoRepository.deleteById(produto.getId());
+        tipoProdutoRepository.deleteById(tipoProduto.getId());
+    }
+
+    @Test
+    void testConflitoRepeteSobreOSaldoGravadoPelaOutraTransacao() {
+        RetentativaConflitoExecutor executor = new RetentativaConflitoExecutor(transactionManager, 3, 0);
+        AtomicInteger tentativas = new AtomicInteger();
+
+        int saldo = executor.executar("teste", () -> {
+            Produto lido = produtoRepository.findById(produto.getId()).orElseThrow();
+            if (tentativas.incrementAndGet() == 1) {
+                // Outra transação grava o mesmo produto entre a leitura e o commit desta
+                somarEmOutraTransacao(5);
+            }
+            lido.setQuantidadeEmEstoque(lido.getQuantidadeEmEstoque() + 1);
+            return lido.getQuantidadeEmEstoque();
+        });
+
+        assertEquals(2, tentativas.get());
+        assertEquals(106, saldo);
+        assertEquals(106, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEmEstoque());
+    }
+
+    @Test
+    void testConflitoPersistenteSobeAposAsTentativas() {
+        RetentativaConflitoExecutor executor = new RetentativaConflitoExecutor(transactionManager, 2, 0);
+        AtomicInteger tentativas = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> executor.executar("teste", () -> {
+            tentativas.incrementAndGet();
+            Produto lido = produtoRepository.findById(produto.getId()).orElseThrow();
+            somarEmOutraTransacao(1);
+            lido.setQuantidadeEmEstoque(lido.getQuantidadeEmEstoque() + 1);
+            return null;
+        }));
+
+        assertEquals(2, tentativas.get());
+        assertEquals(102, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEmEstoque());
+    }
+
+    @Test
+    void testMovimentosConcorrentesNaoPerdemAtualizacoesDoSaldo() throws Exception {
+        MovimentoEstoqueService movimentoEstoqueService = new MovimentoEstoqueService(movimentoEstoqueRepository,
+                produtoRepository, mock(SqsProducerService.class), mock(MessageBrokerService.class),
+                mock(AlertaEstoqueCoalescer.class), mock(OperacaoMovimentoService.class),
+                new RetentativaConflitoExecutor(transactionManager, 50, 1), mock(ReservaEstoqueService.class));
+
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MovimentoEstoqueDTO>> criados = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                TipoMovimentacao tipo = i % 2 == 0 ? TipoMovimentacao.ENTRADA : TipoMovimentacao.SAIDA;
+                criados.add(threads.submit(() -> movimentoEstoqueService.criar(movimento(tipo, 3))));
+            }
+            for (Future<MovimentoEstoqueDTO> criado : criados) {
+                criado.get();
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        assertEquals(100, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEmEstoque());
+        assertEquals(20, movimentoEstoqueRepository.listarDTOs().stream()
+                .filter(movimento -> produto.getId().equals(movimento.getProdutoId()))
+                .count());
+    }
+
+    @Test
+    void testAtualizacaoDoProdutoNaoAlteraOSaldo() {
+        ProdutoService produtoService = new ProdutoService(produtoRepository, tipoProdutoRepository,
+                movimentoEstoqueRepository, movimentoEstoqueArquivoRepository);
+        ProdutoDTO alteracao = new ProdutoDTO();
+        alteracao.setDescricao("Produto renomeado");
+        alteracao.setValorFornecedor(new BigDecimal("12.00"));
+        alteracao.setQuantidadeEmEstoque(0);
+        alteracao.setTipoProdutoId(tipoProduto.getId());
+
+        ProdutoDTO atualizado = produtoService.atualizar(produto.getId(), alteracao);
+
+        assertEquals("Produto renomeado", atualizado.getDescricao());
+        assertEquals(100, atualizado.getQuantidadeEmEstoque());
+    }
+
+    private void somarEmOutraTransacao(int quantidade) {
+        TransactionTemplate outra = new TransactionTemplate(transactionManager);
+        outra.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        outra.executeWithoutResult(status -> {
+            Produto concorrente = produtoRepository.findById(produto.getId()).orElseThrow();
+            concorrente.setQuantidadeEmEstoque(concorrente.getQuantidadeEmEstoque() + quantidade);
+        });
+    }
+
+    private MovimentoEstoqueDTO movimento(TipoMovimentacao tipo, int quantidade) {
+        MovimentoEstoqueDTO movimento = new MovimentoEstoqueDTO();
+        movimento.setTipoMovimentacao(tipo);
+        movimento.setQuantidadeMovimentada(quantidade);
+        movimento.setProdutoId(produto.getId());
+        return movimento;
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AlertaEstoqueEventDTO;
+import br.com.vortex.application.dto.AtualizacaoDashboardDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardPushServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final DashboardPushService service = new DashboardPushService(objectMapper, true, 250, 4, 60_000, 1000, 60);
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void testMovimentosDoMesmoProdutoSaoAgrupadosNoFrame() throws Exception {
+        BlockingQueue<String[]> recebidos = new LinkedBlockingQueue<>();
+        service.registrarCliente((evento, id, dados) -> recebidos.add(new String[]{evento, dados}));
+        assertEquals(DashboardPushService.EVENTO_SNAPSHOT, recebidos.poll(2, TimeUnit.SECONDS)[0]);
+
+        for (int estoque = 100; estoque > 90; estoque--) {
+            service.registrarMovimento(movimento(1L, estoque));
+        }
+        service.registrarMovimento(movimento(2L, 7));
+        service.registrarAlerta(alerta(2L, 7));
+        service.publicarFrame();
+
+        String[] frame = recebidos.poll(2, TimeUnit.SECONDS);
+        assertNotNull(frame);
+        assertEquals(DashboardPushService.EVENTO_ATUALIZACOES, frame[0]);
+        List<AtualizacaoDashboardDTO> atualizacoes = ler(frame[1]);
+        assertEquals(3, atualizacoes.size());
+
+        AtualizacaoDashboardDTO produto1 = atualizacoes.stream()
+                .filter(a -> a.getProdutoId() == 1L).findFirst().orElseThrow();
+        assertEquals(91, produto1.getQuantidadeAtual());
+        assertEquals(10, produto1.getEventosAgrupados());
+
+        // Sem eventos novos, nenhum frame é publicado
+        service.publicarFrame();
+        assertEquals(null, recebidos.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testNovoDashboardRecebeUltimoEstadoNoSnapshot() throws Exception {
+        service.registrarMovimento(movimento(1L, 40));
+        service.registrarMovimento(movimento(1L, 35));
+        service.publicarFrame();
+
+        BlockingQueue<String[]> recebidos = new LinkedBlockingQueue<>();
+        service.registrarCliente((evento, id, dados) -> recebidos.add(new String[]{evento, dados}));
+
+        String[] snapshot = recebidos.poll(2, TimeUnit.SECONDS);
+        assertEquals(DashboardPushService.EVENTO_SNAPSHOT, snapshot[0]);
+        List<AtualizacaoDashboardDTO> estado = ler(snapshot[1]);
+        assertEquals(1, estado.size());
+        assertEquals(35, estado.get(0).getQuantidadeAtual());
+    }
+
+    @Test
+    void testUltimoEstadoFicaLimitadoEmQuantidadeDeProdutos() throws Exception {
+        DashboardPushService limitado = new DashboardPushService(objectMapper, true, 250, 4, 60_000, 2, 60);
+        try {
+            for (long produtoId = 1; produtoId <= 50; produtoId++) {
+                limitado.registrarMovimento(movimento(produtoId, 10));
+                limitado.registrarAlerta(alerta(produtoId, 10));
+            }
+            limitado.publicarFrame();
+
+            BlockingQueue<String[]> recebidos = new LinkedBlockingQueue<>();
+            limitado.registrarCliente((evento, id, dados) -> recebidos.add(new String[]{evento, dados}));
+
+            List<AtualizacaoDashboardDTO> estado = ler(recebidos.poll(2, TimeUnit.SECONDS)[1]);
+            assertTrue(estado.size() <= 4, "Estado retido: " + estado.size());
+        } finally {
+            limitado.destroy();
+        }
+    }
+
+    @Test
+    void testDashboardLentoDescartaFramesAntigosSemAfetarOsDemais() throws Exception {
+        CountDownLatch liberarLento = new CountDownLatch(1);
+        BlockingQueue<Long> idsLento = new LinkedBlockingQueue<>();
+        BlockingQueue<Long> idsRapido = new LinkedBlockingQueue<>();
+
+        service.registrarCliente((evento, id, dados) -> {
+            try {
+                liberarLento.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            idsLento.add(id);
+        });
+        service.registrarCliente((evento, id, dados) -> idsRapido.add(id));
+
+        assertEquals(0L, idsRapido.poll(2, TimeUnit.SECONDS));
+        for (long frame = 1; frame <= 20; frame++) {
+            service.registrarMovimento(movimento(1L, (int) frame));
+            service.publicarFrame();
+            // O dashboard rápido acompanha todos os frames
+            assertEquals(frame, idsRapido.poll(2, TimeUnit.SECONDS));
+        }
+        assertTrue(service.obterStatus().getFramesDescartados() > 0);
+
+        liberarLento.countDown();
+        // O dashboard lento recebe o frame em envio e os 4 mais recentes do buffer
+        Long ultimo = null;
+        for (int i = 0; i < 5; i++) {
+            ultimo = idsLento.poll(2, TimeUnit.SECONDS);
+            assertNotNull(ultimo);
+        }
+        assertEquals(20L, ultimo);
+        assertEquals(2, service.obterStatus().getClientesConectados());
+    }
+
+    private List<AtualizacaoDashboardDTO> ler(String json) throws Exception {
+        return objectMapper.readValue(json, new TypeReference<>() { });
+    }
+
+    private MovimentoEstoqueEventDTO movimento(Long produtoId, int estoqueAtual) {
+        MovimentoEstoqueEventDTO event = new MovimentoEstoqueEventDTO();
+        event.setProdutoId(produtoId);
+        event.setProdutoDescricao("Produto " + produtoId);
+        event.setEstoqueAtual(estoqueAtual);
+        return event;
+    }
+
+    private AlertaEstoqueEventDTO alerta(Long produtoId, int quantidade) {
+        AlertaEstoqueEventDTO event = new AlertaEstoqueEventDTO();
+        event.setProdutoId(produtoId);
+        event.setTipoAlerta("LOW_STOCK");
+        event.setPrioridade("HIGH");
+        event.setQuantidadeAtual(quantidade);
+        return event;
+    }
+}
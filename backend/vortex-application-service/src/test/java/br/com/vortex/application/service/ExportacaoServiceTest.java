@@ -0,0 +1,164 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.LucroPorProdutoDTO;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.model.MovimentoEstoque;
+import br.com.vortex.application.model.MovimentoEstoqueArquivo;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import br.com.vortex.application.repository.MovimentoEstoqueArquivoRepository;
+import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import br.com.vortex.application.repository.ProdutoRepository;
+import br.com.vortex.application.repository.TipoProdutoRepository;
+import br.com.vortex.application.service.ExportacaoService.Compressao;
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportacaoServiceTest {
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Autowired
+    private MovimentoEstoqueArquivoRepository movimentoEstoqueArquivoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExportacaoService exportacaoService;
+    private TipoProduto tipoProduto;
+    private Produto produto;
+    private List<Long> movimentoIds;
+    private Long arquivadoId;
+
+    @BeforeEach
+    void setUp() {
+        exportacaoService = new ExportacaoService(movimentoEstoqueRepository, movimentoEstoqueArquivoRepository,
+                transactionManager);
+
+        tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Exportação"));
+        produto = new Produto();
+        produto.setDescricao("Produto exportado");
+        produto.setValorFornecedor(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(100);
+        produto.setTipoProduto(tipoProduto);
+        produto = produtoRepository.save(produto);
+
+        // Período exclusivo do teste, sem os dados iniciais
+        movimentoIds = movimentoEstoqueRepository.saveAll(List.of(
+                movimento(LocalDateTime.of(2030, 2, 1, 8, 0), TipoMovimentacao.ENTRADA, 10),
+                movimento(LocalDateTime.of(2030, 2, 10, 9, 0), TipoMovimentacao.SAIDA, 2),
+                movimento(LocalDateTime.of(2030, 3, 1, 0, 0), TipoMovimentacao.SAIDA, 1)))
+                .stream().map(MovimentoEstoque::getId).toList();
+        arquivadoId = movimentoIds.get(2) + 1000;
+        movimentoEstoqueArquivoRepository.save(new MovimentoEstoqueArquivo(arquivadoId,
+                LocalDateTime.of(2030, 1, 20, 10, 0), TipoMovimentacao.SAIDA, 3, new BigDecimal("13.50"),
+                produto.getId(), LocalDateTime.of(2030, 6, 1, 3, 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        movimentoEstoqueArquivoRepository.deleteById(arquivadoId);
+        movimentoEstoqueRepository.deleteAllByIdInBatch(movimentoIds);
+        produtoRepository.deleteById(produto.getId());
+        tipoProdutoRepository.deleteById(tipoProduto.getId());
+    }
+
+    @Test
+    void testMovimentosDoPeriodoIncluemArquivadosEmOrdemDeData() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long total = exportacaoService.exportarMovimentos(LocalDateTime.of(2030, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 3, 1, 0, 0), Compressao.GZIP, saida);
+
+        assertEquals(3, total);
+        List<String> linhas = linhas(new GZIPInputStream(new ByteArrayInputStream(saida.toByteArray())));
+        Long produtoId = produto.getId();
+        assertEquals(List.of(
+                "id,data_movimento,tipo_movimentacao,quantidade_movimentada,valor_venda,produto_id",
+                arquivadoId + ",2030-01-20T10:00,SAIDA,3,13.50," + produtoId,
+                movimentoIds.get(0) + ",2030-02-01T08:00,ENTRADA,10,," + produtoId,
+                movimentoIds.get(1) + ",2030-02-10T09:00,SAIDA,2,13.50," + produtoId), linhas);
+    }
+
+    @Test
+    void testRelatorioComZstdEscapaCamposDeTexto() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoService.exportarLucroPorProduto(List.of(
+                new LucroPorProdutoDTO(1L, "Cabo \"USB\", 2m", 4, new BigDecimal("12.00"))), Compressao.ZSTD, saida);
+
+        assertEquals(List.of("id,descricao,total_unidades_vendidas,lucro_total", "1,\"Cabo \"\"USB\"\", 2m\",4,12.00"),
+                linhas(new ZstdInputStream(new ByteArrayInputStream(saida.toByteArray()))));
+    }
+
+    @Test
+    void testTextoQueIniciaFormulaEExportadoComoTexto() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoService.exportarLucroPorProduto(List.of(
+                new LucroPorProdutoDTO(1L, "=HYPERLINK(\"http://exemplo.com\")", 1, new BigDecimal("-3.00")),
+                new LucroPorProdutoDTO(2L, "@SOMA(A1)", 1, new BigDecimal("2.00")),
+                new LucroPorProdutoDTO(3L, "-2+3", 1, new BigDecimal("2.00"))), Compressao.NENHUMA, saida);
+
+        assertEquals(List.of("id,descricao,total_unidades_vendidas,lucro_total",
+                        "1,\"'=HYPERLINK(\"\"http://exemplo.com\"\")\",1,-3.00",
+                        "2,'@SOMA(A1),1,2.00",
+                        "3,'-2+3,1,2.00"),
+                linhas(new ByteArrayInputStream(saida.toByteArray())));
+    }
+
+    @Test
+    void testPeriodoInvalidoFalhaAntesDeEscrever() {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertThrows(RegraNegocioException.class, () -> exportacaoService.exportarMovimentos(
+                LocalDateTime.of(2030, 3, 1, 0, 0), LocalDateTime.of(2030, 1, 1, 0, 0), Compressao.NENHUMA, saida));
+        assertEquals(0, saida.size());
+    }
+
+    private static List<String> linhas(InputStream entrada) throws IOException {
+        try (entrada) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private MovimentoEstoque movimento(LocalDateTime data, TipoMovimentacao tipo, int quantidade) {
+        MovimentoEstoque movimento = new MovimentoEstoque();
+        movimento.setDataMovimento(data);
+        movimento.setTipoMovimentacao(tipo);
+        movimento.setQuantidadeMovimentada(quantidade);
+        movimento.setValorVenda(tipo == TipoMovimentacao.SAIDA ? new BigDecimal("13.50") : null);
+        movimento.setProduto(produto);
+        return movimento;
+    }
+}
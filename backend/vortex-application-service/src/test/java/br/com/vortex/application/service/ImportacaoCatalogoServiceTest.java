@@ -0,0 +1,178 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.ErroImportacaoDTO;
+import br.com.vortex.application.dto.ResultadoImportacaoCatalogoDTO;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.repository.TipoProdutoRepository;
+import br.com.vortex.application.service.ImportacaoCatalogoService.Formato;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportacaoCatalogoServiceTest {
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MessageBrokerService messageBrokerService;
+    private ImportacaoCatalogoService importacao;
+    private JdbcTemplate jdbcTemplate;
+    private TipoProduto tipoProduto;
+
+    @BeforeEach
+    void setUp() {
+        // Blocos e lotes pequenos para exercitar vários lotes por importação
+        messageBrokerService = mock(MessageBrokerService.class);
+        when(messageBrokerService.isAvailable()).thenReturn(true);
+        importacao = new ImportacaoCatalogoService(tipoProdutoRepository, new CacheCatalogoService(entityManagerFactory),
+                messageBrokerService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), dataSource,
+                transactionManager, entityManagerFactory, 2, 3, 2, 100);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Importação"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM produto WHERE codigo LIKE 'IMP-%'");
+        tipoProdutoRepository.deleteById(tipoProduto.getId());
+    }
+
+    @Test
+    void testCsvInsereEAtualizaPeloCodigo() throws IOException {
+        ResultadoImportacaoCatalogoDTO primeira = importar(Formato.CSV, """
+                \uFEFFcodigo,descricao,valor_fornecedor,quantidade_em_estoque,tipo_produto
+                IMP-1,"Cabo ""USB"", 2m",10.50,5,importação
+                IMP-2,Mouse,20.00,7,Importação
+                IMP-3,Teclado,35.90,,Importação
+                IMP-4,Monitor,900.00,2,Importação
+                """);
+
+        assertEquals(4, primeira.getLinhasLidas());
+        assertEquals(4, primeira.getInseridos());
+        assertEquals(0, primeira.getRejeitados());
+        Map<String, Object> cabo = produto("IMP-1");
+        assertEquals("Cabo \"USB\", 2m", cabo.get("DESCRICAO"));
+        assertEquals(0, new BigDecimal("10.50").compareTo((BigDecimal) cabo.get("VALOR_FORNECEDOR")));
+        assertEquals(tipoProduto.getId(), ((Number) cabo.get("TIPO_PRODUTO_ID")).longValue());
+        assertEquals(0, ((Number) produto("IMP-3").get("QUANTIDADE_EM_ESTOQUE")).intValue());
+
+        // Na reimportação a quantidade em estoque é ignorada: o saldo pertence aos movimentos
+        ResultadoImportacaoCatalogoDTO segunda = importar(Formato.CSV, """
+                tipo_produto,codigo,valor_fornecedor,descricao,quantidade_em_estoque
+                Importação,IMP-2,22.00,Mouse sem fio,99
+                Importação,IMP-5,5.00,Pilha,30
+                """);
+
+        assertEquals(1, segunda.getInseridos());
+        assertEquals(1, segunda.getAtualizados());
+        Map<String, Object> mouse = produto("IMP-2");
+        assertEquals("Mouse sem fio", mouse.get("DESCRICAO"));
+        assertEquals(0, new BigDecimal("22.00").compareTo((BigDecimal) mouse.get("VALOR_FORNECEDOR")));
+        assertEquals(7, ((Number) mouse.get("QUANTIDADE_EM_ESTOQUE")).intValue());
+
+        // As entidades gravadas por JDBC continuam legíveis pelo JPA, com IDs da mesma sequência
+        Produto lido = entityManagerFactory.createEntityManager().find(Produto.class,
+                ((Number) produto("IMP-5").get("ID")).longValue());
+        assertEquals("IMP-5", lido.getCodigo());
+
+        // As demais instâncias descartam o catálogo em cache a cada importação
+        verify(messageBrokerService, times(2)).publicarInvalidacaoCacheProduto(null);
+    }
+
+    @Test
+    void testLinhasInvalidasSaoRelatadasSemInterromper() throws IOException {
+        ResultadoImportacaoCatalogoDTO resultado = importar(Formato.CSV, """
+                codigo,descricao,valor_fornecedor,quantidade_em_estoque,tipo_produto
+                IMP-1,Válido,1.00,1,Importação
+                IMP-2,Tipo desconhecido,1.00,1,Inexistente
+                IMP-3,Valor inválido,abc,1,Importação
+                ,Sem código,1.00,1,Importação
+                IMP-4,,1.00,1,Importação
+                IMP-5,"Aspas abertas,1.00,1,Importação
+                IMP-6,Valor negativo,-1.00,1,Importação
+                IMP-7,Também válido,2.00,1,Importação
+                """);
+
+        assertEquals(8, resultado.getLinhasLidas());
+        assertEquals(2, resultado.getInseridos());
+        assertEquals(6, resultado.getRejeitados());
+        List<Long> linhas = resultado.getErros().stream().map(ErroImportacaoDTO::getLinha).toList();
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L), linhas);
+        assertTrue(resultado.getErros().get(0).getMensagem().contains("Inexistente"));
+        assertEquals("IMP-3", resultado.getErros().get(1).getCodigo());
+    }
+
+    @Test
+    void testNdjsonComCodigoRepetidoNoArquivo() throws IOException {
+        ResultadoImportacaoCatalogoDTO resultado = importar(Formato.NDJSON, """
+                {"codigo":"IMP-1","descricao":"Primeira","valorFornecedor":1.5,"quantidadeEmEstoque":3,"tipoProduto":"Importação"}
+
+                {"codigo":"IMP-1","descricao":"Segunda","valorFornecedor":2.5,"quantidadeEmEstoque":9,"tipoProduto":"Importação"}
+                [1, 2]
+                """);
+
+        assertEquals(3, resultado.getLinhasLidas());
+        assertEquals(1, resultado.getInseridos());
+        assertEquals(1, resultado.getAtualizados());
+        assertEquals(1, resultado.getRejeitados());
+        assertEquals(4L, resultado.getErros().get(0).getLinha());
+        Map<String, Object> produto = produto("IMP-1");
+        assertEquals("Segunda", produto.get("DESCRICAO"));
+        assertEquals(3, ((Number) produto.get("QUANTIDADE_EM_ESTOQUE")).intValue());
+    }
+
+    @Test
+    void testCabecalhoSemColunasObrigatoriasFalha() {
+        assertThrows(RegraNegocioException.class, () -> importar(Formato.CSV, """
+                codigo,descricao
+                IMP-1,Sem valor
+                """));
+    }
+
+    private ResultadoImportacaoCatalogoDTO importar(Formato formato, String conteudo) throws IOException {
+        return importacao.importar(new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), formato);
+    }
+
+    private Map<String, Object> produto(String codigo) {
+        return jdbcTemplate.queryForMap("SELECT * FROM produto WHERE codigo = ?", codigo);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.vortex.application.service;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.sqs.AbstractAmazonSQSAsync;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResultEntry;
+import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Future;
+
+/**
+ * SQS em memória para testes: registra as chamadas em lote e mantém as mensagens
+ * enviadas por fila (a URL é o próprio nome da fila).
+ */
+class InMemorySqsAsync extends AbstractAmazonSQSAsync {
+
+    final List<SendMessageBatchRequest> lotesEnviados = Collections.synchronizedList(new ArrayList<>());
+    final List<DeleteMessageBatchRequest> lotesExcluidos = Collections.synchronizedList(new ArrayList<>());
+    final Map<String, ConcurrentLinkedDeque<Message>> filas = new ConcurrentHashMap<>();
+
+    @Override
+    public GetQueueUrlResult getQueueUrl(String queueName) {
+        return new GetQueueUrlResult().withQueueUrl(queueName);
+    }
+
+    @Override
+    public Future<SendMessageBatchResult> sendMessageBatchAsync(SendMessageBatchRequest request,
+                                                                AsyncHandler<SendMessageBatchRequest, SendMessageBatchResult> asyncHandler) {
+        lotesEnviados.add(request);
+
+        SendMessageBatchResult result = new SendMessageBatchResult();
+        for (SendMessageBatchRequestEntry entry : request.getEntries()) {
+            String messageId = UUID.randomUUID().toString();
+            adicionar(request.getQueueUrl(), new Message()
+                    .withMessageId(messageId)
+                    .withReceiptHandle(messageId)
+                    .withBody(entry.getMessageBody())
+                    .withMessageAttributes(entry.getMessageAttributes()));
+            result.withSuccessful(new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId(messageId));
+        }
+
+        asyncHandler.onSuccess(request, result);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public ReceiveMessageResult receiveMessage(ReceiveMessageRequest request) {
+        ConcurrentLinkedDeque<Message> fila = filas.getOrDefault(request.getQueueUrl(), new ConcurrentLinkedDeque<>());
+        int maximo = request.getMaxNumberOfMessages() != null ? request.getMaxNumberOfMessages() : 1;
+
+        List<Message> recebidas = new ArrayList<>();
+        Message message;
+        while (recebidas.size() < maximo && (message = fila.poll()) != null) {
+            recebidas.add(message);
+        }
+        return new ReceiveMessageResult().withMessages(recebidas);
+    }
+
+    @Override
+    public DeleteMessageBatchResult deleteMessageBatch(DeleteMessageBatchRequest request) {
+        lotesExcluidos.add(request);
+
+        DeleteMessageBatchResult result = new DeleteMessageBatchResult();
+        request.getEntries().forEach(entry -> result.withSuccessful(new DeleteMessageBatchResultEntry().withId(entry.getId())));
+        return result;
+    }
+
+    void adicionar(String fila, Message message) {
+        filas.computeIfAbsent(fila, nome -> new ConcurrentLinkedDeque<>()).add(message);
+    }
+
+    List<Message> mensagens(String fila) {
+        return new ArrayList<>(filas.getOrDefault(fila, new ConcurrentLinkedDeque<>()));
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.DescribeConsumerGroupsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.MemberAssignment;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KafkaQueueMetricsCollectorTest {
+
+    private static final String TOPICO = "vortex.movimento.estoque";
+    private static final String GRUPO = "vortex-movimento-group";
+
+    @Test
+    void testCalculaLagPorParticaoEConsumidoresDoGrupo() throws Exception {
+        Node node = new Node(0, "localhost", 9092);
+        TopicPartition p0 = new TopicPartition(TOPICO, 0);
+        TopicPartition p1 = new TopicPartition(TOPICO, 1);
+
+        Admin admin = mock(Admin.class);
+
+        DescribeTopicsResult topicos = mock(DescribeTopicsResult.class);
+        when(topicos.allTopicNames()).thenReturn(KafkaFuture.completedFuture(Map.of(TOPICO,
+                new TopicDescription(TOPICO, false, List.of(
+                        new TopicPartitionInfo(0, node, List.of(node), List.of(node)),
+                        new TopicPartitionInfo(1, node, List.of(node), List.of(node)))))));
+        when(admin.describeTopics(anyCollection())).thenReturn(topicos);
+
+        ListOffsetsResult offsets = new ListOffsetsResult(Map.of(
+                p0, KafkaFuture.completedFuture(new ListOffsetsResult.ListOffsetsResultInfo(120, -1, Optional.empty())),
+                p1, KafkaFuture.completedFuture(new ListOffsetsResult.ListOffsetsResultInfo(80, -1, Optional.empty()))));
+        when(admin.listOffsets(anyMap())).thenReturn(offsets);
+
+        ListConsumerGroupOffsetsResult confirmados = mock(ListConsumerGroupOffsetsResult.class);
+        when(confirmados.all()).thenReturn(KafkaFuture.completedFuture(Map.of(GRUPO, Map.of(
+                p0, new OffsetAndMetadata(100),
+                p1, new OffsetAndMetadata(80)))));
+        when(admin.listConsumerGroupOffsets(anyMap())).thenReturn(confirmados);
+
+        DescribeConsumerGroupsResult grupos = mock(DescribeConsumerGroupsResult.class);
+        ConsumerGroupDescription grupo = mock(ConsumerGroupDescription.class);
+        when(grupo.members()).thenReturn(List.of(
+                new MemberDescription("m1", "c1", "host", new MemberAssignment(Set.of(p0))),
+                new MemberDescription("m2", "c2", "host", new MemberAssignment(Set.of(p1)))));
+        when(grupos.all()).thenReturn(KafkaFuture.completedFuture(Map.of(GRUPO, grupo)));
+        when(admin.describeConsumerGroups(anyCollection())).thenReturn(grupos);
+
+        KafkaQueueMetricsCollector coletor = new KafkaQueueMetricsCollector(() -> admin, List.of(TOPICO), List.of(GRUPO), 1000);
+        List<AmostraFilaDTO> amostras = coletor.coletar();
+
+        assertEquals(1, amostras.size());
+        AmostraFilaDTO amostra = amostras.get(0);
+        assertEquals(200L, amostra.getOffsetFinal());
+        assertEquals(20L, amostra.getLag());
+        assertEquals(Map.of(0, 20L, 1, 0L), amostra.getLagPorParticao());
+        assertEquals(2, amostra.getConsumidores());
+    }
+}
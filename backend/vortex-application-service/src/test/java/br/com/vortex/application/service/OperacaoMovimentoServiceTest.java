@@ -0,0 +1,160 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueMessageDTO;
+import br.com.vortex.application.dto.OperacaoMovimentoDTO;
+import br.com.vortex.application.exception.ResourceNotFoundException;
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import br.com.vortex.application.repository.OperacaoMovimentoRepository;
+import br.com.vortex.application.service.OperacaoMovimentoService.Conclusao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OperacaoMovimentoServiceTest {
+
+    @Autowired
+    private OperacaoMovimentoRepository operacaoMovimentoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private RelogioAjustavel relogio;
+    private OperacaoMovimentoService service;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        relogio = new RelogioAjustavel();
+        service = novaInstancia();
+    }
+
+    @AfterEach
+    void tearDown() {
+        operacaoMovimentoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testEsperaELiberadaSomenteAposOCommitDoConsumidor() throws Exception {
+        MovimentoEstoqueMessageDTO message = mensagem("op-1");
+        assertEquals(StatusOperacaoMovimento.PENDENTE, service.registrarPendente(message).getStatus());
+
+        CompletableFuture<OperacaoMovimentoDTO> espera = service.aguardarConclusao("op-1", Duration.ofSeconds(5));
+        assertEquals(1, service.getEsperasAtivas());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            service.concluirTodas(List.of(new Conclusao(message, StatusOperacaoMovimento.APLICADO, 42L)));
+            assertFalse(espera.isDone());
+        });
+
+        OperacaoMovimentoDTO resultado = espera.get(1, TimeUnit.SECONDS);
+        assertEquals(StatusOperacaoMovimento.APLICADO, resultado.getStatus());
+        assertEquals(42L, resultado.getMovimentoId());
+        assertEquals(0, service.getEsperasAtivas());
+        assertTrue(service.aguardarConclusao("op-1", Duration.ofSeconds(5)).isDone());
+    }
+
+    @Test
+    void testRollbackMantemPendenteEEsperaTerminaPeloTempoLimite() throws Exception {
+        MovimentoEstoqueMessageDTO message = mensagem("op-1");
+        service.registrarPendente(message);
+        CompletableFuture<OperacaoMovimentoDTO> espera = service.aguardarConclusao("op-1", Duration.ofMillis(300));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            message.setMotivoErro("Estoque insuficiente");
+            service.concluirTodas(List.of(new Conclusao(message, StatusOperacaoMovimento.ESTOQUE_INSUFICIENTE, null)));
+            throw new IllegalStateException("falha inesperada no lote");
+        }));
+
+        assertEquals(StatusOperacaoMovimento.PENDENTE, espera.get(2, TimeUnit.SECONDS).getStatus());
+        assertEquals(StatusOperacaoMovimento.PENDENTE, service.buscar("op-1").getStatus());
+    }
+
+    @Test
+    void testEsperaReleDoBancoResultadoGravadoPorOutraInstancia() throws Exception {
+        MovimentoEstoqueMessageDTO message = mensagem("op-1");
+        service.registrarPendente(message);
+        CompletableFuture<OperacaoMovimentoDTO> espera = service.aguardarConclusao("op-1", Duration.ofMillis(300));
+
+        message.setMotivoErro("Número máximo de tentativas excedido");
+        novaInstancia().concluirTodas(List.of(new Conclusao(message, StatusOperacaoMovimento.DLQ, null)));
+
+        OperacaoMovimentoDTO resultado = espera.get(2, TimeUnit.SECONDS);
+        assertEquals(StatusOperacaoMovimento.DLQ, resultado.getStatus());
+        assertEquals("Número máximo de tentativas excedido", resultado.getMotivo());
+    }
+
+    @Test
+    void testOperacaoInexistenteEAntigasSaoRemovidas() {
+        assertThrows(ResourceNotFoundException.class, () -> service.aguardarConclusao("op-x", Duration.ofSeconds(1)));
+
+        service.registrarPendente(mensagem("op-1"));
+        relogio.avancar(Duration.ofHours(73));
+        service.registrarPendente(mensagem("op-2"));
+        service.limpar();
+
+        assertFalse(service.consultar("op-1").isPresent());
+        assertTrue(service.consultar("op-2").isPresent());
+    }
+
+    private OperacaoMovimentoService novaInstancia() {
+        return new OperacaoMovimentoService(operacaoMovimentoRepository, transactionManager, 100,
+                Duration.ofSeconds(30), Duration.ofHours(72), relogio);
+    }
+
+    private MovimentoEstoqueMessageDTO mensagem(String operationId) {
+        MovimentoEstoqueMessageDTO message = new MovimentoEstoqueMessageDTO();
+        message.setOperationId(operationId);
+        message.setProdutoId(1L);
+        message.setTipoMovimentacao(TipoMovimentacao.SAIDA);
+        message.setQuantidadeMovimentada(5);
+        return message;
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
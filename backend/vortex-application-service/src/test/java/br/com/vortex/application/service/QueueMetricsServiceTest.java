@@ -0,0 +1,145 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueueMetricsServiceTest {
+
+    private static final String TOPICO = "vortex.movimento.estoque";
+
+    private RelogioAjustavel relogio;
+    private ColetorRoteirizado coletor;
+    private QueueMetricsService service;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel();
+        coletor = new ColetorRoteirizado();
+        service = new QueueMetricsService(List.of(coletor), 3, relogio);
+    }
+
+    @Test
+    void testCalculaTaxaETendenciaDoLagAPartirDoHistorico() {
+        coletor.proxima(amostra(1_000, 100));
+        service.amostrar();
+        assertEquals(0.0, service.obterUltimaAmostra(TOPICO).getTaxaMensagens());
+
+        relogio.avancar(Duration.ofSeconds(10));
+        coletor.proxima(amostra(1_500, 150));
+        service.amostrar();
+
+        AmostraFilaDTO ultima = service.obterUltimaAmostra(TOPICO);
+        assertEquals(50.0, ultima.getTaxaMensagens());
+        assertEquals(150L, ultima.getLag());
+        assertEquals(5.0, service.obterTendenciaLag(TOPICO));
+    }
+
+    @Test
+    void testHistoricoSobrescreveAmostrasMaisAntigas() {
+        for (int i = 0; i < 5; i++) {
+            coletor.proxima(amostra(i * 100L, i * 10L));
+            service.amostrar();
+            relogio.avancar(Duration.ofSeconds(1));
+        }
+
+        List<AmostraFilaDTO> historico = service.obterHistorico(TOPICO);
+        assertEquals(3, historico.size());
+        assertEquals(200L, historico.get(0).getOffsetFinal());
+        assertEquals(400L, historico.get(2).getOffsetFinal());
+        assertNull(historico.get(0).getTaxaMensagens());
+        assertEquals(100.0, historico.get(2).getTaxaMensagens());
+        assertEquals(10.0, service.obterTendenciaLag(TOPICO));
+    }
+
+    @Test
+    void testFalhaDoBrokerMantemUltimaAmostraEMarcaDesconectado() {
+        coletor.proxima(amostra(1_000, 5));
+        service.amostrar();
+        assertEquals(QueueMetricsService.STATUS_CONECTADO, service.obterStatusColeta("Kafka").get("status"));
+
+        coletor.falhar("broker indisponível");
+        service.amostrar();
+
+        Map<String, Object> status = service.obterStatusColeta("Kafka");
+        assertEquals(QueueMetricsService.STATUS_DESCONECTADO, status.get("status"));
+        assertEquals("broker indisponível", status.get("erro"));
+        assertEquals(1_000L, service.obterUltimaAmostra(TOPICO).getOffsetFinal());
+        assertEquals(QueueMetricsService.STATUS_DESCONHECIDO, service.obterStatusColeta("RabbitMQ").get("status"));
+    }
+
+    private AmostraFilaDTO amostra(long offsetFinal, long lag) {
+        AmostraFilaDTO amostra = new AmostraFilaDTO();
+        amostra.setNome(TOPICO);
+        amostra.setTipo("Kafka");
+        amostra.setOffsetFinal(offsetFinal);
+        amostra.setLag(lag);
+        amostra.setMensagens(lag);
+        amostra.setConsumidores(1);
+        return amostra;
+    }
+
+    private static class ColetorRoteirizado implements QueueMetricsCollector {
+
+        private final Deque<Object> roteiro = new ArrayDeque<>();
+
+        void proxima(AmostraFilaDTO amostra) {
+            roteiro.add(amostra);
+        }
+
+        void falhar(String mensagem) {
+            roteiro.add(new IllegalStateException(mensagem));
+        }
+
+        @Override
+        public String getTipo() {
+            return "Kafka";
+        }
+
+        @Override
+        public List<AmostraFilaDTO> coletar() {
+            Object proximo = roteiro.poll();
+            if (proximo instanceof RuntimeException e) {
+                throw e;
+            }
+            return List.of((AmostraFilaDTO) proximo);
+        }
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AmostraFilaDTO;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.impl.AMQImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RabbitMQQueueMetricsCollectorTest {
+
+    @Test
+    void testFilaInexistenteNaoImpedeAColetaDasDemais() throws Exception {
+        Channel canal = mock(Channel.class);
+        when(canal.queueDeclarePassive("vortex.a")).thenReturn(new AMQImpl.Queue.DeclareOk("vortex.a", 7, 1));
+        when(canal.queueDeclarePassive("vortex.inexistente")).thenThrow(new IOException("NOT_FOUND - no queue"));
+        when(canal.queueDeclarePassive("vortex.b")).thenReturn(new AMQImpl.Queue.DeclareOk("vortex.b", 0, 2));
+
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.execute(any())).thenAnswer(invocacao -> {
+            ChannelCallback<AMQP.Queue.DeclareOk> callback = invocacao.getArgument(0);
+            try {
+                return callback.doInRabbit(canal);
+            } catch (Exception e) {
+                throw RabbitExceptionTranslator.convertRabbitAccessException(e);
+            }
+        });
+
+        RabbitMQQueueMetricsCollector collector = new RabbitMQQueueMetricsCollector(rabbitTemplate,
+                List.of(new Queue("vortex.a"), new Queue("vortex.inexistente"), new Queue("vortex.b")));
+
+        List<AmostraFilaDTO> amostras = collector.coletar();
+
+        assertEquals(List.of("vortex.a", "vortex.b"), amostras.stream().map(AmostraFilaDTO::getNome).toList());
+        assertEquals(7L, amostras.get(0).getMensagens());
+        assertEquals(2, amostras.get(1).getConsumidores());
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.model.MensagemProcessada;
+import br.com.vortex.application.repository.MensagemProcessadaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RegistroMensagensProcessadasTest {
+
+    private static final String CONSUMIDOR = "sqs-movimentos";
+
+    @Autowired
+    private MensagemProcessadaRepository mensagemProcessadaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private RegistroMensagensProcessadas registro;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        registro = novaInstancia();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mensagemProcessadaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRegistroSoValeAposOCommit() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            registro.registrar(CONSUMIDOR, "op-1");
+            throw new IllegalStateException("falha ao aplicar o estoque");
+        }));
+        assertFalse(registro.jaProcessada(CONSUMIDOR, "op-1"));
+
+        transactionTemplate.executeWithoutResult(status -> registro.registrar(CONSUMIDOR, "op-1"));
+        assertTrue(registro.jaProcessada(CONSUMIDOR, "op-1"));
+        assertFalse(registro.jaProcessada("kafka-movimentos", "op-1"));
+    }
+
+    @Test
+    void testReentregaRecenteEDescartadaSemConsultarOBanco() {
+        transactionTemplate.executeWithoutResult(status -> registro.registrarTodas(CONSUMIDOR, List.of("op-1", "op-2")));
+
+        assertEquals(Set.of("op-1", "op-2"), registro.filtrarProcessadas(CONSUMIDOR, List.of("op-1", "op-2", "op-3")));
+        assertEquals(2, registro.getDescartadasEmMemoria());
+        assertEquals(0, registro.getDescartadasNoBanco());
+
+        // Outra instância (LRU vazio) encontra o registro no banco
+        RegistroMensagensProcessadas outraInstancia = novaInstancia();
+        assertTrue(outraInstancia.jaProcessada(CONSUMIDOR, "op-2"));
+        assertEquals(1, outraInstancia.getDescartadasNoBanco());
+    }
+
+    @Test
+    void testEntregasConcorrentesNaoConfirmamDuasVezes() {
+        RegistroMensagensProcessadas outraInstancia = novaInstancia();
+        transactionTemplate.executeWithoutResult(status -> registro.registrar(CONSUMIDOR, "op-1"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> transactionTemplate.executeWithoutResult(
+                status -> outraInstancia.registrar(CONSUMIDOR, "op-1")));
+    }
+
+    @Test
+    void testRegistrosExpiradosSaoRemovidos() {
+        LocalDateTime agora = LocalDateTime.now();
+        mensagemProcessadaRepository.save(new MensagemProcessada(CONSUMIDOR + ":antiga", CONSUMIDOR, agora.minusDays(8), agora.minusDays(1)));
+        mensagemProcessadaRepository.save(new MensagemProcessada(CONSUMIDOR + ":recente", CONSUMIDOR, agora, agora.plusDays(7)));
+
+        registro.limparExpiradas();
+
+        assertFalse(novaInstancia().jaProcessada(CONSUMIDOR, "antiga"));
+        assertTrue(novaInstancia().jaProcessada(CONSUMIDOR, "recente"));
+    }
+
+    private RegistroMensagensProcessadas novaInstancia() {
+        return new RegistroMensagensProcessadas(mensagemProcessadaRepository, Duration.ofDays(7), 1000, Clock.systemDefaultZone());
+    }
+}
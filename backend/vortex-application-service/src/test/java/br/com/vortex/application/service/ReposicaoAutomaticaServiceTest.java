@@ -0,0 +1,125 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.AlertaEstoqueEventDTO;
+import br.com.vortex.application.model.PedidoReposicao;
+import br.com.vortex.application.model.enums.StatusPedidoReposicao;
+import br.com.vortex.application.repository.PedidoReposicaoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReposicaoAutomaticaServiceTest {
+
+    @Autowired
+    private PedidoReposicaoRepository pedidoReposicaoRepository;
+
+    private ReposicaoAutomaticaService service;
+
+    @BeforeEach
+    void setUp() {
+        service = novaInstancia();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoReposicaoRepository.deleteAll();
+    }
+
+    @Test
+    void testAlertasRepetidosGeramUmUnicoPedidoETicket() {
+        AlertaEstoqueEventDTO primeiro = alerta(1L);
+        Optional<PedidoReposicao> pedido = service.abrirPedido(primeiro);
+        assertTrue(pedido.isPresent());
+        assertEquals(15, pedido.get().getQuantidadeSolicitada());
+        assertTrue(service.registrarTicket(primeiro));
+
+        // Reentrega do mesmo alerta e novos alertas do mesmo produto
+        assertFalse(service.abrirPedido(primeiro).isPresent());
+        assertFalse(service.registrarTicket(primeiro));
+        AlertaEstoqueEventDTO outro = alerta(1L);
+        assertFalse(service.abrirPedido(outro).isPresent());
+        assertFalse(service.registrarTicket(outro));
+
+        assertEquals(1, pedidoReposicaoRepository.count());
+        assertEquals(1, service.getPedidosCriados());
+        assertEquals(1, service.getTicketsCriados());
+        assertEquals(4, service.getAlertasDuplicados());
+    }
+
+    @Test
+    void testInstanciasDiferentesNaoAbremPedidoDuplicado() {
+        ReposicaoAutomaticaService outraInstancia = novaInstancia();
+        AlertaEstoqueEventDTO alerta = alerta(2L);
+
+        assertTrue(service.abrirPedido(alerta).isPresent());
+        assertFalse(outraInstancia.abrirPedido(alerta(2L)).isPresent());
+        assertTrue(outraInstancia.registrarTicket(alerta));
+        assertFalse(service.registrarTicket(alerta(2L)));
+
+        assertEquals(1, pedidoReposicaoRepository.count());
+    }
+
+    @Test
+    void testTicketDesfeitoPermiteNovaTentativaDoMesmoAlerta() {
+        AlertaEstoqueEventDTO alerta = alerta(3L);
+        PedidoReposicao pedido = service.abrirPedido(alerta).orElseThrow();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(service.registrarTicket(alerta));
+            // Transação do consumidor desfeita: a marcação do ticket não vale
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        pedido = pedidoReposicaoRepository.findById(pedido.getId()).orElseThrow();
+        pedido.setTicketCriado(false);
+        pedidoReposicaoRepository.save(pedido);
+
+        assertTrue(service.registrarTicket(alerta));
+        assertFalse(service.registrarTicket(alerta));
+    }
+
+    @Test
+    void testPedidoFechadoLiberaNovoPedidoParaOProduto() {
+        PedidoReposicao pedido = service.abrirPedido(alerta(3L)).orElseThrow();
+        service.fechar(pedido.getId(), StatusPedidoReposicao.ATENDIDO);
+
+        assertTrue(service.abrirPedido(alerta(3L)).isPresent());
+        assertEquals(1, service.listar(StatusPedidoReposicao.ABERTO).size());
+        assertEquals(1, service.listar(StatusPedidoReposicao.ATENDIDO).size());
+    }
+
+    private ReposicaoAutomaticaService novaInstancia() {
+        return new ReposicaoAutomaticaService(pedidoReposicaoRepository, 2, 1000, 60_000, Clock.systemDefaultZone());
+    }
+
+    private AlertaEstoqueEventDTO alerta(Long produtoId) {
+        AlertaEstoqueEventDTO alerta = new AlertaEstoqueEventDTO();
+        alerta.setEventId(UUID.randomUUID().toString());
+        alerta.setProdutoId(produtoId);
+        alerta.setTipoAlerta("ESTOQUE_CRITICO");
+        alerta.setPrioridade("CRITICAL");
+        alerta.setQuantidadeMinima(10);
+        alerta.setQuantidadeAtual(5);
+        alerta.setAcaoImediata(true);
+        return alerta;
+    }
+}
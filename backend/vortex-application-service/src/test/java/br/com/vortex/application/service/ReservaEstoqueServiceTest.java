@@ -0,0 +1,318 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueMessageDTO;
+import br.com.vortex.application.dto.OperacaoMovimentoDTO;
+import br.com.vortex.application.dto.ReservaEstoqueDTO;
+import br.com.vortex.application.exception.EstoqueInsuficienteException;
+import br.com.vortex.application.exception.RegraNegocioException;
+import br.com.vortex.application.exception.ResourceNotFoundException;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.ReservaEstoque;
+import br.com.vortex.application.model.TipoProduto;
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import br.com.vortex.application.model.enums.StatusReservaEstoque;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import br.com.vortex.application.repository.ProdutoRepository;
+import br.com.vortex.application.repository.ReservaEstoqueRepository;
+import br.com.vortex.application.repository.TipoProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservaEstoqueServiceTest {
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TipoProdutoRepository tipoProdutoRepository;
+
+    @Autowired
+    private ReservaEstoqueRepository reservaEstoqueRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private RelogioAjustavel relogio;
+    private OperacaoMovimentoService operacaoMovimentoService;
+    private ReservaEstoqueService reservas;
+    private MovimentoEstoqueService movimentoEstoqueService;
+    private TipoProduto tipoProduto;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel();
+        operacaoMovimentoService = mock(OperacaoMovimentoService.class);
+        reservas = novaInstancia(() -> movimentoEstoqueService);
+        movimentoEstoqueService = new MovimentoEstoqueService(movimentoEstoqueRepository,
+                produtoRepository, mock(SqsProducerService.class), mock(MessageBrokerService.class),
+                mock(AlertaEstoqueCoalescer.class), mock(OperacaoMovimentoService.class),
+                new RetentativaConflitoExecutor(transactionManager, 3, 0), reservas);
+
+        tipoProduto = tipoProdutoRepository.save(new TipoProduto(null, "Reservas"));
+        produto = new Produto();
+        produto.setDescricao("Produto reservado");
+        produto.setValorFornecedor(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(10);
+        produto.setTipoProduto(tipoProduto);
+        produto = produtoRepository.save(produto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaEstoqueRepository.deleteAllInBatch();
+        new JdbcTemplate(dataSource).update("DELETE FROM movimento_estoque WHERE produto_id = ?", produto.getId());
+        produtoRepository.deleteById(produto.getId());
+        tipoProdutoRepository.deleteById(tipoProduto.getId());
+    }
+
+    @Test
+    void testReservaDescontaDisponibilidadeEConfirmacaoCriaSaida() {
+        ReservaEstoqueDTO reserva = reservas.reservar(reserva(4, null));
+        assertEquals(StatusReservaEstoque.ATIVA, reserva.getStatus());
+        assertEquals(StatusReservaEstoque.ATIVA, reservaEstoqueRepository.findById(reserva.getId()).orElseThrow().getStatus());
+        assertEquals(6, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeDisponivel());
+        assertThrows(EstoqueInsuficienteException.class, () -> reservas.reservar(reserva(7, null)));
+
+        MovimentoEstoqueDTO saida = reservas.confirmar(reserva.getId());
+
+        assertEquals(TipoMovimentacao.SAIDA, saida.getTipoMovimentacao());
+        assertEquals(4, saida.getQuantidadeMovimentada());
+        assertEquals(6, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEmEstoque());
+        assertEquals(0, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeReservada());
+        assertThrows(ResourceNotFoundException.class, () -> reservas.confirmar(reserva.getId()));
+
+        ReservaEstoque gravada = reservaEstoqueRepository.findById(reserva.getId()).orElseThrow();
+        assertEquals(StatusReservaEstoque.CONFIRMADA, gravada.getStatus());
+        assertEquals(saida.getId(), gravada.getMovimentoId());
+    }
+
+    @Test
+    void testSaidasDiretasNaoConsomemEstoqueReservado() {
+        ReservaEstoqueDTO reserva = reservas.reservar(reserva(8, null));
+
+        assertThrows(EstoqueInsuficienteException.class, () -> movimentoEstoqueService.criar(saidaDireta(3)));
+        MovimentoEstoqueDTO saida = movimentoEstoqueService.criar(saidaDireta(2));
+        assertEquals(8, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEmEstoque());
+
+        // Nem uma saída gravada por fora do serviço deixa o estoque abaixo do reservado
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "UPDATE produto SET quantidade_em_estoque = 7 WHERE id = ?", produto.getId()));
+
+        // A reserva continua garantida
+        reservas.confirmar(reserva.getId());
+        assertEquals(0, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEmEstoque());
+        assertEquals(0, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeReservada());
+        assertEquals(2, movimentoEstoqueRepository.findById(saida.getId()).orElseThrow().getQuantidadeMovimentada());
+    }
+
+    @Test
+    void testReservasNaoConfirmadasExpiramPelaRoda() {
+        ReservaEstoqueDTO reserva = reservas.reservar(reserva(3, 30));
+        assertThrows(RegraNegocioException.class, () -> reservas.reservar(reserva(1, 7200)));
+
+        relogio.avancar(Duration.ofSeconds(29));
+        assertEquals(0, reservas.expirar());
+        assertEquals(7, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeDisponivel());
+
+        relogio.avancar(Duration.ofSeconds(2));
+        assertEquals(1, reservas.expirar());
+
+        assertEquals(10, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeDisponivel());
+        assertEquals(StatusReservaEstoque.EXPIRADA, reservas.buscar(reserva.getId()).getStatus());
+        assertThrows(ResourceNotFoundException.class, () -> reservas.cancelar(reserva.getId()));
+    }
+
+    @Test
+    void testReservasSaoCompartilhadasEntreInstancias() {
+        ReservaEstoqueService outraInstancia = novaInstancia(() -> movimentoEstoqueService);
+        ReservaEstoqueDTO longa = reservas.reservar(reserva(2, 60));
+        ReservaEstoqueDTO curta = reservas.reservar(reserva(3, 10));
+        ReservaEstoqueDTO cancelada = reservas.reservar(reserva(1, 60));
+
+        // A outra instância enxerga as reservas desta e pode concluí-las
+        assertEquals(6, outraInstancia.consultarDisponibilidade(produto.getId()).getQuantidadeReservada());
+        assertThrows(EstoqueInsuficienteException.class, () -> outraInstancia.reservar(reserva(5, null)));
+        outraInstancia.cancelar(cancelada.getId());
+        assertThrows(ResourceNotFoundException.class, () -> reservas.cancelar(cancelada.getId()));
+
+        // Esta instância para; a reserva curta vence e é expirada pela varredura da outra
+        relogio.avancar(Duration.ofSeconds(20));
+        assertEquals(1, outraInstancia.expirarVencidas());
+        assertEquals(2, outraInstancia.consultarDisponibilidade(produto.getId()).getQuantidadeReservada());
+        assertEquals(StatusReservaEstoque.EXPIRADA, outraInstancia.buscar(curta.getId()).getStatus());
+
+        // A roda desta instância não expira de novo o que já foi concluído
+        relogio.avancar(Duration.ofSeconds(41));
+        assertEquals(1, reservas.expirar());
+        assertEquals(0, outraInstancia.expirarVencidas());
+        assertEquals(StatusReservaEstoque.EXPIRADA, outraInstancia.buscar(longa.getId()).getStatus());
+        assertEquals(0, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeReservada());
+    }
+
+    @Test
+    void testDisponibilidadeLeOSaldoDoBancoENaoDoCache() {
+        assertEquals(10, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeEmEstoque());
+
+        // Saída gravada por outra instância: o cache de segundo nível desta não fica sabendo
+        new JdbcTemplate(dataSource).update("UPDATE produto SET quantidade_em_estoque = 3 WHERE id = ?", produto.getId());
+
+        assertEquals(3, reservas.consultarDisponibilidade(produto.getId()).getQuantidadeDisponivel());
+        assertThrows(EstoqueInsuficienteException.class, () -> reservas.reservar(reserva(4, null)));
+    }
+
+    @Test
+    void testConfirmacaoAssincronaSoLiberaAReservaQuandoASaidaEAplicada() {
+        MovimentoEstoqueService assincrono = mock(MovimentoEstoqueService.class);
+        MovimentoEstoqueDTO enviada = new MovimentoEstoqueDTO();
+        enviada.setOperationId("op-1");
+        when(assincrono.criar(any(MovimentoEstoqueDTO.class), isNull(), anyString())).thenReturn(enviada);
+        ReservaEstoqueService reservasAssincronas = novaInstancia(() -> assincrono);
+        OperacaoMovimentoDTO operacao = new OperacaoMovimentoDTO();
+        operacao.setOperationId("op-1");
+        operacao.setStatus(StatusOperacaoMovimento.PENDENTE);
+        when(operacaoMovimentoService.consultar("op-1")).thenReturn(Optional.of(operacao));
+
+        ReservaEstoqueDTO reserva = reservasAssincronas.reservar(reserva(4, 30));
+        assertEquals(null, reservasAssincronas.confirmar(reserva.getId()).getId());
+
+        // Sem a saída gravada a quantidade continua reservada, mesmo depois do vencimento da reserva
+        relogio.avancar(Duration.ofSeconds(31));
+        assertEquals(0, reservasAssincronas.expirar());
+        assertEquals(0, reservasAssincronas.expirarVencidas());
+        assertEquals(0, reservasAssincronas.acompanharConfirmacoes());
+        assertEquals(4, reservasAssincronas.consultarDisponibilidade(produto.getId()).getQuantidadeReservada());
+        ReservaEstoqueDTO emConfirmacao = reservasAssincronas.buscar(reserva.getId());
+        assertEquals(StatusReservaEstoque.CONFIRMANDO, emConfirmacao.getStatus());
+        assertEquals("op-1", emConfirmacao.getOperationId());
+
+        // O consumidor aplica a saída e consome a reserva na mesma transação
+        SqsConsumerService consumidor = new SqsConsumerService(movimentoEstoqueRepository, produtoRepository,
+                mock(SqsProducerService.class), mock(AlertaEstoqueCoalescer.class), mock(RegistroMensagensProcessadas.class),
+                mock(OperacaoMovimentoService.class), mock(MessageBrokerService.class), reservasAssincronas);
+        MovimentoEstoqueMessageDTO mensagem = new MovimentoEstoqueMessageDTO();
+        mensagem.setOperationId("op-1");
+        mensagem.setTipoMovimentacao(TipoMovimentacao.SAIDA);
+        mensagem.setQuantidadeMovimentada(4);
+        mensagem.setProdutoId(produto.getId());
+        mensagem.setReservaId(reserva.getId());
+        Integer aplicados = new TransactionTemplate(transactionManager).execute(status ->
+                consumidor.processarLoteMovimentos(List.of(mensagem)));
+        assertEquals(1, aplicados);
+
+        assertEquals(6, produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEmEstoque());
+        assertEquals(0, reservasAssincronas.consultarDisponibilidade(produto.getId()).getQuantidadeReservada());
+        ReservaEstoque gravada = reservaEstoqueRepository.findById(reserva.getId()).orElseThrow();
+        assertEquals(StatusReservaEstoque.CONFIRMADA, gravada.getStatus());
+        assertNotNull(gravada.getMovimentoId());
+        operacao.setStatus(StatusOperacaoMovimento.APLICADO);
+        assertEquals(0, reservasAssincronas.acompanharConfirmacoes());
+    }
+
+    @Test
+    void testSaidaAssincronaRecusadaCancelaAReserva() {
+        MovimentoEstoqueService assincrono = mock(MovimentoEstoqueService.class);
+        MovimentoEstoqueDTO enviada = new MovimentoEstoqueDTO();
+        enviada.setOperationId("op-2");
+        when(assincrono.criar(any(MovimentoEstoqueDTO.class), isNull(), anyString())).thenReturn(enviada);
+        ReservaEstoqueService reservasAssincronas = novaInstancia(() -> assincrono);
+        OperacaoMovimentoDTO operacao = new OperacaoMovimentoDTO();
+        operacao.setOperationId("op-2");
+        operacao.setStatus(StatusOperacaoMovimento.ESTOQUE_INSUFICIENTE);
+        when(operacaoMovimentoService.consultar("op-2")).thenReturn(Optional.of(operacao));
+
+        ReservaEstoqueDTO reserva = reservasAssincronas.reservar(reserva(4, null));
+        reservasAssincronas.confirmar(reserva.getId());
+
+        assertEquals(1, reservasAssincronas.acompanharConfirmacoes());
+        assertEquals(0, reservasAssincronas.acompanharConfirmacoes());
+        assertEquals(10, reservasAssincronas.consultarDisponibilidade(produto.getId()).getQuantidadeDisponivel());
+        assertEquals(StatusReservaEstoque.CANCELADA, reservasAssincronas.buscar(reserva.getId()).getStatus());
+    }
+
+    private ReservaEstoqueService novaInstancia(Supplier<MovimentoEstoqueService> movimentoEstoqueService) {
+        return new ReservaEstoqueService(reservaEstoqueRepository, movimentoEstoqueService, operacaoMovimentoService,
+                dataSource, transactionManager, Duration.ofMinutes(10), Duration.ofHours(1),
+                Duration.ofSeconds(1), Duration.ofHours(72), relogio);
+    }
+
+    private MovimentoEstoqueDTO saidaDireta(int quantidade) {
+        MovimentoEstoqueDTO movimento = new MovimentoEstoqueDTO();
+        movimento.setTipoMovimentacao(TipoMovimentacao.SAIDA);
+        movimento.setQuantidadeMovimentada(quantidade);
+        movimento.setProdutoId(produto.getId());
+        return movimento;
+    }
+
+    private ReservaEstoqueDTO reserva(int quantidade, Integer validadeSegundos) {
+        ReservaEstoqueDTO reserva = new ReservaEstoqueDTO();
+        reserva.setProdutoId(produto.getId());
+        reserva.setQuantidade(quantidade);
+        reserva.setValidadeSegundos(validadeSegundos);
+        return reserva;
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora = Instant.parse("2025-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
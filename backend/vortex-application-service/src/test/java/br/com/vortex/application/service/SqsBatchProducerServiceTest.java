@@ -0,0 +1,77 @@
+package br.com.vortex.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqsBatchProducerServiceTest {
+
+    private static final String FILA = "fila-teste";
+
+    private InMemorySqsAsync sqs;
+    private SqsBatchProducerService producer;
+
+    @BeforeEach
+    void setUp() {
+        sqs = new InMemorySqsAsync();
+        producer = new SqsBatchProducerService(sqs, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        producer.encerrar();
+    }
+
+    @Test
+    void testEnvioAgrupaAteDezMensagensPorChamada() throws Exception {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(producer.enviar(FILA, "mensagem-" + i, Map.of()));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(2, TimeUnit.SECONDS);
+
+        assertEquals(3, sqs.lotesEnviados.size());
+        assertEquals(10, sqs.lotesEnviados.get(0).getEntries().size());
+        assertEquals(10, sqs.lotesEnviados.get(1).getEntries().size());
+        assertEquals(5, sqs.lotesEnviados.get(2).getEntries().size());
+        assertEquals(25, sqs.mensagens(FILA).size());
+    }
+
+    @Test
+    void testLoteDivididoAoAtingirLimiteDeBytes() throws Exception {
+        String corpo = "x".repeat(100 * 1024);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(producer.enviar(FILA, corpo, Map.of()));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(2, TimeUnit.SECONDS);
+
+        assertEquals(3, sqs.lotesEnviados.size());
+        for (var lote : sqs.lotesEnviados) {
+            int bytes = lote.getEntries().stream().mapToInt(entry -> entry.getMessageBody().length()).sum();
+            assertTrue(bytes <= SqsBatchProducerService.TAMANHO_MAXIMO_LOTE_BYTES);
+        }
+        assertEquals(5, sqs.mensagens(FILA).size());
+    }
+
+    @Test
+    void testMensagemIsoladaEnviadaAposTempoDeEspera() throws Exception {
+        String messageId = producer.enviar(FILA, "unica", Map.of()).get(2, TimeUnit.SECONDS);
+
+        assertNotNull(messageId);
+        assertEquals(1, sqs.lotesEnviados.size());
+        assertEquals("unica", sqs.mensagens(FILA).get(0).getBody());
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.vortex.application.service;
+
+import br.com.vortex.application.dto.MovimentoEstoqueMessageDTO;
+import br.com.vortex.application.model.Produto;
+import br.com.vortex.application.model.enums.StatusOperacaoMovimento;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import br.com.vortex.application.repository.MovimentoEstoqueRepository;
+import br.com.vortex.application.repository.ProdutoRepository;
+import br.com.vortex.application.service.OperacaoMovimentoService.Conclusao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SqsConsumerServiceTest {
+
+    @Mock
+    private MovimentoEstoqueRepository movimentoEstoqueRepository;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private SqsProducerService sqsProducerService;
+
+    @Mock
+    private AlertaEstoqueCoalescer alertaEstoqueCoalescer;
+
+    @Mock
+    private RegistroMensagensProcessadas registroMensagens;
+
+    @Mock
+    private OperacaoMovimentoService operacaoMovimentoService;
+
+    @Mock
+    private MessageBrokerService messageBrokerService;
+
+    @Mock
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @InjectMocks
+    private SqsConsumerService sqsConsumerService;
+
+    @Test
+    void testLoteCarregaProdutosUmaVezEEnviaEstoqueInsuficienteParaDLQ() {
+        Produto produto = new Produto();
+        produto.setId(1L);
+        produto.setDescricao("Notebook");
+        produto.setValorFornecedor(new BigDecimal("100.00"));
+        produto.setQuantidadeEmEstoque(50);
+
+        when(produtoRepository.findAllById(anyIterable())).thenReturn(List.of(produto));
+
+        MovimentoEstoqueMessageDTO entrada = mensagem(TipoMovimentacao.ENTRADA, 10);
+        MovimentoEstoqueMessageDTO saidaInvalida = mensagem(TipoMovimentacao.SAIDA, 500);
+        MovimentoEstoqueMessageDTO saida = mensagem(TipoMovimentacao.SAIDA, 20);
+
+        int processados = sqsConsumerService.processarLoteMovimentos(List.of(entrada, saidaInvalida, saida));
+
+        assertEquals(2, processados);
+        assertEquals(40, produto.getQuantidadeEmEstoque());
+        assertNotNull(saidaInvalida.getMotivoErro());
+        verify(produtoRepository, times(1)).findAllById(anyIterable());
+        verify(produtoRepository, times(1)).saveAll(anyIterable());
+        verify(movimentoEstoqueRepository, times(1)).saveAll(anyIterable());
+        verify(sqsProducerService).enviarParaDLQ(saidaInvalida);
+        verify(sqsProducerService, never()).enviarParaDLQ(entrada);
+        verify(produtoRepository, never()).save(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Conclusao>> conclusoes = ArgumentCaptor.forClass(Collection.class);
+        verify(operacaoMovimentoService).concluirTodas(conclusoes.capture());
+        Map<String, StatusOperacaoMovimento> situacoes = conclusoes.getValue().stream()
+                .collect(Collectors.toMap(conclusao -> conclusao.mensagem().getOperationId(), Conclusao::status));
+        assertEquals(Map.of(
+                entrada.getOperationId(), StatusOperacaoMovimento.APLICADO,
+                saidaInvalida.getOperationId(), StatusOperacaoMovimento.ESTOQUE_INSUFICIENTE,
+                saida.getOperationId(), StatusOperacaoMovimento.APLICADO), situacoes);
+    }
+
+    @Test
+    void testReentregasSaoDescartadasEProcessadasSaoRegistradas() {
+        Produto produto = new Produto();
+        produto.setId(1L);
+        produto.setValorFornecedor(new BigDecimal("100.00"));
+        produto.setQuantidadeEmEstoque(50);
+
+        when(produtoRepository.findAllById(anyIterable())).thenReturn(List.of(produto));
+        MovimentoEstoqueMessageDTO reentregue = mensagem(TipoMovimentacao.SAIDA, 10);
+        reentregue.setOperationId("op-1");
+        MovimentoEstoqueMessageDTO nova = mensagem(TipoMovimentacao.SAIDA, 5);
+        nova.setOperationId("op-2");
+        MovimentoEstoqueMessageDTO duplicadaNoLote = mensagem(TipoMovimentacao.SAIDA, 5);
+        duplicadaNoLote.setOperationId("op-2");
+        when(registroMensagens.filtrarProcessadas(eq(SqsConsumerService.CONSUMIDOR_MOVIMENTOS), any()))
+                .thenReturn(Set.of("op-1"));
+
+        int processados = sqsConsumerService.processarLoteMovimentos(List.of(reentregue, nova, duplicadaNoLote));
+
+        assertEquals(1, processados);
+        assertEquals(45, produto.getQuantidadeEmEstoque());
+        verify(registroMensagens).registrarTodas(SqsConsumerService.CONSUMIDOR_MOVIMENTOS, Set.of("op-2"));
+    }
+
+    @Test
+    void testRejeitadasSoSeguemParaDLQAposOCommit() {
+        Produto produto = new Produto();
+        produto.setId(1L);
+        produto.setValorFornecedor(new BigDecimal("100.00"));
+        produto.setQuantidadeEmEstoque(5);
+
+        when(produtoRepository.findAllById(anyIterable())).thenReturn(List.of(produto));
+        MovimentoEstoqueMessageDTO saidaInvalida = mensagem(TipoMovimentacao.SAIDA, 50);
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> sincronizacoes;
+        try {
+            sqsConsumerService.processarLoteMovimentos(List.of(saidaInvalida));
+            sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Até o commit nada é enviado; um rollback descartaria o envio
+        verify(sqsProducerService, never()).enviarParaDLQ(any());
+
+        sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+        verify(sqsProducerService, times(1)).enviarParaDLQ(saidaInvalida);
+    }
+
+    @Test
+    void testCacheDosProdutosDoLoteEInvalidadoNasDemaisInstanciasAposOCommit() {
+        Produto produto = new Produto();
+        produto.setId(1L);
+        produto.setValorFornecedor(new BigDecimal("100.00"));
+        produto.setQuantidadeEmEstoque(5);
+
+        when(produtoRepository.findAllById(anyIterable())).thenReturn(List.of(produto));
+        when(messageBrokerService.isAvailable()).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> sincronizacoes;
+        try {
+            sqsConsumerService.processarLoteMovimentos(List.of(
+                    mensagem(TipoMovimentacao.ENTRADA, 10), mensagem(TipoMovimentacao.SAIDA, 3)));
+            sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(messageBrokerService, never()).publicarInvalidacaoCacheProduto(any());
+
+        sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+        verify(messageBrokerService, times(1)).publicarInvalidacaoCacheProduto(1L);
+    }
+
+    private MovimentoEstoqueMessageDTO mensagem(TipoMovimentacao tipo, int quantidade) {
+        MovimentoEstoqueMessageDTO message = new MovimentoEstoqueMessageDTO();
+        message.setOperationId(tipo + "-" + quantidade);
+        message.setProdutoId(1L);
+        message.setTipoMovimentacao(tipo);
+        message.setQuantidadeMovimentada(quantidade);
+        return message;
+    }
+}
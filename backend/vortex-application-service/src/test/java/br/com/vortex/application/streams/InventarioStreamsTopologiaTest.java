@@ -0,0 +1,122 @@
+package br.com.vortex.application.streams;
+
+import br.com.vortex.application.dto.InventarioProdutoStreamDTO;
+import br.com.vortex.application.dto.MovimentoEstoqueEventDTO;
+import br.com.vortex.application.model.enums.TipoMovimentacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventarioStreamsTopologiaTest {
+
+    private static final String TOPICO = "vortex.movimento.estoque";
+    private static final Instant INICIO = Instant.parse("2025-01-01T10:00:00Z");
+
+    @TempDir
+    Path stateDir;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, MovimentoEstoqueEventDTO> entrada;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        StreamsBuilder builder = new StreamsBuilder();
+        InventarioStreamsTopologia.construir(builder, TOPICO, objectMapper);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "inventario-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+
+        driver = new TopologyTestDriver(builder.build(), props, INICIO);
+        entrada = driver.createInputTopic(TOPICO, new StringSerializer(), new JsonSerializer<>(objectMapper));
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void testMantemSaldoReceitaLucroEVelocidadePorProduto() {
+        enviar(1L, TipoMovimentacao.ENTRADA, 50, 50, INICIO);
+        enviar(1L, TipoMovimentacao.SAIDA, 10, 40, INICIO.plus(Duration.ofMinutes(10)));
+        enviar(2L, TipoMovimentacao.ENTRADA, 5, 5, INICIO.plus(Duration.ofMinutes(20)));
+        enviar(1L, TipoMovimentacao.SAIDA, 14, 26, INICIO.plus(Duration.ofHours(3)));
+
+        KeyValueStore<String, AgregadoInventario> inventario =
+                driver.getKeyValueStore(InventarioStreamsTopologia.STORE_INVENTARIO);
+        WindowStore<String, Long> vendas = driver.getWindowStore(InventarioStreamsTopologia.STORE_VENDAS_POR_HORA);
+
+        Instant consulta = INICIO.plus(Duration.ofHours(3)).plus(Duration.ofMinutes(30));
+        InventarioProdutoStreamDTO produto = InventarioStreamsQueryService.consultar(inventario, vendas, 1L, consulta).orElseThrow();
+
+        assertEquals(26, produto.getEstoqueAtual());
+        assertEquals(50L, produto.getUnidadesEntrada());
+        assertEquals(24L, produto.getUnidadesSaida());
+        assertEquals(0, new BigDecimal("3240.00").compareTo(produto.getReceita()));
+        assertEquals(0, new BigDecimal("840.00").compareTo(produto.getLucro()));
+        assertEquals(14L, produto.getVendasUltimaHora());
+        assertEquals(24L, produto.getVendasUltimas24Horas());
+        assertEquals(1.0, produto.getVelocidadeVendasPorHora());
+        assertEquals(26 / 24.0, produto.getDiasDeEstoque(), 1e-9);
+
+        List<InventarioProdutoStreamDTO> todos = InventarioStreamsQueryService.listar(inventario, vendas, consulta);
+        assertEquals(2, todos.size());
+        assertTrue(InventarioStreamsQueryService.consultar(inventario, vendas, 99L, consulta).isEmpty());
+    }
+
+    @Test
+    void testEventoAtrasadoNaoSobrescreveSaldoMaisRecente() {
+        enviar(1L, TipoMovimentacao.ENTRADA, 10, 30, INICIO.plus(Duration.ofMinutes(5)));
+        enviar(1L, TipoMovimentacao.ENTRADA, 10, 20, INICIO);
+
+        AgregadoInventario agregado = driver.<String, AgregadoInventario>getKeyValueStore(
+                InventarioStreamsTopologia.STORE_INVENTARIO).get(InventarioStreamsTopologia.chave(1L));
+
+        assertEquals(30, agregado.getEstoqueAtual());
+        assertEquals(20L, agregado.getUnidadesEntrada());
+        assertEquals(2L, agregado.getMovimentos());
+    }
+
+    private void enviar(Long produtoId, TipoMovimentacao tipo, int quantidade, int estoqueAtual, Instant instante) {
+        MovimentoEstoqueEventDTO event = new MovimentoEstoqueEventDTO();
+        event.setProdutoId(produtoId);
+        event.setProdutoDescricao("Produto " + produtoId);
+        event.setTipoProduto("Eletrônicos");
+        event.setTipoMovimentacao(tipo);
+        event.setQuantidadeMovimentada(quantidade);
+        event.setEstoqueAtual(estoqueAtual);
+        event.setValorFornecedor(new BigDecimal("100.00"));
+        event.setDataMovimento(LocalDateTime.ofInstant(instante, ZoneOffset.UTC));
+        if (tipo == TipoMovimentacao.SAIDA) {
+            event.setValorVenda(new BigDecimal("135.00"));
+        }
+        entrada.pipeInput(InventarioStreamsTopologia.chave(produtoId), event, instante);
+    }
+}
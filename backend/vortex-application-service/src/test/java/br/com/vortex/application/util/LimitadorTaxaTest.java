@@ -0,0 +1,45 @@
+package br.com.vortex.application.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitadorTaxaTest {
+
+    @Test
+    void testRajadaSeguidaDeReposicaoNaTaxaConfigurada() {
+        AtomicLong relogio = new AtomicLong();
+        LimitadorTaxa limitador = new LimitadorTaxa(10, 3, relogio::get);
+
+        assertTrue(limitador.tentarAdquirir());
+        assertTrue(limitador.tentarAdquirir());
+        assertTrue(limitador.tentarAdquirir());
+        assertFalse(limitador.tentarAdquirir());
+
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(limitador.tentarAdquirir());
+        assertFalse(limitador.tentarAdquirir());
+
+        // A reposição não passa da capacidade de rajada
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limitador.tentarAdquirir());
+        }
+        assertFalse(limitador.tentarAdquirir());
+    }
+
+    @Test
+    void testReservasConcorrentesSaoEspacadasNaTaxa() {
+        AtomicLong relogio = new AtomicLong();
+        LimitadorTaxa limitador = new LimitadorTaxa(10, 1, relogio::get);
+
+        assertEquals(0, limitador.reservar());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limitador.reservar());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limitador.reservar());
+    }
+}
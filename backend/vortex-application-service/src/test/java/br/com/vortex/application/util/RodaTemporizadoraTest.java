@@ -0,0 +1,52 @@
+package br.com.vortex.application.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RodaTemporizadoraTest {
+
+    @Test
+    void testItensVencemNoTickDoInstanteAgendado() {
+        RodaTemporizadora<String> roda = new RodaTemporizadora<>(100, 8, 0);
+        roda.agendar("a", 250);
+        roda.agendar("b", 300);
+        roda.agendar("c", 50);
+
+        assertEquals(List.of("c"), roda.avancar(120));
+        assertTrue(roda.avancar(199).isEmpty());
+        assertEquals(List.of(), roda.avancar(250));
+        assertEquals(List.of("a", "b"), roda.avancar(300));
+        assertEquals(0, roda.tamanho());
+    }
+
+    @Test
+    void testItensAlemDeUmaVoltaEsperamAVoltaCerta() {
+        // 8 posições de 100 ms: uma volta cobre 800 ms
+        RodaTemporizadora<String> roda = new RodaTemporizadora<>(100, 8, 0);
+        roda.agendar("curto", 200);
+        roda.agendar("longo", 1000);
+
+        assertEquals(List.of("curto"), roda.avancar(900));
+        assertEquals(1, roda.tamanho());
+        assertEquals(List.of("longo"), roda.avancar(1000));
+    }
+
+    @Test
+    void testSaltoMaiorQueUmaVoltaVenceTudoQueJaPassou() {
+        RodaTemporizadora<Integer> roda = new RodaTemporizadora<>(10, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            roda.agendar(i, i * 10L);
+        }
+
+        List<Integer> vencidos = roda.avancar(150);
+
+        assertEquals(15, vencidos.size());
+        assertTrue(vencidos.stream().allMatch(item -> item <= 15));
+        assertEquals(5, roda.tamanho());
+        assertEquals(5, roda.avancar(10_000).size());
+    }
+}
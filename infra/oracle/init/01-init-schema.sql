@@ -29,17 +29,17 @@ DECLARE
 BEGIN
     SELECT COUNT(*) INTO seq_count FROM user_sequences WHERE sequence_name = 'TIPO_PRODUTO_SEQ';
     IF seq_count = 0 THEN
-        EXECUTE IMMEDIATE 'CREATE SEQUENCE tipo_produto_seq START WITH 1 INCREMENT BY 1';
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE tipo_produto_seq START WITH 1 INCREMENT BY 50';
     END IF;
     
     SELECT COUNT(*) INTO seq_count FROM user_sequences WHERE sequence_name = 'PRODUTO_SEQ';
     IF seq_count = 0 THEN
-        EXECUTE IMMEDIATE 'CREATE SEQUENCE produto_seq START WITH 1 INCREMENT BY 1';
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE produto_seq START WITH 1 INCREMENT BY 50';
     END IF;
     
     SELECT COUNT(*) INTO seq_count FROM user_sequences WHERE sequence_name = 'MOVIMENTO_ESTOQUE_SEQ';
     IF seq_count = 0 THEN
-        EXECUTE IMMEDIATE 'CREATE SEQUENCE movimento_estoque_seq START WITH 1 INCREMENT BY 1';
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE movimento_estoque_seq START WITH 1 INCREMENT BY 50';
     END IF;
 END;
 / 
\ No newline at end of file
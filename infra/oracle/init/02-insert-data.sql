@@ -64,7 +64,7 @@ INSERT INTO movimento_estoque (id, data_movimento, tipo_movimentacao, quantidade
 -- No Oracle, usamos DROP e CREATE para "reiniciar" sequências
 BEGIN
     EXECUTE IMMEDIATE 'DROP SEQUENCE tipo_produto_seq';
-    EXECUTE IMMEDIATE 'CREATE SEQUENCE tipo_produto_seq START WITH 11 INCREMENT BY 1';
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE tipo_produto_seq START WITH 11 INCREMENT BY 50';
 EXCEPTION
     WHEN OTHERS THEN NULL;
 END;
@@ -72,7 +72,7 @@ END;
 
 BEGIN
     EXECUTE IMMEDIATE 'DROP SEQUENCE produto_seq';
-    EXECUTE IMMEDIATE 'CREATE SEQUENCE produto_seq START WITH 21 INCREMENT BY 1';
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE produto_seq START WITH 21 INCREMENT BY 50';
 EXCEPTION
     WHEN OTHERS THEN NULL;
 END;
@@ -80,7 +80,7 @@ END;
 
 BEGIN
     EXECUTE IMMEDIATE 'DROP SEQUENCE movimento_estoque_seq';
-    EXECUTE IMMEDIATE 'CREATE SEQUENCE movimento_estoque_seq START WITH 21 INCREMENT BY 1';
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE movimento_estoque_seq START WITH 21 INCREMENT BY 50';
 EXCEPTION
     WHEN OTHERS THEN NULL;
 END;